@@ -265,6 +265,8 @@ public class XmlClientConfigBuilder extends AbstractConfigBuilder {
                 nearCacheConfig.setInvalidateOnChange(Boolean.parseBoolean(value));
             } else if ("cache-local-entries".equals(nodeName)) {
                 nearCacheConfig.setCacheLocalEntries(Boolean.parseBoolean(value));
+            } else if ("admission-filter-enabled".equals(nodeName)) {
+                nearCacheConfig.setAdmissionFilterEnabled(Boolean.parseBoolean(value));
             } else if ("local-update-policy".equals(nodeName)) {
                 nearCacheConfig.setLocalUpdatePolicy(NearCacheConfig.LocalUpdatePolicy.valueOf(value));
             } else if ("eviction".equals(nodeName)) {
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map.impl;
+
+import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapFetchEntriesCodec;
+import com.hazelcast.client.impl.protocol.util.MapFetchWithQueryCodec;
+import com.hazelcast.client.proxy.ClientMapProxy;
+import com.hazelcast.client.spi.ClientContext;
+import com.hazelcast.client.spi.impl.ClientInvocation;
+import com.hazelcast.client.spi.impl.ClientInvocationFuture;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.map.impl.LazyMapEntry;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.util.ExceptionUtil;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the entries of a map matching a predicate, partition by partition, on the client side.
+ * <p>
+ * The matching entries of a partition are fetched in chunks of roughly {@code fetchSize} entries with a
+ * {@link MapFetchWithQueryCodec} request, so the result is never materialized and only matching entries are sent to
+ * the client. The request is handled by members of version 3.8 or later. A chunk may be empty while the partition
+ * isn't exhausted yet, when the member stopped scanning a partition with few matching entries.
+ * <p>
+ * The iterator is not a snapshot: entries updated during the iteration may or may not be returned, and an entry may
+ * be returned twice when the record table of its partition is resized.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class ClientMapQueryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+
+    private final ClientMapProxy<K, V> mapProxy;
+    private final ClientContext context;
+    private final int fetchSize;
+    private final int partitionCount;
+    private final Data predicate;
+
+    private int partitionId;
+    private int lastTableIndex = Integer.MAX_VALUE;
+    private List<Map.Entry<Data, Data>> chunk;
+    private int chunkIndex;
+    private Map.Entry<Data, Data> nextEntry;
+    private Data lastReturnedKey;
+
+    public ClientMapQueryIterator(ClientMapProxy<K, V> mapProxy, ClientContext context, int fetchSize, Predicate predicate) {
+        this.mapProxy = mapProxy;
+        this.context = context;
+        this.fetchSize = fetchSize;
+        this.partitionCount = context.getPartitionService().getPartitionCount();
+        this.predicate = context.getSerializationService().toData(predicate);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (nextEntry == null) {
+            if (chunk == null || chunkIndex >= chunk.size()) {
+                if (lastTableIndex < 0) {
+                    // the current partition is exhausted
+                    partitionId++;
+                    lastTableIndex = Integer.MAX_VALUE;
+                }
+                if (partitionId >= partitionCount) {
+                    return false;
+                }
+                fetch();
+                continue;
+            }
+            nextEntry = chunk.get(chunkIndex++);
+        }
+        return true;
+    }
+
+    @Override
+    public Map.Entry<K, V> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Map.Entry<Data, Data> entry = nextEntry;
+        nextEntry = null;
+        lastReturnedKey = entry.getKey();
+        return new LazyMapEntry(entry.getKey(), entry.getValue(), getSerializationService());
+    }
+
+    @Override
+    public void remove() {
+        if (lastReturnedKey == null) {
+            throw new IllegalStateException("Iterator.next() must be called before remove()!");
+        }
+        mapProxy.remove(lastReturnedKey);
+        lastReturnedKey = null;
+    }
+
+    private void fetch() {
+        HazelcastClientInstanceImpl client = (HazelcastClientInstanceImpl) context.getHazelcastInstance();
+        ClientMessage request = MapFetchWithQueryCodec.encodeRequest(mapProxy.getName(), lastTableIndex, fetchSize,
+                predicate);
+        ClientInvocation clientInvocation = new ClientInvocation(client, request, partitionId);
+        try {
+            ClientInvocationFuture future = clientInvocation.invoke();
+            MapFetchEntriesCodec.ResponseParameters response = MapFetchEntriesCodec.decodeResponse(future.get());
+            chunk = response.entries;
+            chunkIndex = 0;
+            lastTableIndex = response.tableIndex;
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+    }
+
+    private InternalSerializationService getSerializationService() {
+        return (InternalSerializationService) context.getSerializationService();
+    }
+}
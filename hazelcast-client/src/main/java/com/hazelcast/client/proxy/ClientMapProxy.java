@@ -81,10 +81,12 @@ import com.hazelcast.client.impl.protocol.codec.MapValuesWithPredicateCodec;
 import com.hazelcast.client.impl.querycache.ClientQueryCacheContext;
 import com.hazelcast.client.impl.querycache.subscriber.ClientQueryCacheEndToEndConstructor;
 import com.hazelcast.client.map.impl.ClientMapPartitionIterator;
+import com.hazelcast.client.map.impl.ClientMapQueryIterator;
 import com.hazelcast.client.spi.ClientPartitionService;
 import com.hazelcast.client.spi.ClientProxy;
 import com.hazelcast.client.spi.EventHandler;
 import com.hazelcast.client.spi.impl.ClientInvocation;
+import com.hazelcast.client.spi.impl.ClientInvocationBatch;
 import com.hazelcast.client.spi.impl.ClientInvocationFuture;
 import com.hazelcast.client.spi.impl.ListenerMessageCodec;
 import com.hazelcast.client.util.ClientDelegatingFuture;
@@ -99,7 +101,9 @@ import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.IMap;
 import com.hazelcast.core.IMapEvent;
 import com.hazelcast.core.MapEvent;
+import com.hazelcast.core.MapPipeline;
 import com.hazelcast.core.Member;
+import com.hazelcast.core.Pipelining;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
@@ -161,11 +165,13 @@ import static com.hazelcast.map.impl.EntryRemovingProcessor.ENTRY_REMOVING_PROCE
 import static com.hazelcast.map.impl.ListenerAdapters.createListenerAdapter;
 import static com.hazelcast.map.impl.MapListenerFlagOperator.setAndGetListenerFlags;
 import static com.hazelcast.map.impl.querycache.subscriber.QueryCacheRequests.newQueryCacheRequest;
+import static com.hazelcast.map.impl.recordstore.RecordStore.DEFAULT_TTL;
 import static com.hazelcast.util.CollectionUtil.objectToDataCollection;
 import static com.hazelcast.util.ConcurrencyUtil.getOrPutIfAbsent;
 import static com.hazelcast.util.ExceptionUtil.rethrow;
 import static com.hazelcast.util.Preconditions.checkNotInstanceOf;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
 import static com.hazelcast.util.SortingUtil.getSortedQueryResultSet;
 import static com.hazelcast.util.ThreadUtil.getThreadId;
 import static java.util.Collections.emptyMap;
@@ -185,6 +191,11 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
     protected static final String NULL_PREDICATE_IS_NOT_ALLOWED = "Predicate should not be null!";
     protected static final String NULL_AGGREGATOR_IS_NOT_ALLOWED = "Aggregator should not be null!";
 
+    /**
+     * The maximum number of messages of a pipeline send to a member in a single frame.
+     */
+    private static final int PIPELINE_MAX_BATCH_SIZE = 100;
+
     @SuppressWarnings("unchecked")
     private static final ClientMessageDecoder GET_ASYNC_RESPONSE_DECODER = new ClientMessageDecoder() {
         @Override
@@ -456,6 +467,11 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         }
     }
 
+    @Override
+    public MapPipeline<K, V> pipeline(int depth) {
+        return new ClientMapPipeline(depth);
+    }
+
     @Override
     public boolean tryRemove(K key, long timeout, TimeUnit timeunit) {
         checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
@@ -1563,6 +1579,14 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         return new ClientMapPartitionIterator<K, V>(this, getContext(), fetchSize, partitionId, prefetchValues);
     }
 
+    @Override
+    public Iterator<Entry<K, V>> iterator(int fetchSize, Predicate<K, V> predicate) {
+        checkPositive(fetchSize, "fetchSize should be positive");
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        checkNotInstanceOf(PagingPredicate.class, predicate, "predicate");
+        return new ClientMapQueryIterator<K, V>(this, getContext(), fetchSize, predicate);
+    }
+
     protected long getTimeInMillis(final long time, final TimeUnit timeunit) {
         return timeunit != null ? timeunit.toMillis(time) : time;
     }
@@ -1584,6 +1608,74 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         entryRemovingProcessor = toData(ENTRY_REMOVING_PROCESSOR);
     }
 
+    /**
+     * The {@link MapPipeline} of the map. The messages send to the same member are coalesced by a
+     * {@link ClientInvocationBatch}.
+     */
+    private final class ClientMapPipeline extends Pipelining<Object> implements MapPipeline<K, V> {
+
+        private final ClientInvocationBatch batch;
+
+        private ClientMapPipeline(int depth) {
+            super(depth);
+            this.batch = new ClientInvocationBatch(getClient(), Math.min(depth, PIPELINE_MAX_BATCH_SIZE));
+        }
+
+        @Override
+        public ICompletableFuture<V> getAsync(K key) throws InterruptedException {
+            checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+
+            Data keyData = toData(key);
+            ClientMessage request = MapGetCodec.encodeRequest(name, keyData, getThreadId());
+            return invoke(request, keyData, GET_ASYNC_RESPONSE_DECODER);
+        }
+
+        @Override
+        public ICompletableFuture<V> putAsync(K key, V value) throws InterruptedException {
+            checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+            checkNotNull(value, NULL_VALUE_IS_NOT_ALLOWED);
+
+            Data keyData = toData(key);
+            ClientMessage request = MapPutCodec.encodeRequest(name, keyData, toData(value), getThreadId(), DEFAULT_TTL);
+            return invoke(request, keyData, PUT_ASYNC_RESPONSE_DECODER);
+        }
+
+        @Override
+        public ICompletableFuture<Void> setAsync(K key, V value) throws InterruptedException {
+            checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+            checkNotNull(value, NULL_VALUE_IS_NOT_ALLOWED);
+
+            Data keyData = toData(key);
+            ClientMessage request = MapSetCodec.encodeRequest(name, keyData, toData(value), getThreadId(), DEFAULT_TTL);
+            return invoke(request, keyData, SET_ASYNC_RESPONSE_DECODER);
+        }
+
+        @Override
+        public ICompletableFuture<V> removeAsync(K key) throws InterruptedException {
+            checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+
+            Data keyData = toData(key);
+            ClientMessage request = MapRemoveCodec.encodeRequest(name, keyData, getThreadId());
+            return invoke(request, keyData, REMOVE_ASYNC_RESPONSE_DECODER);
+        }
+
+        @Override
+        public void flush() {
+            batch.flush();
+        }
+
+        @SuppressWarnings("unchecked")
+        private <E> ICompletableFuture<E> invoke(ClientMessage request, Data keyData, ClientMessageDecoder decoder)
+                throws InterruptedException {
+            int partitionId = getContext().getPartitionService().getPartitionId(keyData);
+            ClientInvocationFuture invocationFuture = batch.invoke(new ClientInvocation(getClient(), request, partitionId));
+            ICompletableFuture future = new ClientDelegatingFuture<E>(invocationFuture,
+                    getContext().getSerializationService(), decoder);
+            add(future);
+            return future;
+        }
+    }
+
     private class ClientMapEventHandler
             extends MapAddEntryListenerCodec.AbstractEventHandler
             implements EventHandler<ClientMessage> {
@@ -30,20 +30,22 @@ import com.hazelcast.core.MessageListener;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.monitor.LocalTopicStats;
 import com.hazelcast.nio.serialization.Data;
-import com.hazelcast.ringbuffer.OverflowPolicy;
 import com.hazelcast.ringbuffer.ReadResultSet;
 import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.ringbuffer.StaleSequenceException;
 import com.hazelcast.spi.exception.DistributedObjectDestroyedException;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.topic.ReliableMessageListener;
-import com.hazelcast.topic.TopicOverloadException;
 import com.hazelcast.topic.TopicOverloadPolicy;
 import com.hazelcast.topic.impl.reliable.ReliableMessageListenerAdapter;
 import com.hazelcast.topic.impl.reliable.ReliableTopicMessage;
+import com.hazelcast.topic.impl.reliable.ReliableTopicPublisher;
 import com.hazelcast.util.UuidUtil;
 import com.hazelcast.version.MemberVersion;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
@@ -52,7 +54,6 @@ import java.util.concurrent.Executor;
 import static com.hazelcast.ringbuffer.impl.RingbufferService.TOPIC_RB_PREFIX;
 import static com.hazelcast.topic.impl.reliable.ReliableTopicService.SERVICE_NAME;
 import static com.hazelcast.util.Preconditions.checkNotNull;
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * Reliable proxy implementation of {@link ITopic}.
@@ -64,9 +65,6 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
  */
 public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E> {
 
-    private static final int MAX_BACKOFF = 2000;
-    private static final int INITIAL_BACKOFF_MS = 100;
-
     private final ILogger logger;
     private final ConcurrentMap<String, MessageRunner> runnersMap = new ConcurrentHashMap<String, MessageRunner>();
     private final Ringbuffer ringbuffer;
@@ -74,6 +72,7 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
     private final ClientReliableTopicConfig config;
     private final Executor executor;
     private final TopicOverloadPolicy overloadPolicy;
+    private final ReliableTopicPublisher publisher;
 
     public ClientReliableTopicProxy(String objectId, HazelcastClientInstanceImpl client) {
         super(SERVICE_NAME, objectId);
@@ -82,6 +81,7 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
         this.config = client.getClientConfig().getReliableTopicConfig(objectId);
         this.executor = getExecutor(config, client);
         this.overloadPolicy = config.getTopicOverloadPolicy();
+        this.publisher = new ReliableTopicPublisher(ringbuffer, overloadPolicy, objectId, 0);
         logger = client.getLoggingService().getLogger(getClass());
     }
 
@@ -98,22 +98,7 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
         try {
             Data data = serializationService.toData(payload);
             ReliableTopicMessage message = new ReliableTopicMessage(data, null);
-            switch (overloadPolicy) {
-                case ERROR:
-                    addOrFail(message);
-                    break;
-                case DISCARD_OLDEST:
-                    addOrOverwrite(message);
-                    break;
-                case DISCARD_NEWEST:
-                    ringbuffer.addAsync(message, OverflowPolicy.FAIL).get();
-                    break;
-                case BLOCK:
-                    addWithBackoff(message);
-                    break;
-                default:
-                    throw new IllegalArgumentException("Unknown overloadPolicy:" + overloadPolicy);
-            }
+            publisher.publish(message);
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception e) {
@@ -121,30 +106,20 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
         }
     }
 
-    private Long addOrOverwrite(ReliableTopicMessage message) throws Exception {
-        return (Long) ringbuffer.addAsync(message, OverflowPolicy.OVERWRITE).get();
-    }
-
-    private void addOrFail(ReliableTopicMessage message) throws Exception {
-        long sequenceId = (Long) ringbuffer.addAsync(message, OverflowPolicy.FAIL).get();
-        if (sequenceId == -1) {
-            throw new TopicOverloadException("Failed to publish message: " + message + " on topic:" + name);
-        }
-    }
-
-    private void addWithBackoff(ReliableTopicMessage message) throws Exception {
-        long timeoutMs = INITIAL_BACKOFF_MS;
-        for (; ; ) {
-            long result = (Long) ringbuffer.addAsync(message, OverflowPolicy.FAIL).get();
-            if (result != -1) {
-                break;
-            }
+    @Override
+    public void publishAll(Collection<? extends E> payloads) {
+        checkNotNull(payloads, "messages can't be null");
 
-            MILLISECONDS.sleep(timeoutMs);
-            timeoutMs *= 2;
-            if (timeoutMs > MAX_BACKOFF) {
-                timeoutMs = MAX_BACKOFF;
+        try {
+            List<ReliableTopicMessage> messages = new ArrayList<ReliableTopicMessage>(payloads.size());
+            for (E payload : payloads) {
+                messages.add(new ReliableTopicMessage(serializationService.toData(payload), null));
             }
+            publisher.publishAll(messages);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new HazelcastException("Failed to publish " + payloads.size() + " messages to topic:" + name, e);
         }
     }
 
@@ -32,6 +32,10 @@ import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.topic.impl.DataAwareMessage;
 
+import java.util.Collection;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
 /**
  * Proxy implementation of {@link ITopic}.
  *
@@ -51,6 +55,15 @@ public class ClientTopicProxy<E> extends PartitionSpecificClientProxy implements
         invokeOnPartition(request);
     }
 
+    @Override
+    public void publishAll(Collection<? extends E> messages) {
+        checkNotNull(messages, "messages can't be null");
+
+        for (E message : messages) {
+            publish(message);
+        }
+    }
+
     @Override
     public String addMessageListener(final MessageListener<E> listener) {
         EventHandler<ClientMessage> handler = new TopicItemHandler(listener);
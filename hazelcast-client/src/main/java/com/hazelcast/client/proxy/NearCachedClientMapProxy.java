@@ -41,6 +41,7 @@ import com.hazelcast.monitor.NearCacheStats;
 import com.hazelcast.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.InternalCompletableFuture;
 import com.hazelcast.util.CollectionUtil;
 import com.hazelcast.util.MapUtil;
 import com.hazelcast.util.executor.CompletedFuture;
@@ -53,6 +54,7 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.config.InMemoryFormat.BINARY;
 import static com.hazelcast.core.EntryEventType.INVALIDATION;
 import static com.hazelcast.internal.nearcache.NearCache.NULL_OBJECT;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
@@ -124,9 +126,18 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
         boolean marked = keyStateMarker.markIfUnmarked(key);
         V value;
         try {
-            value = super.getInternal(key);
-            if (marked) {
-                tryToPutNearCache(key, value);
+            if (nearCache.getInMemoryFormat() == BINARY) {
+                // the Near Cache stores the value in serialized form, so the value is cached before it is deserialized
+                Object response = ((InternalCompletableFuture) super.getAsyncInternal(key)).joinRaw();
+                if (marked) {
+                    tryToPutNearCache(key, response);
+                }
+                value = toObject(response);
+            } else {
+                value = super.getInternal(key);
+                if (marked) {
+                    tryToPutNearCache(key, value);
+                }
             }
         } catch (Throwable t) {
             resetToUnmarkedState(key);
@@ -66,6 +66,8 @@ public class ClientInvocation implements Runnable {
     private boolean urgent;
     private long retryTimeoutPointInMillis;
     private EventHandler handler;
+    // the batch the first attempt is send through; a retry is send immediately
+    private ClientInvocationBatch batch;
 
     protected ClientInvocation(HazelcastClientInstanceImpl client,
                                ClientMessage clientMessage, int partitionId, Address address,
@@ -120,6 +122,7 @@ public class ClientInvocation implements Runnable {
         try {
             invokeOnSelection();
         } catch (Exception e) {
+            batch = null;
             if (e instanceof HazelcastOverloadException) {
                 throw (HazelcastOverloadException) e;
             }
@@ -224,6 +227,20 @@ public class ClientInvocation implements Runnable {
         this.handler = handler;
     }
 
+    void setBatch(ClientInvocationBatch batch) {
+        this.batch = batch;
+    }
+
+    /**
+     * Returns the batch this invocation should be send through, if any. The batch is only returned once, so a retry of the
+     * invocation is send immediately.
+     */
+    ClientInvocationBatch takeBatch() {
+        ClientInvocationBatch batch = this.batch;
+        this.batch = null;
+        return batch;
+    }
+
     public boolean shouldBypassHeartbeatCheck() {
         return bypassHeartbeatCheck;
     }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.spi.impl;
+
+import com.hazelcast.client.connection.nio.ClientConnection;
+import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Coalesces the messages of invocations which are sent over the same connection into a single
+ * {@link com.hazelcast.client.impl.protocol.util.ClientMessageBatch} frame.
+ *
+ * The message of an invocation is held back until {@link #flush()} is called or until the maximum batch size for its
+ * connection is reached. Only the first attempt of an invocation is batched; a retry is sent immediately, so it doesn't
+ * depend on the batch being flushed again. An invocation which is retried or completed before the batch is flushed,
+ * e.g. because its connection was closed, is skipped by the flush, so its operation isn't executed twice.
+ *
+ * A ClientInvocationBatch isn't threadsafe; it should only be used by the thread which created it.
+ */
+public final class ClientInvocationBatch {
+
+    private final Map<ClientConnection, ConnectionBatch> batches = new HashMap<ClientConnection, ConnectionBatch>();
+    private final ClientInvocationServiceSupport invocationService;
+    private final int maxBatchSize;
+
+    public ClientInvocationBatch(HazelcastClientInstanceImpl client, int maxBatchSize) {
+        this.invocationService = (ClientInvocationServiceSupport) client.getInvocationService();
+        this.maxBatchSize = checkPositive(maxBatchSize, "maxBatchSize should be positive");
+    }
+
+    /**
+     * Invokes the invocation through this batch.
+     *
+     * @param invocation the invocation
+     * @return the future of the invocation
+     */
+    public ClientInvocationFuture invoke(ClientInvocation invocation) {
+        invocation.setBatch(this);
+        return invocation.invoke();
+    }
+
+    /**
+     * Adds the invocation to the batch of the connection. Called by the invocation service instead of writing the message.
+     */
+    void add(ClientInvocation invocation, ClientConnection connection) {
+        ConnectionBatch batch = batches.get(connection);
+        if (batch == null) {
+            batch = new ConnectionBatch(connection);
+            batches.put(connection, batch);
+        }
+
+        batch.add(invocation);
+        if (batch.count == maxBatchSize) {
+            batch.flush();
+        }
+    }
+
+    /**
+     * Sends all held back messages.
+     */
+    public void flush() {
+        for (ConnectionBatch batch : batches.values()) {
+            batch.flush();
+        }
+    }
+
+    private final class ConnectionBatch {
+
+        private final ClientConnection connection;
+        private final ClientInvocation[] invocations = new ClientInvocation[maxBatchSize];
+        private final long[] callIds = new long[maxBatchSize];
+        private int count;
+
+        private ConnectionBatch(ClientConnection connection) {
+            this.connection = connection;
+        }
+
+        private void add(ClientInvocation invocation) {
+            invocations[count] = invocation;
+            callIds[count] = invocation.getClientMessage().getCorrelationId();
+            count++;
+        }
+
+        private void flush() {
+            if (count == 0) {
+                return;
+            }
+
+            // the invocations which are still in the attempt they were added with are moved to the front
+            int sendCount = 0;
+            for (int k = 0; k < count; k++) {
+                ClientInvocation invocation = invocations[k];
+                invocations[k] = null;
+                if (invocationService.isRegistered(invocation, callIds[k])) {
+                    invocations[sendCount++] = invocation;
+                }
+            }
+            count = 0;
+
+            if (sendCount > 0) {
+                invocationService.sendBatch(connection, invocations, sendCount);
+                for (int k = 0; k < sendCount; k++) {
+                    invocations[k] = null;
+                }
+            }
+        }
+    }
+}
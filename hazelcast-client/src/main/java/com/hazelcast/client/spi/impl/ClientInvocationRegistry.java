@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.spi.impl;
+
+import com.hazelcast.util.collection.Long2ObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Registry of the pending {@link ClientInvocation}s by their call id.
+ *
+ * The invocations are stored in a fixed number of stripes, each an open addressing {@link Long2ObjectHashMap} guarded by
+ * its own lock. This avoids boxing the call ids and keeps the contention low when the invocations are registered by
+ * the user threads and deregistered by multiple response threads.
+ */
+final class ClientInvocationRegistry {
+
+    private static final int STRIPE_COUNT = 64;
+    private static final int STRIPE_MASK = STRIPE_COUNT - 1;
+
+    private final Long2ObjectHashMap<ClientInvocation>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    ClientInvocationRegistry() {
+        stripes = new Long2ObjectHashMap[STRIPE_COUNT];
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Long2ObjectHashMap<ClientInvocation>();
+        }
+    }
+
+    void put(long callId, ClientInvocation invocation) {
+        Long2ObjectHashMap<ClientInvocation> stripe = stripe(callId);
+        synchronized (stripe) {
+            stripe.put(callId, invocation);
+        }
+    }
+
+    /**
+     * @return the invocation with the given call id or {@code null} if there is no invocation with the given call id
+     */
+    ClientInvocation get(long callId) {
+        Long2ObjectHashMap<ClientInvocation> stripe = stripe(callId);
+        synchronized (stripe) {
+            return stripe.get(callId);
+        }
+    }
+
+    /**
+     * Removes the invocation with the given call id.
+     *
+     * @return the removed invocation or {@code null} if there was no invocation with the given call id
+     */
+    ClientInvocation remove(long callId) {
+        Long2ObjectHashMap<ClientInvocation> stripe = stripe(callId);
+        synchronized (stripe) {
+            return stripe.remove(callId);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the pending invocations. An invocation needs to be {@link #remove(long) removed} before it
+     * is completed, since it may be completed concurrently.
+     */
+    Collection<ClientInvocation> values() {
+        List<ClientInvocation> values = new ArrayList<ClientInvocation>();
+        for (Long2ObjectHashMap<ClientInvocation> stripe : stripes) {
+            synchronized (stripe) {
+                values.addAll(stripe.values());
+            }
+        }
+        return values;
+    }
+
+    int size() {
+        int size = 0;
+        for (Long2ObjectHashMap<ClientInvocation> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    private Long2ObjectHashMap<ClientInvocation> stripe(long callId) {
+        return stripes[(int) callId & STRIPE_MASK];
+    }
+}
@@ -24,6 +24,7 @@ import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
 import com.hazelcast.client.impl.protocol.ClientExceptionFactory;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.ErrorCodec;
+import com.hazelcast.client.impl.protocol.util.ClientMessageBatch;
 import com.hazelcast.client.spi.ClientExecutionService;
 import com.hazelcast.client.spi.ClientInvocationService;
 import com.hazelcast.client.spi.ClientPartitionService;
@@ -39,17 +40,16 @@ import com.hazelcast.spi.properties.HazelcastProperty;
 
 import java.io.IOException;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.Map;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.client.spi.properties.ClientProperty.MAX_CONCURRENT_INVOCATIONS;
+import static com.hazelcast.client.spi.properties.ClientProperty.RESPONSE_THREAD_COUNT;
 import static com.hazelcast.instance.OutOfMemoryErrorDispatcher.onOutOfMemory;
 import static com.hazelcast.spi.impl.operationservice.impl.AsyncInboundResponseHandler.getIdleStrategy;
+import static com.hazelcast.util.HashUtil.hashToIndex;
+import static com.hazelcast.util.Preconditions.checkNotNegative;
 
 abstract class ClientInvocationServiceSupport implements ClientInvocationService {
 
@@ -67,10 +67,10 @@ abstract class ClientInvocationServiceSupport implements ClientInvocationService
 
     private final CallIdSequence callIdSequence;
 
-    @Probe(name = "pendingCalls", level = ProbeLevel.MANDATORY)
-    private ConcurrentMap<Long, ClientInvocation> callIdMap = new ConcurrentHashMap<Long, ClientInvocation>();
+    private final ClientInvocationRegistry invocationRegistry = new ClientInvocationRegistry();
 
-    private ResponseThread responseThread;
+    // empty if the responses are processed on the IO threads
+    private ResponseThread[] responseThreads;
     private ClientExceptionFactory clientExceptionFactory;
 
     private volatile boolean isShutdown;
@@ -91,9 +91,14 @@ abstract class ClientInvocationServiceSupport implements ClientInvocationService
         clientListenerService = (ClientListenerServiceImpl) client.getListenerService();
         partitionService = client.getClientPartitionService();
         clientExceptionFactory = initClientExceptionFactory();
-        responseThread = new ResponseThread(client.getThreadGroup(), client.getName() + ".response-",
-                client.getClientConfig().getClassLoader());
-        responseThread.start();
+        int responseThreadCount = client.getProperties().getInteger(RESPONSE_THREAD_COUNT);
+        checkNotNegative(responseThreadCount, RESPONSE_THREAD_COUNT.getName() + " can't be negative");
+        responseThreads = new ResponseThread[responseThreadCount];
+        for (int i = 0; i < responseThreadCount; i++) {
+            responseThreads[i] = new ResponseThread(client.getThreadGroup(), client.getName() + ".response-" + i,
+                    client.getClientConfig().getClassLoader());
+            responseThreads[i].start();
+        }
         ClientExecutionService executionService = client.getClientExecutionService();
         executionService.scheduleWithRepetition(new CleanResourcesTask(), 1, 1, TimeUnit.SECONDS);
     }
@@ -115,7 +120,11 @@ abstract class ClientInvocationServiceSupport implements ClientInvocationService
         registerInvocation(invocation);
 
         ClientMessage clientMessage = invocation.getClientMessage();
-        if (!isAllowedToSendRequest(connection, invocation) || !writeToConnection(connection, clientMessage)) {
+        boolean allowed = isAllowedToSendRequest(connection, invocation);
+        ClientInvocationBatch batch = invocation.takeBatch();
+        if (allowed && batch != null) {
+            batch.add(invocation, connection);
+        } else if (!allowed || !writeToConnection(connection, clientMessage)) {
             final long callId = clientMessage.getCorrelationId();
             ClientInvocation clientInvocation = deRegisterCallId(callId);
             if (clientInvocation != null) {
@@ -131,6 +140,48 @@ abstract class ClientInvocationServiceSupport implements ClientInvocationService
         invocation.setSendConnection(connection);
     }
 
+    /**
+     * Writes the messages of the given invocations to the connection. If the member is able to split batch frames, the
+     * messages are written as a single {@link ClientMessageBatch} frame. An invocation whose message couldn't be written
+     * is notified with an {@link IOException}, so it is retried.
+     */
+    void sendBatch(ClientConnection connection, ClientInvocation[] invocations, int count) {
+        if (count > 1 && connection.getConnectedServerVersion() >= ClientMessageBatch.MIN_MEMBER_VERSION) {
+            ClientMessage[] messages = new ClientMessage[count];
+            for (int k = 0; k < count; k++) {
+                messages[k] = invocations[k].getClientMessage().addFlag(ClientMessage.BEGIN_AND_END_FLAGS);
+            }
+            if (!connection.write(ClientMessageBatch.toBatchMessage(messages, count))) {
+                for (int k = 0; k < count; k++) {
+                    notifyNotSent(invocations[k], connection);
+                }
+            }
+            return;
+        }
+
+        for (int k = 0; k < count; k++) {
+            if (!writeToConnection(connection, invocations[k].getClientMessage())) {
+                notifyNotSent(invocations[k], connection);
+            }
+        }
+    }
+
+    /**
+     * Checks if the invocation is still registered with the given call id, so it hasn't been retried or completed since
+     * it got that call id.
+     */
+    boolean isRegistered(ClientInvocation invocation, long callId) {
+        return invocationRegistry.get(callId) == invocation;
+    }
+
+    private void notifyNotSent(ClientInvocation invocation, ClientConnection connection) {
+        long callId = invocation.getClientMessage().getCorrelationId();
+        if (deRegisterCallId(callId) != null) {
+            callIdSequence.complete();
+            invocation.notifyException(new IOException("Packet not send to " + connection.getEndPoint()));
+        }
+    }
+
     private boolean writeToConnection(ClientConnection connection, ClientMessage clientMessage) {
         clientMessage.addFlag(ClientMessage.BEGIN_AND_END_FLAGS);
         return connection.write(clientMessage);
@@ -161,7 +212,7 @@ abstract class ClientInvocationServiceSupport implements ClientInvocationService
             correlationId = callIdSequence.next();
         }
         clientInvocation.getClientMessage().setCorrelationId(correlationId).setVersion(protocolVersion);
-        callIdMap.put(correlationId, clientInvocation);
+        invocationRegistry.put(correlationId, clientInvocation);
         EventHandler handler = clientInvocation.getEventHandler();
         if (handler != null) {
             clientListenerService.addEventHandler(correlationId, handler);
@@ -169,7 +220,12 @@ abstract class ClientInvocationServiceSupport implements ClientInvocationService
     }
 
     private ClientInvocation deRegisterCallId(long callId) {
-        return callIdMap.remove(callId);
+        return invocationRegistry.remove(callId);
+    }
+
+    @Probe(name = "pendingCalls", level = ProbeLevel.MANDATORY)
+    private int pendingCalls() {
+        return invocationRegistry.size();
     }
 
     public boolean isShutdown() {
@@ -179,54 +235,51 @@ abstract class ClientInvocationServiceSupport implements ClientInvocationService
     @Override
     public void shutdown() {
         isShutdown = true;
-        responseThread.interrupt();
-        Iterator<ClientInvocation> iterator = callIdMap.values().iterator();
-        while (iterator.hasNext()) {
-            ClientInvocation invocation = iterator.next();
-            iterator.remove();
-            invocation.notifyException(new HazelcastClientNotActiveException("Client is shutting down"));
+        for (ResponseThread responseThread : responseThreads) {
+            responseThread.interrupt();
         }
-        assert callIdMap.isEmpty();
+        for (ClientInvocation invocation : invocationRegistry.values()) {
+            if (deRegisterCallId(invocation.getClientMessage().getCorrelationId()) != null) {
+                invocation.notifyException(new HazelcastClientNotActiveException("Client is shutting down"));
+            }
+        }
+        assert invocationRegistry.isEmpty();
     }
 
     private class CleanResourcesTask implements Runnable {
 
         @Override
         public void run() {
-            Iterator<Map.Entry<Long, ClientInvocation>> iter = callIdMap.entrySet().iterator();
-            Collection<ClientConnection> expiredConnections = null;
-            while (iter.hasNext()) {
-                Map.Entry<Long, ClientInvocation> entry = iter.next();
-                ClientInvocation invocation = entry.getValue();
+            Collection<ClientConnection> expiredConnections = new LinkedList<ClientConnection>();
+            for (ClientInvocation invocation : invocationRegistry.values()) {
                 ClientConnection connection = invocation.getSendConnection();
-                if (connection == null) {
-                    continue;
-                }
-
-                if (connection.isHeartBeating()) {
+                if (connection == null || connection.isHeartBeating()
+                        || isConsumingPendingPackets(connection, expiredConnections)) {
                     continue;
                 }
 
-                if (connection.getPendingPacketCount() != 0) {
-                    long closedTime = connection.getClosedTime();
-                    long elapsed = System.currentTimeMillis() - closedTime;
-                    if (elapsed < WAIT_TIME_FOR_PACKETS_TO_BE_CONSUMED_THRESHOLD) {
-                        continue;
-                    } else {
-                        if (expiredConnections == null) {
-                            expiredConnections = new LinkedList<ClientConnection>();
-                        }
-                        expiredConnections.add(connection);
-                    }
+                if (deRegisterCallId(invocation.getClientMessage().getCorrelationId()) != null) {
+                    notifyException(invocation, connection);
                 }
+            }
+            logExpiredConnections(expiredConnections);
+        }
 
-                iter.remove();
-
-                notifyException(invocation, connection);
+        /**
+         * Checks if the pending packets of a closed connection may still be consumed. A connection whose pending packets
+         * weren't consumed in time is added to the expired connections.
+         */
+        private boolean isConsumingPendingPackets(ClientConnection connection,
+                                                  Collection<ClientConnection> expiredConnections) {
+            if (connection.getPendingPacketCount() == 0) {
+                return false;
             }
-            if (expiredConnections != null) {
-                logExpiredConnections(expiredConnections);
+            long elapsed = System.currentTimeMillis() - connection.getClosedTime();
+            if (elapsed < WAIT_TIME_FOR_PACKETS_TO_BE_CONSUMED_THRESHOLD) {
+                return true;
             }
+            expiredConnections.add(connection);
+            return false;
         }
 
         private void notifyException(ClientInvocation invocation, ClientConnection connection) {
@@ -259,7 +312,43 @@ abstract class ClientInvocationServiceSupport implements ClientInvocationService
 
     @Override
     public void handleClientMessage(ClientMessage message, Connection connection) {
-        responseThread.responseQueue.add(new ClientPacket((ClientConnection) connection, message));
+        ClientConnection clientConnection = (ClientConnection) connection;
+        if (responseThreads.length == 0) {
+            process(clientConnection, message);
+            return;
+        }
+
+        long correlationId = message.getCorrelationId();
+        int threadIndex = hashToIndex((int) (correlationId ^ (correlationId >>> Integer.SIZE)), responseThreads.length);
+        responseThreads[threadIndex].responseQueue.add(new ClientPacket(clientConnection, message));
+    }
+
+    private void process(ClientConnection connection, ClientMessage clientMessage) {
+        try {
+            handleResponse(clientMessage);
+        } catch (Exception e) {
+            invocationLogger.severe("Failed to process response: " + clientMessage + " on thread: "
+                    + Thread.currentThread().getName(), e);
+        } finally {
+            connection.decrementPendingPacketCount();
+        }
+    }
+
+    private void handleResponse(ClientMessage clientMessage) {
+        long correlationId = clientMessage.getCorrelationId();
+
+        final ClientInvocation future = deRegisterCallId(correlationId);
+        if (future == null) {
+            invocationLogger.warning("No call for callId: " + correlationId + ", response: " + clientMessage);
+            return;
+        }
+        callIdSequence.complete();
+        if (ErrorCodec.TYPE == clientMessage.getMessageType()) {
+            Throwable exception = clientExceptionFactory.createException(clientMessage);
+            future.notifyException(exception);
+        } else {
+            future.notify(clientMessage);
+        }
     }
 
     private static class ClientPacket {
@@ -323,31 +412,7 @@ abstract class ClientInvocationServiceSupport implements ClientInvocationService
         }
 
         private void process(ClientPacket packet) {
-            final ClientConnection conn = packet.getClientConnection();
-            try {
-                handleClientMessage(packet.getClientMessage());
-            } catch (Exception e) {
-                invocationLogger.severe("Failed to process task: " + packet + " on responseThread :" + getName(), e);
-            } finally {
-                conn.decrementPendingPacketCount();
-            }
-        }
-
-        private void handleClientMessage(ClientMessage clientMessage) {
-            long correlationId = clientMessage.getCorrelationId();
-
-            final ClientInvocation future = deRegisterCallId(correlationId);
-            if (future == null) {
-                invocationLogger.warning("No call for callId: " + correlationId + ", response: " + clientMessage);
-                return;
-            }
-            callIdSequence.complete();
-            if (ErrorCodec.TYPE == clientMessage.getMessageType()) {
-                Throwable exception = clientExceptionFactory.createException(clientMessage);
-                future.notifyException(exception);
-            } else {
-                future.notify(clientMessage);
-            }
+            ClientInvocationServiceSupport.this.process(packet.getClientConnection(), packet.getClientMessage());
         }
     }
 }
@@ -78,6 +78,16 @@ public final class ClientProperty {
     public static final HazelcastProperty MAX_CONCURRENT_INVOCATIONS
             = new HazelcastProperty("hazelcast.client.max.concurrent.invocations", Integer.MAX_VALUE);
 
+    /**
+     * The number of threads processing the responses of the invocations. The responses are distributed over the
+     * threads by their correlation id.
+     *
+     * If 0, the responses are processed directly on the IO thread which received them. This saves the handover to a
+     * response thread, but a slow response handling delays the other responses received by the same IO thread.
+     */
+    public static final HazelcastProperty RESPONSE_THREAD_COUNT
+            = new HazelcastProperty("hazelcast.client.response.thread.count", 1);
+
     /**
      * <p>Enables the Discovery SPI lookup over the old native implementations. This property is temporary and will
      * eventually be removed when the experimental marker is removed.</p>
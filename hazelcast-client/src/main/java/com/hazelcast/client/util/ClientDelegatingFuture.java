@@ -117,17 +117,20 @@ public class ClientDelegatingFuture<V> implements InternalCompletableFuture<V> {
     }
 
     @Override
-    @SuppressWarnings({"checkstyle:npathcomplexity", "checkstyle:cyclomaticcomplexity"})
     public V get(long timeout, TimeUnit unit) throws InterruptedException,
             ExecutionException, TimeoutException {
+        waitForResponse(timeout, unit);
+        return getResult();
+    }
+
+    @SuppressWarnings({"checkstyle:npathcomplexity", "checkstyle:cyclomaticcomplexity"})
+    private void waitForResponse(long timeout, TimeUnit unit) throws InterruptedException,
+            ExecutionException, TimeoutException {
         if (!done || !isResponseSet()) {
             synchronized (mutex) {
                 if (!done || !isResponseSet()) {
                     try {
                         response = resolveMessageToValue(future.get(timeout, unit));
-                        if (deserializedValue == null) {
-                            deserializedValue = serializationService.toObject(response);
-                        }
                     } catch (InterruptedException e) {
                         error = e;
                     } catch (ExecutionException e) {
@@ -153,7 +156,6 @@ public class ClientDelegatingFuture<V> implements InternalCompletableFuture<V> {
             // should not happen!
             throw new ExecutionException(error);
         }
-        return getResult();
     }
 
     @Override
@@ -165,6 +167,21 @@ public class ClientDelegatingFuture<V> implements InternalCompletableFuture<V> {
         }
     }
 
+    @Override
+    public Object joinRaw() {
+        try {
+            waitForResponse(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+
+        if (defaultValue != null) {
+            return defaultValue;
+        }
+        // the response is only deserialized when it is retrieved using get/join or a deserializing callback
+        return response;
+    }
+
     private V getResult() {
         if (defaultValue != null) {
             return defaultValue;
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.connection.nio.ClientConnection;
+import com.hazelcast.client.impl.protocol.util.ClientMessageBatch;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.MapPipeline;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.client.impl.ClientTestUtil.getHazelcastClientInstanceImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientMapPipelineTest extends HazelcastTestSupport {
+
+    private TestHazelcastFactory factory;
+    private HazelcastInstance member;
+    private HazelcastInstance client;
+    private IMap<String, String> map;
+
+    @Before
+    public void setup() {
+        factory = new TestHazelcastFactory();
+        member = factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+        client = factory.newHazelcastClient();
+        map = client.getMap(randomMapName());
+    }
+
+    @After
+    public void teardown() {
+        factory.terminateAll();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void pipeline_whenZeroDepth() {
+        map.pipeline(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void getAsync_whenNullKey() throws Exception {
+        map.pipeline(1).getAsync(null);
+    }
+
+    @Test
+    public void testMemberSupportsBatches() {
+        String key = generateKeyOwnedBy(member);
+        map.put(key, "value");
+
+        ClientConnection connection = (ClientConnection) getHazelcastClientInstanceImpl(client).getConnectionManager()
+                .getConnection(member.getCluster().getLocalMember().getAddress());
+        assertTrue(connection.getConnectedServerVersion() >= ClientMessageBatch.MIN_MEMBER_VERSION);
+    }
+
+    @Test
+    public void testOperations() throws Exception {
+        int keyCount = 1000;
+        MapPipeline<String, String> pipeline = map.pipeline(50);
+        for (int k = 0; k < keyCount; k++) {
+            pipeline.setAsync("key-" + k, "value-" + k);
+        }
+        pipeline.results();
+        assertEquals(keyCount, map.size());
+
+        pipeline = map.pipeline(50);
+        List<Object> expected = new ArrayList<Object>(keyCount);
+        for (int k = 0; k < keyCount; k++) {
+            pipeline.getAsync("key-" + k);
+            expected.add("value-" + k);
+        }
+        assertEquals(expected, pipeline.results());
+
+        pipeline = map.pipeline(50);
+        for (int k = 0; k < keyCount; k++) {
+            pipeline.putAsync("key-" + k, "other-value-" + k);
+        }
+        assertEquals(expected, pipeline.results());
+
+        pipeline = map.pipeline(50);
+        for (int k = 0; k < keyCount; k++) {
+            pipeline.removeAsync("key-" + k);
+        }
+        assertEquals(keyCount, pipeline.results().size());
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testOperationHeldBackUntilFlush() throws Exception {
+        MapPipeline<String, String> pipeline = map.pipeline(10);
+
+        final ICompletableFuture<String> future = pipeline.putAsync("key", "value");
+        assertTrueAllTheTime(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertFalse(future.isDone());
+            }
+        }, 1);
+
+        pipeline.flush();
+        assertNull(future.get());
+        assertEquals("value", map.get("key"));
+    }
+}
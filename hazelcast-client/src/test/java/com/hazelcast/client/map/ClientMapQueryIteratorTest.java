@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapAttributeConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.extractor.ValueCollector;
+import com.hazelcast.query.extractor.ValueExtractor;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterEqual;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientMapQueryIteratorTest extends HazelcastTestSupport {
+
+    private TestHazelcastFactory factory;
+    private HazelcastInstance client;
+
+    @Before
+    public void setup() {
+        // the extractor is only known to the members, so a predicate on the attribute can only be evaluated there
+        Config config = new Config();
+        config.getMapConfig("extracted*").addMapAttributeConfig(
+                new MapAttributeConfig("doubled", DoublingExtractor.class.getName()));
+
+        factory = new TestHazelcastFactory();
+        factory.newHazelcastInstance(config);
+        factory.newHazelcastInstance(config);
+        client = factory.newHazelcastClient();
+    }
+
+    @After
+    public void teardown() {
+        factory.terminateAll();
+    }
+
+    @Test
+    public void testIterator() {
+        IMap<Integer, Integer> map = getPopulatedMap(1000);
+
+        Set<Integer> keys = collectKeys(map.iterator(10, greaterEqual("this", 500)));
+
+        assertEquals(500, keys.size());
+        for (int i = 500; i < 1000; i++) {
+            assertTrue(keys.contains(i));
+        }
+    }
+
+    @Test
+    public void testIterator_selectivePredicate() {
+        IMap<Integer, Integer> map = getPopulatedMap(1000);
+
+        Set<Integer> keys = collectKeys(map.iterator(1, equal("this", 42)));
+
+        assertEquals(1, keys.size());
+        assertTrue(keys.contains(42));
+    }
+
+    @Test
+    public void testIterator_whenPredicateUsesExtractedAttribute() {
+        IMap<Integer, Integer> map = client.getMap("extracted" + randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        Set<Integer> keys = collectKeys(map.iterator(10, greaterEqual("doubled", 100)));
+
+        assertEquals(50, keys.size());
+        for (int i = 50; i < 100; i++) {
+            assertTrue(keys.contains(i));
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNext_whenExhausted() {
+        IMap<Integer, Integer> map = getPopulatedMap(0);
+
+        map.iterator(10, equal("this", 1)).next();
+    }
+
+    @Test
+    public void testRemove() {
+        IMap<Integer, Integer> map = getPopulatedMap(100);
+
+        Iterator<Map.Entry<Integer, Integer>> iterator = map.iterator(10, greaterEqual("this", 50));
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        assertEquals(50, map.size());
+        assertFalse(map.containsKey(50));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPagingPredicate_notAllowed() {
+        IMap<Integer, Integer> map = getPopulatedMap(0);
+
+        map.iterator(10, new PagingPredicate<Integer, Integer>(10));
+    }
+
+    private IMap<Integer, Integer> getPopulatedMap(int entryCount) {
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+        for (int i = 0; i < entryCount; i++) {
+            map.put(i, i);
+        }
+        return map;
+    }
+
+    private static Set<Integer> collectKeys(Iterator<Map.Entry<Integer, Integer>> iterator) {
+        Set<Integer> keys = new HashSet<Integer>();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Integer> entry = iterator.next();
+            assertEquals(entry.getKey(), entry.getValue());
+            keys.add(entry.getKey());
+        }
+        return keys;
+    }
+
+    public static class DoublingExtractor extends ValueExtractor<Integer, Object> {
+
+        @Override
+        public void extract(Integer target, Object argument, ValueCollector collector) {
+            collector.addObject(target * 2);
+        }
+    }
+}
@@ -68,6 +68,7 @@ public class ClientQueueTest {
 
         QueueConfig queueConfig = config.getQueueConfig(queueWithMaxSize);
         queueConfig.setMaxSize(maxSizeForQueue);
+        config.addQueueConfig(new QueueConfig("sharded*").setShardCount(4));
 
         hazelcastFactory.newHazelcastInstance(config);
         client = hazelcastFactory.newHazelcastClient();
@@ -85,6 +86,12 @@ public class ClientQueueTest {
         assertEquals(1, q.size());
     }
 
+    @Test(expected = UnsupportedOperationException.class)
+    public void testOffer_whenShardedQueue() {
+        IQueue<Integer> q = client.getQueue("sharded" + randomString());
+        q.offer(1);
+    }
+
     @Test(expected = NullPointerException.class)
     public void testOffer_whenNullItem() {
         IQueue q = client.getQueue(randomString());
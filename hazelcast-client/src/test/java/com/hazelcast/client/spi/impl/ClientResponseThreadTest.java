@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.spi.impl;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.spi.properties.ClientProperty;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.AbstractEntryProcessor;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientResponseThreadTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+
+    @After
+    public void cleanup() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void responsesProcessed_onIOThreads() throws Exception {
+        testResponses(0);
+    }
+
+    @Test
+    public void responsesProcessed_onMultipleResponseThreads() throws Exception {
+        testResponses(4);
+    }
+
+    private void testResponses(int responseThreadCount) throws Exception {
+        hazelcastFactory.newHazelcastInstance();
+        ClientConfig clientConfig = new ClientConfig()
+                .setProperty(ClientProperty.RESPONSE_THREAD_COUNT.getName(), String.valueOf(responseThreadCount));
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient(clientConfig);
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+
+        List<ICompletableFuture<Integer>> futures = new ArrayList<ICompletableFuture<Integer>>(ENTRY_COUNT);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            futures.add(map.putAsync(i, i));
+        }
+        for (ICompletableFuture<Integer> future : futures) {
+            future.get();
+        }
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i, map.get(i).intValue());
+        }
+
+        try {
+            map.executeOnKey(0, new FailingEntryProcessor());
+            fail();
+        } catch (IllegalStateException expected) {
+            ignore(expected);
+        }
+    }
+
+    private static class FailingEntryProcessor extends AbstractEntryProcessor<Integer, Integer> {
+
+        @Override
+        public Object process(Map.Entry<Integer, Integer> entry) {
+            throw new IllegalStateException();
+        }
+    }
+}
@@ -18,6 +18,9 @@ package com.hazelcast.aggregation.impl;
 
 import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.query.impl.Extractable;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.TypeConverters;
 
 import java.util.Map;
 
@@ -57,4 +60,37 @@ public abstract class AbstractAggregator<I, R> extends Aggregator<I, R> {
         throw new IllegalArgumentException("Can't extract " + attributePath + " from the given input");
     }
 
+    /**
+     * Returns an ordered index on the attributePath which returns the entries with the lowest and highest values
+     * in the same order as the extracted values compare.
+     *
+     * @return the index or {@code null} if there is no such index
+     */
+    protected final Index getOrderedIndex(Indexes indexes) {
+        if (attributePath == null) {
+            return null;
+        }
+        Index index = indexes.getIndex(attributePath);
+        if (index == null || !index.isOrdered() || index.isMultiValued()
+                // enums are indexed by their names instead of their ordinals
+                || index.getConverter() == TypeConverters.ENUM_CONVERTER) {
+            return null;
+        }
+        return index;
+    }
+
+    /**
+     * Returns an index which contains every entry exactly once.
+     *
+     * @return the index or {@code null} if there is no such index
+     */
+    protected static Index getCountingIndex(Indexes indexes) {
+        for (Index index : indexes.getIndexes()) {
+            if (!index.isMultiValued()) {
+                return index;
+            }
+        }
+        return null;
+    }
+
 }
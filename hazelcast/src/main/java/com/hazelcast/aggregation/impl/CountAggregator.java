@@ -17,8 +17,10 @@
 package com.hazelcast.aggregation.impl;
 
 import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.Indexes;
 
-public class CountAggregator<I> extends AbstractAggregator<I, Long> {
+public class CountAggregator<I> extends AbstractAggregator<I, Long> implements IndexAwareAggregator {
     private long count;
 
     public CountAggregator() {
@@ -34,6 +36,16 @@ public class CountAggregator<I> extends AbstractAggregator<I, Long> {
         count++;
     }
 
+    @Override
+    public boolean accumulateFromIndexes(Indexes indexes) {
+        Index index = getCountingIndex(indexes);
+        if (index == null) {
+            return false;
+        }
+        count += index.getRecordCount();
+        return true;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         CountAggregator countAggregator = (CountAggregator) aggregator;
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.query.impl.Indexes;
+
+/**
+ * An aggregator which is able to accumulate all entries of a map from its indexes, without iterating over the entries.
+ * <p>
+ * Only used when the aggregation is done over all entries, i.e. without a predicate.
+ */
+public interface IndexAwareAggregator {
+
+    /**
+     * Accumulates all entries covered by the given indexes.
+     *
+     * @param indexes the indexes of the map
+     * @return {@code true} if the entries were accumulated, {@code false} if there is no suitable index; the aggregator
+     * is left unchanged then and the entries need to be accumulated one by one
+     */
+    boolean accumulateFromIndexes(Indexes indexes);
+}
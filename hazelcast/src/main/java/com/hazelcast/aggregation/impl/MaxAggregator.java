@@ -17,8 +17,11 @@
 package com.hazelcast.aggregation.impl;
 
 import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.QueryableEntry;
 
-public class MaxAggregator<I, R extends Comparable> extends AbstractAggregator<I, R> {
+public class MaxAggregator<I, R extends Comparable> extends AbstractAggregator<I, R> implements IndexAwareAggregator {
 
     private R max;
 
@@ -43,6 +46,19 @@ public class MaxAggregator<I, R extends Comparable> extends AbstractAggregator<I
         return max == null || max.compareTo(extractedValue) < 0;
     }
 
+    @Override
+    public boolean accumulateFromIndexes(Indexes indexes) {
+        Index index = getOrderedIndex(indexes);
+        if (index == null) {
+            return false;
+        }
+        QueryableEntry entry = index.getRecordWithHighestValue();
+        if (entry != null) {
+            accumulate((I) entry);
+        }
+        return true;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         MaxAggregator maxAggregator = (MaxAggregator) aggregator;
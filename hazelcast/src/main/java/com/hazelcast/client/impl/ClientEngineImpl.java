@@ -33,6 +33,7 @@ import com.hazelcast.client.impl.protocol.task.AuthenticationMessageTask;
 import com.hazelcast.client.impl.protocol.task.GetPartitionsMessageTask;
 import com.hazelcast.client.impl.protocol.task.MessageTask;
 import com.hazelcast.client.impl.protocol.task.PingMessageTask;
+import com.hazelcast.client.impl.protocol.util.ClientMessageBatch;
 import com.hazelcast.config.Config;
 import com.hazelcast.core.Client;
 import com.hazelcast.core.ClientListener;
@@ -168,6 +169,13 @@ public class ClientEngineImpl implements ClientEngine, CoreService, PostJoinAwar
     }
 
     public void handleClientMessage(ClientMessage clientMessage, Connection connection) {
+        if (ClientMessageBatch.isBatch(clientMessage)) {
+            for (ClientMessage message : ClientMessageBatch.split(clientMessage)) {
+                handleClientMessage(message, connection);
+            }
+            return;
+        }
+
         int partitionId = clientMessage.getPartitionId();
         MessageTask messageTask = messageTaskFactory.create(clientMessage, connection);
         InternalOperationService operationService = nodeEngine.getOperationService();
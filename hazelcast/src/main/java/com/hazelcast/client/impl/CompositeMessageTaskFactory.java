@@ -22,6 +22,8 @@ import com.hazelcast.client.impl.protocol.MessageTaskFactory;
 import com.hazelcast.client.impl.protocol.MessageTaskFactoryProvider;
 import com.hazelcast.client.impl.protocol.task.MessageTask;
 import com.hazelcast.client.impl.protocol.task.NoSuchMessageTask;
+import com.hazelcast.client.impl.protocol.task.map.MapFetchWithQueryMessageTask;
+import com.hazelcast.client.impl.protocol.util.MapFetchWithQueryCodec;
 import com.hazelcast.instance.Node;
 import com.hazelcast.nio.Connection;
 import com.hazelcast.spi.NodeEngine;
@@ -43,9 +45,22 @@ public class CompositeMessageTaskFactory implements MessageTaskFactory {
         this.nodeEngine = nodeEngine;
         this.node = ((NodeEngineImpl) nodeEngine).getNode();
         loadProvider(new DefaultMessageTaskFactoryProvider(this.nodeEngine));
+        registerHandWrittenFactories();
         loadServices();
     }
 
+    /**
+     * Registers the message tasks of the messages which aren't part of the generated client protocol.
+     */
+    private void registerHandWrittenFactories() {
+        factories[MapFetchWithQueryCodec.REQUEST_TYPE] = new MessageTaskFactory() {
+            @Override
+            public MessageTask create(ClientMessage clientMessage, Connection connection) {
+                return new MapFetchWithQueryMessageTask(clientMessage, node, connection);
+            }
+        };
+    }
+
     private void loadProvider(MessageTaskFactoryProvider provider) {
         MessageTaskFactory[] providerFactories = provider.getFactories();
 
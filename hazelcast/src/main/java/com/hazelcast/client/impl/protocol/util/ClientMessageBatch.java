@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.util;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.instance.BuildInfo;
+import com.hazelcast.nio.Bits;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Coalesces complete {@link ClientMessage} frames into a single batch frame and splits a batch frame again.
+ *
+ * The payload of a batch frame is the concatenation of the contained frames, each including its own header. Since
+ * every frame starts with its frame length, the receiving side doesn't need any additional framing to split the batch.
+ */
+public final class ClientMessageBatch {
+
+    /**
+     * The message type of a batch frame. It is outside of the ranges used by the codecs of the client protocol.
+     */
+    public static final int MESSAGE_TYPE = 0x7F01;
+
+    /**
+     * The first member version which is able to split batch frames.
+     */
+    public static final int MIN_MEMBER_VERSION = BuildInfo.calculateVersion("3.8");
+
+    private ClientMessageBatch() {
+    }
+
+    /**
+     * Creates a batch frame containing the given messages.
+     *
+     * @param messages the messages to put in the batch
+     * @param count    the number of messages in the array to put in the batch
+     * @return the created batch frame
+     */
+    public static ClientMessage toBatchMessage(ClientMessage[] messages, int count) {
+        int frameLength = ClientMessage.HEADER_SIZE;
+        for (int k = 0; k < count; k++) {
+            frameLength += messages[k].getFrameLength();
+        }
+
+        ClientMessage batch = ClientMessage.createForEncode(frameLength);
+        batch.setMessageType(MESSAGE_TYPE);
+        batch.addFlag(ClientMessage.BEGIN_AND_END_FLAGS);
+
+        byte[] dst = batch.buffer.byteArray();
+        int offset = batch.getDataOffset();
+        for (int k = 0; k < count; k++) {
+            ClientMessage message = messages[k];
+            int length = message.getFrameLength();
+            System.arraycopy(message.buffer.byteArray(), 0, dst, offset, length);
+            offset += length;
+        }
+        batch.setFrameLength(frameLength);
+        return batch;
+    }
+
+    /**
+     * Checks if the given message is a batch frame.
+     *
+     * @param message the message to check
+     * @return {@code true} if the message is a batch frame, {@code false} otherwise
+     */
+    public static boolean isBatch(ClientMessage message) {
+        return message.getMessageType() == MESSAGE_TYPE;
+    }
+
+    /**
+     * Splits a batch frame into the messages it contains, in the order they were put in the batch.
+     *
+     * @param batch the batch frame
+     * @return the contained messages
+     */
+    public static List<ClientMessage> split(ClientMessage batch) {
+        List<ClientMessage> messages = new ArrayList<ClientMessage>();
+        byte[] src = batch.buffer.byteArray();
+        int offset = batch.getDataOffset();
+        int end = batch.getFrameLength();
+        while (offset < end) {
+            int length = Bits.readIntL(src, offset);
+            byte[] frame = new byte[length];
+            System.arraycopy(src, offset, frame, 0, length);
+            messages.add(ClientMessage.createForDecode(new SafeBuffer(frame), 0));
+            offset += length;
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.util;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.instance.BuildInfo;
+import com.hazelcast.nio.Bits;
+import com.hazelcast.nio.serialization.Data;
+
+/**
+ * Encodes and decodes the request which fetches the next chunk of the entries of a partition matching a predicate.
+ *
+ * The request is evaluated by {@link com.hazelcast.map.impl.operation.MapFetchWithQueryOperation} on the partition
+ * the message is sent to. The response has the same format as the response of
+ * {@link com.hazelcast.client.impl.protocol.codec.MapFetchEntriesCodec}: the entries of the chunk together with the
+ * position in the record table to continue from.
+ */
+public final class MapFetchWithQueryCodec {
+
+    /**
+     * The message type of the request. Like {@link ClientMessageBatch#MESSAGE_TYPE}, it is outside of the ranges used
+     * by the codecs of the client protocol.
+     */
+    public static final int REQUEST_TYPE = 0x7F02;
+
+    /**
+     * The first member version which is able to handle the request.
+     */
+    public static final int MIN_MEMBER_VERSION = BuildInfo.calculateVersion("3.8");
+
+    private MapFetchWithQueryCodec() {
+    }
+
+    /**
+     * The parameters of a decoded request.
+     */
+    public static final class RequestParameters {
+
+        private final String name;
+        private final int tableIndex;
+        private final int batch;
+        private final Data predicate;
+
+        private RequestParameters(String name, int tableIndex, int batch, Data predicate) {
+            this.name = name;
+            this.tableIndex = tableIndex;
+            this.batch = batch;
+            this.predicate = predicate;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getTableIndex() {
+            return tableIndex;
+        }
+
+        public int getBatch() {
+            return batch;
+        }
+
+        public Data getPredicate() {
+            return predicate;
+        }
+    }
+
+    /**
+     * Creates the request.
+     *
+     * @param name       the name of the map
+     * @param tableIndex the position in the record table to continue from
+     * @param batch      the number of matching entries to fetch
+     * @param predicate  the serialized predicate
+     * @return the created request
+     */
+    public static ClientMessage encodeRequest(String name, int tableIndex, int batch, Data predicate) {
+        int dataSize = ClientMessage.HEADER_SIZE
+                + ParameterUtil.calculateDataSize(name)
+                + Bits.INT_SIZE_IN_BYTES
+                + Bits.INT_SIZE_IN_BYTES
+                + ParameterUtil.calculateDataSize(predicate);
+        ClientMessage clientMessage = ClientMessage.createForEncode(dataSize);
+        clientMessage.setMessageType(REQUEST_TYPE);
+        clientMessage.setRetryable(true);
+        clientMessage.set(name);
+        clientMessage.set(tableIndex);
+        clientMessage.set(batch);
+        clientMessage.set(predicate);
+        clientMessage.updateFrameLength();
+        return clientMessage;
+    }
+
+    /**
+     * Decodes the request.
+     *
+     * @param clientMessage the request
+     * @return the decoded parameters
+     */
+    public static RequestParameters decodeRequest(ClientMessage clientMessage) {
+        String name = clientMessage.getStringUtf8();
+        int tableIndex = clientMessage.getInt();
+        int batch = clientMessage.getInt();
+        Data predicate = clientMessage.getData();
+        return new RequestParameters(name, tableIndex, batch, predicate);
+    }
+}
@@ -17,6 +17,7 @@
 package com.hazelcast.collection.impl.queue;
 
 import com.hazelcast.collection.impl.queue.operations.CheckAndEvictOperation;
+import com.hazelcast.partition.strategy.StringPartitioningStrategy;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.OperationService;
@@ -49,7 +50,7 @@ public class QueueEvictionProcessor implements ScheduledEntryProcessor<String, V
 
         for (ScheduledEntry<String, Void> entry : entries) {
             String name = entry.getKey();
-            int partitionId = partitionService.getPartitionId(nodeEngine.toData(name));
+            int partitionId = partitionService.getPartitionId(StringPartitioningStrategy.getPartitionKey(name));
             Operation op = new CheckAndEvictOperation(entry.getKey())
                     .setPartitionId(partitionId);
 
@@ -180,6 +180,13 @@ abstract class QueueProxySupport extends AbstractDistributedObject<QueueService>
         }
     }
 
+    /**
+     * Invokes the operation on the partition of this queue without waiting for its response.
+     */
+    <T> InternalCompletableFuture<T> invokeAsync(QueueOperation operation) {
+        return invoke(operation);
+    }
+
     private InternalCompletableFuture invoke(Operation operation) {
         final NodeEngine nodeEngine = getNodeEngine();
         OperationService operationService = nodeEngine.getOperationService();
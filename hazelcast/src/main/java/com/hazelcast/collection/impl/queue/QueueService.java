@@ -21,6 +21,7 @@ import com.hazelcast.collection.impl.queue.operations.QueueReplicationOperation;
 import com.hazelcast.collection.impl.txnqueue.TransactionalQueueProxy;
 import com.hazelcast.collection.impl.txnqueue.operations.QueueTransactionRollbackOperation;
 import com.hazelcast.config.QueueConfig;
+import com.hazelcast.core.DistributedObject;
 import com.hazelcast.core.ItemEvent;
 import com.hazelcast.core.ItemEventType;
 import com.hazelcast.core.ItemListener;
@@ -130,7 +131,9 @@ public class QueueService implements ManagedService, MigrationAwareService, Tran
             return container;
         }
 
-        container = new QueueContainer(name, nodeEngine.getConfig().findQueueConfig(name), nodeEngine, this);
+        QueueConfig queueConfig = nodeEngine.getConfig().findQueueConfig(name);
+        checkNotSharded(name, queueConfig);
+        container = new QueueContainer(name, queueConfig, nodeEngine, this);
         QueueContainer existing = containerMap.putIfAbsent(name, container);
         if (existing != null) {
             container = existing;
@@ -141,6 +144,18 @@ public class QueueService implements ManagedService, MigrationAwareService, Tran
         return container;
     }
 
+    /**
+     * The items of a sharded queue are only stored in the containers of its shards, which are only known to the
+     * {@link ShardedQueueProxyImpl} of a member. So the queue itself can't be accessed by a client or in a transaction;
+     * otherwise the items would silently end up in a separate, unsharded container.
+     */
+    private static void checkNotSharded(String name, QueueConfig queueConfig) {
+        if (queueConfig.getShardCount() > 1 && !ShardedQueueProxyImpl.isShardName(name)) {
+            throw new UnsupportedOperationException("Queue '" + name + "' is sharded; a sharded queue can only be "
+                    + "accessed through the IQueue of a member, not by a client or in a transaction");
+        }
+    }
+
     public void addContainer(String name, QueueContainer container) {
         containerMap.put(name, container);
     }
@@ -230,7 +245,11 @@ public class QueueService implements ManagedService, MigrationAwareService, Tran
     }
 
     @Override
-    public QueueProxyImpl createDistributedObject(String objectId) {
+    public DistributedObject createDistributedObject(String objectId) {
+        QueueConfig queueConfig = nodeEngine.getConfig().findQueueConfig(objectId);
+        if (queueConfig.getShardCount() > 1) {
+            return new ShardedQueueProxyImpl(objectId, queueConfig.getShardCount(), this, nodeEngine);
+        }
         return new QueueProxyImpl(objectId, this, nodeEngine);
     }
 
@@ -318,6 +337,7 @@ public class QueueService implements ManagedService, MigrationAwareService, Tran
 
     @Override
     public TransactionalQueueProxy createTransactionalObject(String name, Transaction transaction) {
+        checkNotSharded(name, nodeEngine.getConfig().findQueueConfig(name));
         return new TransactionalQueueProxy(nodeEngine, this, name, transaction);
     }
 
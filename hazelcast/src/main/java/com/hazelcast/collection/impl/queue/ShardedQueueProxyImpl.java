@@ -0,0 +1,639 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.collection.impl.queue;
+
+import com.hazelcast.collection.impl.queue.operations.AddAllOperation;
+import com.hazelcast.collection.impl.queue.operations.ClearOperation;
+import com.hazelcast.collection.impl.queue.operations.CompareAndRemoveOperation;
+import com.hazelcast.collection.impl.queue.operations.ContainsOperation;
+import com.hazelcast.collection.impl.queue.operations.DrainOperation;
+import com.hazelcast.collection.impl.queue.operations.IsEmptyOperation;
+import com.hazelcast.collection.impl.queue.operations.IteratorOperation;
+import com.hazelcast.collection.impl.queue.operations.RemainingCapacityOperation;
+import com.hazelcast.collection.impl.queue.operations.SizeOperation;
+import com.hazelcast.core.IQueue;
+import com.hazelcast.core.ItemListener;
+import com.hazelcast.internal.util.ThreadLocalRandom;
+import com.hazelcast.monitor.LocalQueueStats;
+import com.hazelcast.monitor.impl.LocalQueueStatsImpl;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.partition.strategy.StringPartitioningStrategy;
+import com.hazelcast.spi.AbstractDistributedObject;
+import com.hazelcast.spi.InitializingObject;
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.impl.SerializableList;
+import com.hazelcast.spi.partition.IPartitionService;
+import com.hazelcast.util.Clock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.util.Preconditions.checkFalse;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static java.lang.Math.min;
+
+/**
+ * Proxy implementation for a Queue whose items are spread over multiple partitions.
+ *
+ * Each shard is an ordinary queue, stored in its own partition under a name derived from the name of the sharded
+ * queue. The names are chosen so that the shards are in different partitions as long as there are enough partitions.
+ * Since the shards use the {@code name@partitionKey} syntax, they use the configuration of the sharded queue.
+ *
+ * The order of the items is FIFO within a shard only:
+ * <ul>
+ * <li>Producers offer the items to the shards in a round robin fashion. If a shard is full, the next one is tried.
+ * A blocking offer which finds all shards full waits on a single shard for at most {@link #BLOCKING_SLICE_MILLIS}, then
+ * tries all shards again.</li>
+ * <li>Consumers poll the shards owned by their own member first, then the other shards. A blocking poll which finds
+ * all shards empty waits on a single shard, local if possible, for at most {@link #BLOCKING_SLICE_MILLIS}, then
+ * checks all shards again.</li>
+ * <li>{@link #addAll(Collection)} and {@link #drainTo(Collection)} send a single batch operation per shard.</li>
+ * </ul>
+ * Bulk operations are not atomic across the shards.
+ *
+ * @param <E> the type of the items
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public class ShardedQueueProxyImpl<E> extends AbstractDistributedObject<QueueService> implements IQueue<E>,
+        InitializingObject {
+
+    /**
+     * The maximum time a blocking offer or poll waits on a single shard before checking the other shards.
+     */
+    static final long BLOCKING_SLICE_MILLIS = 100;
+
+    private static final String SHARD_SUFFIX = "#shard-";
+    private static final int SHARD_ATTEMPTS_PER_PARTITION = 4;
+
+    private final String name;
+    private final QueueProxyImpl<E>[] shards;
+    private final AtomicInteger nextShard = new AtomicInteger(ThreadLocalRandom.current().nextInt());
+    private final ConcurrentMap<String, List<String>> listenerRegistrations
+            = new ConcurrentHashMap<String, List<String>>();
+
+    @SuppressWarnings("unchecked")
+    public ShardedQueueProxyImpl(String name, int shardCount, QueueService queueService, NodeEngine nodeEngine) {
+        super(nodeEngine, queueService);
+        this.name = name;
+        String[] shardNames = createShardNames(name, shardCount, nodeEngine.getPartitionService());
+        this.shards = new QueueProxyImpl[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new QueueProxyImpl<E>(shardNames[i], queueService, nodeEngine);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the given name is the name of a shard of a sharded queue.
+     */
+    static boolean isShardName(String name) {
+        return StringPartitioningStrategy.getPartitionKey(name).contains(SHARD_SUFFIX);
+    }
+
+    /**
+     * Returns the names of the shards of the sharded queue with the given name.
+     *
+     * The names are only based on the name of the queue and the partition count, so all members derive the same
+     * names. As long as there are enough partitions, each shard is in a different partition.
+     */
+    static String[] createShardNames(String name, int shardCount, IPartitionService partitionService) {
+        int partitionCount = partitionService.getPartitionCount();
+        int maxAttempts = partitionCount * SHARD_ATTEMPTS_PER_PARTITION;
+        String prefix = StringPartitioningStrategy.getBaseName(name) + '@'
+                + StringPartitioningStrategy.getPartitionKey(name) + SHARD_SUFFIX;
+
+        String[] shardNames = new String[shardCount];
+        Set<Integer> usedPartitions = new HashSet<Integer>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            if (usedPartitions.size() == partitionCount) {
+                usedPartitions.clear();
+            }
+            String shardName = null;
+            for (int attempt = 0; shardName == null; attempt++) {
+                String candidate = prefix + shard + '-' + attempt;
+                int partitionId = partitionService.getPartitionId(StringPartitioningStrategy.getPartitionKey(candidate));
+                if (usedPartitions.add(partitionId) || attempt == maxAttempts) {
+                    shardName = candidate;
+                }
+            }
+            shardNames[shard] = shardName;
+        }
+        return shardNames;
+    }
+
+    @Override
+    public void initialize() {
+        for (QueueProxyImpl<E> shard : shards) {
+            shard.initialize();
+        }
+    }
+
+    @Override
+    protected void postDestroy() {
+        for (QueueProxyImpl<E> shard : shards) {
+            shard.destroy();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getServiceName() {
+        return QueueService.SERVICE_NAME;
+    }
+
+    /**
+     * Returns the item counts and the ages of the items of the shards stored on this member. The operation counts
+     * are reported per shard.
+     */
+    @Override
+    public LocalQueueStats getLocalQueueStats() {
+        LocalQueueStatsImpl stats = new LocalQueueStatsImpl();
+        int ownedItemCount = 0;
+        int backupItemCount = 0;
+        long minAge = Long.MAX_VALUE;
+        long maxAge = 0;
+        for (QueueProxyImpl<E> shard : shards) {
+            LocalQueueStats shardStats = shard.getLocalQueueStats();
+            ownedItemCount += shardStats.getOwnedItemCount();
+            backupItemCount += shardStats.getBackupItemCount();
+            if (shardStats.getOwnedItemCount() > 0) {
+                minAge = min(minAge, shardStats.getMinAge());
+                maxAge = Math.max(maxAge, shardStats.getMaxAge());
+            }
+        }
+        stats.setOwnedItemCount(ownedItemCount);
+        stats.setBackupItemCount(backupItemCount);
+        stats.setMinAge(minAge == Long.MAX_VALUE ? 0 : minAge);
+        stats.setMaxAge(maxAge);
+        return stats;
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (offer(e)) {
+            return true;
+        }
+        throw new IllegalStateException("Queue is full!");
+    }
+
+    @Override
+    public boolean offer(E e) {
+        try {
+            return offer(e, 0, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        offer(e, -1, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit timeUnit) throws InterruptedException {
+        checkNotNull(e, "Object is null");
+        Data data = toData(e);
+        long timeoutMillis = timeUnit.toMillis(timeout);
+        long deadline = timeoutMillis < 0 ? Long.MAX_VALUE : Clock.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            int start = nextShardIndex();
+            for (int i = 0; i < shards.length; i++) {
+                if (shards[(start + i) % shards.length].offerInternal(data, 0)) {
+                    return true;
+                }
+            }
+            long remaining = deadline - Clock.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            // all shards are full, wait on one of them for a while since another one may get capacity first
+            if (shards[start].offerInternal(data, min(remaining, BLOCKING_SLICE_MILLIS))) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        return poll(-1, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public E poll() {
+        return getNodeEngine().toObject(pollShards());
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        long timeoutMillis = timeUnit.toMillis(timeout);
+        long deadline = timeoutMillis < 0 ? Long.MAX_VALUE : Clock.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            Object data = pollShards();
+            if (data != null) {
+                return getNodeEngine().toObject(data);
+            }
+            long remaining = deadline - Clock.currentTimeMillis();
+            if (remaining <= 0) {
+                return null;
+            }
+            data = shards[waitShardIndex()].pollInternal(min(remaining, BLOCKING_SLICE_MILLIS));
+            if (data != null) {
+                return getNodeEngine().toObject(data);
+            }
+        }
+    }
+
+    @Override
+    public E remove() {
+        E res = poll();
+        if (res == null) {
+            throw new NoSuchElementException("Queue is empty!");
+        }
+        return res;
+    }
+
+    @Override
+    public E element() {
+        E res = peek();
+        if (res == null) {
+            throw new NoSuchElementException("Queue is empty!");
+        }
+        return res;
+    }
+
+    @Override
+    public E peek() {
+        int start = nextShardIndex();
+        for (int pass = 0; pass < 2; pass++) {
+            boolean local = pass == 0;
+            for (int i = 0; i < shards.length; i++) {
+                QueueProxyImpl<E> shard = shards[(start + i) % shards.length];
+                if (isLocal(shard) == local) {
+                    Object data = shard.peekInternal();
+                    if (data != null) {
+                        return getNodeEngine().toObject(data);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        checkNotNull(o, "Object is null");
+        Data data = toData(o);
+        for (QueueProxyImpl<E> shard : shards) {
+            if (shard.removeInternal(data)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        List<Data> dataList = new ArrayList<Data>(1);
+        dataList.add(toData(o));
+        List<InternalCompletableFuture<Boolean>> futures = new ArrayList<InternalCompletableFuture<Boolean>>(shards.length);
+        for (QueueProxyImpl<E> shard : shards) {
+            futures.add(shard.<Boolean>invokeAsync(new ContainsOperation(shard.name, dataList)));
+        }
+        boolean contains = false;
+        for (InternalCompletableFuture<Boolean> future : futures) {
+            contains |= future.join();
+        }
+        return contains;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> objects) {
+        Set<Data> items = new HashSet<Data>(listShards());
+        for (Object o : objects) {
+            if (!items.contains(toData(o))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        List<InternalCompletableFuture<Integer>> futures = new ArrayList<InternalCompletableFuture<Integer>>(shards.length);
+        for (QueueProxyImpl<E> shard : shards) {
+            futures.add(shard.<Integer>invokeAsync(new SizeOperation(shard.name)));
+        }
+        long size = 0;
+        for (InternalCompletableFuture<Integer> future : futures) {
+            size += future.join();
+        }
+        return (int) min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        List<InternalCompletableFuture<Boolean>> futures = new ArrayList<InternalCompletableFuture<Boolean>>(shards.length);
+        for (QueueProxyImpl<E> shard : shards) {
+            futures.add(shard.<Boolean>invokeAsync(new IsEmptyOperation(shard.name)));
+        }
+        boolean empty = true;
+        for (InternalCompletableFuture<Boolean> future : futures) {
+            empty &= future.join();
+        }
+        return empty;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        List<InternalCompletableFuture<Integer>> futures = new ArrayList<InternalCompletableFuture<Integer>>(shards.length);
+        for (QueueProxyImpl<E> shard : shards) {
+            futures.add(shard.<Integer>invokeAsync(new RemainingCapacityOperation(shard.name)));
+        }
+        long remainingCapacity = 0;
+        for (InternalCompletableFuture<Integer> future : futures) {
+            remainingCapacity += future.join();
+        }
+        return (int) min(remainingCapacity, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void clear() {
+        List<InternalCompletableFuture<Object>> futures = new ArrayList<InternalCompletableFuture<Object>>(shards.length);
+        for (QueueProxyImpl<E> shard : shards) {
+            futures.add(shard.invokeAsync(new ClearOperation(shard.name)));
+        }
+        for (InternalCompletableFuture<Object> future : futures) {
+            future.join();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> objects) {
+        return drainTo(objects, -1);
+    }
+
+    /**
+     * Drains the shards owned by this member first. Without a limit, all shards are drained in parallel.
+     */
+    @Override
+    public int drainTo(Collection<? super E> objects, int maxElements) {
+        checkNotNull(objects, "Collection is null");
+        checkFalse(this.equals(objects), "Can not drain to same Queue");
+
+        int drained = 0;
+        if (maxElements < 0) {
+            List<InternalCompletableFuture<SerializableList>> futures
+                    = new ArrayList<InternalCompletableFuture<SerializableList>>(shards.length);
+            for (QueueProxyImpl<E> shard : orderedShards()) {
+                futures.add(shard.<SerializableList>invokeAsync(new DrainOperation(shard.name, -1)));
+            }
+            for (InternalCompletableFuture<SerializableList> future : futures) {
+                drained += addAllTo(objects, future.join().getCollection());
+            }
+            return drained;
+        }
+
+        for (QueueProxyImpl<E> shard : orderedShards()) {
+            if (drained == maxElements) {
+                break;
+            }
+            drained += addAllTo(objects, shard.drainInternal(maxElements - drained));
+        }
+        return drained;
+    }
+
+    /**
+     * Spreads the items over the shards in a round robin fashion and adds them with a single operation per shard.
+     * If a shard doesn't have enough capacity, the items for that shard are not added and {@code false} is returned;
+     * the items for the other shards are still added.
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> es) {
+        checkNotNull(es, "Collection is null");
+        List<List<Data>> batches = new ArrayList<List<Data>>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            batches.add(new ArrayList<Data>());
+        }
+        int shardIndex = nextShardIndex();
+        for (E e : es) {
+            checkNotNull(e, "Object is null");
+            batches.get(shardIndex).add(toData(e));
+            shardIndex = (shardIndex + 1) % shards.length;
+        }
+
+        List<InternalCompletableFuture<Boolean>> futures = new ArrayList<InternalCompletableFuture<Boolean>>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            List<Data> batch = batches.get(i);
+            if (!batch.isEmpty()) {
+                futures.add(shards[i].<Boolean>invokeAsync(new AddAllOperation(shards[i].name, batch)));
+            }
+        }
+        boolean added = true;
+        for (InternalCompletableFuture<Boolean> future : futures) {
+            added &= future.join();
+        }
+        return added;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> objects) {
+        return compareAndRemove(objects, false);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> objects) {
+        return compareAndRemove(objects, true);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new QueueIterator<E>(listShards().iterator(), getNodeEngine().getSerializationService(), false);
+    }
+
+    @Override
+    public Object[] toArray() {
+        List<Data> list = listShards();
+        Object[] array = new Object[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = getNodeEngine().toObject(list.get(i));
+        }
+        return array;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] ts) {
+        T[] tsParam = ts;
+        List<Data> list = listShards();
+        int size = list.size();
+        if (tsParam.length < size) {
+            tsParam = (T[]) java.lang.reflect.Array.newInstance(tsParam.getClass().getComponentType(), size);
+        }
+        for (int i = 0; i < size; i++) {
+            tsParam[i] = getNodeEngine().toObject(list.get(i));
+        }
+        return tsParam;
+    }
+
+    /**
+     * Registers the listener on all shards; the name of the item events is the name of the shard.
+     */
+    @Override
+    public String addItemListener(ItemListener<E> listener, boolean includeValue) {
+        List<String> registrations = new ArrayList<String>(shards.length);
+        for (QueueProxyImpl<E> shard : shards) {
+            registrations.add(shard.addItemListener(listener, includeValue));
+        }
+        String registrationId = registrations.get(0);
+        listenerRegistrations.put(registrationId, registrations);
+        return registrationId;
+    }
+
+    @Override
+    public boolean removeItemListener(String registrationId) {
+        List<String> registrations = listenerRegistrations.remove(registrationId);
+        if (registrations == null) {
+            return false;
+        }
+        boolean removed = false;
+        for (int i = 0; i < shards.length; i++) {
+            removed |= shards[i].removeItemListener(registrations.get(i));
+        }
+        return removed;
+    }
+
+    @Override
+    public String toString() {
+        return "IQueue{name='" + name + '\'' + ", shardCount=" + shards.length + '}';
+    }
+
+    private Object pollShards() {
+        int start = nextShardIndex();
+        for (int pass = 0; pass < 2; pass++) {
+            boolean local = pass == 0;
+            for (int i = 0; i < shards.length; i++) {
+                QueueProxyImpl<E> shard = shards[(start + i) % shards.length];
+                if (isLocal(shard) == local) {
+                    Object data = pollNow(shard);
+                    if (data != null) {
+                        return data;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private Object pollNow(QueueProxyImpl<E> shard) {
+        try {
+            return shard.pollInternal(0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private int waitShardIndex() {
+        int start = nextShardIndex();
+        for (int i = 0; i < shards.length; i++) {
+            int shardIndex = (start + i) % shards.length;
+            if (isLocal(shards[shardIndex])) {
+                return shardIndex;
+            }
+        }
+        return start;
+    }
+
+    /**
+     * Returns the shards owned by this member followed by the other shards.
+     */
+    private List<QueueProxyImpl<E>> orderedShards() {
+        List<QueueProxyImpl<E>> ordered = new ArrayList<QueueProxyImpl<E>>(shards.length);
+        List<QueueProxyImpl<E>> remote = new ArrayList<QueueProxyImpl<E>>(shards.length);
+        int start = nextShardIndex();
+        for (int i = 0; i < shards.length; i++) {
+            QueueProxyImpl<E> shard = shards[(start + i) % shards.length];
+            if (isLocal(shard)) {
+                ordered.add(shard);
+            } else {
+                remote.add(shard);
+            }
+        }
+        ordered.addAll(remote);
+        return ordered;
+    }
+
+    private boolean isLocal(QueueProxyImpl<E> shard) {
+        return getNodeEngine().getPartitionService().isPartitionOwner(shard.partitionId);
+    }
+
+    private int nextShardIndex() {
+        return (nextShard.getAndIncrement() & Integer.MAX_VALUE) % shards.length;
+    }
+
+    private List<Data> listShards() {
+        List<InternalCompletableFuture<SerializableList>> futures
+                = new ArrayList<InternalCompletableFuture<SerializableList>>(shards.length);
+        for (QueueProxyImpl<E> shard : shards) {
+            futures.add(shard.<SerializableList>invokeAsync(new IteratorOperation(shard.name)));
+        }
+        List<Data> items = new ArrayList<Data>();
+        for (InternalCompletableFuture<SerializableList> future : futures) {
+            items.addAll(future.join().getCollection());
+        }
+        return items;
+    }
+
+    private boolean compareAndRemove(Collection<?> objects, boolean retain) {
+        List<Data> dataList = new ArrayList<Data>(objects.size());
+        for (Object o : objects) {
+            dataList.add(toData(o));
+        }
+        List<InternalCompletableFuture<Boolean>> futures = new ArrayList<InternalCompletableFuture<Boolean>>(shards.length);
+        for (QueueProxyImpl<E> shard : shards) {
+            futures.add(shard.<Boolean>invokeAsync(new CompareAndRemoveOperation(shard.name, dataList, retain)));
+        }
+        boolean changed = false;
+        for (InternalCompletableFuture<Boolean> future : futures) {
+            changed |= future.join();
+        }
+        return changed;
+    }
+
+    private int addAllTo(Collection<? super E> objects, Collection<Data> dataList) {
+        for (Data data : dataList) {
+            E e = getNodeEngine().toObject(data);
+            objects.add(e);
+        }
+        return dataList.size();
+    }
+}
@@ -66,6 +66,9 @@ public abstract class QueueOperation extends AbstractNamedOperation
         QueueService queueService = getService();
         try {
             container = queueService.getOrCreateContainer(name, this instanceof BackupOperation);
+        } catch (UnsupportedOperationException e) {
+            // the queue is sharded, retrying doesn't help
+            throw e;
         } catch (Exception e) {
             throw new RetryableHazelcastException(e);
         }
@@ -317,6 +317,7 @@ public class ConfigXmlGenerator {
             xml.append("<backup-count>").append(q.getBackupCount()).append("</backup-count>");
             xml.append("<async-backup-count>").append(q.getAsyncBackupCount()).append("</async-backup-count>");
             xml.append("<empty-queue-ttl>").append(q.getEmptyQueueTtl()).append("</empty-queue-ttl>");
+            xml.append("<shard-count>").append(q.getShardCount()).append("</shard-count>");
             if (!q.getItemListenerConfigs().isEmpty()) {
                 xml.append("<item-listeners>");
                 for (ItemListenerConfig lc : q.getItemListenerConfigs()) {
@@ -365,6 +366,8 @@ public class ConfigXmlGenerator {
             xml.append("<backup-count>").append(rbConfig.getBackupCount()).append("</backup-count>");
             xml.append("<async-backup-count>").append(rbConfig.getAsyncBackupCount()).append("</async-backup-count>");
             xml.append("<in-memory-format>").append(rbConfig.getInMemoryFormat().toString()).append("</in-memory-format>");
+            xml.append("<packed-storage-enabled>").append(rbConfig.isPackedStorageEnabled())
+                    .append("</packed-storage-enabled>");
             final RingbufferStoreConfig storeConfig = rbConfig.getRingbufferStoreConfig();
             if (storeConfig != null) {
                 xml.append("<ringbuffer-store enabled=\"").append(storeConfig.isEnabled()).append("\">");
@@ -697,6 +700,8 @@ public class ConfigXmlGenerator {
             xml.append("<eviction-policy>").append(n.getEvictionPolicy()).append("</eviction-policy>");
             xml.append("<invalidate-on-change>").append(n.isInvalidateOnChange()).append("</invalidate-on-change>");
             xml.append("<in-memory-format>").append(n.getInMemoryFormat()).append("</in-memory-format>");
+            xml.append("<admission-filter-enabled>").append(n.isAdmissionFilterEnabled())
+                    .append("</admission-filter-enabled>");
             evictionConfigXmlGenerator(xml, n.getEvictionConfig());
             xml.append("</near-cache>");
         }
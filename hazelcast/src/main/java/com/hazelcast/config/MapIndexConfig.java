@@ -78,6 +78,10 @@ public class MapIndexConfig {
 
     /**
      * Sets the attribute that is going to be indexed.
+     * <p>
+     * Multiple attributes separated by commas, e.g. {@code "customerId, status"}, define a composite index. It is used
+     * by queries with equality predicates on all of its attributes, and if the index is ordered, also by queries with
+     * equality predicates on the first attributes and a range predicate on the next one.
      *
      * @param attribute the attribute that is going to be indexed.
      * @return the updated MapIndexConfig.
@@ -93,6 +93,7 @@ public class NearCacheConfig implements DataSerializable, Serializable {
 
     private boolean invalidateOnChange = true;
     private boolean cacheLocalEntries;
+    private boolean admissionFilterEnabled;
 
     private NearCacheConfigReadOnly readOnly;
 
@@ -175,6 +176,7 @@ public class NearCacheConfig implements DataSerializable, Serializable {
         maxSize = config.getMaxSize();
         timeToLiveSeconds = config.getTimeToLiveSeconds();
         cacheLocalEntries = config.isCacheLocalEntries();
+        admissionFilterEnabled = config.isAdmissionFilterEnabled();
         localUpdatePolicy = config.localUpdatePolicy;
         // EvictionConfig is not allowed to be null
         if (config.evictionConfig != null) {
@@ -402,6 +404,33 @@ public class NearCacheConfig implements DataSerializable, Serializable {
         return this;
     }
 
+    /**
+     * Checks if the frequency based admission filter is enabled.
+     *
+     * @return {@code true} if the admission filter is enabled
+     * @see #setAdmissionFilterEnabled(boolean)
+     */
+    public boolean isAdmissionFilterEnabled() {
+        return admissionFilterEnabled;
+    }
+
+    /**
+     * Enables or disables the frequency based admission filter.
+     * <p/>
+     * When the Near Cache is full, the eviction policy picks the entry to be evicted for a new entry. With the
+     * admission filter enabled, the access frequencies of the keys are estimated (see TinyLFU) and the new entry is
+     * only stored if its key is accessed more frequently than the key of the entry to be evicted. So keys which are
+     * read only once, e.g. by a batch job iterating over all keys, cannot flush the frequently used entries out of the
+     * Near Cache. The filter only has an effect if an eviction policy is configured.
+     *
+     * @param admissionFilterEnabled {@code true} to enable the admission filter
+     * @return This Near Cache config instance.
+     */
+    public NearCacheConfig setAdmissionFilterEnabled(boolean admissionFilterEnabled) {
+        this.admissionFilterEnabled = admissionFilterEnabled;
+        return this;
+    }
+
     public LocalUpdatePolicy getLocalUpdatePolicy() {
         return localUpdatePolicy;
     }
@@ -461,6 +490,7 @@ public class NearCacheConfig implements DataSerializable, Serializable {
         out.writeInt(localUpdatePolicy.ordinal());
         out.writeObject(evictionConfig);
         out.writeObject(preloaderConfig);
+        out.writeBoolean(admissionFilterEnabled);
     }
 
     @Override
@@ -476,6 +506,7 @@ public class NearCacheConfig implements DataSerializable, Serializable {
         localUpdatePolicy = LocalUpdatePolicy.values()[in.readInt()];
         evictionConfig = in.readObject();
         preloaderConfig = in.readObject();
+        admissionFilterEnabled = in.readBoolean();
     }
 
     @Override
@@ -488,6 +519,7 @@ public class NearCacheConfig implements DataSerializable, Serializable {
                 + ", invalidateOnChange=" + invalidateOnChange
                 + ", inMemoryFormat=" + inMemoryFormat
                 + ", cacheLocalEntries=" + cacheLocalEntries
+                + ", admissionFilterEnabled=" + admissionFilterEnabled
                 + ", localUpdatePolicy=" + localUpdatePolicy
                 + ", evictionConfig=" + evictionConfig
                 + ", preloaderConfig=" + preloaderConfig
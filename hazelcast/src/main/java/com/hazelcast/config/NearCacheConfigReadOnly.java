@@ -75,6 +75,11 @@ public class NearCacheConfigReadOnly extends NearCacheConfig {
         throw new UnsupportedOperationException("This config is read-only");
     }
 
+    @Override
+    public NearCacheConfig setAdmissionFilterEnabled(boolean admissionFilterEnabled) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
+
     @Override
     public NearCacheConfig setLocalUpdatePolicy(LocalUpdatePolicy localUpdatePolicy) {
         throw new UnsupportedOperationException("This config is read-only");
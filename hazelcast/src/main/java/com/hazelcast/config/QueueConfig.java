@@ -21,6 +21,7 @@ import java.util.List;
 
 import static com.hazelcast.util.Preconditions.checkAsyncBackupCount;
 import static com.hazelcast.util.Preconditions.checkBackupCount;
+import static com.hazelcast.util.Preconditions.checkPositive;
 
 /**
  * Contains the configuration for an {@link com.hazelcast.core.IQueue}
@@ -47,12 +48,18 @@ public class QueueConfig {
      */
     public static final int DEFAULT_EMPTY_QUEUE_TTL = -1;
 
+    /**
+     * Default value for the number of shards of the Queue; a Queue with a single shard is not sharded.
+     */
+    public static final int DEFAULT_SHARD_COUNT = 1;
+
     private String name;
     private List<ItemListenerConfig> listenerConfigs;
     private int backupCount = DEFAULT_SYNC_BACKUP_COUNT;
     private int asyncBackupCount = DEFAULT_ASYNC_BACKUP_COUNT;
     private int maxSize = DEFAULT_MAX_SIZE;
     private int emptyQueueTtl = DEFAULT_EMPTY_QUEUE_TTL;
+    private int shardCount = DEFAULT_SHARD_COUNT;
     private QueueStoreConfig queueStoreConfig;
     private boolean statisticsEnabled = true;
     private String quorumName;
@@ -72,6 +79,7 @@ public class QueueConfig {
         this.asyncBackupCount = config.asyncBackupCount;
         this.maxSize = config.maxSize;
         this.emptyQueueTtl = config.emptyQueueTtl;
+        this.shardCount = config.shardCount;
         this.statisticsEnabled = config.statisticsEnabled;
         this.quorumName = config.quorumName;
         this.queueStoreConfig = config.queueStoreConfig != null ? new QueueStoreConfig(config.queueStoreConfig) : null;
@@ -133,6 +141,36 @@ public class QueueConfig {
         return this;
     }
 
+    /**
+     * Returns the number of shards of the Queue.
+     *
+     * @return The number of shards of the Queue.
+     * @see #setShardCount(int)
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Sets the number of shards of the Queue.
+     *
+     * The items of a sharded Queue are spread over this number of partitions, so the Queue is not limited to a single
+     * partition thread and member. Each shard is an ordinary queue and is FIFO; the order of items in different shards
+     * is not defined. Producers spread the items over the shards, consumers take items from the shards owned by their
+     * own member first.
+     *
+     * The {@link #setMaxSize(int) maximum size} and the {@link #setQueueStoreConfig(QueueStoreConfig) queue store}
+     * apply to each shard. Sharded queues are only supported by the members.
+     *
+     * @param shardCount Set the number of shards of the Queue to this value, 1 means not sharded.
+     * @return The Queue configuration.
+     * @throws IllegalArgumentException if shardCount is smaller than 1
+     */
+    public QueueConfig setShardCount(int shardCount) {
+        this.shardCount = checkPositive(shardCount, "Shard count of the queue must be positive!");
+        return this;
+    }
+
     /**
      * Get the total number of backups: the backup count plus the asynchronous backup count.
      *
@@ -312,6 +350,7 @@ public class QueueConfig {
                 + ", asyncBackupCount=" + asyncBackupCount
                 + ", maxSize=" + maxSize
                 + ", emptyQueueTtl=" + emptyQueueTtl
+                + ", shardCount=" + shardCount
                 + ", queueStoreConfig=" + queueStoreConfig
                 + ", statisticsEnabled=" + statisticsEnabled
                 + '}';
@@ -61,6 +61,11 @@ public class QueueConfigReadOnly extends QueueConfig {
         throw new UnsupportedOperationException("This config is read-only queue: " + getName());
     }
 
+    @Override
+    public QueueConfig setShardCount(int shardCount) {
+        throw new UnsupportedOperationException("This config is read-only queue: " + getName());
+    }
+
     @Override
     public QueueConfig setMaxSize(int maxSize) {
         throw new UnsupportedOperationException("This config is read-only queue: " + getName());
@@ -63,6 +63,7 @@ public class RingbufferConfig {
     private int asyncBackupCount = DEFAULT_ASYNC_BACKUP_COUNT;
     private int timeToLiveSeconds = DEFAULT_TTL_SECONDS;
     private InMemoryFormat inMemoryFormat = DEFAULT_IN_MEMORY_FORMAT;
+    private boolean packedStorageEnabled;
     private RingbufferStoreConfig ringbufferStoreConfig = new RingbufferStoreConfig().setEnabled(false);
 
     public RingbufferConfig() {
@@ -92,6 +93,7 @@ public class RingbufferConfig {
         this.asyncBackupCount = config.asyncBackupCount;
         this.timeToLiveSeconds = config.timeToLiveSeconds;
         this.inMemoryFormat = config.inMemoryFormat;
+        this.packedStorageEnabled = config.packedStorageEnabled;
         if (config.ringbufferStoreConfig != null) {
             this.ringbufferStoreConfig = new RingbufferStoreConfig(config.ringbufferStoreConfig);
         }
@@ -290,6 +292,34 @@ public class RingbufferConfig {
         return this;
     }
 
+    /**
+     * Checks if the items are packed into large memory slabs.
+     *
+     * @return {@code true} if the packed storage is enabled, {@code false} otherwise.
+     */
+    public boolean isPackedStorageEnabled() {
+        return packedStorageEnabled;
+    }
+
+    /**
+     * Enables or disables the packed storage.
+     * <p>
+     * By default every item of a ringbuffer with the {@link InMemoryFormat#BINARY} in memory format is kept as a separate
+     * serialized object. With the packed storage, the serialized items are packed into large byte arrays instead, so a
+     * ringbuffer with a large capacity consists of a few big objects instead of millions of small ones. This reduces the
+     * memory footprint and the garbage collection overhead. An item is read directly from the byte array it is packed
+     * into, without copying it.
+     * <p>
+     * The packed storage is ignored if the {@link InMemoryFormat#OBJECT} in memory format is selected.
+     *
+     * @param packedStorageEnabled {@code true} to enable the packed storage, {@code false} to disable it.
+     * @return the updated Config.
+     */
+    public RingbufferConfig setPackedStorageEnabled(boolean packedStorageEnabled) {
+        this.packedStorageEnabled = packedStorageEnabled;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "RingbufferConfig{"
@@ -299,6 +329,7 @@ public class RingbufferConfig {
                 + ", asyncBackupCount=" + asyncBackupCount
                 + ", timeToLiveSeconds=" + timeToLiveSeconds
                 + ", inMemoryFormat=" + inMemoryFormat
+                + ", packedStorageEnabled=" + packedStorageEnabled
                 + ", ringbufferStoreConfig=" + ringbufferStoreConfig
                 + '}';
     }
@@ -368,6 +399,11 @@ public class RingbufferConfig {
             throw new UnsupportedOperationException("This config is read-only");
         }
 
+        @Override
+        public RingbufferConfig setPackedStorageEnabled(boolean packedStorageEnabled) {
+            throw new UnsupportedOperationException("This config is read-only");
+        }
+
         @Override
         public RingbufferConfig setRingbufferStoreConfig(RingbufferStoreConfig ringbufferStoreConfig) {
             throw new UnsupportedOperationException("This config is read-only");
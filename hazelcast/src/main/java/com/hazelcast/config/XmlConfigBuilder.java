@@ -992,6 +992,8 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
                 qConfig.setQuorumName(value);
             } else if ("empty-queue-ttl".equals(nodeName)) {
                 qConfig.setEmptyQueueTtl(getIntegerValue("empty-queue-ttl", value));
+            } else if ("shard-count".equals(nodeName)) {
+                qConfig.setShardCount(getIntegerValue("shard-count", value));
             }
         }
         this.config.addQueueConfig(qConfig);
@@ -1239,6 +1241,8 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
                 nearCacheConfig.setInvalidateOnChange(Boolean.parseBoolean(value));
             } else if ("cache-local-entries".equals(nodeName)) {
                 nearCacheConfig.setCacheLocalEntries(Boolean.parseBoolean(value));
+            } else if ("admission-filter-enabled".equals(nodeName)) {
+                nearCacheConfig.setAdmissionFilterEnabled(Boolean.parseBoolean(value));
             } else if ("local-update-policy".equals(nodeName)) {
                 NearCacheConfig.LocalUpdatePolicy policy = NearCacheConfig.LocalUpdatePolicy.valueOf(value);
                 nearCacheConfig.setLocalUpdatePolicy(policy);
@@ -1855,6 +1859,8 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
             } else if ("in-memory-format".equals(nodeName)) {
                 InMemoryFormat inMemoryFormat = InMemoryFormat.valueOf(upperCaseInternal(value));
                 rbConfig.setInMemoryFormat(inMemoryFormat);
+            } else if ("packed-storage-enabled".equals(nodeName)) {
+                rbConfig.setPackedStorageEnabled(getBooleanValue(value));
             } else if ("ringbuffer-store".equals(nodeName)) {
                 final RingbufferStoreConfig ringbufferStoreConfig = createRingbufferStoreConfig(n);
                 rbConfig.setRingbufferStoreConfig(ringbufferStoreConfig);
@@ -34,6 +34,7 @@ import com.hazelcast.spi.annotation.Beta;
 import com.hazelcast.spi.properties.GroupProperty;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
@@ -577,6 +578,25 @@ public interface IMap<K, V> extends ConcurrentMap<K, V>, LegacyAsyncMap<K, V> {
      */
     ICompletableFuture<V> removeAsync(K key);
 
+    /**
+     * Creates a {@link MapPipeline} for this map which keeps at most {@code depth} asynchronous
+     * operations in flight.
+     * <p/>
+     * The operations of the pipeline for the same member are sent together in a single frame,
+     * so thousands of small operations don't need a network packet each. Adding an operation
+     * to a full pipeline blocks until one of the pending operations completes.
+     * <p/>
+     * The pipeline isn't threadsafe, so it should only be used by a single thread.
+     *
+     * @param depth the maximum number of operations in flight
+     * @return the created pipeline
+     * @throws IllegalArgumentException if depth is smaller than 1
+     * @see MapPipeline
+     * @since 3.8
+     */
+    @Beta
+    MapPipeline<K, V> pipeline(int depth);
+
     /**
      * Tries to remove the entry with the given key from this map
      * within the specified timeout value. If the key is already locked by another
@@ -1414,6 +1434,32 @@ public interface IMap<K, V> extends ConcurrentMap<K, V>, LegacyAsyncMap<K, V> {
      */
     Set<Map.Entry<K, V>> entrySet(Predicate predicate);
 
+    /**
+     * Queries the map based on the specified predicate and
+     * returns an iterator over the matching entries.
+     * <p/>
+     * Unlike {@link #entrySet(Predicate)} the result is never materialized: the partitions are
+     * iterated one by one and the entries are fetched in chunks of roughly {@code fetchSize}
+     * entries. So the result isn't limited by {@link GroupProperty#QUERY_RESULT_SIZE_LIMIT}
+     * and is consumed with bounded memory.
+     * <p/>
+     * <p><b>Warning:</b></p>
+     * The iterator is not a snapshot: entries which are updated during the iteration may or may
+     * not be returned, and an entry may be returned twice when its partition is resized.
+     * <p/>
+     * {@link Iterator#remove()} removes the last returned entry from the map.
+     *
+     * @param fetchSize the number of entries fetched at once
+     * @param predicate specified query criteria.
+     * @return an iterator over the matching entries.
+     * @throws NullPointerException     if the predicate is null
+     * @throws IllegalArgumentException if the fetchSize isn't positive or the predicate is a
+     *                                  {@link com.hazelcast.query.PagingPredicate}
+     * @since 3.8
+     */
+    @Beta
+    Iterator<Map.Entry<K, V>> iterator(int fetchSize, Predicate<K, V> predicate);
+
     /**
      * Queries the map based on the specified predicate and
      * returns the values of matching entries.
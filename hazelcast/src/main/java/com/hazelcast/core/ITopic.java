@@ -17,8 +17,11 @@
 package com.hazelcast.core;
 
 import com.hazelcast.monitor.LocalTopicStats;
+import com.hazelcast.spi.annotation.Beta;
 import com.hazelcast.topic.TopicOverloadException;
 
+import java.util.Collection;
+
 /**
  * Hazelcast provides distribution mechanism for publishing messages that are delivered to multiple subscribers,
  * which is also known as a publish/subscribe (pub/sub) messaging model. Publish and subscriptions are cluster-wide.
@@ -52,6 +55,22 @@ public interface ITopic<E> extends DistributedObject {
      */
     void publish(E message);
 
+    /**
+     * Publishes the messages to all subscribers of this topic, in the order of the collection.
+     * <p/>
+     * A reliable topic adds the messages to its ringbuffer in batches, so publishing many messages at once needs far
+     * fewer round trips than publishing them one by one. The overload policy is applied per message: if a message
+     * can't be published, the messages before it are still published.
+     *
+     * @param messages the messages to publish to all subscribers of this topic
+     * @throws NullPointerException   if messages is null
+     * @throws TopicOverloadException if the consumer is too slow. Only works in combination with
+     *                                reliable topic.
+     * @since 3.8
+     */
+    @Beta
+    void publishAll(Collection<? extends E> messages);
+
     /**
      * Subscribes to this topic. When someone publishes a message on this topic.
      * onMessage() function of the given MessageListener is called. More than one message listener can be
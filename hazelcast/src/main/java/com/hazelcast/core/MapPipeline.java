@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.core;
+
+import com.hazelcast.spi.annotation.Beta;
+
+import java.util.List;
+
+/**
+ * A {@link Pipelining} for the operations of a single {@link IMap}, created using {@link IMap#pipeline(int)}.
+ *
+ * Unlike the asynchronous methods of the map, the operations of a pipeline aren't sent immediately. They are
+ * collected per member and sent as a single frame once enough operations for that member are pending, when the
+ * pipeline is full or when {@link #flush()} or {@link #results()} is called. So a future returned by the
+ * pipeline may only complete after one of these calls.
+ *
+ * Example usage:
+ * <pre>{@code
+ *   MapPipeline<Integer, String> pipeline = map.pipeline(100);
+ *   for (int k = 0; k < 10000; k++) {
+ *       pipeline.putAsync(k, "value-" + k);
+ *   }
+ *   // sends the pending operations and waits for completion
+ *   pipeline.results();
+ * }</pre>
+ *
+ * Operations executed through a pipeline bypass the near cache of the map proxy they were created by.
+ *
+ * A MapPipeline isn't threadsafe. So only a single thread should add operations and wait for the results.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @since 3.8
+ */
+@Beta
+public interface MapPipeline<K, V> {
+
+    /**
+     * Adds an asynchronous {@link IMap#get(Object)} to the pipeline.
+     *
+     * @param key the key of the entry
+     * @return the future of the value
+     * @throws InterruptedException if the thread got interrupted while waiting for capacity in the pipeline
+     * @throws NullPointerException if the key is null
+     */
+    ICompletableFuture<V> getAsync(K key) throws InterruptedException;
+
+    /**
+     * Adds an asynchronous {@link IMap#put(Object, Object)} to the pipeline.
+     *
+     * @param key   the key of the entry
+     * @param value the new value of the entry
+     * @return the future of the old value
+     * @throws InterruptedException if the thread got interrupted while waiting for capacity in the pipeline
+     * @throws NullPointerException if the key or the value is null
+     */
+    ICompletableFuture<V> putAsync(K key, V value) throws InterruptedException;
+
+    /**
+     * Adds an asynchronous {@link IMap#set(Object, Object)} to the pipeline.
+     *
+     * @param key   the key of the entry
+     * @param value the new value of the entry
+     * @return the future which completes when the value is set
+     * @throws InterruptedException if the thread got interrupted while waiting for capacity in the pipeline
+     * @throws NullPointerException if the key or the value is null
+     */
+    ICompletableFuture<Void> setAsync(K key, V value) throws InterruptedException;
+
+    /**
+     * Adds an asynchronous {@link IMap#remove(Object)} to the pipeline.
+     *
+     * @param key the key of the entry
+     * @return the future of the removed value
+     * @throws InterruptedException if the thread got interrupted while waiting for capacity in the pipeline
+     * @throws NullPointerException if the key is null
+     */
+    ICompletableFuture<V> removeAsync(K key) throws InterruptedException;
+
+    /**
+     * Sends all pending operations which haven't been sent yet.
+     */
+    void flush();
+
+    /**
+     * Sends all pending operations and returns their results in the order the operations were added.
+     *
+     * @return the list of results
+     * @throws Exception if one of the operations failed
+     */
+    List<Object> results() throws Exception;
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.core;
+
+/**
+ * Allows off-loading the processing unit implementing this interface to the specified or default Executor.
+ *
+ * Currently supported in:
+ * <ul>
+ * <li>{@link com.hazelcast.map.EntryProcessor} passed to {@link IMap#executeOnKey(Object, com.hazelcast.map.EntryProcessor)},
+ * {@link IMap#submitToKey(Object, com.hazelcast.map.EntryProcessor)} and
+ * {@link IMap#submitToKey(Object, com.hazelcast.map.EntryProcessor, ExecutionCallback)}</li>
+ * </ul>
+ *
+ * An offloaded {@link com.hazelcast.map.EntryProcessor} does not occupy the partition thread while it runs, so other
+ * operations on the same partition are not blocked by it:
+ * <ul>
+ * <li>The key is locked on the partition thread and the processor is run on the executor with a copy of the
+ * current value.</li>
+ * <li>The result is applied and the key is unlocked on the partition thread again. The
+ * {@link com.hazelcast.map.EntryBackupProcessor} is applied to the backups as usual.</li>
+ * </ul>
+ * Every other mutation of the locked key waits until the processor has completed, including the mutations issued
+ * by the thread which submitted the processor. If the processor also implements {@link ReadOnly}, the key is not
+ * locked.
+ *
+ * Offloading is ignored by the partition-wide and multi-key executions, e.g. {@link IMap#executeOnEntries}.
+ */
+public interface Offloadable {
+
+    /**
+     * Constant meaning that there will be no off-loading if returned from the {@link #getExecutorName()} method.
+     */
+    String NO_OFFLOADING = "no-offloading";
+
+    /**
+     * Constant meaning that processing will be off-loaded to the default OFFLOADABLE_EXECUTOR executor.
+     * if returned from the {@link #getExecutorName()} method.
+     */
+    String OFFLOADABLE_EXECUTOR = "hz:offloadable";
+
+    /**
+     * Returns the name of the executor to which the processing unit will be off-loaded.
+     *
+     * @return name of the executor to offload to, or {@link #NO_OFFLOADING} to run on the partition thread
+     */
+    String getExecutorName();
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.core;
+
+import com.hazelcast.spi.annotation.Beta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * The Pipelining can be used to speed up requests. It is build on top of asynchronous requests like
+ * {@link IMap#getAsync(Object)} or any other asynchronous call.
+ *
+ * The main purpose of the Pipelining is to control the number of concurrent requests when using asynchronous
+ * invocations. This can be done by setting the depth using the constructor. So you could set the depth to e.g. 100
+ * and do 1000 calls. That means that at any given moment, there will only be 100 concurrent requests. When the depth
+ * is reached, {@link #add(ICompletableFuture)} blocks until one of the pending requests completes.
+ *
+ * It depends on the situation what the optimal depth (number of invocations in flight) should be. If it is too high,
+ * you can run into memory related problems. If it is too low, it will provide little or no performance advantage at
+ * all. In most cases a Pipelining and a few hundred map/cache puts/gets should not lead to any problems. For testing
+ * purposes we frequently have a Pipelining of 1000 or more concurrent requests to be able to saturate the system.
+ *
+ * Since the requests are sent without waiting for the previous response, the requests to the same member are written
+ * together to the connection, so the requests are not bound by the network round trip time anymore.
+ *
+ * Example usage:
+ * <pre>{@code
+ *   Pipelining<String> pipelining = new Pipelining<String>(10);
+ *   for (long k = 0; k < 100; k++) {
+ *       int key = random.nextInt(keyDomain);
+ *       pipelining.add(map.getAsync(key));
+ *   }
+ *   // wait for completion
+ *   List<String> results = pipelining.results();
+ * }</pre>
+ *
+ * The Pipelining isn't threadsafe. So only a single thread should add requests to the Pipelining and wait for results.
+ *
+ * Currently all {@link ICompletableFuture} and their responses are stored in the Pipelining. So be careful executing
+ * a huge number of requests with a single Pipelining because it can lead to a huge memory bubble. In this cases it is
+ * better to periodically, after waiting for completion, to replace the Pipelining by a new one.
+ *
+ * @param <E> the result type of the Pipelining
+ */
+@Beta
+public class Pipelining<E> {
+
+    private static final Executor CALLER_RUNS = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private final Semaphore permits;
+    private final List<ICompletableFuture<E>> futures = new ArrayList<ICompletableFuture<E>>();
+
+    /**
+     * Creates a Pipelining with the given depth.
+     *
+     * @param depth the maximum number of requests in flight
+     * @throws IllegalArgumentException if depth is smaller than 1
+     */
+    public Pipelining(int depth) {
+        checkPositive(depth, "depth must be positive");
+        this.permits = new Semaphore(depth);
+    }
+
+    /**
+     * Returns the results.
+     *
+     * The results are returned in the order the requests were done.
+     *
+     * This call waits till all requests have completed.
+     *
+     * @return the List of results
+     * @throws Exception if something fails getting the results
+     */
+    public List<E> results() throws Exception {
+        flush();
+        List<E> result = new ArrayList<E>(futures.size());
+        for (ICompletableFuture<E> future : futures) {
+            result.add(future.get());
+        }
+        return result;
+    }
+
+    /**
+     * Adds a future to this Pipelining or blocks until there is capacity to add the future to the Pipelining.
+     *
+     * This call blocks until there is space in the Pipelining, but it doesn't mean that the invocation that
+     * returned the ICompletableFuture got blocked.
+     *
+     * @param future the future to add
+     * @return the future added
+     * @throws InterruptedException if the Thread got interrupted while adding the request to the Pipelining
+     * @throws NullPointerException if future is null
+     */
+    public ICompletableFuture<E> add(ICompletableFuture<E> future) throws InterruptedException {
+        checkNotNull(future, "future can't be null");
+
+        if (!permits.tryAcquire()) {
+            // the requests which are held back need to be sent, else they would never complete
+            flush();
+            permits.acquire();
+        }
+        futures.add(future);
+        future.andThen(new ExecutionCallback<E>() {
+            @Override
+            public void onResponse(E response) {
+                permits.release();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                permits.release();
+            }
+        }, CALLER_RUNS);
+        return future;
+    }
+
+    /**
+     * Sends the requests which are held back, e.g. to send them together with other requests. This is called before
+     * {@link #add(ICompletableFuture)} blocks and before {@link #results()} waits for the results.
+     *
+     * The default implementation does nothing, since the requests of the added futures have already been sent.
+     */
+    protected void flush() {
+    }
+}
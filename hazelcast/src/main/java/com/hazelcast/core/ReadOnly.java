@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.core;
+
+/**
+ * Allows notifying Hazelcast that the processing unit implementing this interface will not do any modifications.
+ * This marker interface allows optimizing the processing to gain more performance.
+ *
+ * Currently supported in:
+ * <ul>
+ * <li>{@link com.hazelcast.map.EntryProcessor} passed to the single-key and partition-wide executions of
+ * {@link IMap}</li>
+ * </ul>
+ *
+ * A read-only {@link com.hazelcast.map.EntryProcessor} does not wait for the lock of the key, is not applied to the
+ * backups, does not publish events and does not update the access statistics of the entry. If it tries to modify the
+ * entry, an {@link UnsupportedOperationException} is thrown.
+ */
+public interface ReadOnly {
+}
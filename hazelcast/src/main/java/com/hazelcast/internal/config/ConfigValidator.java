@@ -20,6 +20,7 @@ import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.config.NearCachePreloaderConfig;
 import com.hazelcast.instance.BuildInfoProvider;
@@ -55,6 +56,22 @@ public final class ConfigValidator {
         logIgnoredConfig(mapConfig);
     }
 
+    /**
+     * Checks preconditions to create a map proxy on a member with the given {@link NativeMemoryConfig}.
+     * <p>
+     * Maps with {@link InMemoryFormat#NATIVE} in-memory format are allowed if native memory is enabled.
+     *
+     * @param mapConfig          the {@link MapConfig}
+     * @param nativeMemoryConfig the {@link NativeMemoryConfig} of the member
+     */
+    public static void checkMapConfig(MapConfig mapConfig, NativeMemoryConfig nativeMemoryConfig) {
+        if (nativeMemoryConfig == null || !nativeMemoryConfig.isEnabled()) {
+            checkNotNative(mapConfig.getInMemoryFormat());
+        }
+
+        logIgnoredConfig(mapConfig);
+    }
+
     /**
      * Checks preconditions to create a map proxy with Near Cache.
      *
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction;
+
+/**
+ * Interface for deciding if a new entry is worth to be stored when another entry has to be evicted for it.
+ * <p/>
+ * An eviction policy only looks at the entries which are already stored, so a burst of entries which are accessed
+ * only once (e.g. a scan over all keys) evicts the entries which are accessed frequently. An admission policy
+ * compares the new entry with the one which would be evicted and can reject the new one instead.
+ */
+public interface AdmissionPolicy {
+
+    /**
+     * Records an access of the given key, whether it is stored or not.
+     *
+     * @param key the accessed key
+     */
+    void onAccess(Object key);
+
+    /**
+     * Checks if a new entry should be stored at the cost of evicting another one.
+     *
+     * @param candidateKey the key of the new entry
+     * @param victimKey    the key of the entry which would be evicted for it
+     * @return <code>true</code> if the new entry should be stored, otherwise <code>false</code>
+     */
+    boolean isAdmitted(Object candidateKey, Object victimKey);
+
+}
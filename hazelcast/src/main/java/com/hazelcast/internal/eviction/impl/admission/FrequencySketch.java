@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * A count-min sketch estimating how often an item was seen, with 4-bit counters and aging.
+ * <p/>
+ * Every item is counted in 4 counters, selected by 4 different hashes; its frequency is the minimum of them, so
+ * hash collisions can only make the estimate too high. The counters are packed by 16 into the longs of the table and
+ * saturate at 15. After {@code 10 * expectedSize} increments all counters are halved, so the frequencies of items
+ * which are not seen anymore decay over time.
+ * <p/>
+ * The sketch is thread-safe. Concurrent updates of the same long are done with CAS; an increment which races with
+ * the aging may get lost, which is fine for an estimate.
+ */
+public class FrequencySketch {
+
+    /**
+     * The maximum frequency of an item.
+     */
+    public static final int MAX_FREQUENCY = 15;
+
+    private static final int MIN_TABLE_LENGTH = 16;
+    private static final int MAX_TABLE_LENGTH = 1024 * 1024;
+    private static final int SAMPLE_SIZE_MULTIPLIER = 10;
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L,
+    };
+    private static final long HALF_MASK = 0x7777777777777777L;
+    private static final int COUNTER_BITS = 4;
+    private static final int SPREAD_MULTIPLIER = 0x45d9f3b;
+    private static final int SHIFT_16 = 16;
+    private static final int SHIFT_32 = 32;
+
+    private final AtomicLongArray table;
+    private final int tableMask;
+    private final int sampleSize;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * @param expectedSize the expected number of distinct items which are frequent
+     */
+    public FrequencySketch(int expectedSize) {
+        int length = min(nextPowerOfTwo(max(expectedSize, MIN_TABLE_LENGTH)), MAX_TABLE_LENGTH);
+        this.table = new AtomicLongArray(length);
+        this.tableMask = length - 1;
+        this.sampleSize = SAMPLE_SIZE_MULTIPLIER * length;
+    }
+
+    /**
+     * Returns the estimated number of times the item with the given hash was seen, up to {@link #MAX_FREQUENCY}.
+     */
+    public int frequency(int hash) {
+        int spread = spread(hash);
+        int start = (spread & (DEPTH - 1)) * DEPTH;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            int offset = (start + i) * COUNTER_BITS;
+            int count = (int) ((table.get(indexOf(spread, i)) >>> offset) & MAX_FREQUENCY);
+            frequency = min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Increments the frequency of the item with the given hash, if it isn't at the maximum yet.
+     */
+    public void increment(int hash) {
+        int spread = spread(hash);
+        int start = (spread & (DEPTH - 1)) * DEPTH;
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            added |= incrementAt(indexOf(spread, i), start + i);
+        }
+        if (added && size.incrementAndGet() >= sampleSize) {
+            age();
+        }
+    }
+
+    // for testing
+    int size() {
+        return size.get();
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter * COUNTER_BITS;
+        long mask = (long) MAX_FREQUENCY << offset;
+        for (; ; ) {
+            long current = table.get(index);
+            if ((current & mask) == mask) {
+                return false;
+            }
+            if (table.compareAndSet(index, current, current + (1L << offset))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Halves all counters, so the recent accesses weigh more than the old ones.
+     */
+    private void age() {
+        synchronized (table) {
+            if (size.get() < sampleSize) {
+                // aged by another thread in the meantime
+                return;
+            }
+            for (int i = 0; i < table.length(); i++) {
+                for (; ; ) {
+                    long current = table.get(i);
+                    if (table.compareAndSet(i, current, (current >>> 1) & HALF_MASK)) {
+                        break;
+                    }
+                }
+            }
+            size.set(size.get() >>> 1);
+        }
+    }
+
+    private int indexOf(int spread, int depth) {
+        long hash = (spread + SEEDS[depth]) * SEEDS[depth];
+        hash += hash >>> SHIFT_32;
+        return ((int) hash) & tableMask;
+    }
+
+    private static int spread(int hash) {
+        int x = ((hash >>> SHIFT_16) ^ hash) * SPREAD_MULTIPLIER;
+        x = ((x >>> SHIFT_16) ^ x) * SPREAD_MULTIPLIER;
+        return (x >>> SHIFT_16) ^ x;
+    }
+}
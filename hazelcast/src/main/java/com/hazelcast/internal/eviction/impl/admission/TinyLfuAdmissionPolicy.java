@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.admission;
+
+import com.hazelcast.internal.eviction.AdmissionPolicy;
+
+/**
+ * {@link AdmissionPolicy} implementation based on TinyLFU: the access frequencies of the keys are estimated with a
+ * {@link FrequencySketch} and a new entry is only admitted if its key is accessed more frequently than the key of the
+ * entry which would be evicted for it.
+ * <p/>
+ * Since the sketch is aged, the frequencies reflect the recent accesses; an entry which was popular in the past
+ * is replaced once new keys become more popular.
+ */
+public class TinyLfuAdmissionPolicy implements AdmissionPolicy {
+
+    private final FrequencySketch sketch;
+
+    /**
+     * @param expectedSize the expected maximum number of entries in the store
+     */
+    public TinyLfuAdmissionPolicy(int expectedSize) {
+        this.sketch = new FrequencySketch(expectedSize);
+    }
+
+    @Override
+    public void onAccess(Object key) {
+        sketch.increment(key.hashCode());
+    }
+
+    @Override
+    public boolean isAdmitted(Object candidateKey, Object victimKey) {
+        return sketch.frequency(candidateKey.hashCode()) > sketch.frequency(victimKey.hashCode());
+    }
+
+    // for testing
+    FrequencySketch getSketch() {
+        return sketch;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+
+/**
+ * {@link MemoryAllocator} which allocates blocks of native memory through {@link sun.misc.Unsafe}.
+ * <p>
+ * Every block is a separate {@code malloc}-style allocation. The total amount of allocated memory is
+ * bounded by the maximum supplied at construction time. Like {@code malloc}, a newly allocated block
+ * isn't initialized.
+ */
+public final class UnsafeMemoryAllocator implements MemoryAllocator {
+
+    private final long maxMemory;
+    private final AtomicLong usedMemory = new AtomicLong();
+
+    public UnsafeMemoryAllocator(long maxMemory) {
+        if (!UNSAFE_AVAILABLE) {
+            throw new IllegalStateException("sun.misc.Unsafe is not available, native memory cannot be allocated");
+        }
+        if (maxMemory <= 0) {
+            throw new IllegalArgumentException("Max memory must be positive! -> " + maxMemory);
+        }
+        this.maxMemory = maxMemory;
+    }
+
+    @Override
+    public long allocate(long size) {
+        reserve(size);
+        long address;
+        try {
+            address = UNSAFE.allocateMemory(size);
+        } catch (OutOfMemoryError e) {
+            usedMemory.addAndGet(-size);
+            throw new NativeOutOfMemoryError("Not enough contiguous memory available! Cannot allocate "
+                    + MemorySize.toPrettyString(size), e);
+        }
+        return address;
+    }
+
+    @Override
+    public long reallocate(long address, long currentSize, long newSize) {
+        long diff = newSize - currentSize;
+        if (diff > 0) {
+            reserve(diff);
+        }
+        long newAddress;
+        try {
+            newAddress = UNSAFE.reallocateMemory(address, newSize);
+        } catch (OutOfMemoryError e) {
+            if (diff > 0) {
+                usedMemory.addAndGet(-diff);
+            }
+            throw new NativeOutOfMemoryError("Not enough contiguous memory available! Cannot reallocate "
+                    + MemorySize.toPrettyString(newSize), e);
+        }
+        if (diff > 0) {
+            UNSAFE.setMemory(newAddress + currentSize, diff, (byte) 0);
+        } else {
+            usedMemory.addAndGet(diff);
+        }
+        return newAddress;
+    }
+
+    @Override
+    public void free(long address, long size) {
+        UNSAFE.freeMemory(address);
+        usedMemory.addAndGet(-size);
+    }
+
+    /**
+     * @return the number of bytes currently allocated by this allocator
+     */
+    @Probe(name = "usedMemory", level = MANDATORY)
+    public long getUsedMemory() {
+        return usedMemory.get();
+    }
+
+    /**
+     * @return the maximum number of bytes this allocator is allowed to allocate
+     */
+    @Probe(name = "maxMemory", level = MANDATORY)
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
+    @Override
+    public void dispose() {
+        // blocks are owned and freed by the data structures that allocated them
+    }
+
+    private void reserve(long size) {
+        long used;
+        do {
+            used = usedMemory.get();
+            if (used + size > maxMemory) {
+                throw new NativeOutOfMemoryError("Not enough native memory! Requested: " + MemorySize.toPrettyString(size)
+                        + ", used: " + MemorySize.toPrettyString(used) + ", max: " + MemorySize.toPrettyString(maxMemory));
+            }
+        } while (!usedMemory.compareAndSet(used, used + size));
+    }
+}
@@ -18,12 +18,16 @@ package com.hazelcast.internal.nearcache.impl.store;
 
 import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.eviction.AdmissionPolicy;
+import com.hazelcast.internal.eviction.EvictionCandidate;
 import com.hazelcast.internal.eviction.EvictionChecker;
 import com.hazelcast.internal.eviction.EvictionListener;
 import com.hazelcast.internal.eviction.EvictionPolicyEvaluator;
 import com.hazelcast.internal.eviction.EvictionPolicyType;
 import com.hazelcast.internal.eviction.EvictionStrategy;
 import com.hazelcast.internal.eviction.MaxSizeChecker;
+import com.hazelcast.internal.eviction.impl.admission.TinyLfuAdmissionPolicy;
+import com.hazelcast.internal.eviction.impl.strategy.sampling.SampleableEvictableStore;
 import com.hazelcast.internal.nearcache.NearCacheRecord;
 import com.hazelcast.internal.nearcache.NearCacheRecordStore;
 import com.hazelcast.internal.nearcache.impl.NearCacheRecordMap;
@@ -57,6 +61,7 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
     protected static final int REFERENCE_SIZE = MEM_AVAILABLE ? MEM.arrayIndexScale(Object[].class) : (Integer.SIZE / Byte.SIZE);
 
     private static final int MILLI_SECONDS_IN_A_SECOND = 1000;
+    private static final int ADMISSION_SAMPLE_COUNT = 15;
 
     protected final long timeToLiveMillis;
     protected final long maxIdleMillis;
@@ -70,6 +75,7 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
     protected EvictionChecker evictionChecker;
     protected EvictionStrategy<KS, R, NCRM> evictionStrategy;
     protected EvictionPolicyType evictionPolicyType;
+    protected AdmissionPolicy admissionPolicy;
     protected NCRM records;
 
     protected volatile StaleReadDetector staleReadDetector = ALWAYS_FRESH;
@@ -100,6 +106,7 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         this.evictionChecker = createEvictionChecker(nearCacheConfig);
         this.evictionStrategy = createEvictionStrategy(evictionConfig);
         this.evictionPolicyType = evictionConfig.getEvictionPolicyType();
+        this.admissionPolicy = createAdmissionPolicy(nearCacheConfig);
     }
 
     public void setStaleReadDetector(StaleReadDetector staleReadDetector) {
@@ -156,6 +163,19 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         return new MaxSizeEvictionChecker();
     }
 
+    /**
+     * Creates the {@link AdmissionPolicy} deciding if a new entry is stored when the Near Cache is full.
+     * The victims are sampled from the records, so the policy is only used for a {@link SampleableEvictableStore}.
+     *
+     * @return the admission policy or {@code null} if all entries are admitted
+     */
+    protected AdmissionPolicy createAdmissionPolicy(NearCacheConfig nearCacheConfig) {
+        if (!nearCacheConfig.isAdmissionFilterEnabled() || !(records instanceof SampleableEvictableStore)) {
+            return null;
+        }
+        return new TinyLfuAdmissionPolicy(nearCacheConfig.getEvictionConfig().getSize());
+    }
+
     protected boolean isAvailable() {
         return records != null;
     }
@@ -268,6 +288,10 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
     public V get(K key) {
         checkAvailable();
 
+        if (admissionPolicy != null) {
+            admissionPolicy.onAccess(key);
+        }
+
         R record = null;
         V value = null;
         try {
@@ -309,6 +333,11 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         if (!isEvictionEnabled() && evictionChecker.isEvictionRequired() && !containsRecordKey(key)) {
             return;
         }
+        // with an admission policy the eviction is done here, since the victim has to be compared with the new key
+        if (admissionPolicy != null && isEvictionEnabled() && evictionChecker.isEvictionRequired()
+                && !containsRecordKey(key) && !evictForAdmission(key)) {
+            return;
+        }
 
         R record = null;
         R oldRecord = null;
@@ -393,7 +422,8 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
     public void doEvictionIfRequired() {
         checkAvailable();
 
-        if (isEvictionEnabled()) {
+        // with an admission policy the eviction is done on put, when the new key is known
+        if (isEvictionEnabled() && admissionPolicy == null) {
             evictionStrategy.evict(records, evictionPolicyEvaluator, evictionChecker, this);
         }
     }
@@ -407,6 +437,29 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         }
     }
 
+    /**
+     * Selects a victim by the eviction policy and evicts it if the admission policy prefers the given new key.
+     *
+     * @return {@code true} if the new entry should be stored
+     */
+    @SuppressWarnings("unchecked")
+    private boolean evictForAdmission(K key) {
+        SampleableEvictableStore<KS, R> store = (SampleableEvictableStore<KS, R>) records;
+        Iterable<EvictionCandidate<KS, R>> samples = store.sample(ADMISSION_SAMPLE_COUNT);
+        Iterable<EvictionCandidate<KS, R>> victims = evictionPolicyEvaluator.evaluate(samples);
+        if (victims == null) {
+            return true;
+        }
+        long now = Clock.currentTimeMillis();
+        for (EvictionCandidate<KS, R> victim : victims) {
+            if (!victim.getEvictable().isExpiredAt(now) && !admissionPolicy.isAdmitted(key, victim.getAccessor())) {
+                return false;
+            }
+        }
+        store.evict(victims, this);
+        return true;
+    }
+
     private class MaxSizeEvictionChecker implements EvictionChecker {
 
         @Override
@@ -22,6 +22,7 @@ import com.hazelcast.internal.networking.SocketWriter;
 import com.hazelcast.internal.networking.SocketWriterInitializer;
 import com.hazelcast.internal.networking.WriteHandler;
 import com.hazelcast.internal.networking.nonblocking.iobalancer.IOBalancer;
+import com.hazelcast.internal.util.concurrent.MPSCChunkedArrayQueue;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.OutboundFrame;
@@ -31,7 +32,6 @@ import com.hazelcast.nio.tcp.TcpIpConnection;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -56,10 +56,10 @@ public final class NonBlockingSocketWriter
 
     @SuppressWarnings("checkstyle:visibilitymodifier")
     @Probe(name = "writeQueueSize")
-    public final Queue<OutboundFrame> writeQueue = new ConcurrentLinkedQueue<OutboundFrame>();
+    public final Queue<OutboundFrame> writeQueue = new MPSCChunkedArrayQueue<OutboundFrame>();
     @SuppressWarnings("checkstyle:visibilitymodifier")
     @Probe(name = "priorityWriteQueueSize")
-    public final Queue<OutboundFrame> urgentWriteQueue = new ConcurrentLinkedQueue<OutboundFrame>();
+    public final Queue<OutboundFrame> urgentWriteQueue = new MPSCChunkedArrayQueue<OutboundFrame>();
     private final SocketWriterInitializer initializer;
 
     private ByteBuffer outputBuffer;
@@ -387,9 +387,7 @@ public final class NonBlockingSocketWriter
 
     @Override
     public void close() {
-        writeQueue.clear();
-        urgentWriteQueue.clear();
-
+        // the write queues are cleared by the CloseTask since they can only be consumed by the IO thread
         CloseTask closeTask = new CloseTask();
         write(new TaskFrame(closeTask));
         closeTask.awaitCompletion();
@@ -458,6 +456,9 @@ public final class NonBlockingSocketWriter
 
         @Override
         public void run() {
+            writeQueue.clear();
+            urgentWriteQueue.clear();
+
             try {
                 socketChannel.closeOutbound();
             } catch (IOException e) {
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition;
+
+import com.hazelcast.spi.MigrationAwareService;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.PartitionReplicationEvent;
+
+import java.util.Iterator;
+
+/**
+ * A {@link MigrationAwareService} which is able to stream the data of a partition replica in multiple chunks
+ * during a migration, instead of replicating it with a single operation.
+ *
+ * Only used when {@link com.hazelcast.spi.properties.GroupProperty#PARTITION_MIGRATION_CHUNKS_ENABLED} is set;
+ * otherwise {@link #prepareReplicationOperation(PartitionReplicationEvent)} is used.
+ */
+public interface ChunkedMigrationAwareService extends MigrationAwareService {
+
+    /**
+     * Returns an iterator over the operations which together replicate the partition replica on another member.
+     *
+     * The iterator is only accessed by the partition thread of the migrating partition, and the next operation is
+     * only requested after the destination has executed the previous one. So an implementation should prepare the
+     * operations lazily to keep the memory usage bounded. The operations are executed on the destination in the
+     * order they are returned; if one fails, the migration fails and is rolled back.
+     *
+     * @param event               the replication event
+     * @param maxChunkSizeInBytes the maximum estimated size of the data carried by a single operation
+     * @return the iterator over the replication operations, or {@code null} if there is nothing to replicate
+     */
+    Iterator<Operation> prepareReplicationChunks(PartitionReplicationEvent event, long maxChunkSizeInBytes);
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition;
+
+import com.hazelcast.spi.MigrationAwareService;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.PartitionReplicationEvent;
+
+/**
+ * A {@link MigrationAwareService} which is able to synchronize a backup replica which fell behind by sending only
+ * the changes since a partition replica version, instead of its complete partition data.
+ *
+ * Only used when {@link com.hazelcast.spi.properties.GroupProperty#PARTITION_REPLICA_SYNC_INCREMENTAL_ENABLED} is set.
+ */
+public interface IncrementalReplicationAwareService extends MigrationAwareService {
+
+    /**
+     * Returns an operation replicating the changes of the partition since the given replica version.
+     *
+     * The replica version is a version of the partition owner. The returned operation needs to contain at least the
+     * changes made after the owner had this version; replicating more changes is allowed. The operation must not
+     * reset the existing data of the replica, since unchanged data is not replicated.
+     *
+     * This method is called on the partition owner.
+     *
+     * @param event        the replication event
+     * @param sinceVersion the partition replica version the backup replica is known to be in sync with
+     * @return the replication operation, or {@code null} if the changes since the given version are not known;
+     * {@link #prepareReplicationOperation(PartitionReplicationEvent)} is used instead then
+     */
+    Operation prepareIncrementalReplicationOperation(PartitionReplicationEvent event, long sinceVersion);
+}
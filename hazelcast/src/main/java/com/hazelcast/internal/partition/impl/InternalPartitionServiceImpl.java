@@ -85,6 +85,7 @@ import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 
 import static com.hazelcast.cluster.memberselector.MemberSelectors.DATA_MEMBER_SELECTOR;
+import static com.hazelcast.memory.MemoryUnit.MEGABYTES;
 import static com.hazelcast.util.FutureUtil.logAllExceptions;
 import static com.hazelcast.util.FutureUtil.returnWithDeadline;
 import static java.lang.Math.ceil;
@@ -110,6 +111,7 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
     private final int partitionCount;
 
     private final long partitionMigrationTimeout;
+    private final long migrationChunkMaxSizeInBytes;
 
     private final PartitionServiceProxy proxy;
     private final Lock lock = new ReentrantLock();
@@ -152,6 +154,8 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
                 logAllExceptions(logger, EXCEPTION_MSG_PARTITION_STATE_SYNC_TIMEOUT, Level.FINEST);
 
         partitionMigrationTimeout = properties.getMillis(GroupProperty.PARTITION_MIGRATION_TIMEOUT);
+        migrationChunkMaxSizeInBytes = properties.getBoolean(GroupProperty.PARTITION_MIGRATION_CHUNKS_ENABLED)
+                ? MEGABYTES.toBytes(properties.getInteger(GroupProperty.PARTITION_MIGRATION_CHUNK_MAX_SIZE)) : 0;
 
         proxy = new PartitionServiceProxy(nodeEngine, this);
 
@@ -859,6 +863,15 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
         return partitionMigrationTimeout;
     }
 
+    /**
+     * Returns the maximum size of a migration chunk in bytes, or {@code 0} if chunked migration is disabled.
+     *
+     * @see GroupProperty#PARTITION_MIGRATION_CHUNKS_ENABLED
+     */
+    public long getMigrationChunkMaxSizeInBytes() {
+        return migrationChunkMaxSizeInBytes;
+    }
+
     // called in operation threads
     // Caution: Returning version array without copying for performance reasons. Callers must not modify this array!
     @Override
@@ -69,6 +69,7 @@ public class PartitionReplicaManager {
     private final long partitionMigrationTimeout;
     private final int partitionCount;
     private final int maxParallelReplications;
+    private final boolean incrementalReplicaSyncEnabled;
 
     PartitionReplicaManager(Node node, InternalPartitionServiceImpl partitionService) {
         this.node = node;
@@ -83,6 +84,7 @@ public class PartitionReplicaManager {
         partitionMigrationTimeout = properties.getMillis(GroupProperty.PARTITION_MIGRATION_TIMEOUT);
         maxParallelReplications = properties.getInteger(GroupProperty.PARTITION_MAX_PARALLEL_REPLICATIONS);
         replicaSyncProcessLock = new Semaphore(maxParallelReplications);
+        incrementalReplicaSyncEnabled = properties.getBoolean(GroupProperty.PARTITION_REPLICA_SYNC_INCREMENTAL_ENABLED);
 
         replicaVersions = new PartitionReplicaVersions[partitionCount];
         for (int i = 0; i < replicaVersions.length; i++) {
@@ -209,13 +211,24 @@ public class PartitionReplicaManager {
             }
             replicaSyncRequestsCounter.inc();
             replicaSyncScheduler.schedule(partitionMigrationTimeout, partitionId, syncInfo);
-            ReplicaSyncRequest syncRequest = new ReplicaSyncRequest(partitionId, replicaIndex);
+            ReplicaSyncRequest syncRequest = createReplicaSyncRequest(partitionId, replicaIndex);
             nodeEngine.getOperationService().send(syncRequest, target);
             return true;
         }
         return false;
     }
 
+    // the versions are read outside of the partition thread; that is why an incremental sync response is verified by
+    // canApplyIncrementalReplicaSync before it is applied
+    private ReplicaSyncRequest createReplicaSyncRequest(int partitionId, int replicaIndex) {
+        if (!incrementalReplicaSyncEnabled) {
+            return new ReplicaSyncRequest(partitionId, replicaIndex);
+        }
+        PartitionReplicaVersions partitionVersion = replicaVersions[partitionId];
+        return new ReplicaSyncRequest(partitionId, replicaIndex, partitionVersion.getEpoch(),
+                partitionVersion.getSyncVersion(replicaIndex));
+    }
+
     private void schedulePartitionReplicaSync(ReplicaSyncInfo syncInfo, Address target, long delayMillis, String reason) {
         int partitionId = syncInfo.partitionId;
         int replicaIndex = syncInfo.replicaIndex;
@@ -280,6 +293,41 @@ public class PartitionReplicaManager {
         clearReplicaSyncRequest(partitionId, replicaIndex);
     }
 
+    // called in operation threads
+    public void finalizeReplicaSync(int partitionId, int replicaIndex, long[] versions, long epoch) {
+        finalizeReplicaSync(partitionId, replicaIndex, versions);
+        replicaVersions[partitionId].setEpoch(epoch);
+    }
+
+    // called in operation threads
+    public long getPartitionReplicaEpoch(int partitionId) {
+        return replicaVersions[partitionId].getEpoch();
+    }
+
+    // called in operation threads
+    public void setPartitionReplicaEpoch(int partitionId, long epoch) {
+        replicaVersions[partitionId].setEpoch(epoch);
+    }
+
+    /**
+     * Renews the replica epoch of the partition. Called when this member becomes the owner of the partition, so
+     * the backups are fully synchronized once before they can be synchronized incrementally again.
+     * Called in operation threads.
+     */
+    public void renewPartitionReplicaEpoch(int partitionId) {
+        replicaVersions[partitionId].renewEpoch();
+    }
+
+    /**
+     * Checks if the changes since the given version can be applied to the local replica: it needs to belong to the
+     * same epoch and all backups up to the given version need to be applied without a gap.
+     * Called in operation threads.
+     */
+    public boolean canApplyIncrementalReplicaSync(int partitionId, int replicaIndex, long epoch, long sinceVersion) {
+        PartitionReplicaVersions replicaVersion = replicaVersions[partitionId];
+        return replicaVersion.getEpoch() == epoch && replicaVersion.getSyncVersion(replicaIndex) >= sinceVersion;
+    }
+
     // called in operation threads
     public void clearReplicaSyncRequest(int partitionId, int replicaIndex) {
         ReplicaSyncInfo syncInfo = new ReplicaSyncInfo(partitionId, replicaIndex, null);
@@ -20,6 +20,7 @@ import com.hazelcast.internal.partition.InternalPartition;
 
 import java.util.Arrays;
 
+import static com.hazelcast.util.UuidUtil.newUnsecureUUID;
 import static java.lang.System.arraycopy;
 
 // read and updated only by partition threads
@@ -31,6 +32,16 @@ final class PartitionReplicaVersions {
      * and the last incremental backup received.
      */
     private boolean dirty;
+    /**
+     * Identifies the partition owner the versions belong to. It is renewed when this member becomes the owner and
+     * is taken over from the owner when the replica is synchronized with it.
+     */
+    private long epoch = newEpoch();
+    /**
+     * The version of the replica up to which the backups were applied without a gap. Only valid while dirty.
+     */
+    private long cleanVersion;
+    private int cleanReplicaIndex;
 
     PartitionReplicaVersions(int partitionId) {
         this.partitionId = partitionId;
@@ -77,6 +88,10 @@ final class PartitionReplicaVersions {
         boolean newer = currentVersion < nextVersion;
 
         if (newer) {
+            if (!dirty && !incremental) {
+                cleanVersion = currentVersion;
+                cleanReplicaIndex = replicaIndex;
+            }
             setVersions(newVersions, replicaIndex);
             dirty = dirty || !incremental;
         }
@@ -98,15 +113,47 @@ final class PartitionReplicaVersions {
         return dirty;
     }
 
+    /**
+     * Returns the version of the given replica up to which all backups were applied without a gap, so the replica
+     * can be synchronized by sending only the changes since that version.
+     *
+     * @param replicaIndex replica index
+     * @return the version or {@code -1} if it is not known
+     */
+    long getSyncVersion(int replicaIndex) {
+        if (!dirty) {
+            return versions[replicaIndex - 1];
+        }
+        return cleanReplicaIndex == replicaIndex ? cleanVersion : -1;
+    }
+
+    long getEpoch() {
+        return epoch;
+    }
+
+    void setEpoch(long epoch) {
+        this.epoch = epoch;
+    }
+
+    void renewEpoch() {
+        epoch = newEpoch();
+    }
+
     void clear() {
         for (int i = 0; i < versions.length; i++) {
             versions[i] = 0;
         }
         dirty = false;
+        renewEpoch();
+    }
+
+    private static long newEpoch() {
+        return newUnsecureUUID().getMostSignificantBits();
     }
 
     @Override
     public String toString() {
-        return getClass().getSimpleName() + "{partitionId=" + partitionId + ", versions=" + Arrays.toString(versions) + '}';
+        return getClass().getSimpleName() + "{partitionId=" + partitionId + ", versions=" + Arrays.toString(versions)
+                + ", epoch=" + epoch + '}';
     }
 }
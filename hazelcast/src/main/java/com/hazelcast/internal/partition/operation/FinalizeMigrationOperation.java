@@ -68,6 +68,10 @@ public final class FinalizeMigrationOperation extends AbstractPartitionOperation
             commitSource();
         } else if (endpoint == MigrationEndpoint.DESTINATION && !success) {
             rollbackDestination();
+        } else if (endpoint == MigrationEndpoint.DESTINATION && migrationInfo.getDestinationNewReplicaIndex() == 0) {
+            // the backups need to be fully synchronized with the new owner before they can be synchronized incrementally
+            PartitionReplicaManager replicaManager = ((InternalPartitionServiceImpl) getService()).getReplicaManager();
+            replicaManager.renewPartitionReplicaEpoch(getPartitionId());
         }
 
         InternalPartitionServiceImpl partitionService = getService();
@@ -66,6 +66,7 @@ final class FinalizePromotionOperation extends AbstractPromotionOperation {
 
         if (success) {
             shiftUpReplicaVersions();
+            renewReplicaEpoch();
             commitServices();
         } else {
             rollbackServices();
@@ -79,6 +80,12 @@ final class FinalizePromotionOperation extends AbstractPromotionOperation {
         sendMigrationEvent(status);
     }
 
+    // the backups need to be fully synchronized with the new owner before they can be synchronized incrementally
+    private void renewReplicaEpoch() {
+        InternalPartitionServiceImpl partitionService = getService();
+        partitionService.getReplicaManager().renewPartitionReplicaEpoch(getPartitionId());
+    }
+
     private void shiftUpReplicaVersions() {
         final int partitionId = getPartitionId();
         try {
@@ -53,6 +53,8 @@ public final class MigrationOperation extends BaseMigrationOperation {
 
     private long[] replicaVersions;
     private Collection<Operation> tasks;
+    private boolean firstFragment = true;
+    private boolean lastFragment = true;
 
     private Throwable failureReason;
 
@@ -66,6 +68,17 @@ public final class MigrationOperation extends BaseMigrationOperation {
         this.tasks = tasks;
     }
 
+    /**
+     * Creates a fragment of a chunked migration. The first fragment activates the migration on the destination,
+     * the last one completes it. The fragments of a migration are executed one after the other.
+     */
+    public MigrationOperation(MigrationInfo migrationInfo, long[] replicaVersions, Collection<Operation> tasks,
+            int partitionStateVersion, boolean firstFragment, boolean lastFragment) {
+        this(migrationInfo, replicaVersions, tasks, partitionStateVersion);
+        this.firstFragment = firstFragment;
+        this.lastFragment = lastFragment;
+    }
+
     @Override
     protected MigrationParticipant getMigrationParticipantType() {
         return MigrationParticipant.DESTINATION;
@@ -74,7 +87,11 @@ public final class MigrationOperation extends BaseMigrationOperation {
     @Override
     public void run() throws Exception {
         checkMigrationInitiatorIsMaster();
-        setActiveMigration();
+        if (firstFragment) {
+            setActiveMigration();
+        } else {
+            checkActiveMigration();
+        }
 
         try {
             doRun();
@@ -83,7 +100,9 @@ public final class MigrationOperation extends BaseMigrationOperation {
             success = false;
             failureReason = t;
         } finally {
-            onMigrationComplete();
+            if (lastFragment || !success) {
+                onMigrationComplete();
+            }
             if (!success) {
                 onExecutionFailure(failureReason);
             }
@@ -93,7 +112,9 @@ public final class MigrationOperation extends BaseMigrationOperation {
     private void doRun() throws Exception {
         if (migrationInfo.startProcessing()) {
             try {
-                executeBeforeMigrations();
+                if (firstFragment) {
+                    executeBeforeMigrations();
+                }
 
                 for (Operation op : tasks) {
                     runMigrationOperation(op);
@@ -119,11 +140,25 @@ public final class MigrationOperation extends BaseMigrationOperation {
         }
     }
 
+    private void checkActiveMigration() {
+        InternalPartitionServiceImpl partitionService = getService();
+        MigrationInfo activeMigration = partitionService.getMigrationManager().getActiveMigration();
+        if (!migrationInfo.equals(activeMigration)) {
+            throw new IllegalStateException("Cannot continue migration " + migrationInfo
+                    + ". Current active migration is " + activeMigration);
+        }
+    }
+
     private void logMigrationCancelled() {
         getLogger().warning("Migration is cancelled -> " + migrationInfo);
     }
 
     private void afterMigrate() {
+        if (success && !lastFragment) {
+            migrationInfo.doneProcessing();
+            return;
+        }
+
         if (success) {
             InternalPartitionServiceImpl partitionService = getService();
             PartitionReplicaManager replicaManager = partitionService.getReplicaManager();
@@ -153,6 +188,13 @@ public final class MigrationOperation extends BaseMigrationOperation {
         }
     }
 
+    @Override
+    void onMigrationStart() {
+        if (firstFragment) {
+            super.onMigrationStart();
+        }
+    }
+
     @Override
     protected PartitionMigrationEvent getMigrationEvent() {
         return new PartitionMigrationEvent(MigrationEndpoint.DESTINATION,
@@ -197,6 +239,8 @@ public final class MigrationOperation extends BaseMigrationOperation {
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
         out.writeLongArray(replicaVersions);
+        out.writeBoolean(firstFragment);
+        out.writeBoolean(lastFragment);
         int size = tasks != null ? tasks.size() : 0;
         out.writeInt(size);
         if (size > 0) {
@@ -210,6 +254,8 @@ public final class MigrationOperation extends BaseMigrationOperation {
     protected void readInternal(ObjectDataInput in) throws IOException {
         super.readInternal(in);
         replicaVersions = in.readLongArray();
+        firstFragment = in.readBoolean();
+        lastFragment = in.readBoolean();
         int size = in.readInt();
         if (size > 0) {
             tasks = new ArrayList<Operation>(size);
@@ -228,6 +274,8 @@ public final class MigrationOperation extends BaseMigrationOperation {
         sb.append(", migration=").append(migrationInfo);
         sb.append(", replicaVersions=").append(Arrays.toString(replicaVersions));
         sb.append(", numberOfTasks=").append(numberOfTasks);
+        sb.append(", firstFragment=").append(firstFragment);
+        sb.append(", lastFragment=").append(lastFragment);
     }
 
     @Override
@@ -18,6 +18,7 @@ package com.hazelcast.internal.partition.operation;
 
 import com.hazelcast.core.Member;
 import com.hazelcast.core.MemberLeftException;
+import com.hazelcast.internal.partition.ChunkedMigrationAwareService;
 import com.hazelcast.internal.partition.InternalPartition;
 import com.hazelcast.internal.partition.InternalPartitionService;
 import com.hazelcast.internal.partition.MigrationInfo;
@@ -34,12 +35,15 @@ import com.hazelcast.spi.PartitionReplicationEvent;
 import com.hazelcast.spi.exception.RetryableHazelcastException;
 import com.hazelcast.spi.exception.TargetNotMemberException;
 import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.SimpleExecutionCallback;
+import com.hazelcast.spi.impl.operationservice.InternalOperationService;
 import com.hazelcast.spi.impl.servicemanager.ServiceInfo;
 import com.hazelcast.spi.partition.MigrationEndpoint;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
@@ -48,6 +52,11 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
 
     private boolean returnResponse = true;
 
+    // the state of a chunked migration; only accessed by the partition thread
+    private transient LinkedList<ServiceChunks> pendingChunks;
+    private transient long[] replicaVersions;
+    private volatile boolean lastFragmentSent;
+
     public MigrationRequestOperation() {
     }
 
@@ -85,8 +94,9 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
             executeBeforeMigrations();
             Collection<Operation> tasks = prepareMigrationOperations();
             InternalPartitionServiceImpl partitionService = getService();
-            long[] replicaVersions = partitionService.getPartitionReplicaVersions(migrationInfo.getPartitionId());
-            invokeMigrationOperation(destination, replicaVersions, tasks);
+            replicaVersions = partitionService.getPartitionReplicaVersions(migrationInfo.getPartitionId());
+            addNextChunk(tasks);
+            invokeMigrationOperation(destination, tasks, true);
             returnResponse = false;
         } catch (Throwable e) {
             logThrowable(e);
@@ -132,10 +142,13 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
         }
     }
 
-    private void invokeMigrationOperation(Address destination, long[] replicaVersions, Collection<Operation> tasks)
+    private void invokeMigrationOperation(Address destination, Collection<Operation> tasks, boolean firstFragment)
             throws IOException {
 
-        MigrationOperation operation = new MigrationOperation(migrationInfo, replicaVersions, tasks, partitionStateVersion);
+        boolean lastFragment = !hasPendingChunks();
+        lastFragmentSent = lastFragment;
+        MigrationOperation operation = new MigrationOperation(migrationInfo, replicaVersions, tasks, partitionStateVersion,
+                firstFragment, lastFragment);
 
         NodeEngine nodeEngine = getNodeEngine();
         InternalPartitionServiceImpl partitionService = getService();
@@ -189,11 +202,70 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
     }
 
     private void handleMigrationResultFromTarget(Object result) {
+        if (!lastFragmentSent && Boolean.TRUE.equals(result)) {
+            // the next chunk is prepared on the partition thread since the services are not threadsafe
+            InternalOperationService operationService = (InternalOperationService) getNodeEngine().getOperationService();
+            operationService.execute(new SendNextFragmentTask());
+            return;
+        }
+
+        completeMigration(result);
+    }
+
+    private void completeMigration(Object result) {
+        pendingChunks = null;
         migrationInfo.doneProcessing();
         onMigrationComplete(Boolean.TRUE.equals(result));
         sendResponse(result);
     }
 
+    private void sendNextFragment() {
+        if (!migrationInfo.startProcessing()) {
+            getLogger().warning("Migration is cancelled -> " + migrationInfo);
+            completeMigration(Boolean.FALSE);
+            return;
+        }
+
+        try {
+            Collection<Operation> tasks = new LinkedList<Operation>();
+            addNextChunk(tasks);
+            invokeMigrationOperation(migrationInfo.getDestination(), tasks, false);
+        } catch (Throwable e) {
+            logThrowable(e);
+            completeMigration(Boolean.FALSE);
+        } finally {
+            migrationInfo.doneProcessing();
+        }
+    }
+
+    /**
+     * Adds the next chunk of the first service which still has pending chunks to the given tasks.
+     */
+    private void addNextChunk(Collection<Operation> tasks) {
+        if (!hasPendingChunks()) {
+            return;
+        }
+
+        ServiceChunks serviceChunks = pendingChunks.getFirst();
+        Operation op = serviceChunks.chunks.next();
+        op.setServiceName(serviceChunks.serviceName);
+        tasks.add(op);
+    }
+
+    private boolean hasPendingChunks() {
+        if (pendingChunks == null) {
+            return false;
+        }
+
+        while (!pendingChunks.isEmpty()) {
+            if (pendingChunks.getFirst().chunks.hasNext()) {
+                return true;
+            }
+            pendingChunks.removeFirst();
+        }
+        return false;
+    }
+
     @Override
     void executeBeforeMigrations() throws Exception {
         NodeEngine nodeEngine = getNodeEngine();
@@ -211,10 +283,25 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
         PartitionReplicationEvent replicationEvent = new PartitionReplicationEvent(migrationInfo.getPartitionId(),
                 migrationInfo.getDestinationNewReplicaIndex());
 
+        InternalPartitionServiceImpl partitionService = getService();
+        long maxChunkSize = partitionService.getMigrationChunkMaxSizeInBytes();
+
         Collection<Operation> tasks = new LinkedList<Operation>();
         for (ServiceInfo serviceInfo : nodeEngine.getServiceInfos(MigrationAwareService.class)) {
             MigrationAwareService service = (MigrationAwareService) serviceInfo.getService();
 
+            if (maxChunkSize > 0 && service instanceof ChunkedMigrationAwareService) {
+                Iterator<Operation> chunks = ((ChunkedMigrationAwareService) service)
+                        .prepareReplicationChunks(replicationEvent, maxChunkSize);
+                if (chunks != null) {
+                    if (pendingChunks == null) {
+                        pendingChunks = new LinkedList<ServiceChunks>();
+                    }
+                    pendingChunks.add(new ServiceChunks(serviceInfo.getName(), chunks));
+                }
+                continue;
+            }
+
             Operation op = service.prepareReplicationOperation(replicationEvent);
             if (op != null) {
                 op.setServiceName(serviceInfo.getName());
@@ -229,6 +316,33 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
         return PartitionDataSerializerHook.MIGRATION_REQUEST;
     }
 
+    private static final class ServiceChunks {
+
+        final String serviceName;
+        final Iterator<Operation> chunks;
+
+        private ServiceChunks(String serviceName, Iterator<Operation> chunks) {
+            this.serviceName = serviceName;
+            this.chunks = chunks;
+        }
+    }
+
+    /**
+     * Prepares and sends the next fragment of a chunked migration on the partition thread.
+     */
+    private final class SendNextFragmentTask implements PartitionSpecificRunnable {
+
+        @Override
+        public int getPartitionId() {
+            return migrationInfo.getPartitionId();
+        }
+
+        @Override
+        public void run() {
+            sendNextFragment();
+        }
+    }
+
     private static final class MigrationCallback extends SimpleExecutionCallback<Object> {
 
         final MigrationInfo migrationInfo;
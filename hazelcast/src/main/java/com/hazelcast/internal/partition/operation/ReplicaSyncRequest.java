@@ -17,12 +17,13 @@
 package com.hazelcast.internal.partition.operation;
 
 import com.hazelcast.internal.partition.InternalPartition;
-import com.hazelcast.internal.partition.InternalPartitionService;
+import com.hazelcast.internal.partition.IncrementalReplicationAwareService;
 import com.hazelcast.internal.partition.MigrationCycleOperation;
 import com.hazelcast.internal.partition.ReplicaErrorLogger;
 import com.hazelcast.internal.partition.impl.InternalPartitionImpl;
 import com.hazelcast.internal.partition.impl.InternalPartitionServiceImpl;
 import com.hazelcast.internal.partition.impl.PartitionDataSerializerHook;
+import com.hazelcast.internal.partition.impl.PartitionReplicaManager;
 import com.hazelcast.internal.partition.impl.PartitionStateManager;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
@@ -46,6 +47,12 @@ import java.util.List;
 public final class ReplicaSyncRequest extends AbstractPartitionOperation
         implements PartitionAwareOperation, MigrationCycleOperation {
 
+    private long replicaEpoch;
+    // the version up to which the replica is in sync, -1 if the complete partition data is needed
+    private long syncVersion = -1;
+    // the version the changes are replicated since, -1 if the complete partition data is replicated
+    private transient long incrementalSince = -1;
+
     public ReplicaSyncRequest() {
     }
 
@@ -54,6 +61,18 @@ public final class ReplicaSyncRequest extends AbstractPartitionOperation
         setReplicaIndex(replicaIndex);
     }
 
+    /**
+     * Creates a request for an incremental replica sync, replicating only the changes since the given version if possible.
+     *
+     * @param replicaEpoch the replica epoch of the partition on the requesting replica
+     * @param syncVersion  the version up to which the requesting replica is in sync, or -1 if not known
+     */
+    public ReplicaSyncRequest(int partitionId, int replicaIndex, long replicaEpoch, long syncVersion) {
+        this(partitionId, replicaIndex);
+        this.replicaEpoch = replicaEpoch;
+        this.syncVersion = syncVersion;
+    }
+
     @Override
     public void beforeRun() throws Exception {
         int syncReplicaIndex = getReplicaIndex();
@@ -150,10 +169,20 @@ public final class ReplicaSyncRequest extends AbstractPartitionOperation
         NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
         Collection<ServiceInfo> services = nodeEngine.getServiceInfos(MigrationAwareService.class);
         PartitionReplicationEvent event = new PartitionReplicationEvent(getPartitionId(), getReplicaIndex());
+        boolean incrementalAllowed = isIncrementalSyncAllowed();
         List<Operation> tasks = new LinkedList<Operation>();
         for (ServiceInfo serviceInfo : services) {
             MigrationAwareService service = (MigrationAwareService) serviceInfo.getService();
-            Operation op = service.prepareReplicationOperation(event);
+            Operation op = null;
+            if (incrementalAllowed && service instanceof IncrementalReplicationAwareService) {
+                op = ((IncrementalReplicationAwareService) service).prepareIncrementalReplicationOperation(event, syncVersion);
+                if (op != null) {
+                    incrementalSince = syncVersion;
+                }
+            }
+            if (op == null) {
+                op = service.prepareReplicationOperation(event);
+            }
             if (op != null) {
                 op.setServiceName(serviceInfo.getName());
                 tasks.add(op);
@@ -162,6 +191,19 @@ public final class ReplicaSyncRequest extends AbstractPartitionOperation
         return tasks;
     }
 
+    // the replica needs to be in sync with this owner up to a version this owner has already reached
+    private boolean isIncrementalSyncAllowed() {
+        if (syncVersion < 0) {
+            return false;
+        }
+        int partitionId = getPartitionId();
+        InternalPartitionServiceImpl partitionService = (InternalPartitionServiceImpl) getNodeEngine().getPartitionService();
+        PartitionReplicaManager replicaManager = partitionService.getReplicaManager();
+        long[] replicaVersions = partitionService.getPartitionReplicaVersions(partitionId);
+        return replicaEpoch == replicaManager.getPartitionReplicaEpoch(partitionId)
+                && syncVersion <= replicaVersions[getReplicaIndex() - 1];
+    }
+
     private void sendEmptyResponse() throws IOException {
         sendResponse(null);
     }
@@ -183,10 +225,11 @@ public final class ReplicaSyncRequest extends AbstractPartitionOperation
     private ReplicaSyncResponse createResponse(List<Operation> data) throws IOException {
         int partitionId = getPartitionId();
         NodeEngine nodeEngine = getNodeEngine();
-        InternalPartitionService partitionService = (InternalPartitionService) nodeEngine.getPartitionService();
+        InternalPartitionServiceImpl partitionService = (InternalPartitionServiceImpl) nodeEngine.getPartitionService();
         long[] replicaVersions = partitionService.getPartitionReplicaVersions(partitionId);
+        long epoch = partitionService.getReplicaManager().getPartitionReplicaEpoch(partitionId);
 
-        ReplicaSyncResponse syncResponse = new ReplicaSyncResponse(data, replicaVersions);
+        ReplicaSyncResponse syncResponse = new ReplicaSyncResponse(data, replicaVersions, epoch, incrementalSince);
         syncResponse.setPartitionId(partitionId).setReplicaIndex(getReplicaIndex());
         return syncResponse;
     }
@@ -222,10 +265,21 @@ public final class ReplicaSyncRequest extends AbstractPartitionOperation
 
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeLong(replicaEpoch);
+        out.writeLong(syncVersion);
     }
 
     @Override
     protected void readInternal(ObjectDataInput in) throws IOException {
+        replicaEpoch = in.readLong();
+        syncVersion = in.readLong();
+    }
+
+    @Override
+    protected void toString(StringBuilder sb) {
+        super.toString(sb);
+
+        sb.append(", syncVersion=").append(syncVersion);
     }
 
     @Override
@@ -51,6 +51,9 @@ public class ReplicaSyncResponse extends AbstractPartitionOperation
 
     private List<Operation> tasks;
     private long[] replicaVersions;
+    private long replicaEpoch;
+    // the version the changes are replicated since, -1 if the complete partition data is replicated
+    private long incrementalSince = -1;
 
     public ReplicaSyncResponse() {
     }
@@ -60,6 +63,12 @@ public class ReplicaSyncResponse extends AbstractPartitionOperation
         this.replicaVersions = replicaVersions;
     }
 
+    public ReplicaSyncResponse(List<Operation> data, long[] replicaVersions, long replicaEpoch, long incrementalSince) {
+        this(data, replicaVersions);
+        this.replicaEpoch = replicaEpoch;
+        this.incrementalSince = incrementalSince;
+    }
+
     @Override
     public void run() throws Exception {
         NodeEngine nodeEngine = getNodeEngine();
@@ -71,9 +80,12 @@ public class ReplicaSyncResponse extends AbstractPartitionOperation
         InternalPartitionImpl partition = partitionStateManager.getPartitionImpl(partitionId);
         Address thisAddress = nodeEngine.getThisAddress();
         int currentReplicaIndex = partition.getReplicaIndex(thisAddress);
+        boolean applicable = replicaIndex == currentReplicaIndex && isIncrementalSyncApplicable(partitionService);
         try {
-            if (replicaIndex == currentReplicaIndex) {
+            if (applicable) {
                 executeTasks();
+            } else if (replicaIndex == currentReplicaIndex) {
+                discardIncrementalSync();
             } else {
                 nodeNotOwnsBackup(partition);
             }
@@ -81,17 +93,44 @@ public class ReplicaSyncResponse extends AbstractPartitionOperation
                 tasks.clear();
             }
         } finally {
-            postProcessReplicaSync(partitionService, currentReplicaIndex);
+            postProcessReplicaSync(partitionService, currentReplicaIndex, applicable);
         }
     }
 
-    private void postProcessReplicaSync(InternalPartitionServiceImpl partitionService, int currentReplicaIndex) {
+    // the replica may have missed backups since the incremental sync was requested
+    private boolean isIncrementalSyncApplicable(InternalPartitionServiceImpl partitionService) {
+        return incrementalSince < 0 || partitionService.getReplicaManager()
+                .canApplyIncrementalReplicaSync(getPartitionId(), getReplicaIndex(), replicaEpoch, incrementalSince);
+    }
+
+    private void discardIncrementalSync() {
+        ILogger logger = getLogger();
+        if (logger.isFinestEnabled()) {
+            logger.finest("Incremental replica sync cannot be applied anymore, partitionId=" + getPartitionId()
+                    + ", replicaIndex=" + getReplicaIndex() + ", since=" + incrementalSince);
+        }
+        if (tasks != null) {
+            Throwable throwable = new IllegalStateException("Incremental replica sync is stale");
+            for (Operation op : tasks) {
+                prepareOperation(op);
+                onOperationFailure(op, throwable);
+            }
+        }
+    }
+
+    private void postProcessReplicaSync(InternalPartitionServiceImpl partitionService, int currentReplicaIndex,
+                                        boolean applicable) {
         int partitionId = getPartitionId();
         int replicaIndex = getReplicaIndex();
 
         PartitionReplicaManager replicaManager = partitionService.getReplicaManager();
         if (replicaIndex == currentReplicaIndex) {
-            replicaManager.finalizeReplicaSync(partitionId, replicaIndex, replicaVersions);
+            if (applicable) {
+                replicaManager.finalizeReplicaSync(partitionId, replicaIndex, replicaVersions, replicaEpoch);
+            } else {
+                replicaManager.clearReplicaSyncRequest(partitionId, replicaIndex);
+                replicaManager.triggerPartitionReplicaSync(partitionId, replicaIndex, 0);
+            }
         } else {
             replicaManager.clearReplicaSyncRequest(partitionId, replicaIndex);
             if (currentReplicaIndex < 0) {
@@ -223,6 +262,8 @@ public class ReplicaSyncResponse extends AbstractPartitionOperation
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         out.writeLongArray(replicaVersions);
+        out.writeLong(replicaEpoch);
+        out.writeLong(incrementalSince);
         int size = tasks != null ? tasks.size() : 0;
         out.writeInt(size);
         if (size > 0) {
@@ -235,6 +276,8 @@ public class ReplicaSyncResponse extends AbstractPartitionOperation
     @Override
     protected void readInternal(ObjectDataInput in) throws IOException {
         replicaVersions = in.readLongArray();
+        replicaEpoch = in.readLong();
+        incrementalSince = in.readLong();
         int size = in.readInt();
         if (size > 0) {
             tasks = new ArrayList<Operation>(size);
@@ -250,6 +293,7 @@ public class ReplicaSyncResponse extends AbstractPartitionOperation
         super.toString(sb);
 
         sb.append(", replicaVersions=").append(Arrays.toString(replicaVersions));
+        sb.append(", incrementalSince=").append(incrementalSince);
     }
 
     @Override
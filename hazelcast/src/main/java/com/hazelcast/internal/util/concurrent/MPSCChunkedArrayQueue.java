@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Unbounded multi producer single consumer queue backed by a linked list of fixed size array chunks.
+ *
+ * Contrary to the {@link java.util.concurrent.ConcurrentLinkedQueue} it doesn't allocate a node per item; a producer
+ * claims a slot using a single atomic increment and a new chunk is only allocated once every {@code chunkSize} items.
+ * Contrary to the {@link ManyToOneConcurrentArrayQueue} it is unbounded, so an offer never fails.
+ *
+ * The items offered by a single producer are taken in the order they were offered.
+ *
+ * The {@link #poll()}, {@link #peek()} and {@link #clear()} methods must only be called by the single consumer thread.
+ * A poll could return {@code null} while {@link #isEmpty()} returns {@code false}: this happens when a producer has
+ * claimed a slot, but hasn't yet stored its item in it.
+ *
+ * @param <E> the type of elements held in this collection
+ */
+public final class MPSCChunkedArrayQueue<E> extends AbstractQueue<E> {
+
+    static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    private final int chunkSize;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicReference<Chunk<E>> producerChunk;
+
+    // only modified by the consumer thread, volatile so it can be read by the iterator
+    private volatile Chunk<E> consumerChunk;
+
+    public MPSCChunkedArrayQueue() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public MPSCChunkedArrayQueue(int chunkSize) {
+        this.chunkSize = checkPositive(chunkSize, "chunkSize should be positive");
+        Chunk<E> chunk = new Chunk<E>(0, chunkSize);
+        this.producerChunk = new AtomicReference<Chunk<E>>(chunk);
+        this.consumerChunk = chunk;
+    }
+
+    @Override
+    public boolean offer(E item) {
+        checkNotNull(item, "item can't be null");
+
+        // the chunk needs to be read before claiming the sequence, else a producer with a higher sequence could have moved
+        // the producerChunk beyond the chunk of our sequence.
+        Chunk<E> chunk = producerChunk.get();
+        long sequence = tail.getAndIncrement();
+
+        while (sequence >= chunk.base + chunkSize) {
+            Chunk<E> next = chunk.next.get();
+            if (next == null) {
+                next = new Chunk<E>(chunk.base + chunkSize, chunkSize);
+                if (!chunk.next.compareAndSet(null, next)) {
+                    next = chunk.next.get();
+                }
+            }
+            chunk = next;
+        }
+
+        advanceProducerChunk(chunk);
+        chunk.items.lazySet((int) (sequence - chunk.base), item);
+        return true;
+    }
+
+    private void advanceProducerChunk(Chunk<E> chunk) {
+        for (; ; ) {
+            Chunk<E> current = producerChunk.get();
+            if (current.base >= chunk.base || producerChunk.compareAndSet(current, chunk)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public E poll() {
+        long sequence = head.get();
+        Chunk<E> chunk = nextConsumerChunk(sequence);
+        if (chunk == null) {
+            return null;
+        }
+
+        int index = (int) (sequence - chunk.base);
+        E item = chunk.items.get(index);
+        if (item == null) {
+            return null;
+        }
+
+        chunk.items.lazySet(index, null);
+        head.lazySet(sequence + 1);
+        return item;
+    }
+
+    @Override
+    public E peek() {
+        long sequence = head.get();
+        Chunk<E> chunk = nextConsumerChunk(sequence);
+        if (chunk == null) {
+            return null;
+        }
+        return chunk.items.get((int) (sequence - chunk.base));
+    }
+
+    private Chunk<E> nextConsumerChunk(long sequence) {
+        Chunk<E> chunk = consumerChunk;
+        if (sequence < chunk.base + chunkSize) {
+            return chunk;
+        }
+
+        // the current chunk is fully consumed; the next one is only available once a producer has linked it
+        Chunk<E> next = chunk.next.get();
+        if (next != null) {
+            consumerChunk = next;
+        }
+        return next;
+    }
+
+    /**
+     * {@inheritDoc}.
+     *
+     * Best effort implementation.
+     */
+    @Override
+    public int size() {
+        long size = tail.get() - head.get();
+        if (size <= 0) {
+            return 0;
+        }
+        return size > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+
+    /**
+     * {@inheritDoc}.
+     *
+     * Returns an iterator over a snapshot of the items in this queue. This call is threadsafe, but the snapshot is
+     * best effort: items offered or taken while the snapshot is created may or may not be included.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        long sequence = head.get();
+        long tailSequence = tail.get();
+        List<E> snapshot = new ArrayList<E>();
+
+        Chunk<E> chunk = consumerChunk;
+        while (chunk != null && sequence < tailSequence) {
+            if (sequence < chunk.base) {
+                sequence = chunk.base;
+            }
+            if (sequence >= chunk.base + chunkSize) {
+                chunk = chunk.next.get();
+                continue;
+            }
+
+            E item = chunk.items.get((int) (sequence - chunk.base));
+            if (item != null) {
+                snapshot.add(item);
+            }
+            sequence++;
+        }
+        return snapshot.iterator();
+    }
+
+    private static final class Chunk<E> {
+        final long base;
+        final AtomicReferenceArray<E> items;
+        final AtomicReference<Chunk<E>> next = new AtomicReference<Chunk<E>>();
+
+        Chunk(long base, int size) {
+            this.base = base;
+            this.items = new AtomicReferenceArray<E>(size);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.counters;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.QuickMath.isPowerOfTwo;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * A lock-free histogram of latencies in microseconds, from which percentiles like the p99 can be read.
+ * <p>
+ * Like an HdrHistogram the buckets are log-linear: every power of two is split into {@value #SUB_BUCKET_COUNT} buckets
+ * of equal width, so a value is recorded with a relative error of at most 1/{@value #SUB_BUCKET_COUNT}, no matter
+ * if it is a few microseconds or a few seconds. Latencies beyond about 70 minutes end up in the last bucket.
+ * <p>
+ * The buckets are striped by the id of the recording thread, so threads recording concurrently hardly ever contend
+ * on the same counters. The stripes are merged when the histogram is read.
+ */
+public final class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int MAX_MAGNITUDE = 32;
+    static final int BUCKET_COUNT = SUB_BUCKET_COUNT * (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1);
+
+    private static final int NANOS_PER_MICRO = 1000;
+    private static final double HUNDRED_PERCENT = 100;
+
+    // the max of a stripe is stored after its buckets
+    private static final int STRIPE_LENGTH = BUCKET_COUNT + 1;
+
+    private final AtomicLongArray stripes;
+    private final int stripeMask;
+
+    /**
+     * @param stripeCount the number of stripes, needs to be a power of two
+     */
+    public LatencyHistogram(int stripeCount) {
+        checkPositive(stripeCount, "stripeCount should be positive");
+        if (!isPowerOfTwo(stripeCount)) {
+            throw new IllegalArgumentException("stripeCount should be a power of two, but was " + stripeCount);
+        }
+        this.stripes = new AtomicLongArray(stripeCount * STRIPE_LENGTH);
+        this.stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param durationNanos the latency in nanoseconds
+     */
+    public void recordNanos(long durationNanos) {
+        long micros = max(0, durationNanos / NANOS_PER_MICRO);
+        int offset = ((int) Thread.currentThread().getId() & stripeMask) * STRIPE_LENGTH;
+
+        stripes.incrementAndGet(offset + bucketIndex(micros));
+
+        int maxIndex = offset + BUCKET_COUNT;
+        for (; ; ) {
+            long currentMax = stripes.get(maxIndex);
+            if (micros <= currentMax || stripes.compareAndSet(maxIndex, currentMax, micros)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     */
+    public long count() {
+        long count = 0;
+        for (long bucketCount : mergeBuckets()) {
+            count += bucketCount;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the highest recorded latency in microseconds, or 0 if nothing was recorded.
+     */
+    public long maxMicros() {
+        long maxMicros = 0;
+        for (int offset = 0; offset < stripes.length(); offset += STRIPE_LENGTH) {
+            maxMicros = max(maxMicros, stripes.get(offset + BUCKET_COUNT));
+        }
+        return maxMicros;
+    }
+
+    /**
+     * Returns the latency in microseconds which the given percentage of the recorded latencies doesn't exceed. The
+     * latency is the upper bound of the bucket the percentile falls into, but never more than the {@link #maxMicros()}.
+     *
+     * @param percentile the percentile, e.g. 99.9
+     * @return the latency in microseconds, or 0 if nothing was recorded
+     */
+    public long percentileMicros(double percentile) {
+        long[] buckets = mergeBuckets();
+        long count = 0;
+        for (long bucketCount : buckets) {
+            count += bucketCount;
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = max(1, (long) Math.ceil(count * percentile / HUNDRED_PERCENT));
+        long seen = 0;
+        for (int index = 0; index < buckets.length; index++) {
+            seen += buckets[index];
+            if (seen >= rank) {
+                return min(highestValue(index), maxMicros());
+            }
+        }
+        return maxMicros();
+    }
+
+    private long[] mergeBuckets() {
+        long[] buckets = new long[BUCKET_COUNT];
+        for (int offset = 0; offset < stripes.length(); offset += STRIPE_LENGTH) {
+            for (int index = 0; index < BUCKET_COUNT; index++) {
+                buckets[index] += stripes.get(offset + index);
+            }
+        }
+        return buckets;
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) micros;
+        }
+        int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int index = SUB_BUCKET_COUNT * (shift + 1) + (int) ((micros >>> shift) - SUB_BUCKET_COUNT);
+        return min(index, BUCKET_COUNT - 1);
+    }
+
+    static long highestValue(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKET_COUNT) {
+            return bucketIndex;
+        }
+        int shift = bucketIndex / SUB_BUCKET_COUNT - 1;
+        long lowestValue = (long) (SUB_BUCKET_COUNT + bucketIndex % SUB_BUCKET_COUNT) << shift;
+        return lowestValue + (1L << shift) - 1;
+    }
+}
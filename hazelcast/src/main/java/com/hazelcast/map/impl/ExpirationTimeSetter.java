@@ -39,7 +39,13 @@ public final class ExpirationTimeSetter {
         record.setExpirationTime(expirationTime);
     }
 
-    private static long calculateExpirationTime(Record record, long maxIdleMillis) {
+    /**
+     * Calculates the time the record expires, based on its TTL and the given max idle time. Unlike
+     * {@link Record#getExpirationTime()} this doesn't depend on statistics being enabled.
+     *
+     * @return the expiration time in milliseconds, or {@link Long#MAX_VALUE} if the record never expires
+     */
+    public static long calculateExpirationTime(Record record, long maxIdleMillis) {
         // 1. Calculate TTL expiration time.
         final long ttl = checkedTime(record.getTtl());
         final long ttlExpirationTime = sumForExpiration(ttl, getLifeStartTime(record));
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.logging.ILogger;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the number of key batches in flight to each partition while the SENDER {@link MapKeyLoader} distributes the
+ * keys of a map.
+ * <p/>
+ * A permit of the partition is acquired before a batch is sent to it and released when the partition loaded the values
+ * of the batch. So the key streaming stalls on a partition which can't keep up instead of piling up load tasks for it,
+ * while the other partitions keep loading the values of the batches they already received.
+ * <p/>
+ * The batches are sent by a single thread, the completions arrive on the response threads.
+ */
+final class KeyLoadPipeline {
+
+    private final Semaphore[] permits;
+    private final int depth;
+    private final ILogger logger;
+    @Probe(name = "sentKeys")
+    private final AtomicLong sentKeyCount = new AtomicLong();
+    @Probe(name = "loadedKeys")
+    private final AtomicLong loadedKeyCount = new AtomicLong();
+
+    /**
+     * @param partitionCount the number of partitions
+     * @param depth          the maximum number of batches in flight to a single partition
+     * @param logger         the logger to report failed batches to
+     */
+    KeyLoadPipeline(int partitionCount, int depth, ILogger logger) {
+        this.depth = depth;
+        this.logger = logger;
+        this.permits = new Semaphore[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            permits[i] = new Semaphore(depth);
+        }
+    }
+
+    /**
+     * Blocks until another batch can be sent to the given partition.
+     */
+    void acquire(int partitionId) throws InterruptedException {
+        permits[partitionId].acquire();
+    }
+
+    /**
+     * Tracks a batch sent to the given partition after a permit was {@link #acquire(int) acquired}. The permit is
+     * released when the values of the batch are loaded or the load failed.
+     *
+     * @param partitionId the partition the batch was sent to
+     * @param keyCount    the number of keys in the batch
+     * @param future      the future of the operation carrying the batch, completed when the values are loaded
+     */
+    void track(final int partitionId, final int keyCount, ICompletableFuture<Object> future) {
+        sentKeyCount.addAndGet(keyCount);
+        future.andThen(new ExecutionCallback<Object>() {
+            @Override
+            public void onResponse(Object response) {
+                loadedKeyCount.addAndGet(keyCount);
+                permits[partitionId].release();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                if (logger.isFinestEnabled()) {
+                    logger.finest("Loading keys on partitionId=" + partitionId + " failed", t);
+                }
+                permits[partitionId].release();
+            }
+        });
+    }
+
+    /**
+     * Waits until the values of all batches sent are loaded or their load failed.
+     *
+     * @return {@code true} if all batches completed, {@code false} if the timeout elapsed before
+     */
+    boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Semaphore partitionPermits : permits) {
+            long remaining = deadline - System.nanoTime();
+            if (!partitionPermits.tryAcquire(depth, remaining, TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+            partitionPermits.release(depth);
+        }
+        return true;
+    }
+
+    long getSentKeyCount() {
+        return sentKeyCount.get();
+    }
+
+    long getLoadedKeyCount() {
+        return loadedKeyCount.get();
+    }
+}
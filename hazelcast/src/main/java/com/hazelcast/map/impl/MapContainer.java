@@ -30,11 +30,13 @@ import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.nearcache.invalidation.InvalidationListener;
 import com.hazelcast.map.impl.query.QueryEntryFactory;
 import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.NativeDataRecordFactory;
 import com.hazelcast.map.impl.record.ObjectRecordFactory;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.merge.MapMergePolicy;
 import com.hazelcast.nio.ClassLoaderUtil;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.getters.Extractors;
@@ -52,6 +54,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
 import static com.hazelcast.map.impl.mapstore.MapStoreContextFactory.createMapStoreContext;
+import static com.hazelcast.spi.properties.GroupProperty.QUERY_PARTITION_LOCAL_INDEXES;
 import static java.lang.System.getProperty;
 
 /**
@@ -63,6 +66,7 @@ public class MapContainer {
     protected final String quorumName;
     protected final MapServiceContext mapServiceContext;
     protected final Indexes indexes;
+    protected final boolean globalIndexEnabled;
     protected final Extractors extractors;
     protected final PartitioningStrategy partitioningStrategy;
     protected final MapStoreContext mapStoreContext;
@@ -106,7 +110,8 @@ public class MapContainer {
         this.queryEntryFactory = new QueryEntryFactory(mapConfig.getCacheDeserializedValues());
         initWanReplication(nodeEngine);
         this.extractors = new Extractors(mapConfig.getMapAttributeConfigs(), config.getClassLoader());
-        this.indexes = new Indexes((InternalSerializationService) serializationService, extractors);
+        this.globalIndexEnabled = !nodeEngine.getProperties().getBoolean(QUERY_PARTITION_LOCAL_INDEXES);
+        this.indexes = createIndexes(globalIndexEnabled);
         this.mapStoreContext = createMapStoreContext(this);
         this.mapStoreContext.start();
         initEvictor();
@@ -154,6 +159,9 @@ public class MapContainer {
                         return new DataRecordFactory(mapConfig, serializationService, partitioningStrategy);
                     case OBJECT:
                         return new ObjectRecordFactory(mapConfig, serializationService);
+                    case NATIVE:
+                        return new NativeDataRecordFactory(mapConfig, serializationService, partitioningStrategy,
+                                mapServiceContext.getNativeMemoryManager());
                     default:
                         throw new IllegalArgumentException("Invalid storage format: " + mapConfig.getInMemoryFormat());
                 }
@@ -176,10 +184,55 @@ public class MapContainer {
         return mapServiceContext.getPartitioningStrategy(mapConfig.getName(), mapConfig.getPartitioningStrategyConfig());
     }
 
+    /**
+     * Returns the member-wide indexes of this map.
+     * <p>
+     * When partition-local indexes are used these indexes only hold the index definitions and never contain entries;
+     * use {@link #getIndexes(int)} to access the indexes populated for a partition.
+     *
+     * @return the member-wide indexes
+     */
     public Indexes getIndexes() {
         return indexes;
     }
 
+    /**
+     * Returns the indexes which hold the entries of the given partition. These are the global indexes
+     * unless partition-local indexes are enabled.
+     *
+     * @param partitionId the partition ID
+     * @return the indexes for the given partition
+     */
+    public Indexes getIndexes(int partitionId) {
+        if (globalIndexEnabled) {
+            return indexes;
+        }
+        return mapServiceContext.getPartitionContainer(partitionId).getIndexes(name);
+    }
+
+    /**
+     * @return {@code true} if a single index is shared by all partitions of this member, {@code false} if
+     * each partition maintains its own partition-local index
+     */
+    public boolean isGlobalIndexEnabled() {
+        return globalIndexEnabled;
+    }
+
+    /**
+     * Creates partition-local indexes populated with the index definitions known to this map.
+     */
+    public Indexes createPartitionIndexes() {
+        Indexes partitionIndexes = createIndexes(false);
+        for (Index index : indexes.getIndexes()) {
+            partitionIndexes.addOrGetIndex(index.getAttributeName(), index.isOrdered());
+        }
+        return partitionIndexes;
+    }
+
+    protected Indexes createIndexes(boolean global) {
+        return new Indexes((InternalSerializationService) serializationService, extractors, global);
+    }
+
     public WanReplicationPublisher getWanReplicationPublisher() {
         return wanReplicationPublisher;
     }
@@ -41,6 +41,7 @@ import com.hazelcast.map.impl.operation.ContainsValueOperation;
 import com.hazelcast.map.impl.operation.ContainsValueOperationFactory;
 import com.hazelcast.map.impl.operation.DeleteOperation;
 import com.hazelcast.map.impl.operation.EntryBackupOperation;
+import com.hazelcast.map.impl.operation.EntryOffloadableSetUnlockOperation;
 import com.hazelcast.map.impl.operation.EntryOperation;
 import com.hazelcast.map.impl.operation.EvictAllBackupOperation;
 import com.hazelcast.map.impl.operation.EvictAllOperation;
@@ -57,6 +58,7 @@ import com.hazelcast.map.impl.operation.LoadStatusOperation;
 import com.hazelcast.map.impl.operation.LoadStatusOperationFactory;
 import com.hazelcast.map.impl.operation.MapFetchEntriesOperation;
 import com.hazelcast.map.impl.operation.MapFetchKeysOperation;
+import com.hazelcast.map.impl.operation.MapFetchWithQueryOperation;
 import com.hazelcast.map.impl.operation.MapFlushBackupOperation;
 import com.hazelcast.map.impl.operation.MapFlushOperation;
 import com.hazelcast.map.impl.operation.MapFlushOperationFactory;
@@ -65,6 +67,7 @@ import com.hazelcast.map.impl.operation.MapGetInvalidationMetaDataOperation;
 import com.hazelcast.map.impl.operation.MapIsEmptyOperation;
 import com.hazelcast.map.impl.operation.MapLoadAllOperationFactory;
 import com.hazelcast.map.impl.operation.MapNearCacheStateHolder;
+import com.hazelcast.map.impl.operation.MapReplicationChunkOperation;
 import com.hazelcast.map.impl.operation.MapReplicationOperation;
 import com.hazelcast.map.impl.operation.MapReplicationStateHolder;
 import com.hazelcast.map.impl.operation.MapSizeOperation;
@@ -280,8 +283,11 @@ public final class MapDataSerializerHook implements DataSerializerHook {
     public static final int ACCUMULATOR_CONSUMER = 129;
     public static final int CACHED_QUERY_ENTRY = 130;
     public static final int LAZY_MAP_ENTRY = 131;
+    public static final int MAP_REPLICATION_CHUNK = 132;
+    public static final int ENTRY_OFFLOADABLE_SET_UNLOCK = 133;
+    public static final int FETCH_WITH_QUERY = 134;
 
-    private static final int LEN = LAZY_MAP_ENTRY + 1;
+    private static final int LEN = FETCH_WITH_QUERY + 1;
 
     @Override
     public int getFactoryId() {
@@ -772,6 +778,21 @@ public final class MapDataSerializerHook implements DataSerializerHook {
                 return new MapReplicationOperation();
             }
         };
+        constructors[MAP_REPLICATION_CHUNK] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new MapReplicationChunkOperation();
+            }
+        };
+        constructors[ENTRY_OFFLOADABLE_SET_UNLOCK] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new EntryOffloadableSetUnlockOperation();
+            }
+        };
+        constructors[FETCH_WITH_QUERY] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new MapFetchWithQueryOperation();
+            }
+        };
         constructors[POST_JOIN_MAP_OPERATION] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
             public IdentifiedDataSerializable createNew(Integer arg) {
                 return new PostJoinMapOperation();
@@ -21,6 +21,7 @@ import com.hazelcast.core.IFunction;
 import com.hazelcast.core.MapLoader;
 import com.hazelcast.core.Member;
 import com.hazelcast.internal.cluster.ClusterService;
+import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.operation.LoadStatusOperation;
@@ -37,17 +38,14 @@ import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.impl.AbstractCompletableFuture;
 import com.hazelcast.spi.partition.IPartition;
 import com.hazelcast.spi.partition.IPartitionService;
-import com.hazelcast.util.FutureUtil;
+import com.hazelcast.util.Clock;
 import com.hazelcast.util.StateMachine;
 import com.hazelcast.util.scheduler.CoalescingDelayedTrigger;
 
 import java.io.Closeable;
-import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
@@ -57,8 +55,8 @@ import java.util.concurrent.TimeoutException;
 
 import static com.hazelcast.logging.Logger.getLogger;
 import static com.hazelcast.map.impl.MapKeyLoaderUtil.assignRole;
-import static com.hazelcast.map.impl.MapKeyLoaderUtil.toBatches;
 import static com.hazelcast.map.impl.MapKeyLoaderUtil.toPartition;
+import static com.hazelcast.map.impl.MapKeyLoaderUtil.toPartitionBatches;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.nio.IOUtil.closeResource;
 import static com.hazelcast.spi.ExecutionService.MAP_LOAD_ALL_KEYS_EXECUTOR;
@@ -73,6 +71,11 @@ public class MapKeyLoader {
 
     private static final long LOADING_TRIGGER_DELAY = SECONDS.toMillis(5);
     private static final long KEY_DISTRIBUTION_TIMEOUT_MINUTES = 15;
+    private static final long PROGRESS_LOG_INTERVAL_MILLIS = SECONDS.toMillis(10);
+    /**
+     * The maximum number of key batches in flight to a single partition
+     */
+    private static final int PIPELINE_DEPTH = 2;
 
     private ILogger logger;
 
@@ -82,6 +85,7 @@ public class MapKeyLoader {
     private final ClusterService clusterService;
     private IFunction<Object, Data> toData;
     private ExecutionService execService;
+    private MetricsRegistry metricsRegistry;
     private CoalescingDelayedTrigger delayedTrigger;
 
     private int maxSizePerNode;
@@ -289,58 +293,93 @@ public class MapKeyLoader {
 
         int clusterSize = partitionService.getMemberPartitionsMap().size();
         Iterator<Object> keys = null;
+        KeyLoadPipeline pipeline = null;
         Throwable loadError = null;
 
         try {
             Iterable<Object> allKeys = mapStoreContext.loadAllKeys();
             keys = allKeys.iterator();
-            Iterator<Data> dataKeys = map(keys, toData);
-            int mapMaxSize = clusterSize * maxSizePerNode;
-
-            if (mapMaxSize > 0) {
-                dataKeys = limit(dataKeys, mapMaxSize);
-            }
-
-            Iterator<Entry<Integer, Data>> partitionsAndKeys = map(dataKeys, toPartition(partitionService));
-            Iterator<Map<Integer, List<Data>>> batches = toBatches(partitionsAndKeys, maxBatch);
+            Iterator<Entry<Integer, List<Data>>> batches = toBatches(keys, clusterSize);
 
-            List<Future> futures = new ArrayList<Future>();
-            while (batches.hasNext()) {
-                Map<Integer, List<Data>> batch = batches.next();
-                futures.addAll(sendBatch(batch, replaceExistingValues));
-            }
+            pipeline = startPipeline();
+            long startMillis = Clock.currentTimeMillis();
+            sendBatches(pipeline, batches, replaceExistingValues);
 
             // This acts as a barrier to prevent re-ordering of key distribution operations (LoadAllOperation)
             // and LoadStatusOperation(s) which indicates all keys were already loaded.
             // Re-ordering of in-flight operations can happen during a partition migration. We are waiting here
-            // for all LoadAllOperation(s) to be ACKed by receivers and only then we send them the LoadStatusOperation
+            // for all LoadAllOperation(s) to be ACKed by receivers and only then we send them the LoadStatusOperation.
+            // A LoadAllOperation is ACKed when the values of its keys are loaded
             // See https://github.com/hazelcast/hazelcast/issues/4024 for additional details
-            FutureUtil.waitWithDeadline(futures, KEY_DISTRIBUTION_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+            // Since the pipeline keeps at most PIPELINE_DEPTH batches in flight per partition, the timeout only covers
+            // loading the values of these last batches, not the whole load of the map.
+            if (!pipeline.awaitCompletion(KEY_DISTRIBUTION_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+                throw new TimeoutException("Not all keys of map '" + mapName + "' were loaded by the partitions within "
+                        + KEY_DISTRIBUTION_TIMEOUT_MINUTES + " minutes");
+            }
+            if (logger.isFineEnabled()) {
+                logger.fine("Sent " + pipeline.getSentKeyCount() + " keys of map '" + mapName + "' in "
+                        + (Clock.currentTimeMillis() - startMillis) + " ms");
+            }
 
         } catch (Exception caught) {
             loadError = caught;
         } finally {
             sendLoadCompleted(clusterSize, loadError);
 
+            if (pipeline != null && metricsRegistry != null) {
+                metricsRegistry.deregister(pipeline);
+            }
             if (keys instanceof Closeable) {
                 closeResource((Closeable) keys);
             }
         }
     }
 
-    private List<Future> sendBatch(Map<Integer, List<Data>> batch, boolean replaceExistingValues) {
-        Set<Entry<Integer, List<Data>>> entries = batch.entrySet();
-        List<Future> futures = new ArrayList<Future>(entries.size());
-        for (Entry<Integer, List<Data>> e : entries) {
-            int partitionId = e.getKey();
-            List<Data> keys = e.getValue();
+    private Iterator<Entry<Integer, List<Data>>> toBatches(Iterator<Object> keys, int clusterSize) {
+        Iterator<Data> dataKeys = map(keys, toData);
+        int mapMaxSize = clusterSize * maxSizePerNode;
+
+        if (mapMaxSize > 0) {
+            dataKeys = limit(dataKeys, mapMaxSize);
+        }
+
+        Iterator<Entry<Integer, Data>> partitionsAndKeys = map(dataKeys, toPartition(partitionService));
+        return toPartitionBatches(partitionsAndKeys, maxBatch);
+    }
 
-            MapOperation op = operationProvider.createLoadAllOperation(mapName, keys, replaceExistingValues);
+    private KeyLoadPipeline startPipeline() {
+        KeyLoadPipeline pipeline = new KeyLoadPipeline(partitionService.getPartitionCount(), PIPELINE_DEPTH, logger);
+        if (metricsRegistry != null) {
+            metricsRegistry.scanAndRegister(pipeline, "map[" + mapName + "].keyLoad");
+        }
+        return pipeline;
+    }
 
-            InternalCompletableFuture<Object> future = opService.invokeOnPartition(SERVICE_NAME, op, partitionId);
-            futures.add(future);
+    private void sendBatches(KeyLoadPipeline pipeline, Iterator<Entry<Integer, List<Data>>> batches,
+                             boolean replaceExistingValues) throws InterruptedException {
+        long lastProgressMillis = Clock.currentTimeMillis();
+        while (batches.hasNext()) {
+            Entry<Integer, List<Data>> batch = batches.next();
+            sendBatch(pipeline, batch.getKey(), batch.getValue(), replaceExistingValues);
+
+            long nowMillis = Clock.currentTimeMillis();
+            if (nowMillis - lastProgressMillis >= PROGRESS_LOG_INTERVAL_MILLIS) {
+                lastProgressMillis = nowMillis;
+                logger.info("Loading map '" + mapName + "': sent " + pipeline.getSentKeyCount() + " keys, "
+                        + pipeline.getLoadedKeyCount() + " loaded by the partitions");
+            }
         }
-        return futures;
+    }
+
+    private void sendBatch(KeyLoadPipeline pipeline, int partitionId, List<Data> keys, boolean replaceExistingValues)
+            throws InterruptedException {
+        pipeline.acquire(partitionId);
+
+        MapOperation op = operationProvider.createLoadAllOperation(mapName, keys, replaceExistingValues);
+
+        InternalCompletableFuture<Object> future = opService.invokeOnPartition(SERVICE_NAME, op, partitionId);
+        pipeline.track(partitionId, keys.size(), future);
     }
 
     private void sendLoadCompleted(int clusterSize, Throwable exception) throws Exception {
@@ -383,6 +422,13 @@ public class MapKeyLoader {
         this.operationProvider = operationProvider;
     }
 
+    /**
+     * Sets the registry the progress of the key distribution is exposed to while this SENDER distributes the keys.
+     */
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
     private ExecutionCallback<Boolean> ifLoadedCallback() {
         return new ExecutionCallback<Boolean>() {
             @Override
@@ -59,39 +59,17 @@ public final class MapKeyLoaderUtil {
         }
     }
 
-    static Iterator<Map<Integer, List<Data>>> toBatches(final Iterator<Entry<Integer, Data>> entries,
-                                                        final int maxBatch) {
-
-        return new UnmodifiableIterator<Map<Integer, List<Data>>>() {
-            @Override
-            public boolean hasNext() {
-                return entries.hasNext();
-            }
-
-            @Override
-            public Map<Integer, List<Data>> next() {
-                if (!entries.hasNext()) {
-                    throw new NoSuchElementException();
-                }
-                return nextBatch(entries, maxBatch);
-            }
-        };
-    }
-
-    static Map<Integer, List<Data>> nextBatch(Iterator<Entry<Integer, Data>> entries, int maxBatch) {
-
-        Map<Integer, List<Data>> batch = new HashMap<Integer, List<Data>>();
-
-        while (entries.hasNext()) {
-            Entry<Integer, Data> e = entries.next();
-            List<Data> partitionKeys = CollectionUtil.addToValueList(batch, e.getKey(), e.getValue());
-
-            if (partitionKeys.size() >= maxBatch) {
-                break;
-            }
-        }
-
-        return batch;
+    /**
+     * Groups the keys by partition and returns a batch of a partition as soon as it contains {@code maxBatch} keys, so
+     * the keys of a partition can be sent while the keys of the other partitions are still being collected. When the
+     * keys are exhausted the remaining, smaller batches of all partitions are returned.
+     *
+     * @param entries  the keys paired with their partition IDs
+     * @param maxBatch the maximum number of keys in a batch
+     * @return the batches paired with their partition IDs
+     */
+    static Iterator<Entry<Integer, List<Data>>> toPartitionBatches(Iterator<Entry<Integer, Data>> entries, int maxBatch) {
+        return new PartitionBatchIterator(entries, maxBatch);
     }
 
     public static int getMaxSizePerNode(MaxSizeConfig maxSizeConfig) {
@@ -116,4 +94,54 @@ public final class MapKeyLoaderUtil {
         };
     }
 
+    /**
+     * Iterates over the batches of {@link #toPartitionBatches(Iterator, int)}.
+     */
+    private static final class PartitionBatchIterator extends UnmodifiableIterator<Entry<Integer, List<Data>>> {
+
+        private final Map<Integer, List<Data>> pendingBatches = new HashMap<Integer, List<Data>>();
+        private final Iterator<Entry<Integer, Data>> entries;
+        private final int maxBatch;
+        private Iterator<Entry<Integer, List<Data>>> remainingBatches;
+        private Entry<Integer, List<Data>> nextBatch;
+
+        PartitionBatchIterator(Iterator<Entry<Integer, Data>> entries, int maxBatch) {
+            this.entries = entries;
+            this.maxBatch = maxBatch;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextBatch == null) {
+                nextBatch = nextPartitionBatch();
+            }
+            return nextBatch != null;
+        }
+
+        @Override
+        public Entry<Integer, List<Data>> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<Integer, List<Data>> batch = nextBatch;
+            nextBatch = null;
+            return batch;
+        }
+
+        private Entry<Integer, List<Data>> nextPartitionBatch() {
+            if (remainingBatches == null) {
+                while (entries.hasNext()) {
+                    Entry<Integer, Data> e = entries.next();
+                    List<Data> partitionKeys = CollectionUtil.addToValueList(pendingBatches, e.getKey(), e.getValue());
+
+                    if (partitionKeys.size() >= maxBatch) {
+                        pendingBatches.remove(e.getKey());
+                        return new MapEntrySimple<Integer, List<Data>>(e.getKey(), partitionKeys);
+                    }
+                }
+                remainingBatches = pendingBatches.entrySet().iterator();
+            }
+            return remainingBatches.hasNext() ? remainingBatches.next() : null;
+        }
+    }
 }
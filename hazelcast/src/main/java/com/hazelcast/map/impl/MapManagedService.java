@@ -18,13 +18,21 @@ package com.hazelcast.map.impl;
 
 import com.hazelcast.concurrent.lock.LockService;
 import com.hazelcast.concurrent.lock.LockStoreInfo;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.ExecutorConfig;
 import com.hazelcast.spi.ManagedService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.ObjectNamespace;
+import com.hazelcast.spi.properties.GroupProperty;
 import com.hazelcast.util.ConstructorFunction;
 
+import java.util.Map;
 import java.util.Properties;
 
+import static com.hazelcast.spi.ExecutionService.MAP_LOADER_EXECUTOR;
+import static com.hazelcast.spi.properties.GroupProperty.MAP_LOAD_PARALLELISM;
+import static com.hazelcast.util.executor.ExecutorType.CACHED;
+
 /**
  * Defines managed service behavior of map service.
  *
@@ -45,10 +53,44 @@ public class MapManagedService implements ManagedService {
             lockService.registerLockStoreConstructor(MapService.SERVICE_NAME,
                     new ObjectNamespaceLockStoreInfoConstructorFunction());
         }
+        registerMapLoaderExecutor(nodeEngine);
         mapServiceContext.initPartitionsContainers();
         mapServiceContext.getExpirationManager().start();
     }
 
+    /**
+     * Registers the executor loading the values of the keys distributed by the initial load. It's configured by the
+     * {@link ExecutorConfig} of its name, or one matching its name by a wildcard. When none of these exists the pool
+     * size is taken from {@link GroupProperty#MAP_LOAD_PARALLELISM}.
+     * <p/>
+     * The "default" executor config isn't applied, since it's added implicitly by the lookups of other executors.
+     */
+    private void registerMapLoaderExecutor(NodeEngine nodeEngine) {
+        ExecutorConfig executorConfig = lookupMapLoaderExecutorConfig(nodeEngine.getConfig());
+
+        int poolSize = nodeEngine.getProperties().getInteger(MAP_LOAD_PARALLELISM);
+        int queueCapacity = Integer.MAX_VALUE;
+        if (executorConfig != null) {
+            poolSize = executorConfig.getPoolSize();
+            queueCapacity = executorConfig.getQueueCapacity() <= 0 ? Integer.MAX_VALUE : executorConfig.getQueueCapacity();
+        }
+        nodeEngine.getExecutionService().register(MAP_LOADER_EXECUTOR, poolSize, queueCapacity, CACHED);
+    }
+
+    /**
+     * Looks the executor config up by name and wildcard without the side effect of {@link Config#findExecutorConfig(String)},
+     * which adds a config to the {@link Config} when nothing matches.
+     */
+    private static ExecutorConfig lookupMapLoaderExecutorConfig(Config config) {
+        Map<String, ExecutorConfig> executorConfigs = config.getExecutorConfigs();
+        ExecutorConfig executorConfig = executorConfigs.get(MAP_LOADER_EXECUTOR);
+        if (executorConfig != null) {
+            return executorConfig;
+        }
+        String pattern = config.getConfigPatternMatcher().matches(executorConfigs.keySet(), MAP_LOADER_EXECUTOR);
+        return pattern == null ? null : executorConfigs.get(pattern);
+    }
+
     @Override
     public void reset() {
         mapServiceContext.reset();
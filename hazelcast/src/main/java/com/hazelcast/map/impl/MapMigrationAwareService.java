@@ -17,16 +17,19 @@
 package com.hazelcast.map.impl;
 
 import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataGenerator;
+import com.hazelcast.internal.partition.ChunkedMigrationAwareService;
+import com.hazelcast.internal.partition.IncrementalReplicationAwareService;
 import com.hazelcast.map.impl.operation.MapReplicationOperation;
 import com.hazelcast.map.impl.querycache.QueryCacheContext;
 import com.hazelcast.map.impl.querycache.publisher.PublisherContext;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.Records;
 import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.ReplicaVersionTrackingStorage;
+import com.hazelcast.map.impl.recordstore.Storage;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryableEntry;
-import com.hazelcast.spi.MigrationAwareService;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.PartitionMigrationEvent;
 import com.hazelcast.spi.PartitionReplicationEvent;
@@ -46,7 +49,7 @@ import static com.hazelcast.map.impl.querycache.publisher.AccumulatorSweeper.rem
  *
  * @see MapService
  */
-class MapMigrationAwareService implements MigrationAwareService {
+class MapMigrationAwareService implements ChunkedMigrationAwareService, IncrementalReplicationAwareService {
 
     protected final MapServiceContext mapServiceContext;
     protected final SerializationService serializationService;
@@ -71,6 +74,33 @@ class MapMigrationAwareService implements MigrationAwareService {
         return operation;
     }
 
+    @Override
+    public Operation prepareIncrementalReplicationOperation(PartitionReplicationEvent event, long sinceVersion) {
+        int partitionId = event.getPartitionId();
+        int replicaIndex = event.getReplicaIndex();
+        PartitionContainer container = mapServiceContext.getPartitionContainer(partitionId);
+        for (RecordStore recordStore : container.getMaps().values()) {
+            if (recordStore.getMapContainer().getMapConfig().getTotalBackupCount() < replicaIndex) {
+                continue;
+            }
+            Storage storage = recordStore.getStorage();
+            if (!(storage instanceof ReplicaVersionTrackingStorage)
+                    || !((ReplicaVersionTrackingStorage) storage).canReplicateSince(sinceVersion)) {
+                return null;
+            }
+        }
+
+        MapReplicationOperation operation = new MapReplicationOperation(container, partitionId, replicaIndex, sinceVersion);
+        operation.setService(mapServiceContext.getService());
+        return operation;
+    }
+
+    @Override
+    public Iterator<Operation> prepareReplicationChunks(PartitionReplicationEvent event, long maxChunkSizeInBytes) {
+        PartitionContainer container = mapServiceContext.getPartitionContainer(event.getPartitionId());
+        return new MapReplicationChunkIterator(mapServiceContext, container, event.getReplicaIndex(), maxChunkSizeInBytes);
+    }
+
     @Override
     public void commitMigration(PartitionMigrationEvent event) {
         migrateIndex(event);
@@ -80,6 +110,9 @@ class MapMigrationAwareService implements MigrationAwareService {
             getMetaDataGenerator().resetMetadata(event.getPartitionId());
         } else if (DESTINATION == event.getMigrationEndpoint()) {
             getMetaDataGenerator().getOrCreateUuid(event.getPartitionId());
+            if (event.getNewReplicaIndex() == 0) {
+                resetReplicaVersionTracking(event.getPartitionId());
+            }
         }
 
         PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(event.getPartitionId());
@@ -120,6 +153,16 @@ class MapMigrationAwareService implements MigrationAwareService {
         }
     }
 
+    private void resetReplicaVersionTracking(int partitionId) {
+        PartitionContainer container = mapServiceContext.getPartitionContainer(partitionId);
+        for (RecordStore recordStore : container.getMaps().values()) {
+            Storage storage = recordStore.getStorage();
+            if (storage instanceof ReplicaVersionTrackingStorage) {
+                ((ReplicaVersionTrackingStorage) storage).resetTracking();
+            }
+        }
+    }
+
     private MetaDataGenerator getMetaDataGenerator() {
         return mapServiceContext.getMapNearCacheManager().getInvalidator().getMetaDataGenerator();
     }
@@ -130,11 +173,18 @@ class MapMigrationAwareService implements MigrationAwareService {
         final PartitionContainer container = mapServiceContext.getPartitionContainer(event.getPartitionId());
         for (RecordStore recordStore : container.getMaps().values()) {
             final MapContainer mapContainer = mapServiceContext.getMapContainer(recordStore.getName());
-            final Indexes indexes = mapContainer.getIndexes();
+            final Indexes indexes = mapContainer.getIndexes(event.getPartitionId());
             if (!indexes.hasIndex()) {
                 continue;
             }
 
+            if (!indexes.isGlobal() && event.getMigrationEndpoint() == SOURCE) {
+                // partition-local indexes only hold this partition, so they can be dropped as a whole
+                assert event.getNewReplicaIndex() != 0 : "Invalid migration event: " + event;
+                indexes.clearContents();
+                continue;
+            }
+
             final Iterator<Record> iterator = recordStore.iterator(now, false);
             while (iterator.hasNext()) {
                 Record record = iterator.next();
@@ -44,7 +44,7 @@ class MapRemoteService implements RemoteService {
     @Override
     public DistributedObject createDistributedObject(String name) {
         MapConfig mapConfig = nodeEngine.getConfig().findMapConfig(name);
-        checkMapConfig(mapConfig);
+        checkMapConfig(mapConfig, nodeEngine.getConfig().getNativeMemoryConfig());
 
         if (mapConfig.isNearCacheEnabled()) {
             checkNearCacheConfig(mapConfig.getNearCacheConfig(), false);
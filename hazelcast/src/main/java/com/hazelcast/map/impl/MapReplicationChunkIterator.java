@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.map.impl.operation.MapReplicationChunkOperation;
+import com.hazelcast.map.impl.operation.MapReplicationOperation;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordReplicationInfo;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.Operation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static com.hazelcast.map.impl.record.Records.buildRecordInfo;
+
+/**
+ * Iterates over the replication operations of a chunked map migration.
+ *
+ * The first operation is a {@link MapReplicationOperation} without records: it resets the record stores on the
+ * destination and replicates the write-behind and near cache state. It is followed by
+ * {@link MapReplicationChunkOperation}s, each carrying records with an estimated size of at most the max chunk size.
+ * The records of a chunk are only read from the record stores when the chunk is requested.
+ */
+class MapReplicationChunkIterator implements Iterator<Operation> {
+
+    // rough estimate of the serialized size of the record metadata
+    private static final int RECORD_INFO_SIZE_ESTIMATE = 64;
+
+    private final MapServiceContext mapServiceContext;
+    private final PartitionContainer container;
+    private final int partitionId;
+    private final int replicaIndex;
+    private final long maxChunkSizeInBytes;
+    private final LinkedList<String> pendingMapNames = new LinkedList<String>();
+
+    private boolean metadataSent;
+    private String mapName;
+    private Iterator<Record> records;
+
+    MapReplicationChunkIterator(MapServiceContext mapServiceContext, PartitionContainer container, int replicaIndex,
+                                long maxChunkSizeInBytes) {
+        this.mapServiceContext = mapServiceContext;
+        this.container = container;
+        this.partitionId = container.getPartitionId();
+        this.replicaIndex = replicaIndex;
+        this.maxChunkSizeInBytes = maxChunkSizeInBytes;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!metadataSent) {
+            return true;
+        }
+
+        while (records == null || !records.hasNext()) {
+            if (pendingMapNames.isEmpty()) {
+                return false;
+            }
+            mapName = pendingMapNames.removeFirst();
+            RecordStore recordStore = container.getExistingRecordStore(mapName);
+            records = recordStore == null ? null : recordStore.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public Operation next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        Operation operation;
+        if (!metadataSent) {
+            metadataSent = true;
+            operation = prepareMetadata();
+        } else {
+            operation = new MapReplicationChunkOperation(nextChunk(), partitionId, replicaIndex);
+        }
+        operation.setService(mapServiceContext.getService());
+        return operation;
+    }
+
+    private Operation prepareMetadata() {
+        for (Map.Entry<String, RecordStore> entry : container.getMaps().entrySet()) {
+            if (entry.getValue().getMapContainer().getMapConfig().getTotalBackupCount() >= replicaIndex) {
+                pendingMapNames.add(entry.getKey());
+            }
+        }
+        return new MapReplicationOperation(container, partitionId, replicaIndex, false);
+    }
+
+    private Map<String, List<RecordReplicationInfo>> nextChunk() {
+        Map<String, List<RecordReplicationInfo>> chunk = new HashMap<String, List<RecordReplicationInfo>>();
+        long chunkSize = 0;
+        while (chunkSize < maxChunkSizeInBytes && hasNext()) {
+            List<RecordReplicationInfo> recordReplicationInfos = new ArrayList<RecordReplicationInfo>();
+            chunk.put(mapName, recordReplicationInfos);
+
+            while (chunkSize < maxChunkSizeInBytes && records.hasNext()) {
+                Record record = records.next();
+                Data key = record.getKey();
+                Data value = mapServiceContext.toData(record.getValue());
+                recordReplicationInfos.add(new RecordReplicationInfo(key, value, buildRecordInfo(record)));
+                chunkSize += key.totalSize() + (value == null ? 0 : value.totalSize()) + RECORD_INFO_SIZE_ESTIMATE;
+            }
+        }
+        return chunk;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -19,14 +19,17 @@ package com.hazelcast.map.impl;
 import com.hazelcast.cluster.ClusterState;
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.internal.cluster.ClusterStateListener;
+import com.hazelcast.internal.partition.ChunkedMigrationAwareService;
+import com.hazelcast.internal.partition.IncrementalReplicationAwareService;
 import com.hazelcast.map.impl.event.MapEventPublishingService;
 import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.spi.ClientAwareService;
 import com.hazelcast.spi.EventFilter;
 import com.hazelcast.spi.EventPublishingService;
 import com.hazelcast.spi.EventRegistration;
+import com.hazelcast.spi.LiveOperations;
+import com.hazelcast.spi.LiveOperationsTracker;
 import com.hazelcast.spi.ManagedService;
-import com.hazelcast.spi.MigrationAwareService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.NotifiableEventListener;
 import com.hazelcast.spi.Operation;
@@ -46,6 +49,7 @@ import com.hazelcast.transaction.TransactionalObject;
 import com.hazelcast.transaction.impl.Transaction;
 import com.hazelcast.wan.WanReplicationEvent;
 
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Properties;
 
@@ -68,10 +72,11 @@ import static com.hazelcast.core.EntryEventType.INVALIDATION;
  * @see MapClientAwareService
  * @see MapServiceContext
  */
-public class MapService implements ManagedService, MigrationAwareService,
+public class MapService implements ManagedService, ChunkedMigrationAwareService, IncrementalReplicationAwareService,
         TransactionalService, RemoteService, EventPublishingService<Object, ListenerAdapter>,
         PostJoinAwareService, SplitBrainHandlerService, ReplicationSupportingService, StatisticsAwareService,
-        PartitionAwareService, ClientAwareService, QuorumAwareService, NotifiableEventListener, ClusterStateListener {
+        PartitionAwareService, ClientAwareService, QuorumAwareService, NotifiableEventListener, ClusterStateListener,
+        LiveOperationsTracker {
 
     public static final String SERVICE_NAME = "hz:impl:mapService";
 
@@ -117,6 +122,16 @@ public class MapService implements ManagedService, MigrationAwareService,
         return migrationAwareService.prepareReplicationOperation(event);
     }
 
+    @Override
+    public Iterator<Operation> prepareReplicationChunks(PartitionReplicationEvent event, long maxChunkSizeInBytes) {
+        return migrationAwareService.prepareReplicationChunks(event, maxChunkSizeInBytes);
+    }
+
+    @Override
+    public Operation prepareIncrementalReplicationOperation(PartitionReplicationEvent event, long sinceVersion) {
+        return migrationAwareService.prepareIncrementalReplicationOperation(event, sinceVersion);
+    }
+
     @Override
     public void beforeMigration(PartitionMigrationEvent event) {
         migrationAwareService.beforeMigration(event);
@@ -182,6 +197,13 @@ public class MapService implements ManagedService, MigrationAwareService,
         return quorumAwareService.getQuorumName(name);
     }
 
+    @Override
+    public void populate(LiveOperations liveOperations) {
+        for (Operation op : mapServiceContext.getOffloadedOperations()) {
+            liveOperations.add(op.getCallerAddress(), op.getCallId());
+        }
+    }
+
     public MapServiceContext getMapServiceContext() {
         return mapServiceContext;
     }
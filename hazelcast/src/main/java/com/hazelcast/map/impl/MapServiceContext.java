@@ -21,6 +21,7 @@ import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.core.PartitioningStrategy;
 import com.hazelcast.map.impl.event.MapEventPublisher;
+import com.hazelcast.internal.memory.MemoryManager;
 import com.hazelcast.map.impl.eviction.ExpirationManager;
 import com.hazelcast.map.impl.nearcache.MapNearCacheManager;
 import com.hazelcast.map.impl.operation.MapOperationProvider;
@@ -41,6 +42,7 @@ import com.hazelcast.spi.Operation;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -161,6 +163,14 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     PartitionScanRunner getPartitionScanRunner();
 
+    /**
+     * Returns the {@link MemoryManager} used by maps with {@link com.hazelcast.config.InMemoryFormat#NATIVE}
+     * in-memory format.
+     *
+     * @return the native memory manager or {@code null} if native memory is not enabled
+     */
+    MemoryManager getNativeMemoryManager();
+
     ResultProcessorRegistry getResultProcessorRegistry();
 
     MapNearCacheManager getMapNearCacheManager();
@@ -172,4 +182,13 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
     String addListenerAdapter(ListenerAdapter listenerAdaptor, EventFilter eventFilter, String mapName);
 
     String addLocalListenerAdapter(ListenerAdapter listenerAdaptor, String mapName);
+
+    /**
+     * Returns the operations which are still running on other threads than the partition threads, e.g. entry
+     * processors implementing {@link com.hazelcast.core.Offloadable}. These are reported to their callers as live
+     * operations.
+     *
+     * @return the modifiable, concurrent set of offloaded operations
+     */
+    Set<Operation> getOffloadedOperations();
 }
@@ -19,8 +19,12 @@ package com.hazelcast.map.impl;
 import com.hazelcast.cluster.ClusterState;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.memory.impl.MemoryManagerBean;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryAllocator;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.impl.event.MapEventPublisher;
@@ -64,6 +68,7 @@ import com.hazelcast.spi.EventRegistration;
 import com.hazelcast.spi.EventService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.eventservice.impl.TrueEventFilter;
 import com.hazelcast.spi.impl.operationservice.InternalOperationService;
 import com.hazelcast.spi.partition.IPartitionService;
@@ -80,6 +85,7 @@ import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Semaphore;
@@ -87,6 +93,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
 import static com.hazelcast.map.impl.ListenerAdapters.createListenerAdapter;
 import static com.hazelcast.map.impl.MapListenerFlagOperator.setAndGetListenerFlags;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
@@ -131,6 +138,9 @@ class MapServiceContextImpl implements MapServiceContext {
     protected final ContextMutexFactory contextMutexFactory = new ContextMutexFactory();
     protected final PartitioningStrategyFactory partitioningStrategyFactory;
     protected final QueryCacheContext queryCacheContext;
+    protected final MemoryManager nativeMemoryManager;
+    protected final Set<Operation> offloadedOperations
+            = Collections.newSetFromMap(new ConcurrentHashMap<Operation, Boolean>());
     protected MapEventPublisher mapEventPublisher;
     protected MapService mapService;
     protected EventService eventService;
@@ -156,6 +166,19 @@ class MapServiceContextImpl implements MapServiceContext {
         this.eventService = nodeEngine.getEventService();
         this.operationProviders = createOperationProviders();
         this.partitioningStrategyFactory = new PartitioningStrategyFactory(nodeEngine.getConfigClassLoader());
+        this.nativeMemoryManager = createNativeMemoryManager(nodeEngine.getConfig().getNativeMemoryConfig());
+    }
+
+    // this method is overridden in another context.
+    MemoryManager createNativeMemoryManager(NativeMemoryConfig nativeMemoryConfig) {
+        if (nativeMemoryConfig == null || !nativeMemoryConfig.isEnabled()) {
+            return null;
+        }
+        long maxMemory = nativeMemoryConfig.getSize().bytes();
+        UnsafeMemoryAllocator allocator = new UnsafeMemoryAllocator(maxMemory);
+        // the values in native memory aren't part of the heap cost of the records, so their memory is exposed separately
+        ((NodeEngineImpl) nodeEngine).getMetricsRegistry().scanAndRegister(allocator, "map.nativeMemory");
+        return new MemoryManagerBean(allocator, MEM);
     }
 
     MapNearCacheManager createMapNearCacheManager() {
@@ -704,6 +727,11 @@ class MapServiceContextImpl implements MapServiceContext {
         return partitionScanRunner;
     }
 
+    @Override
+    public MemoryManager getNativeMemoryManager() {
+        return nativeMemoryManager;
+    }
+
     @Override
     public ResultProcessorRegistry getResultProcessorRegistry() {
         return resultProcessorRegistry;
@@ -741,4 +769,9 @@ class MapServiceContextImpl implements MapServiceContext {
     public QueryCacheContext getQueryCacheContext() {
         return queryCacheContext;
     }
+
+    @Override
+    public Set<Operation> getOffloadedOperations() {
+        return offloadedOperations;
+    }
 }
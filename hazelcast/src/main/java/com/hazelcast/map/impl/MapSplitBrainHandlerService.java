@@ -82,6 +82,9 @@ class MapSplitBrainHandlerService implements SplitBrainHandlerService {
                 }
                 // clear all records either owned or backup
                 recordStore.reset();
+                if (!mapContainer.isGlobalIndexEnabled()) {
+                    mapContainer.getIndexes(i).clearIndexes();
+                }
             }
             Indexes indexes = mapContainer.getIndexes();
             indexes.clearIndexes();
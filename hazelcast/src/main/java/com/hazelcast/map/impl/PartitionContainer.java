@@ -19,10 +19,12 @@ package com.hazelcast.map.impl;
 import com.hazelcast.concurrent.lock.LockService;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.spi.DefaultObjectNamespace;
 import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.partition.IPartitionService;
 import com.hazelcast.spi.properties.GroupProperty;
 import com.hazelcast.spi.properties.HazelcastProperties;
@@ -41,6 +43,14 @@ public class PartitionContainer {
     final MapService mapService;
     final int partitionId;
     final ConcurrentMap<String, RecordStore> maps = new ConcurrentHashMap<String, RecordStore>(1000);
+    final ConcurrentMap<String, Indexes> indexes = new ConcurrentHashMap<String, Indexes>(10);
+    final ConstructorFunction<String, Indexes> indexesConstructor = new ConstructorFunction<String, Indexes>() {
+        @Override
+        public Indexes createNew(String name) {
+            MapContainer mapContainer = mapService.getMapServiceContext().getMapContainer(name);
+            return mapContainer.createPartitionIndexes();
+        }
+    };
     final ConstructorFunction<String, RecordStore> recordStoreConstructor
             = new ConstructorFunction<String, RecordStore>() {
 
@@ -109,6 +119,7 @@ public class PartitionContainer {
         keyLoader.setMaxSize(getMaxSizePerNode(mapConfig.getMaxSizeConfig()));
         keyLoader.setHasBackup(mapConfig.getTotalBackupCount() > 0);
         keyLoader.setMapOperationProvider(serviceContext.getMapOperationProvider(name));
+        keyLoader.setMetricsRegistry(((NodeEngineImpl) nodeEngine).getMetricsRegistry());
         RecordStore recordStore = serviceContext.createRecordStore(mapContainer, partitionId, keyLoader);
         recordStore.init();
         return recordStore;
@@ -147,6 +158,17 @@ public class PartitionContainer {
         return maps.get(mapName);
     }
 
+    /**
+     * Returns the partition-local indexes of the given map, only used when partition-local indexes are enabled.
+     *
+     * @param name the map name
+     * @return the partition-local indexes
+     * @see MapContainer#getIndexes(int)
+     */
+    public Indexes getIndexes(String name) {
+        return ConcurrencyUtil.getOrPutIfAbsent(indexes, name, indexesConstructor);
+    }
+
     public void destroyMap(MapContainer mapContainer) {
         String name = mapContainer.getName();
         RecordStore recordStore = maps.remove(name);
@@ -159,6 +181,7 @@ public class PartitionContainer {
             // this IMap partition.
             clearLockStore(name);
         }
+        indexes.remove(name);
 
         MapServiceContext mapServiceContext = mapService.getMapServiceContext();
         if (mapServiceContext.removeMapContainer(mapContainer)) {
@@ -181,6 +204,7 @@ public class PartitionContainer {
             recordStore.clearPartition(onShutdown);
         }
         maps.clear();
+        indexes.clear();
     }
 
     public boolean hasRunningCleanup() {
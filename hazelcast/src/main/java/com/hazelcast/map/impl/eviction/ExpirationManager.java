@@ -54,8 +54,9 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  *      Default is {@value DEFAULT_EXPIRATION_TASK_PERIOD_SECONDS}
  * </ul>
  * <ul>
- *     {@value SYS_PROP_EXPIRATION_CLEANUP_PERCENTAGE}: Scannable percentage of entries of a map partition in every run round.
- *      Default is {@value DEFAULT_EXPIRATION_CLEANUP_PERCENTAGE}%
+ *     {@value SYS_PROP_EXPIRATION_CLEANUP_PERCENTAGE}: Maximum percentage of entries of a map partition which are removed
+ *      in every run round. Only the entries which are due are checked, since the record stores keep their entries
+ *      ordered by expiration time. Default is {@value DEFAULT_EXPIRATION_CLEANUP_PERCENTAGE}%
  * </ul>
  * <ul>
  *     {@value SYS_PROP_EXPIRATION_CLEANUP_OPERATION_COUNT}: Number of scannable partitions in every run round.
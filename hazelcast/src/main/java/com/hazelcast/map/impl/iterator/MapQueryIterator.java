@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.map.impl.LazyMapEntry;
+import com.hazelcast.map.impl.operation.MapOperation;
+import com.hazelcast.map.impl.operation.MapOperationProvider;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.InternalCompletableFuture;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the entries of a map matching a predicate, partition by partition.
+ * <p>
+ * Unlike a query, the result is never materialized: the matching entries of a partition are fetched in chunks of
+ * roughly {@code fetchSize} entries, together with the position in the record table to continue from. So arbitrarily
+ * large results can be consumed with bounded memory on both the members and the caller.
+ * <p>
+ * Like the {@link MapPartitionIterator}, the iterator is not a snapshot: entries updated during the iteration may or
+ * may not be returned, and an entry may be returned twice when the record table of its partition is resized.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class MapQueryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+
+    private final MapProxyImpl<K, V> mapProxy;
+    private final int fetchSize;
+    private final int[] partitionIds;
+    private final Predicate predicate;
+
+    private int partitionIndex;
+    private int lastTableIndex = Integer.MAX_VALUE;
+    private List<Map.Entry<Data, Data>> chunk;
+    private int chunkIndex;
+    private Data lastReturnedKey;
+
+    public MapQueryIterator(MapProxyImpl<K, V> mapProxy, int fetchSize, int[] partitionIds, Predicate predicate) {
+        this.mapProxy = mapProxy;
+        this.fetchSize = fetchSize;
+        this.partitionIds = partitionIds;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (chunk == null || chunkIndex >= chunk.size()) {
+            if (lastTableIndex < 0) {
+                // the current partition is exhausted
+                partitionIndex++;
+                lastTableIndex = Integer.MAX_VALUE;
+            }
+            if (partitionIndex >= partitionIds.length) {
+                return false;
+            }
+            fetch();
+        }
+        return true;
+    }
+
+    @Override
+    public Map.Entry<K, V> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Map.Entry<Data, Data> entry = chunk.get(chunkIndex++);
+        lastReturnedKey = entry.getKey();
+        InternalSerializationService serializationService =
+                (InternalSerializationService) mapProxy.getNodeEngine().getSerializationService();
+        return new LazyMapEntry(entry.getKey(), entry.getValue(), serializationService);
+    }
+
+    @Override
+    public void remove() {
+        if (lastReturnedKey == null) {
+            throw new IllegalStateException("Iterator.next() must be called before remove()!");
+        }
+        mapProxy.remove(lastReturnedKey);
+        lastReturnedKey = null;
+    }
+
+    private void fetch() {
+        MapOperationProvider operationProvider = mapProxy.getOperationProvider();
+        MapOperation operation = operationProvider.createFetchWithQueryOperation(mapProxy.getName(), lastTableIndex,
+                fetchSize, predicate);
+        InternalCompletableFuture<MapEntriesWithCursor> future = mapProxy.getOperationService()
+                .invokeOnPartition(mapProxy.getServiceName(), operation, partitionIds[partitionIndex]);
+        MapEntriesWithCursor result = future.join();
+        chunk = result.getEntries();
+        chunkIndex = 0;
+        lastTableIndex = result.getNextTableIndexToReadFrom();
+    }
+}
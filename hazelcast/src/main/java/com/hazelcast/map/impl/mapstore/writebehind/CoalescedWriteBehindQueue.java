@@ -74,8 +74,9 @@ class CoalescedWriteBehindQueue implements WriteBehindQueue<DelayedEntry> {
     }
 
     /**
-     * Removes the first occurrence of the specified element in this queue
-     * when searching it by starting from the head of this queue.
+     * Removes the entry of the key of the specified element when it is still the same store operation, which is
+     * identified by its sequence number. An entry which was updated in the meantime is kept, so the update is stored
+     * in a later round. This is an O(1) operation.
      *
      * @param incoming element to be removed.
      * @return <code>true</code> if removed successfully, <code>false</code> otherwise
@@ -83,21 +84,14 @@ class CoalescedWriteBehindQueue implements WriteBehindQueue<DelayedEntry> {
     @Override
     public boolean removeFirstOccurrence(DelayedEntry incoming) {
         Data incomingKey = (Data) incoming.getKey();
-        Object incomingValue = incoming.getValue();
 
         DelayedEntry current = map.get(incomingKey);
-        if (current == null) {
+        if (current == null || current.getSequence() != incoming.getSequence()) {
             return false;
         }
 
-        Object currentValue = current.getValue();
-        if (incomingValue == null && currentValue == null
-                || incomingValue != null && currentValue != null && incomingValue.equals(currentValue)) {
-            map.remove(incomingKey);
-            return true;
-        }
-
-        return false;
+        map.remove(incomingKey);
+        return true;
     }
 
     @Override
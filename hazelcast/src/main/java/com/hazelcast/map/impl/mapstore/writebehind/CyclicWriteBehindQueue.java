@@ -84,20 +84,36 @@ class CyclicWriteBehindQueue implements WriteBehindQueue<DelayedEntry> {
     }
 
     /**
-     * Removes the first element of this queue instead of searching for it,
-     * implementation of this method is strongly tied with {@link StoreWorker} implementation.
+     * Removes the specified element, which is identified by its sequence number. The {@link StoreWorker} removes the
+     * stored entries in the order they were taken from the queue, so the element is normally found at the head of this
+     * queue in O(1). Otherwise, e.g. when failed entries were added in front of this queue in the meantime, the queue
+     * is searched for it.
      *
      * @param entry element to be removed.
      * @return <code>true</code> if removed successfully, <code>false</code> otherwise
      */
     @Override
     public boolean removeFirstOccurrence(DelayedEntry entry) {
-        DelayedEntry removedEntry = deque.pollFirst();
-        if (removedEntry == null) {
+        DelayedEntry head = deque.peekFirst();
+        if (head == null) {
             return false;
         }
-        decreaseCountIndex(entry);
-        return true;
+        if (head.getSequence() == entry.getSequence()) {
+            deque.pollFirst();
+            decreaseCountIndex(head);
+            return true;
+        }
+
+        Iterator<DelayedEntry> iterator = deque.iterator();
+        while (iterator.hasNext()) {
+            DelayedEntry e = iterator.next();
+            if (e.getSequence() == entry.getSequence()) {
+                iterator.remove();
+                decreaseCountIndex(e);
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -18,18 +18,16 @@ package com.hazelcast.map.impl.mapstore.writebehind;
 
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.mapstore.writebehind.entry.DelayedEntry;
-import com.hazelcast.nio.serialization.Data;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
-import static com.hazelcast.util.CollectionUtil.isNotEmpty;
 import static java.lang.Thread.currentThread;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -61,46 +59,44 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
 
     @Override
     public Map<Integer, List<DelayedEntry>> process(List<DelayedEntry> delayedEntries) {
-        Map<Integer, List<DelayedEntry>> failMap;
-        sort(delayedEntries);
-        if (writeBatchSize > 1) {
-            failMap = doStoreUsingBatchSize(delayedEntries);
-        } else {
-            failMap = processInternal(delayedEntries);
-        }
-        return failMap;
-    }
-
-
-    private Map<Integer, List<DelayedEntry>> processInternal(List<DelayedEntry> delayedEntries) {
         if (delayedEntries == null || delayedEntries.isEmpty()) {
             return Collections.emptyMap();
         }
+        sort(delayedEntries);
         final Map<Integer, List<DelayedEntry>> failsPerPartition = new HashMap<Integer, List<DelayedEntry>>();
-        final List<DelayedEntry> entriesToProcess = new ArrayList<DelayedEntry>();
-        StoreOperationType operationType = null;
-        StoreOperationType previousOperationType;
-        // process entries by preserving order.
-        for (final DelayedEntry<Data, Object> entry : delayedEntries) {
-            previousOperationType = operationType;
-            if (entry.getValue() == null) {
-                operationType = StoreOperationType.DELETE;
-            } else {
-                operationType = StoreOperationType.WRITE;
-            }
-            if (previousOperationType != null && !previousOperationType.equals(operationType)) {
-                final List<DelayedEntry> failures = callHandler(entriesToProcess, previousOperationType);
-                addToFails(failures, failsPerPartition);
-                entriesToProcess.clear();
-            }
-            entriesToProcess.add(entry);
+        for (StoreRound round : toStoreRounds(delayedEntries)) {
+            addToFails(callHandler(round.deletes, StoreOperationType.DELETE), failsPerPartition);
+            addToFails(callHandler(round.writes, StoreOperationType.WRITE), failsPerPartition);
         }
-        final List<DelayedEntry> failures = callHandler(entriesToProcess, operationType);
-        addToFails(failures, failsPerPartition);
-        entriesToProcess.clear();
         return failsPerPartition;
     }
 
+    /**
+     * Splits the entries into rounds containing at most one store operation per key. The n-th operation on a key is put
+     * into the n-th round, so storing the rounds one after the other preserves the order of the operations on a key,
+     * while the operations on different keys, also from different partitions, are batched together.
+     * <p/>
+     * With write-coalescing there is only one entry per key, so all entries end up in a single round.
+     *
+     * @param sortedDelayedEntries entries sorted by store time.
+     * @return the rounds in the order they need to be stored.
+     */
+    private List<StoreRound> toStoreRounds(List<DelayedEntry> sortedDelayedEntries) {
+        final List<StoreRound> rounds = new ArrayList<StoreRound>();
+        final Map<Object, Integer> operationCountPerKey = new HashMap<Object, Integer>();
+        for (DelayedEntry entry : sortedDelayedEntries) {
+            final Object key = entry.getKey();
+            final Integer operationCount = operationCountPerKey.get(key);
+            final int roundIndex = operationCount == null ? 0 : operationCount;
+            operationCountPerKey.put(key, roundIndex + 1);
+            if (roundIndex == rounds.size()) {
+                rounds.add(new StoreRound());
+            }
+            rounds.get(roundIndex).add(entry);
+        }
+        return rounds;
+    }
+
     private void addToFails(List<DelayedEntry> fails, Map<Integer, List<DelayedEntry>> failsPerPartition) {
         if (fails == null || fails.isEmpty()) {
             return;
@@ -117,36 +113,36 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
     }
 
     /**
-     * Decides how entries should be passed to handlers.
-     * It passes entries to handler's single or batch handling
-     * methods.
+     * Passes the entries of a round to the handlers in chunks of {@link #writeBatchSize}. A chunk is stored with the batch
+     * methods of the {@link com.hazelcast.core.MapStore} e.g. {@code MapStore#storeAll}, {@code MapStore#deleteAll}, unless
+     * it contains a single entry. The entries of a chunk which failed as a batch are retried one by one.
      *
-     * @param delayedEntries sorted entries to be processed.
+     * @param delayedEntries entries of a round which all have the same operation type and distinct keys.
      * @return failed entry list if any.
      */
-    private List<DelayedEntry> callHandler(Collection<DelayedEntry> delayedEntries, StoreOperationType operationType) {
+    private List<DelayedEntry> callHandler(List<DelayedEntry> delayedEntries, StoreOperationType operationType) {
         final int size = delayedEntries.size();
         if (size == 0) {
             return Collections.emptyList();
         }
-        // if we want to write all store operations on a key into the MapStore, not same as write-coalescing, we don't call
-        // batch processing methods e.g., MapStore{#storeAll,#deleteAll}, instead we call methods which process single entries
-        // e.g. MapStore{#store,#delete}. This is because MapStore#storeAll requires a Map type in its signature and Map type
-        // can only contain one store operation type per key, so only last update on a key can be included when batching.
-        // Due to that limitation it is not possible to provide a correct no-write-coalescing write-behind behavior.
-        // Under that limitation of current MapStore interface, we are making a workaround and persisting all
-        // entries one by one for no-write-coalescing write-behind map-stores and as a result not doing batching
-        // when writeCoalescing is false.
-        if (size == 1 || !writeCoalescing) {
-            return processEntriesOneByOne(delayedEntries, operationType);
+        // a write batch size of 1 is the default and means the batch size is not limited
+        final int batchSize = writeBatchSize > 1 ? writeBatchSize : size;
+        final List<DelayedEntry> failures = new ArrayList<DelayedEntry>();
+        int page = 0;
+        List<DelayedEntry> chunk;
+        while ((chunk = getBatchChunk(delayedEntries, batchSize, page++)) != null) {
+            failures.addAll(callChunkHandler(chunk, operationType));
         }
-        final DelayedEntry[] delayedEntriesArray = delayedEntries.toArray(new DelayedEntry[delayedEntries.size()]);
-        final Map<Object, DelayedEntry> batchMap = prepareBatchMap(delayedEntriesArray);
+        return failures;
+    }
 
-        // if all batch is on same key, call single store.
-        if (batchMap.size() == 1) {
-            final DelayedEntry delayedEntry = delayedEntriesArray[delayedEntriesArray.length - 1];
-            return callSingleStoreWithListeners(delayedEntry, operationType);
+    private List<DelayedEntry> callChunkHandler(List<DelayedEntry> chunk, StoreOperationType operationType) {
+        if (chunk.size() == 1) {
+            return callSingleStoreWithListeners(chunk.get(0), operationType);
+        }
+        final Map<Object, DelayedEntry> batchMap = new LinkedHashMap<Object, DelayedEntry>();
+        for (DelayedEntry entry : chunk) {
+            batchMap.put(entry.getKey(), entry);
         }
         final List<DelayedEntry> failedEntryList = callBatchStoreWithListeners(batchMap, operationType);
         final List<DelayedEntry> failedTries = new ArrayList<DelayedEntry>();
@@ -157,38 +153,6 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
         return failedTries;
     }
 
-    private List<DelayedEntry> processEntriesOneByOne(Collection<DelayedEntry> delayedEntries,
-                                                      StoreOperationType operationType) {
-        List<DelayedEntry> totalFailures = null;
-        for (DelayedEntry delayedEntry : delayedEntries) {
-            List<DelayedEntry> failures = callSingleStoreWithListeners(delayedEntry, operationType);
-            // this `if` is used to initialize totalFailures list, since we don't want unneeded object creation.
-            if (isNotEmpty(failures)) {
-                if (totalFailures == null) {
-                    totalFailures = failures;
-                } else {
-                    totalFailures.addAll(failures);
-                }
-            }
-        }
-        return totalFailures == null ? Collections.EMPTY_LIST : totalFailures;
-    }
-
-    private Map prepareBatchMap(DelayedEntry[] delayedEntries) {
-        final Map<Object, DelayedEntry> batchMap = new HashMap<Object, DelayedEntry>();
-        final int length = delayedEntries.length;
-        // process in reverse order since we do want to process
-        // last store operation on a specific key
-        for (int i = length - 1; i >= 0; i--) {
-            final DelayedEntry delayedEntry = delayedEntries[i];
-            final Object key = delayedEntry.getKey();
-            if (!batchMap.containsKey(key)) {
-                batchMap.put(key, delayedEntry);
-            }
-        }
-        return batchMap;
-    }
-
     /**
      * @param entry delayed entry to be stored.
      * @return failed entry list if any.
@@ -330,33 +294,6 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
         }
     }
 
-    /**
-     * Store chunk by chunk using write batch size {@link #writeBatchSize}
-     *
-     * @param sortedDelayedEntries entries to be stored.
-     * @return not-stored entries per partition.
-     */
-    private Map<Integer, List<DelayedEntry>> doStoreUsingBatchSize(List<DelayedEntry> sortedDelayedEntries) {
-        final Map<Integer, List<DelayedEntry>> failsPerPartition = new HashMap<Integer, List<DelayedEntry>>();
-        int page = 0;
-        List<DelayedEntry> delayedEntryList;
-        while ((delayedEntryList = getBatchChunk(sortedDelayedEntries, writeBatchSize, page++)) != null) {
-            final Map<Integer, List<DelayedEntry>> fails = processInternal(delayedEntryList);
-            final Set<Map.Entry<Integer, List<DelayedEntry>>> entries = fails.entrySet();
-            for (Map.Entry<Integer, List<DelayedEntry>> entry : entries) {
-                final Integer partitionId = entry.getKey();
-                final List<DelayedEntry> tmpFailList = entry.getValue();
-                List<DelayedEntry> failList = failsPerPartition.get(partitionId);
-                if (failList == null || failList.isEmpty()) {
-                    failsPerPartition.put(partitionId, tmpFailList);
-                    failList = failsPerPartition.get(partitionId);
-                }
-                failList.addAll(tmpFailList);
-            }
-        }
-        return failsPerPartition;
-    }
-
     private List<DelayedEntry> retryCall(RetryTask task) {
         boolean result = false;
         Exception exception = null;
@@ -430,4 +367,19 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
         }
     }
 
+    /**
+     * Store operations of a round, at most one per key.
+     */
+    private static final class StoreRound {
+        private final List<DelayedEntry> writes = new ArrayList<DelayedEntry>();
+        private final List<DelayedEntry> deletes = new ArrayList<DelayedEntry>();
+
+        void add(DelayedEntry entry) {
+            if (entry.getValue() == null) {
+                deletes.add(entry);
+            } else {
+                writes.add(entry);
+            }
+        }
+    }
 }
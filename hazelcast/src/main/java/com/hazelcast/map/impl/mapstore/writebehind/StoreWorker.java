@@ -17,6 +17,9 @@
 package com.hazelcast.map.impl.mapstore.writebehind;
 
 import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
@@ -25,6 +28,7 @@ import com.hazelcast.map.impl.mapstore.writebehind.entry.DelayedEntry;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.partition.IPartition;
 import com.hazelcast.spi.partition.IPartitionService;
 import com.hazelcast.spi.properties.GroupProperty;
@@ -36,6 +40,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static com.hazelcast.util.CollectionUtil.isEmpty;
 import static java.lang.Thread.currentThread;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -45,7 +50,11 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * That thread uses this runnable task to process write-behind-queues. This task collects entries from
  * write behind queues and passes them to {@link #writeBehindProcessor}.
  * <p/>
- * Only one {@link StoreWorker} task is created for a map on a member.
+ * Only one {@link StoreWorker} task is created for a map on a member. The entries of all partitions owned by the member
+ * are passed to the {@link #writeBehindProcessor} together, so they can be stored in batches spanning the partitions.
+ * <p/>
+ * The size of the write-behind-queues of the owned partitions and how far the oldest entry is behind its store time
+ * are exposed as metrics, see {@link #queueSize} and {@link #lagMillis}.
  */
 public class StoreWorker implements Runnable {
 
@@ -60,6 +69,22 @@ public class StoreWorker implements Runnable {
     private final long backupDelayMillis;
     private final long writeDelayMillis;
     private final int partitionCount;
+    private final MetricsRegistry metricsRegistry;
+    /**
+     * Number of entries in the write-behind-queues of the owned partitions when this worker last ran.
+     */
+    @Probe
+    private volatile long queueSize;
+    /**
+     * Milliseconds the oldest entry in the write-behind-queues of the owned partitions was overdue when this worker
+     * last ran.
+     */
+    @Probe
+    private volatile long lagMillis;
+    @Probe(name = "storedEntries")
+    private final SwCounter storedEntryCount = newSwCounter();
+    @Probe(name = "failedEntries")
+    private final SwCounter failedEntryCount = newSwCounter();
     /**
      * Entries are fetched from write-behind-queues according to highestStoreTime. If an entry
      * has a store-time which is smaller than or equal to the highestStoreTime, it will be processed.
@@ -80,6 +105,7 @@ public class StoreWorker implements Runnable {
         this.lastHighestStoreTime = Clock.currentTimeMillis();
         this.writeDelayMillis = SECONDS.toMillis(getWriteDelaySeconds(mapStoreContext));
         this.partitionCount = partitionService.getPartitionCount();
+        this.metricsRegistry = ((NodeEngineImpl) nodeEngine).getMetricsRegistry();
     }
 
 
@@ -89,10 +115,14 @@ public class StoreWorker implements Runnable {
         }
 
         running = true;
+        metricsRegistry.scanAndRegister(this, "map[" + mapName + "].writeBehind");
         schedule();
     }
 
     public synchronized void stop() {
+        if (running) {
+            metricsRegistry.deregister(this);
+        }
         running = false;
     }
 
@@ -122,6 +152,8 @@ public class StoreWorker implements Runnable {
 
         List<DelayedEntry> ownersList = null;
         List<DelayedEntry> backupsList = null;
+        long ownedQueueSize = 0;
+        long oldestStoreTime = Long.MAX_VALUE;
 
         for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
             if (currentThread().isInterrupted()) {
@@ -139,15 +171,20 @@ public class StoreWorker implements Runnable {
                 backupsList = initListIfNull(backupsList, partitionCount);
                 selectEntriesToStore(recordStore, backupsList, backupHighestStoreTime);
             } else {
+                WriteBehindQueue<DelayedEntry> queue = getWriteBehindQueue(recordStore);
+                oldestStoreTime = Math.min(oldestStoreTime, getStoreTimeOfHead(queue));
+                ownedQueueSize += queue.size();
+
                 ownersList = initListIfNull(ownersList, partitionCount);
                 selectEntriesToStore(recordStore, ownersList, ownerHighestStoreTime);
             }
         }
 
+        queueSize = ownedQueueSize;
+        lagMillis = Math.max(0, now - oldestStoreTime);
+
         if (!isEmpty(ownersList)) {
-            Map<Integer, List<DelayedEntry>> failuresPerPartition = writeBehindProcessor.process(ownersList);
-            removeFinishedStoreOperationsFromQueues(mapName, ownersList);
-            reAddFailedStoreOperationsToQueues(mapName, failuresPerPartition);
+            storeEntries(ownersList);
         }
 
         if (!isEmpty(backupsList)) {
@@ -158,6 +195,32 @@ public class StoreWorker implements Runnable {
 
     }
 
+    private void storeEntries(List<DelayedEntry> entries) {
+        Map<Integer, List<DelayedEntry>> failuresPerPartition = writeBehindProcessor.process(entries);
+        removeFinishedStoreOperationsFromQueues(mapName, entries);
+        reAddFailedStoreOperationsToQueues(mapName, failuresPerPartition);
+
+        int failedEntries = countEntries(failuresPerPartition);
+        storedEntryCount.inc(entries.size() - failedEntries);
+        failedEntryCount.inc(failedEntries);
+    }
+
+    /**
+     * Returns the store time of the first entry in the queue, or {@link Long#MAX_VALUE} if the queue is empty.
+     */
+    private static long getStoreTimeOfHead(WriteBehindQueue<DelayedEntry> queue) {
+        DelayedEntry head = queue.peek();
+        return head == null ? Long.MAX_VALUE : head.getStoreTime();
+    }
+
+    private static int countEntries(Map<Integer, List<DelayedEntry>> entriesPerPartition) {
+        int count = 0;
+        for (List<DelayedEntry> entries : entriesPerPartition.values()) {
+            count += entries.size();
+        }
+        return count;
+    }
+
     private static List<DelayedEntry> initListIfNull(List<DelayedEntry> list, int capacity) {
         if (list == null) {
             list = new ArrayList<DelayedEntry>(capacity);
@@ -153,10 +153,10 @@ public class WriteBehindStore extends AbstractMapDataStore<Data, Object> {
     }
 
     public void add(DelayedEntry<Data, Object> delayedEntry) {
+        delayedEntry.setSequence(sequence.incrementAndGet());
+
         writeBehindQueue.addLast(delayedEntry);
         stagingArea.put(delayedEntry.getKey(), delayedEntry);
-
-        delayedEntry.setSequence(sequence.incrementAndGet());
     }
 
     @Override
@@ -55,8 +55,11 @@ public class AddIndexOperation extends MapOperation implements PartitionAwareOpe
 
     @Override
     public void run() throws Exception {
-        Indexes indexes = mapContainer.getIndexes();
-        Index index = indexes.addOrGetIndex(attributeName, ordered);
+        Index index = mapContainer.getIndexes().addOrGetIndex(attributeName, ordered);
+        if (!mapContainer.isGlobalIndexEnabled()) {
+            Indexes indexes = mapContainer.getIndexes(getPartitionId());
+            index = indexes.addOrGetIndex(attributeName, ordered);
+        }
 
         final long now = getNow();
         final Iterator<Record> iterator = recordStore.iterator(now, false);
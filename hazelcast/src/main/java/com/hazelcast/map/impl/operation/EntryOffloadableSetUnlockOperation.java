@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.concurrent.lock.LockWaitNotifyKey;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.map.EntryBackupProcessor;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.monitor.impl.LocalMapStatsImpl;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.BackupAwareOperation;
+import com.hazelcast.spi.DefaultObjectNamespace;
+import com.hazelcast.spi.Notifier;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.WaitNotifyKey;
+import com.hazelcast.util.Clock;
+
+import java.io.IOException;
+
+import static com.hazelcast.core.EntryEventType.ADDED;
+import static com.hazelcast.core.EntryEventType.REMOVED;
+import static com.hazelcast.core.EntryEventType.UPDATED;
+import static com.hazelcast.map.impl.EntryViews.createSimpleEntryView;
+import static com.hazelcast.map.impl.recordstore.RecordStore.DEFAULT_TTL;
+
+/**
+ * Applies the result of an {@link com.hazelcast.core.Offloadable} entry processor and unlocks its key.
+ *
+ * Sent by {@link EntryOperation} to the partition thread after the processor completed on the offloadable executor.
+ * The key is unlocked even if the processor failed or did not modify the entry, so operations waiting for the lock
+ * of the key can continue.
+ */
+public class EntryOffloadableSetUnlockOperation extends MutatingKeyBasedMapOperation
+        implements BackupAwareOperation, Notifier {
+
+    private boolean modified;
+    private Data oldValue;
+    private String lockOwner;
+    private long begin;
+    private EntryBackupProcessor entryBackupProcessor;
+
+    private transient EntryEventType eventType;
+
+    public EntryOffloadableSetUnlockOperation() {
+    }
+
+    public EntryOffloadableSetUnlockOperation(String name, Data dataKey, Data newValue, Data oldValue, boolean modified,
+                                              String lockOwner, long threadId, long begin,
+                                              EntryBackupProcessor entryBackupProcessor) {
+        super(name, dataKey, newValue);
+        this.oldValue = oldValue;
+        this.modified = modified;
+        this.lockOwner = lockOwner;
+        this.threadId = threadId;
+        this.begin = begin;
+        this.entryBackupProcessor = entryBackupProcessor;
+    }
+
+    @Override
+    public void run() throws Exception {
+        try {
+            if (modified) {
+                updateRecordStore();
+            }
+        } finally {
+            // the reference id of this operation differs from the one the key was locked with
+            recordStore.unlock(dataKey, lockOwner, threadId, getCallId());
+        }
+    }
+
+    private void updateRecordStore() {
+        LocalMapStatsImpl stats = mapServiceContext.getLocalMapStatsProvider().getLocalMapStatsImpl(name);
+        if (dataValue == null) {
+            if (oldValue == null) {
+                return;
+            }
+            recordStore.delete(dataKey);
+            stats.incrementRemoves(Clock.currentTimeMillis() - begin);
+            eventType = REMOVED;
+        } else {
+            recordStore.set(dataKey, dataValue, DEFAULT_TTL);
+            stats.incrementPuts(Clock.currentTimeMillis() - begin);
+            eventType = oldValue == null ? ADDED : UPDATED;
+        }
+    }
+
+    @Override
+    public void afterRun() throws Exception {
+        super.afterRun();
+        if (eventType == null) {
+            return;
+        }
+        Object value = dataValue;
+        mapServiceContext.interceptAfterPut(name, value);
+        if (isPostProcessing(recordStore)) {
+            Record record = recordStore.getRecord(dataKey);
+            value = record == null ? null : record.getValue();
+        }
+        invalidateNearCache(dataKey);
+        publishEntryEvent(value);
+        publishWanReplicationEvent();
+        evict(dataKey);
+    }
+
+    private void publishEntryEvent(Object value) {
+        if (getNodeEngine().getEventService().hasEventRegistration(MapService.SERVICE_NAME, name)) {
+            Object eventOldValue = oldValue;
+            // old and new value of the event may be the same object in the object in-memory format
+            if (mapContainer.getMapConfig().getInMemoryFormat() == InMemoryFormat.OBJECT && eventType != REMOVED) {
+                eventOldValue = null;
+            }
+            mapEventPublisher.publishEvent(getCallerAddress(), name, eventType, dataKey, eventOldValue, value);
+        }
+    }
+
+    private void publishWanReplicationEvent() {
+        if (mapContainer.getWanReplicationPublisher() == null && mapContainer.getWanMergePolicy() == null) {
+            return;
+        }
+        if (eventType == REMOVED) {
+            mapEventPublisher.publishWanReplicationRemove(name, dataKey, Clock.currentTimeMillis());
+        } else {
+            Record record = recordStore.getRecord(dataKey);
+            if (record != null) {
+                EntryView entryView = createSimpleEntryView(dataKey, dataValue, record);
+                mapEventPublisher.publishWanReplicationUpdate(name, entryView);
+            }
+        }
+    }
+
+    @Override
+    public WaitNotifyKey getNotifiedKey() {
+        return new LockWaitNotifyKey(new DefaultObjectNamespace(MapService.SERVICE_NAME, name), dataKey);
+    }
+
+    @Override
+    public boolean shouldNotify() {
+        return true;
+    }
+
+    @Override
+    public Operation getBackupOperation() {
+        return entryBackupProcessor != null ? new EntryBackupOperation(name, dataKey, entryBackupProcessor) : null;
+    }
+
+    @Override
+    public boolean shouldBackup() {
+        return modified && mapContainer.getTotalBackupCount() > 0 && entryBackupProcessor != null;
+    }
+
+    @Override
+    public int getAsyncBackupCount() {
+        return mapContainer.getAsyncBackupCount();
+    }
+
+    @Override
+    public int getSyncBackupCount() {
+        return mapContainer.getBackupCount();
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeBoolean(modified);
+        out.writeData(oldValue);
+        out.writeUTF(lockOwner);
+        out.writeLong(begin);
+        out.writeObject(entryBackupProcessor);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        modified = in.readBoolean();
+        oldValue = in.readData();
+        lockOwner = in.readUTF();
+        begin = in.readLong();
+        entryBackupProcessor = in.readObject();
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.ENTRY_OFFLOADABLE_SET_UNLOCK;
+    }
+}
@@ -20,7 +20,10 @@ import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.core.EntryEventType;
 import com.hazelcast.core.EntryView;
+import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.ManagedContext;
+import com.hazelcast.core.Offloadable;
+import com.hazelcast.core.ReadOnly;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.map.EntryBackupProcessor;
 import com.hazelcast.map.EntryProcessor;
@@ -36,13 +39,16 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.BackupAwareOperation;
 import com.hazelcast.spi.EventService;
+import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.impl.MutatingOperation;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.Clock;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.Set;
 
 import static com.hazelcast.core.EntryEventType.ADDED;
 import static com.hazelcast.core.EntryEventType.REMOVED;
@@ -50,10 +56,24 @@ import static com.hazelcast.core.EntryEventType.UPDATED;
 import static com.hazelcast.map.impl.EntryViews.createSimpleEntryView;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.map.impl.recordstore.RecordStore.DEFAULT_TTL;
+import static com.hazelcast.util.UuidUtil.newUnsecureUuidString;
 
 /**
  * GOTCHA : This operation LOADS missing keys from map-store, in contrast with PartitionWideEntryOperation.
+ *
+ * The entry processor is run in one of the following modes:
+ * <ul>
+ * <li>On the partition thread; the default.</li>
+ * <li>Read-only, if it implements {@link ReadOnly}: it does not wait for the lock of the key and is not allowed
+ * to modify the entry; no backups are made and no events are published.</li>
+ * <li>Offloaded, if it implements {@link Offloadable}: the key is locked and the processor is run on the executor
+ * named by {@link Offloadable#getExecutorName()}. The result is applied and the key is unlocked on the partition
+ * thread by an {@link EntryOffloadableSetUnlockOperation}; the response is sent after that operation completed.
+ * A read-only offloaded processor does not lock the key. If the caller holds the lock of the key itself, the
+ * processor is run on the partition thread instead.</li>
+ * </ul>
  */
+@SuppressWarnings("checkstyle:methodcount")
 public class EntryOperation extends LockAwareOperation implements BackupAwareOperation, MutatingOperation {
 
     protected Object oldValue;
@@ -61,6 +81,8 @@ public class EntryOperation extends LockAwareOperation implements BackupAwareOpe
     private EntryEventType eventType;
     private Object response;
     private transient Object dataValue;
+    private transient boolean readOnly;
+    private transient boolean offload;
 
     public EntryOperation() {
     }
@@ -77,10 +99,34 @@ public class EntryOperation extends LockAwareOperation implements BackupAwareOpe
         final SerializationService serializationService = getNodeEngine().getSerializationService();
         final ManagedContext managedContext = serializationService.getManagedContext();
         managedContext.initialize(entryProcessor);
+
+        readOnly = entryProcessor instanceof ReadOnly;
+        offload = isOffloadable(entryProcessor);
+    }
+
+    @Override
+    public boolean shouldWait() {
+        // a read-only processor does not see a partially applied modification, so it does not need the lock
+        if (readOnly) {
+            return false;
+        }
+        // the key of an offloaded processor is locked by an owner of its own, see runOffloaded(), which needs the
+        // lock to be free; a processor of the caller holding the lock itself is run on the partition thread instead
+        offload = isOffloadable(entryProcessor) && !recordStore.isLocked(dataKey);
+        return super.shouldWait();
     }
 
     @Override
     public void run() {
+        if (offload) {
+            runOffloaded();
+            return;
+        }
+        if (readOnly) {
+            runReadOnly();
+            return;
+        }
+
         final long now = getNow();
         oldValue = recordStore.get(dataKey, false);
 
@@ -98,6 +144,123 @@ public class EntryOperation extends LockAwareOperation implements BackupAwareOpe
         entryAddedOrUpdated(entry, now);
     }
 
+    private void runReadOnly() {
+        oldValue = recordStore.peek(dataKey);
+        Map.Entry entry = createMapEntry(dataKey, oldValue);
+        response = process(entry);
+        verifyNotModified(entry);
+    }
+
+    /**
+     * Runs the entry processor on the offloadable executor. The operation is tracked as a live operation, so the
+     * caller keeps getting heartbeats for it, until the response is sent.
+     *
+     * The key is locked by a random owner instead of the caller. The lock is reentrant for its owner, so a lock owned
+     * by the caller would let the next operations of the same caller and thread, e.g. another processor submitted
+     * asynchronously, read and modify the entry before the result of this processor is applied.
+     */
+    private void runOffloaded() {
+        final long begin = getNow();
+        final Data oldData = toData(readOnly ? recordStore.peek(dataKey) : recordStore.get(dataKey, false));
+        final String lockOwner = newUnsecureUuidString();
+        final long threadId = getThreadId();
+        if (!readOnly) {
+            recordStore.localLock(dataKey, lockOwner, threadId, getCallId(), -1);
+        }
+
+        final Set<Operation> offloadedOperations = mapServiceContext.getOffloadedOperations();
+        offloadedOperations.add(this);
+        final ExecutionService executionService = getNodeEngine().getExecutionService();
+        try {
+            executionService.execute(((Offloadable) entryProcessor).getExecutorName(), new Runnable() {
+                @Override
+                public void run() {
+                    processOffloaded(begin, oldData, lockOwner, threadId);
+                }
+            });
+        } catch (RuntimeException e) {
+            offloadedOperations.remove(this);
+            if (!readOnly) {
+                // nobody else uses the owner, so the key is locked exactly once by this operation
+                recordStore.forceUnlock(dataKey);
+            }
+            throw e;
+        }
+    }
+
+    private void processOffloaded(long begin, Data oldData, String lockOwner, long threadId) {
+        Map.Entry entry = createMapEntry(dataKey, oldData);
+        if (readOnly) {
+            processOffloadedReadOnly(entry);
+            return;
+        }
+
+        Data result = null;
+        Throwable failure = null;
+        try {
+            result = process(entry);
+        } catch (Throwable t) {
+            failure = t;
+        }
+
+        boolean modified = failure == null && ((LazyMapEntry) entry).isModified();
+        Data newData = modified ? toData(entry.getValue()) : null;
+        EntryBackupProcessor backupProcessor = modified ? entryProcessor.getBackupProcessor() : null;
+        Operation op = new EntryOffloadableSetUnlockOperation(name, dataKey, newData, oldData, modified,
+                lockOwner, threadId, begin, backupProcessor);
+        op.setCallerUuid(getCallerUuid());
+
+        final Object response = failure != null ? failure : result;
+        OperationService operationService = getNodeEngine().getOperationService();
+        operationService.invokeOnPartition(SERVICE_NAME, op, getPartitionId())
+                .andThen(new ExecutionCallback<Object>() {
+                    @Override
+                    public void onResponse(Object ignored) {
+                        sendOffloadedResponse(response);
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        sendOffloadedResponse(t);
+                    }
+                });
+    }
+
+    private void processOffloadedReadOnly(Map.Entry entry) {
+        Object response;
+        try {
+            response = process(entry);
+            verifyNotModified(entry);
+        } catch (Throwable t) {
+            response = t;
+        }
+        sendOffloadedResponse(response);
+    }
+
+    private void sendOffloadedResponse(Object value) {
+        mapServiceContext.getOffloadedOperations().remove(this);
+        sendResponse(value);
+    }
+
+    private void verifyNotModified(Map.Entry entry) {
+        if (((LazyMapEntry) entry).isModified()) {
+            throw new UnsupportedOperationException("Entry processor " + entryProcessor.getClass().getName()
+                    + " is marked as " + ReadOnly.class.getSimpleName() + " but tried to modify the entry with key "
+                    + entry.getKey());
+        }
+    }
+
+    private static boolean isOffloadable(EntryProcessor entryProcessor) {
+        return entryProcessor instanceof Offloadable
+                && !Offloadable.NO_OFFLOADING.equals(((Offloadable) entryProcessor).getExecutorName());
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        // the response of an offloaded processor is sent when it completed
+        return !offload;
+    }
+
     @Override
     public void afterRun() throws Exception {
         super.afterRun();
@@ -133,7 +296,8 @@ public class EntryOperation extends LockAwareOperation implements BackupAwareOpe
 
     @Override
     public boolean shouldBackup() {
-        return mapContainer.getTotalBackupCount() > 0 && entryProcessor.getBackupProcessor() != null;
+        // an offloaded processor is backed up by the EntryOffloadableSetUnlockOperation
+        return !readOnly && !offload && mapContainer.getTotalBackupCount() > 0 && entryProcessor.getBackupProcessor() != null;
     }
 
     @Override
@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.operation;
 
+import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.map.impl.recordstore.Storage;
 import com.hazelcast.nio.ObjectDataInput;
@@ -23,6 +24,7 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.PartitionAwareOperation;
 import com.hazelcast.spi.impl.MutatingOperation;
+import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
 import com.hazelcast.spi.partition.IPartitionService;
 
 import java.io.IOException;
@@ -31,9 +33,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Future;
 
 /**
  * Triggers map store load of all given keys.
+ * <p/>
+ * The response is sent when the values of the keys are loaded, not when the loading is triggered. So the sender of the
+ * keys doesn't send more keys to a partition than it can load.
  */
 public class LoadAllOperation extends MapOperation implements PartitionAwareOperation, MutatingOperation {
 
@@ -41,6 +47,8 @@ public class LoadAllOperation extends MapOperation implements PartitionAwareOper
 
     private boolean replaceExistingValues;
 
+    private boolean loading;
+
     public LoadAllOperation() {
         keys = Collections.emptyList();
     }
@@ -59,7 +67,21 @@ public class LoadAllOperation extends MapOperation implements PartitionAwareOper
             removeExistingKeys(keys);
         }
 
-        recordStore.loadAllFromStore(keys);
+        Future<?> loaded = recordStore.loadAllFromStore(keys);
+        if (loaded != null) {
+            loading = true;
+            getOperationServiceImpl().onStartAsyncOperation(this);
+            sendResponseWhenLoaded(loaded);
+        }
+    }
+
+    private <V> void sendResponseWhenLoaded(Future<V> loaded) {
+        getNodeEngine().getExecutionService().asCompletableFuture(loaded).andThen(new LoadedCallback<V>());
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return !loading;
     }
 
     @Override
@@ -101,6 +123,10 @@ public class LoadAllOperation extends MapOperation implements PartitionAwareOper
         return dataKeys;
     }
 
+    private OperationServiceImpl getOperationServiceImpl() {
+        return (OperationServiceImpl) getNodeEngine().getOperationService();
+    }
+
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
@@ -130,4 +156,19 @@ public class LoadAllOperation extends MapOperation implements PartitionAwareOper
     public int getId() {
         return MapDataSerializerHook.LOAD_ALL;
     }
+
+    private final class LoadedCallback<V> implements ExecutionCallback<V> {
+
+        @Override
+        public void onResponse(V response) {
+            getOperationServiceImpl().onCompletionAsyncOperation(LoadAllOperation.this);
+            sendResponse(null);
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            getOperationServiceImpl().onCompletionAsyncOperation(LoadAllOperation.this);
+            sendResponse(t);
+        }
+    }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.spi.ReadonlyOperation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fetches the next chunk of the entries of a partition matching a predicate, starting at the given position in the
+ * record table.
+ * <p>
+ * The records are scanned until at least {@code fetchSize} matching entries are found, the end of the table is
+ * reached, or {@link #SCAN_LIMIT_MULTIPLIER} times {@code fetchSize} records have been scanned, so a selective
+ * predicate doesn't occupy the partition thread for a whole partition scan. In the last case the returned chunk may
+ * even be empty while the cursor isn't exhausted yet.
+ */
+public class MapFetchWithQueryOperation extends MapOperation implements ReadonlyOperation {
+
+    /**
+     * The maximum number of records scanned by a single operation, as a multiple of the fetch size.
+     */
+    static final int SCAN_LIMIT_MULTIPLIER = 16;
+
+    private int fetchSize;
+    private int lastTableIndex;
+    private Predicate predicate;
+    private transient MapEntriesWithCursor response;
+
+    public MapFetchWithQueryOperation() {
+    }
+
+    public MapFetchWithQueryOperation(String name, int lastTableIndex, int fetchSize, Predicate predicate) {
+        super(name);
+        this.lastTableIndex = lastTableIndex;
+        this.fetchSize = fetchSize;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void run() throws Exception {
+        InternalSerializationService serializationService =
+                (InternalSerializationService) getNodeEngine().getSerializationService();
+        Extractors extractors = mapServiceContext.getExtractors(name);
+        CachedQueryEntry queryEntry = new CachedQueryEntry();
+        List<Map.Entry<Data, Data>> matchingEntries = new ArrayList<Map.Entry<Data, Data>>();
+        long scanLimit = (long) fetchSize * SCAN_LIMIT_MULTIPLIER;
+        long scanned = 0;
+        int tableIndex = lastTableIndex;
+        do {
+            MapEntriesWithCursor chunk = recordStore.fetchEntries(tableIndex, fetchSize);
+            tableIndex = chunk.getNextTableIndexToReadFrom();
+            for (Map.Entry<Data, Data> entry : chunk.getEntries()) {
+                queryEntry.init(serializationService, entry.getKey(), entry.getValue(), extractors);
+                if (predicate.apply(queryEntry)) {
+                    matchingEntries.add(entry);
+                }
+            }
+            scanned += chunk.getEntries().size();
+        } while (tableIndex >= 0 && matchingEntries.size() < fetchSize && scanned < scanLimit);
+        response = new MapEntriesWithCursor(matchingEntries, tableIndex);
+    }
+
+    @Override
+    public Object getResponse() {
+        return response;
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        fetchSize = in.readInt();
+        lastTableIndex = in.readInt();
+        predicate = in.readObject();
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeInt(fetchSize);
+        out.writeInt(lastTableIndex);
+        out.writeObject(predicate);
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.FETCH_WITH_QUERY;
+    }
+}
@@ -240,4 +240,9 @@ abstract class MapOperationProviderDelegator implements MapOperationProvider {
     public MapOperation createFetchEntriesOperation(String name, int lastTableIndex, int fetchSize) {
         return getDelegate().createFetchEntriesOperation(name, lastTableIndex, fetchSize);
     }
+
+    @Override
+    public MapOperation createFetchWithQueryOperation(String name, int lastTableIndex, int fetchSize, Predicate predicate) {
+        return getDelegate().createFetchWithQueryOperation(name, lastTableIndex, fetchSize, predicate);
+    }
 }
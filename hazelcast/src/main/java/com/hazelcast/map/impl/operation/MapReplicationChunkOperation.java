@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordReplicationInfo;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.impl.MutatingOperation;
+import com.hazelcast.util.Clock;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.map.impl.record.Records.applyRecordInfo;
+
+/**
+ * Replicates a chunk of the records of this partition to a replica partition during a chunked migration.
+ *
+ * Contrary to the {@link MapReplicationOperation} the record stores are not reset; the chunks are added to the stores
+ * which were reset by the {@link MapReplicationOperation} that was sent before the first chunk.
+ */
+public class MapReplicationChunkOperation extends Operation implements MutatingOperation, IdentifiedDataSerializable {
+
+    private Map<String, List<RecordReplicationInfo>> data;
+
+    public MapReplicationChunkOperation() {
+    }
+
+    public MapReplicationChunkOperation(Map<String, List<RecordReplicationInfo>> data, int partitionId, int replicaIndex) {
+        this.data = data;
+        setPartitionId(partitionId).setReplicaIndex(replicaIndex);
+    }
+
+    @Override
+    public void run() {
+        MapService mapService = getService();
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        for (Map.Entry<String, List<RecordReplicationInfo>> dataEntry : data.entrySet()) {
+            RecordStore recordStore = mapServiceContext.getRecordStore(getPartitionId(), dataEntry.getKey(), true);
+            for (RecordReplicationInfo recordReplicationInfo : dataEntry.getValue()) {
+                Data key = recordReplicationInfo.getKey();
+                Record newRecord = recordStore.createRecord(recordReplicationInfo.getValue(), -1L, Clock.currentTimeMillis());
+                applyRecordInfo(newRecord, recordReplicationInfo);
+                recordStore.putRecord(key, newRecord);
+            }
+        }
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeInt(data.size());
+        for (Map.Entry<String, List<RecordReplicationInfo>> dataEntry : data.entrySet()) {
+            out.writeUTF(dataEntry.getKey());
+            List<RecordReplicationInfo> recordReplicationInfos = dataEntry.getValue();
+            out.writeInt(recordReplicationInfos.size());
+            for (RecordReplicationInfo recordReplicationInfo : recordReplicationInfos) {
+                out.writeObject(recordReplicationInfo);
+            }
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        data = new HashMap<String, List<RecordReplicationInfo>>(size);
+        for (int i = 0; i < size; i++) {
+            String name = in.readUTF();
+            int recordCount = in.readInt();
+            List<RecordReplicationInfo> recordReplicationInfos = new ArrayList<RecordReplicationInfo>(recordCount);
+            for (int j = 0; j < recordCount; j++) {
+                RecordReplicationInfo recordReplicationInfo = in.readObject();
+                recordReplicationInfos.add(recordReplicationInfo);
+            }
+            data.put(name, recordReplicationInfos);
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.MAP_REPLICATION_CHUNK;
+    }
+}
@@ -49,9 +49,31 @@ public class MapReplicationOperation extends Operation implements MutatingOperat
     }
 
     public MapReplicationOperation(PartitionContainer container, int partitionId, int replicaIndex) {
+        this(container, partitionId, replicaIndex, true);
+    }
+
+    /**
+     * @param includeRecords {@code false} to only replicate the state of the record stores without their records,
+     *                       which are then replicated by {@link MapReplicationChunkOperation}s
+     */
+    public MapReplicationOperation(PartitionContainer container, int partitionId, int replicaIndex, boolean includeRecords) {
+        setPartitionId(partitionId).setReplicaIndex(replicaIndex);
+
+        mapReplicationStateHolder.prepare(container, replicaIndex, includeRecords);
+        writeBehindStateHolder.prepare(container, replicaIndex);
+        mapNearCacheStateHolder.prepare(container, replicaIndex);
+    }
+
+    /**
+     * Replicates only the records modified and removed since the given partition replica version, without resetting
+     * the record stores of the replica.
+     *
+     * @param sinceVersion the partition replica version the replica is in sync with
+     */
+    public MapReplicationOperation(PartitionContainer container, int partitionId, int replicaIndex, long sinceVersion) {
         setPartitionId(partitionId).setReplicaIndex(replicaIndex);
 
-        mapReplicationStateHolder.prepare(container, replicaIndex);
+        mapReplicationStateHolder.prepareIncremental(container, replicaIndex, sinceVersion);
         writeBehindStateHolder.prepare(container, replicaIndex);
         mapNearCacheStateHolder.prepare(container, replicaIndex);
     }
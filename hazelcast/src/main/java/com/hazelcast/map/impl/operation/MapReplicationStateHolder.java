@@ -24,6 +24,7 @@ import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordReplicationInfo;
 import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.ReplicaVersionTrackingStorage;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
@@ -31,9 +32,12 @@ import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.util.Clock;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -49,6 +53,10 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
     // propagates the information if the given record store has been already loaded with map-loaded
     // if so, the loading won't be triggered again after a migration to avoid duplicate loading.
     protected Map<String, Boolean> loaded;
+    // set when only the changes since a partition replica version are replicated; the record stores are not reset then
+    // and the removed keys are removed from them
+    protected boolean incremental;
+    protected Map<String, List<Data>> removedKeys;
 
     private MapReplicationOperation mapReplicationOperation;
 
@@ -64,6 +72,10 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
     }
 
     void prepare(PartitionContainer container, int replicaIndex) {
+        prepare(container, replicaIndex, true);
+    }
+
+    void prepare(PartitionContainer container, int replicaIndex, boolean includeRecords) {
         data = new HashMap<String, Set<RecordReplicationInfo>>(container.getMaps().size());
         loaded = new HashMap<String, Boolean>(container.getMaps().size());
         for (Map.Entry<String, RecordStore> entry : container.getMaps().entrySet()) {
@@ -77,6 +89,10 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
             MapServiceContext mapServiceContext = mapContainer.getMapServiceContext();
             String mapName = entry.getKey();
             loaded.put(mapName, recordStore.isLoaded());
+            if (!includeRecords) {
+                data.put(mapName, Collections.<RecordReplicationInfo>emptySet());
+                continue;
+            }
             // now prepare data to migrate records
             Set<RecordReplicationInfo> recordSet = new HashSet<RecordReplicationInfo>(recordStore.size());
             final Iterator<Record> iterator = recordStore.iterator();
@@ -91,13 +107,50 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
         }
     }
 
+    /**
+     * Prepares the records modified and the keys removed since the given partition replica version. All record stores
+     * need to be tracked by a {@link ReplicaVersionTrackingStorage} which knows the changes since that version.
+     */
+    void prepareIncremental(PartitionContainer container, int replicaIndex, long sinceVersion) {
+        incremental = true;
+        data = new HashMap<String, Set<RecordReplicationInfo>>(container.getMaps().size());
+        loaded = new HashMap<String, Boolean>(container.getMaps().size());
+        removedKeys = new HashMap<String, List<Data>>(container.getMaps().size());
+        for (Map.Entry<String, RecordStore> entry : container.getMaps().entrySet()) {
+            RecordStore recordStore = entry.getValue();
+
+            MapContainer mapContainer = recordStore.getMapContainer();
+            if (mapContainer.getMapConfig().getTotalBackupCount() < replicaIndex) {
+                continue;
+            }
+            MapServiceContext mapServiceContext = mapContainer.getMapServiceContext();
+            String mapName = entry.getKey();
+            loaded.put(mapName, recordStore.isLoaded());
+
+            ReplicaVersionTrackingStorage storage = (ReplicaVersionTrackingStorage) recordStore.getStorage();
+            Set<RecordReplicationInfo> recordSet = new HashSet<RecordReplicationInfo>();
+            for (Record record : storage.getRecordsModifiedSince(sinceVersion)) {
+                recordSet.add(mapReplicationOperation.createRecordReplicationInfo(record.getKey(), record,
+                        mapServiceContext));
+            }
+            data.put(mapName, recordSet);
+            removedKeys.put(mapName, storage.getKeysRemovedSince(sinceVersion));
+        }
+    }
+
     void applyState() {
         if (data != null) {
             for (Map.Entry<String, Set<RecordReplicationInfo>> dataEntry : data.entrySet()) {
                 Set<RecordReplicationInfo> recordReplicationInfos = dataEntry.getValue();
                 final String mapName = dataEntry.getKey();
                 RecordStore recordStore = mapReplicationOperation.getRecordStore(mapName);
-                recordStore.reset();
+                if (incremental) {
+                    for (Data key : removedKeys.get(mapName)) {
+                        recordStore.removeBackup(key);
+                    }
+                } else {
+                    recordStore.reset();
+                }
                 recordStore.setPreMigrationLoadedStatus(loaded.get(mapName));
 
                 for (RecordReplicationInfo recordReplicationInfo : recordReplicationInfos) {
@@ -128,6 +181,18 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
             out.writeUTF(loadedEntry.getKey());
             out.writeBoolean(loadedEntry.getValue());
         }
+
+        out.writeBoolean(incremental);
+        if (incremental) {
+            for (Map.Entry<String, List<Data>> removedKeysEntry : removedKeys.entrySet()) {
+                out.writeUTF(removedKeysEntry.getKey());
+                List<Data> keys = removedKeysEntry.getValue();
+                out.writeInt(keys.size());
+                for (Data key : keys) {
+                    out.writeData(key);
+                }
+            }
+        }
     }
 
     @Override
@@ -150,6 +215,20 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
         for (int i = 0; i < loadedSize; i++) {
             loaded.put(in.readUTF(), in.readBoolean());
         }
+
+        incremental = in.readBoolean();
+        if (incremental) {
+            removedKeys = new HashMap<String, List<Data>>(size);
+            for (int i = 0; i < size; i++) {
+                String name = in.readUTF();
+                int keyCount = in.readInt();
+                List<Data> keys = new ArrayList<Data>(keyCount);
+                for (int j = 0; j < keyCount; j++) {
+                    keys.add(in.readData());
+                }
+                removedKeys.put(name, keys);
+            }
+        }
     }
 
     @Override
@@ -17,8 +17,10 @@
 package com.hazelcast.map.impl.operation;
 
 import com.hazelcast.core.ManagedContext;
+import com.hazelcast.core.ReadOnly;
 import com.hazelcast.map.EntryBackupProcessor;
 import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.impl.LazyMapEntry;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.map.impl.MapEntries;
 import com.hazelcast.map.impl.record.Record;
@@ -39,9 +41,14 @@ import java.util.Map;
 
 /**
  * GOTCHA : This operation does NOT load missing keys from map-store for now.
+ *
+ * An entry processor implementing {@link ReadOnly} is not allowed to modify the entries and is not backed up.
+ * {@link com.hazelcast.core.Offloadable} is ignored, the processor always runs on the partition thread.
  */
 public class PartitionWideEntryOperation extends AbstractMultipleEntryOperation implements BackupAwareOperation {
 
+    private transient boolean readOnly;
+
     public PartitionWideEntryOperation(String name, EntryProcessor entryProcessor) {
         super(name, entryProcessor);
     }
@@ -56,6 +63,7 @@ public class PartitionWideEntryOperation extends AbstractMultipleEntryOperation
         SerializationService serializationService = getNodeEngine().getSerializationService();
         ManagedContext managedContext = serializationService.getManagedContext();
         managedContext.initialize(entryProcessor);
+        readOnly = entryProcessor instanceof ReadOnly;
     }
 
     @Override
@@ -79,6 +87,10 @@ public class PartitionWideEntryOperation extends AbstractMultipleEntryOperation
                 responses.add(dataKey, response);
             }
 
+            if (readOnly) {
+                verifyNotModified(entry);
+                continue;
+            }
             // first call noOp, other if checks below depends on it.
             if (noOp(entry, oldValue, now)) {
                 continue;
@@ -99,7 +111,7 @@ public class PartitionWideEntryOperation extends AbstractMultipleEntryOperation
 
     @Override
     public boolean shouldBackup() {
-        return mapContainer.getTotalBackupCount() > 0 && entryProcessor.getBackupProcessor() != null;
+        return !readOnly && mapContainer.getTotalBackupCount() > 0 && entryProcessor.getBackupProcessor() != null;
     }
 
     @Override
@@ -123,6 +135,14 @@ public class PartitionWideEntryOperation extends AbstractMultipleEntryOperation
         return backupOperation;
     }
 
+    private void verifyNotModified(Map.Entry entry) {
+        if (((LazyMapEntry) entry).isModified()) {
+            throw new UnsupportedOperationException("Entry processor " + entryProcessor.getClass().getName()
+                    + " is marked as " + ReadOnly.class.getSimpleName() + " but tried to modify the entry with key "
+                    + entry.getKey());
+        }
+    }
+
     private boolean applyPredicate(Data key, Object value) {
         Predicate predicate = getPredicate();
 
@@ -18,6 +18,7 @@ package com.hazelcast.map.impl.operation;
 
 import com.hazelcast.internal.partition.InternalPartitionService;
 import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.MapServiceContext;
@@ -118,12 +119,17 @@ public class PartitionWideEntryWithPredicateOperationFactory extends PartitionAw
         // get indexes
         MapService mapService = nodeEngine.getService(SERVICE_NAME);
         MapServiceContext mapServiceContext = mapService.getMapServiceContext();
-        Indexes indexes = mapServiceContext.getMapContainer(name).getIndexes();
+        MapContainer mapContainer = mapServiceContext.getMapContainer(name);
+        // partition-local indexes can only be queried from partition threads.
+        if (!mapContainer.isGlobalIndexEnabled()) {
+            return emptySet();
+        }
+        Indexes indexes = mapContainer.getIndexes();
         // optimize predicate
         QueryOptimizer queryOptimizer = mapServiceContext.getQueryOptimizer();
-        predicate = queryOptimizer.optimize(predicate, indexes);
+        Predicate optimizedPredicate = queryOptimizer.optimize(predicate, indexes);
 
-        Set<QueryableEntry> querySet = indexes.query(predicate);
+        Set<QueryableEntry> querySet = indexes.query(optimizedPredicate);
         if (querySet == null) {
             return emptySet();
         }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.proxy;
+
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.MapPipeline;
+import com.hazelcast.core.Pipelining;
+import com.hazelcast.map.impl.operation.MapOperation;
+import com.hazelcast.map.impl.operation.MapOperationProvider;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.operationservice.InternalOperationService;
+import com.hazelcast.spi.impl.operationservice.OperationBatch;
+import com.hazelcast.spi.serialization.SerializationService;
+
+import static com.hazelcast.map.impl.proxy.MapProxySupport.NULL_KEY_IS_NOT_ALLOWED;
+import static com.hazelcast.map.impl.proxy.MapProxySupport.NULL_VALUE_IS_NOT_ALLOWED;
+import static com.hazelcast.map.impl.recordstore.RecordStore.DEFAULT_TTL;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * The {@link MapPipeline} of the {@link MapProxyImpl}. The operations for remote members are coalesced by an
+ * {@link OperationBatch}.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+class MapPipelineImpl<K, V> extends Pipelining<Object> implements MapPipeline<K, V> {
+
+    /**
+     * The maximum number of operations send to a member in a single packet.
+     */
+    static final int MAX_BATCH_SIZE = 100;
+
+    private final MapProxyImpl<K, V> proxy;
+    private final MapOperationProvider operationProvider;
+    private final SerializationService serializationService;
+    private final OperationBatch batch;
+
+    MapPipelineImpl(MapProxyImpl<K, V> proxy, InternalOperationService operationService, int depth) {
+        super(depth);
+        this.proxy = proxy;
+        this.operationProvider = proxy.getOperationProvider();
+        this.serializationService = proxy.getNodeEngine().getSerializationService();
+        this.batch = operationService.newOperationBatch(Math.min(depth, MAX_BATCH_SIZE));
+    }
+
+    @Override
+    public ICompletableFuture<V> getAsync(K key) throws InterruptedException {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+
+        Data dataKey = proxy.toData(key, proxy.partitionStrategy);
+        return invoke(dataKey, operationProvider.createGetOperation(proxy.name, dataKey));
+    }
+
+    @Override
+    public ICompletableFuture<V> putAsync(K key, V value) throws InterruptedException {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+        checkNotNull(value, NULL_VALUE_IS_NOT_ALLOWED);
+
+        Data dataKey = proxy.toData(key, proxy.partitionStrategy);
+        Data dataValue = serializationService.toData(value);
+        return invoke(dataKey, operationProvider.createPutOperation(proxy.name, dataKey, dataValue, DEFAULT_TTL));
+    }
+
+    @Override
+    public ICompletableFuture<Void> setAsync(K key, V value) throws InterruptedException {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+        checkNotNull(value, NULL_VALUE_IS_NOT_ALLOWED);
+
+        Data dataKey = proxy.toData(key, proxy.partitionStrategy);
+        Data dataValue = serializationService.toData(value);
+        return invoke(dataKey, operationProvider.createSetOperation(proxy.name, dataKey, dataValue, DEFAULT_TTL));
+    }
+
+    @Override
+    public ICompletableFuture<V> removeAsync(K key) throws InterruptedException {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+
+        Data dataKey = proxy.toData(key, proxy.partitionStrategy);
+        return invoke(dataKey, operationProvider.createRemoveOperation(proxy.name, dataKey, false));
+    }
+
+    @Override
+    public void flush() {
+        batch.flush();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E> ICompletableFuture<E> invoke(Data dataKey, MapOperation operation) throws InterruptedException {
+        ICompletableFuture future = proxy.invokeInBatch(batch, dataKey, operation);
+        add(future);
+        return future;
+    }
+}
@@ -25,12 +25,14 @@ import com.hazelcast.core.HazelcastException;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.IMap;
+import com.hazelcast.core.MapPipeline;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.QueryCache;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.SimpleEntryView;
 import com.hazelcast.map.impl.iterator.MapPartitionIterator;
+import com.hazelcast.map.impl.iterator.MapQueryIterator;
 import com.hazelcast.map.impl.query.AggregationResult;
 import com.hazelcast.map.impl.query.MapQueryEngine;
 import com.hazelcast.map.impl.query.Query;
@@ -66,6 +68,7 @@ import com.hazelcast.spi.InitializingObject;
 import com.hazelcast.spi.InternalCompletableFuture;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.impl.operationservice.InternalOperationService;
 import com.hazelcast.util.CollectionUtil;
 import com.hazelcast.util.ConstructorFunction;
 import com.hazelcast.util.IterationType;
@@ -346,6 +349,11 @@ public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, I
         return new DelegatingFuture<V>(removeAsyncInternal(dataKey), getNodeEngine().getSerializationService());
     }
 
+    @Override
+    public MapPipeline<K, V> pipeline(int depth) {
+        return new MapPipelineImpl<K, V>(this, (InternalOperationService) operationService, depth);
+    }
+
     @Override
     public Map<K, V> getAll(Set<K> keys) {
         if (CollectionUtil.isEmpty(keys)) {
@@ -899,6 +907,41 @@ public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, I
         return new MapPartitionIterator<K, V>(this, fetchSize, partitionId, prefetchValues);
     }
 
+    /**
+     * Returns an iterator over the entries of the given partition matching the predicate. The entries are fetched in
+     * chunks of roughly {@code fetchSize} entries instead of materializing the whole result.
+     *
+     * @throws IllegalArgumentException if the predicate is a {@link PagingPredicate}
+     * @see MapQueryIterator
+     */
+    public Iterator<Entry<K, V>> iterator(int fetchSize, int partitionId, Predicate<K, V> predicate) {
+        return iterator(fetchSize, new int[]{partitionId}, predicate);
+    }
+
+    /**
+     * Returns an iterator over all entries of the map matching the predicate, partition by partition. The entries are
+     * fetched in chunks of roughly {@code fetchSize} entries instead of materializing the whole result, so unlike
+     * {@link #entrySet(Predicate)} it isn't limited by the query result size limit.
+     *
+     * @throws IllegalArgumentException if the predicate is a {@link PagingPredicate}
+     * @see MapQueryIterator
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator(int fetchSize, Predicate<K, V> predicate) {
+        int[] partitionIds = new int[partitionService.getPartitionCount()];
+        for (int i = 0; i < partitionIds.length; i++) {
+            partitionIds[i] = i;
+        }
+        return iterator(fetchSize, partitionIds, predicate);
+    }
+
+    private Iterator<Entry<K, V>> iterator(int fetchSize, int[] partitionIds, Predicate<K, V> predicate) {
+        checkPositive(fetchSize, "fetchSize should be positive");
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        checkNotInstanceOf(PagingPredicate.class, predicate, "predicate");
+        return new MapQueryIterator<K, V>(this, fetchSize, partitionIds, predicate);
+    }
+
     @Override
     public String toString() {
         return "IMap{name='" + name + '\'' + '}';
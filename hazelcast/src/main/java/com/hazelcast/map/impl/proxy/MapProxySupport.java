@@ -71,6 +71,7 @@ import com.hazelcast.spi.OperationFactory;
 import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.annotation.Beta;
 import com.hazelcast.spi.impl.BinaryOperationFactory;
+import com.hazelcast.spi.impl.operationservice.OperationBatch;
 import com.hazelcast.spi.partition.IPartition;
 import com.hazelcast.spi.partition.IPartitionService;
 import com.hazelcast.spi.properties.HazelcastProperties;
@@ -97,6 +98,7 @@ import java.util.Set;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.config.MapIndexConfig.validateIndexAttribute;
 import static com.hazelcast.core.EntryEventType.CLEAR_ALL;
 import static com.hazelcast.map.impl.EntryRemovingProcessor.ENTRY_REMOVING_PROCESSOR;
@@ -294,7 +296,7 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
 
     protected Object getInternal(Data key) {
         // todo action for read-backup true is not well tested.
-        if (getMapConfig().isReadBackupData()) {
+        if (isLocalBackupReadAllowed()) {
             Object fromBackup = readBackupDataOrNull(key);
             if (fromBackup != null) {
                 return fromBackup;
@@ -305,6 +307,15 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         return invokeOperation(key, operation);
     }
 
+    /**
+     * The backup is read on the calling thread. The values of a NATIVE map live in native memory which the partition
+     * thread can free at any moment, so they may only be read on the partition thread.
+     */
+    private boolean isLocalBackupReadAllowed() {
+        MapConfig mapConfig = getMapConfig();
+        return mapConfig.isReadBackupData() && mapConfig.getInMemoryFormat() != NATIVE;
+    }
+
     private Data readBackupDataOrNull(Data key) {
         int partitionId = partitionService.getPartitionId(key);
         IPartition partition = partitionService.getPartition(partitionId, false);
@@ -552,6 +563,27 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         }
     }
 
+    /**
+     * Invokes the operation on the partition of the key through the given batch, so it is send together with the other
+     * operations of the batch for the same member.
+     */
+    protected <T> InternalCompletableFuture<T> invokeInBatch(OperationBatch batch, Data key, MapOperation operation) {
+        int partitionId = partitionService.getPartitionId(key);
+        operation.setThreadId(ThreadUtil.getThreadId());
+        try {
+            long startTime = System.currentTimeMillis();
+            InternalCompletableFuture<T> future = batch.invokeOnPartition(SERVICE_NAME, operation, partitionId);
+
+            if (statisticsEnabled) {
+                future.andThen(new IncrementStatsExecutionCallback<T>(operation, startTime));
+            }
+
+            return future;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
     protected boolean containsKeyInternal(Data key) {
         int partitionId = partitionService.getPartitionId(key);
         MapOperation containsKeyOperation = operationProvider.createContainsKeyOperation(name, key);
@@ -20,6 +20,7 @@ import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.QueryResultSizeExceededException;
+import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
@@ -36,6 +37,7 @@ import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.util.ExceptionUtil.rethrow;
 
 /**
@@ -119,6 +121,16 @@ public class MapQueryEngineImpl implements MapQueryEngine {
         return result;
     }
 
+    // partition-local indexes and native records can only be accessed on partition threads,
+    // so query threads are skipped entirely
+    private boolean isPartitionThreadOnly(String mapName) {
+        MapContainer mapContainer = mapServiceContext.getMapContainer(mapName);
+        if (mapContainer.getMapConfig().getInMemoryFormat() == NATIVE) {
+            return true;
+        }
+        return !mapContainer.isGlobalIndexEnabled() && mapContainer.getIndexes().hasIndex();
+    }
+
     // partition thread ONLY (for now)
     private Result runQueryOnGivenPartition(Query query, Target target) {
         try {
@@ -137,7 +149,9 @@ public class MapQueryEngineImpl implements MapQueryEngine {
         }
         Result result = resultProcessorRegistry.get(query.getResultType()).populateResult(query,
                 queryResultSizeLimiter.getNodeResultLimit(partitionIds.size()));
-        dispatchQueryOnQueryThreads(query, target, partitionIds, result);
+        if (!isPartitionThreadOnly(query.getMapName())) {
+            dispatchQueryOnQueryThreads(query, target, partitionIds, result);
+        }
         return result;
     }
 
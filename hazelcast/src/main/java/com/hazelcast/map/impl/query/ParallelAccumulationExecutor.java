@@ -23,6 +23,7 @@ import com.hazelcast.util.executor.ManagedExecutorService;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 
@@ -90,6 +91,9 @@ public class ParallelAccumulationExecutor implements AccumulationExecutor {
         if (entries.size() < chunkCount * 2) {
             return null;
         }
+        if (entries instanceof List) {
+            return splitList((List<QueryableEntry>) entries, chunkCount);
+        }
         int counter = 0;
         Collection<QueryableEntry>[] entriesSplit = new Collection[chunkCount];
         int entriesPerChunk = entries.size() / chunkCount;
@@ -102,6 +106,16 @@ public class ParallelAccumulationExecutor implements AccumulationExecutor {
         return entriesSplit;
     }
 
+    // the entries of a partition scan are split into contiguous views instead of being copied
+    private Collection<QueryableEntry>[] splitList(List<QueryableEntry> entries, int chunkCount) {
+        Collection<QueryableEntry>[] entriesSplit = new Collection[chunkCount];
+        int size = entries.size();
+        for (int i = 0; i < chunkCount; i++) {
+            entriesSplit[i] = entries.subList(i * size / chunkCount, (i + 1) * size / chunkCount);
+        }
+        return entriesSplit;
+    }
+
     private Aggregator clone(Aggregator aggregator) {
         return serializationService.toObject(serializationService.toData(aggregator));
     }
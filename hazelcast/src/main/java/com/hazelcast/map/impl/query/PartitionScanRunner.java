@@ -31,14 +31,15 @@ import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.CachedQueryEntry;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.SerializedPredicateEvaluator;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.partition.IPartitionService;
 import com.hazelcast.util.Clock;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -72,7 +73,7 @@ public class PartitionScanRunner {
     @SuppressWarnings("unchecked")
     public Collection<QueryableEntry> run(String mapName, Predicate predicate, int partitionId) {
         PagingPredicate pagingPredicate = predicate instanceof PagingPredicate ? (PagingPredicate) predicate : null;
-        List<QueryableEntry> resultList = new LinkedList<QueryableEntry>();
+        List<QueryableEntry> resultList = new ArrayList<QueryableEntry>();
 
         PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(partitionId);
         MapContainer mapContainer = mapServiceContext.getMapContainer(mapName);
@@ -80,6 +81,11 @@ public class PartitionScanRunner {
         Map.Entry<Integer, Map.Entry> nearestAnchorEntry = getNearestAnchorEntry(pagingPredicate);
         boolean useCachedValues = isUseCachedDeserializedValuesEnabled(mapContainer);
         Extractors extractors = mapServiceContext.getExtractors(mapName);
+        // the entry is used as a flyweight: it is re-initialized for every record and only handed over to the
+        // result (and replaced by a new one) when the record matches, so non-matching records do not allocate.
+        // Portable values are kept in their serialized form and read field by field by the extractors.
+        CachedQueryEntry queryEntry = new CachedQueryEntry();
+        SerializedPredicateEvaluator serializedEvaluator = createSerializedEvaluator(predicate, pagingPredicate);
         while (iterator.hasNext()) {
             Record record = iterator.next();
             Data key = (Data) toData(record.getKey());
@@ -88,16 +94,38 @@ public class PartitionScanRunner {
             if (value == null) {
                 continue;
             }
-            //we want to always use CachedQueryEntry as these are short-living objects anyway
-            QueryableEntry queryEntry = new CachedQueryEntry(serializationService, key, value, extractors);
+            if (serializedEvaluator != null && serializedEvaluator.isApplicable(key, value)) {
+                addIfMatches(resultList, serializedEvaluator, key, value, extractors);
+                continue;
+            }
+            queryEntry.init(serializationService, key, value, extractors);
 
             if (predicate.apply(queryEntry) && compareAnchor(pagingPredicate, queryEntry, nearestAnchorEntry)) {
                 resultList.add(queryEntry);
+                queryEntry = new CachedQueryEntry();
             }
         }
         return getSortedSubList(resultList, pagingPredicate, nearestAnchorEntry);
     }
 
+    /**
+     * Simple comparisons of integer and long keys or values are evaluated against the serialized bytes, unless the
+     * results have to be paged.
+     */
+    private SerializedPredicateEvaluator createSerializedEvaluator(Predicate predicate, PagingPredicate pagingPredicate) {
+        if (pagingPredicate != null) {
+            return null;
+        }
+        return SerializedPredicateEvaluator.create(predicate, serializationService.getByteOrder());
+    }
+
+    private void addIfMatches(List<QueryableEntry> resultList, SerializedPredicateEvaluator serializedEvaluator, Data key,
+                              Object value, Extractors extractors) {
+        if (serializedEvaluator.apply(key, value)) {
+            resultList.add(new CachedQueryEntry(serializationService, key, value, extractors));
+        }
+    }
+
     protected boolean isUseCachedDeserializedValuesEnabled(MapContainer mapContainer) {
         CacheDeserializedValues cacheDeserializedValues = mapContainer.getMapConfig().getCacheDeserializedValues();
         switch (cacheDeserializedValues) {
@@ -16,14 +16,19 @@
 
 package com.hazelcast.map.impl.query;
 
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.impl.IndexAwareAggregator;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.LocalMapStatsProvider;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.TruePredicate;
+import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.predicates.QueryOptimizer;
 import com.hazelcast.spi.NodeEngine;
@@ -79,6 +84,14 @@ public class QueryRunner {
         Collection<Integer> initialPartitions = mapServiceContext.getOwnedPartitions();
         MapContainer mapContainer = mapServiceContext.getMapContainer(query.getMapName());
 
+        // an aggregation over all entries may be answered by the indexes without touching the entries
+        Result indexAggregationResult = runAggregationUsingIndexesSafely(query, mapContainer, initialPartitions,
+                initialPartitionStateVersion);
+        if (indexAggregationResult != null) {
+            updateStatistics(mapContainer);
+            return indexAggregationResult;
+        }
+
         // first we optimize the query
         Predicate predicate = queryOptimizer.optimize(query.getPredicate(), mapContainer.getIndexes());
 
@@ -138,9 +151,79 @@ public class QueryRunner {
     }
 
     protected Collection<QueryableEntry> runUsingIndex(Predicate predicate, MapContainer mapContainer) {
+        if (!mapContainer.isGlobalIndexEnabled()) {
+            // partition-local indexes may only be queried on partition threads
+            return null;
+        }
         return mapContainer.getIndexes().query(predicate);
     }
 
+    /**
+     * Runs the query using the partition-local index of the given partition. Must be called on the partition thread.
+     *
+     * @return the matching entries or {@code null} if the partition-local index cannot be used
+     */
+    protected Collection<QueryableEntry> runUsingPartitionIndex(Predicate originalPredicate, MapContainer mapContainer,
+                                                                int partitionId) {
+        if (mapContainer.isGlobalIndexEnabled()) {
+            return null;
+        }
+        Indexes indexes = mapContainer.getIndexes(partitionId);
+        Predicate predicate = queryOptimizer.optimize(originalPredicate, indexes);
+        return indexes.query(predicate);
+    }
+
+    protected Result runAggregationUsingIndexesSafely(Query query, MapContainer mapContainer,
+                                                      Collection<Integer> partitions, int initialPartitionStateVersion) {
+        if (!mapContainer.isGlobalIndexEnabled() || hasOwnerMigrationsInFlight()) {
+            // partition-local indexes may only be used on partition threads
+            return null;
+        }
+
+        Result result = runAggregationUsingIndexes(query, mapContainer.getIndexes(), partitions);
+        if (result != null && isResultSafe(initialPartitionStateVersion)) {
+            return result;
+        }
+        return null;
+    }
+
+    /**
+     * Runs the aggregation of the query directly on the given indexes, if the query has no predicate and the
+     * aggregator is an {@link IndexAwareAggregator}. Indexes still hold the entries which have expired but have
+     * not been evicted yet, so they are not used if any of the partitions may have expirable entries.
+     *
+     * @return the aggregation result or {@code null} if the indexes cannot be used
+     */
+    @SuppressWarnings("unchecked")
+    protected Result runAggregationUsingIndexes(Query query, Indexes indexes, Collection<Integer> partitions) {
+        if (!(query.getAggregator() instanceof IndexAwareAggregator) || !(query.getPredicate() instanceof TruePredicate)) {
+            return null;
+        }
+        if (hasExpirableEntries(query.getMapName(), partitions)) {
+            return null;
+        }
+
+        Aggregator aggregator = serializationService.toObject(serializationService.toData(query.getAggregator()));
+        if (!((IndexAwareAggregator) aggregator).accumulateFromIndexes(indexes)) {
+            return null;
+        }
+        aggregator.onAccumulationFinished();
+
+        AggregationResult result = new AggregationResult(aggregator);
+        result.setPartitionIds(partitions);
+        return result;
+    }
+
+    private boolean hasExpirableEntries(String mapName, Collection<Integer> partitions) {
+        for (Integer partitionId : partitions) {
+            RecordStore recordStore = mapServiceContext.getExistingRecordStore(partitionId, mapName);
+            if (recordStore != null && recordStore.isExpirable()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected Collection<QueryableEntry> runUsingPartitionScanSafely(
             String name, Predicate predicate, Collection<Integer> partitions, int initialPartitionStateVersion)
             throws InterruptedException, ExecutionException {
@@ -165,8 +248,18 @@ public class QueryRunner {
 
     public Result runUsingPartitionScanOnSinglePartition(
             Query query, int partitionId) throws ExecutionException, InterruptedException {
-        Collection<QueryableEntry> entries = doRunUsingPartitionScanOnSinglePartition(query.getMapName(),
-                query.getPredicate(), partitionId);
+        MapContainer mapContainer = mapServiceContext.getMapContainer(query.getMapName());
+        if (!mapContainer.isGlobalIndexEnabled()) {
+            Result result = runAggregationUsingIndexes(query, mapContainer.getIndexes(partitionId),
+                    Collections.singletonList(partitionId));
+            if (result != null) {
+                return result;
+            }
+        }
+        Collection<QueryableEntry> entries = runUsingPartitionIndex(query.getPredicate(), mapContainer, partitionId);
+        if (entries == null) {
+            entries = doRunUsingPartitionScanOnSinglePartition(query.getMapName(), query.getPredicate(), partitionId);
+        }
         return populateTheResult(query, entries, Collections.singletonList(partitionId));
     }
 
@@ -19,6 +19,7 @@ package com.hazelcast.map.impl.record;
 import com.hazelcast.nio.serialization.Data;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
 import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
 import static com.hazelcast.util.JVMUtil.REFERENCE_COST_IN_BYTES;
 
@@ -40,6 +41,7 @@ public abstract class AbstractRecord<V> implements Record<V> {
     protected volatile long hits;
     protected volatile long lastAccessTime;
     protected volatile long lastUpdateTime;
+    protected int expirationSlot;
 
     AbstractRecord() {
     }
@@ -54,6 +56,16 @@ public abstract class AbstractRecord<V> implements Record<V> {
         this.version = version;
     }
 
+    @Override
+    public int getExpirationSlot() {
+        return expirationSlot;
+    }
+
+    @Override
+    public void setExpirationSlot(int expirationSlot) {
+        this.expirationSlot = expirationSlot;
+    }
+
     @Override
     public long getTtl() {
         return ttl;
@@ -106,7 +118,7 @@ public abstract class AbstractRecord<V> implements Record<V> {
 
     @Override
     public long getCost() {
-        return REFERENCE_COST_IN_BYTES + NUMBER_OF_LONGS * LONG_SIZE_IN_BYTES;
+        return REFERENCE_COST_IN_BYTES + NUMBER_OF_LONGS * LONG_SIZE_IN_BYTES + INT_SIZE_IN_BYTES;
     }
 
     @Override
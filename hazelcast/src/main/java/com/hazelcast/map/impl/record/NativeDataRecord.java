@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.nio.serialization.Data;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.serialization.impl.HeapData.DATA_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.HEAP_DATA_OVERHEAD;
+import static com.hazelcast.internal.serialization.impl.HeapData.TYPE_OFFSET;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.util.HashUtil.MurmurHash3_x86_32_direct;
+import static com.hazelcast.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * Record whose serialized value is kept in a block of native memory instead of on the heap.
+ * <p>
+ * Only the record metadata stays on the heap, {@link #getValue()} returns an on-heap copy of the value. Comparing and
+ * hashing the value is done on the native memory block, see {@link #valueEquals(Data)}.
+ * The value block is only accessed by the partition thread owning the record, so the fields are not volatile.
+ * The block must be released by calling {@link #dispose()} when the record is removed from its storage.
+ */
+public class NativeDataRecord extends AbstractRecordWithStats<Data> {
+
+    private final MemoryManager memoryManager;
+
+    private long address = NULL_ADDRESS;
+    private int size;
+
+    NativeDataRecord(MemoryManager memoryManager) {
+        this.memoryManager = memoryManager;
+    }
+
+    /**
+     * Returns the heap cost of the record. The native memory block holding the value isn't included; it is accounted
+     * by the {@link MemoryManager} instead.
+     */
+    @Override
+    public long getCost() {
+        return super.getCost() + REFERENCE_COST_IN_BYTES + LONG_SIZE_IN_BYTES + INT_SIZE_IN_BYTES;
+    }
+
+    @Override
+    public Data getValue() {
+        if (address == NULL_ADDRESS) {
+            return null;
+        }
+        byte[] bytes = new byte[size];
+        memoryManager.getAccessor().copyToByteArray(address, bytes, 0, size);
+        return new HeapData(bytes);
+    }
+
+    @Override
+    public void setValue(Data value) {
+        long newAddress = NULL_ADDRESS;
+        int newSize = 0;
+        if (value != null) {
+            byte[] bytes = value.toByteArray();
+            newSize = bytes.length;
+            newAddress = memoryManager.getAllocator().allocate(newSize);
+            memoryManager.getAccessor().copyFromByteArray(bytes, 0, newAddress, newSize);
+        }
+        dispose();
+        address = newAddress;
+        size = newSize;
+    }
+
+    /**
+     * Releases the native memory block holding the value.
+     */
+    public void dispose() {
+        if (address != NULL_ADDRESS) {
+            memoryManager.getAllocator().free(address, size);
+            address = NULL_ADDRESS;
+            size = 0;
+        }
+    }
+
+    /**
+     * Compares the value with the given one like {@link HeapData#equals(Object)} does, without copying the value to
+     * the heap.
+     *
+     * @param value the value to compare with
+     * @return {@code true} if the values are equal
+     */
+    public boolean valueEquals(Data value) {
+        if (address == NULL_ADDRESS || value == null) {
+            return address == NULL_ADDRESS && value == null;
+        }
+        byte[] bytes = value.toByteArray();
+        if (bytes == null || bytes.length != size) {
+            return false;
+        }
+        MemoryAccessor mem = memoryManager.getAccessor();
+        // the partition hash isn't compared, like HeapData doesn't
+        for (int i = size - 1; i >= TYPE_OFFSET; i--) {
+            if (mem.getByte(address + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean valueEquals(NativeDataRecord that) {
+        if (address == NULL_ADDRESS || that.address == NULL_ADDRESS) {
+            return address == that.address;
+        }
+        if (size != that.size) {
+            return false;
+        }
+        MemoryAccessor mem = memoryManager.getAccessor();
+        for (int i = size - 1; i >= TYPE_OFFSET; i--) {
+            if (mem.getByte(address + i) != mem.getByte(that.address + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the same hash code as {@link HeapData#hashCode()} of the value, without copying the value to the heap
+     */
+    private int valueHashCode() {
+        if (address == NULL_ADDRESS) {
+            return 0;
+        }
+        int dataSize = Math.max(size - HEAP_DATA_OVERHEAD, 0);
+        return MurmurHash3_x86_32_direct(memoryManager.getAccessor(), address, DATA_OFFSET, dataSize);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        NativeDataRecord that = (NativeDataRecord) o;
+        return valueEquals(that);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + valueHashCode();
+        return result;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+
+/**
+ * Creates {@link NativeDataRecord}s for maps with {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory format.
+ */
+public class NativeDataRecordFactory extends DataRecordFactory {
+
+    private final SerializationService serializationService;
+    private final PartitioningStrategy partitionStrategy;
+    private final MemoryManager memoryManager;
+
+    public NativeDataRecordFactory(MapConfig config, SerializationService serializationService,
+                                   PartitioningStrategy partitionStrategy, MemoryManager memoryManager) {
+        super(config, serializationService, partitionStrategy);
+        this.serializationService = serializationService;
+        this.partitionStrategy = partitionStrategy;
+        this.memoryManager = memoryManager;
+    }
+
+    @Override
+    public Record<Data> newRecord(Object value) {
+        assert value != null : "value can not be null";
+
+        Data data = serializationService.toData(value, partitionStrategy);
+        NativeDataRecord record = new NativeDataRecord(memoryManager);
+        record.setValue(data);
+        return record;
+    }
+}
@@ -53,6 +53,15 @@ public interface Record<V> {
 
     void setVersion(long version);
 
+    /**
+     * Returns the slot of the expiration index of the record store which holds this record.
+     *
+     * @return the slot, or {@code 0} if the record isn't in the expiration index
+     */
+    int getExpirationSlot();
+
+    void setExpirationSlot(int expirationSlot);
+
     /**
      * Get current cache value or null.
      * <p/>
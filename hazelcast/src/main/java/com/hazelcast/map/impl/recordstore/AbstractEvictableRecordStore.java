@@ -31,15 +31,18 @@ import com.hazelcast.spi.properties.HazelcastProperties;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import static com.hazelcast.core.EntryEventType.EVICTED;
 import static com.hazelcast.core.EntryEventType.EXPIRED;
+import static com.hazelcast.map.impl.ExpirationTimeSetter.calculateExpirationTime;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.calculateExpirationWithDelay;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.calculateMaxIdleMillis;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.getIdlenessStartTime;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.getLifeStartTime;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.setExpirationTime;
+import static com.hazelcast.map.impl.ExpirationTimeSetter.updateExpiryTime;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
 
@@ -54,10 +57,10 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
     protected final MapEventPublisher mapEventPublisher;
     protected final Address thisAddress;
     /**
-     * Iterates over a pre-set entry count/percentage in one round.
-     * Used in expiration logic for traversing entries. Initializes lazily.
+     * Records with a TTL or max-idle, ordered by their expiration time.
+     * Used in expiration logic so only the entries which are due are checked.
      */
-    protected Iterator<Record> expirationIterator;
+    protected final ExpirationIndex expirationIndex = new ExpirationIndex();
     protected volatile boolean hasEntryWithCustomTTL;
 
     protected AbstractEvictableRecordStore(MapContainer mapContainer, int partitionId) {
@@ -83,19 +86,18 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
     @Override
     public void evictExpiredEntries(int percentage, boolean backup) {
         final long now = getNow();
-        final int size = size();
-        final int maxIterationCount = getMaxIterationCount(size, percentage);
-        final int maxRetry = 3;
-        int loop = 0;
-        int evictedEntryCount = 0;
-        while (true) {
-            evictedEntryCount += evictExpiredEntriesInternal(maxIterationCount, now, backup);
-            if (evictedEntryCount >= maxIterationCount) {
-                break;
+        final int maxEvictionCount = getMaxIterationCount(size(), percentage);
+        // on backups the expiration is delayed, see calculateExpirationWithDelay
+        final long dueTime = backup ? now - expiryDelayMillis : now;
+        List<Data> dueKeys = expirationIndex.pollDue(dueTime, maxEvictionCount);
+        for (Data key : dueKeys) {
+            Record record = storage.get(key);
+            if (record == null) {
+                continue;
             }
-            loop++;
-            if (loop > maxRetry) {
-                break;
+            if (getOrNullIfExpired(record, now, backup) != null) {
+                // the record was accessed, updated or is locked; check it again when it can expire
+                expirationIndex.add(record, Math.max(getExpirationTime(record), now + 1));
             }
         }
     }
@@ -122,30 +124,6 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         return Math.round(maxIterationCount);
     }
 
-    private int evictExpiredEntriesInternal(int maxIterationCount, long now, boolean backup) {
-        int evictedCount = 0;
-        int checkedEntryCount = 0;
-        initExpirationIterator();
-        while (expirationIterator.hasNext()) {
-            if (checkedEntryCount >= maxIterationCount) {
-                break;
-            }
-            checkedEntryCount++;
-            Record record = expirationIterator.next();
-            record = getOrNullIfExpired(record, now, backup);
-            if (record == null) {
-                evictedCount++;
-            }
-        }
-        return evictedCount;
-    }
-
-    private void initExpirationIterator() {
-        if (expirationIterator == null || !expirationIterator.hasNext()) {
-            expirationIterator = storage.values().iterator();
-        }
-    }
-
     @Override
     public void evictEntries(Data excludedKey) {
         if (shouldEvict()) {
@@ -165,6 +143,40 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         }
     }
 
+    /**
+     * Returns the time the record expires according to its ttl and the max idle time of the map.
+     */
+    protected long getExpirationTime(Record record) {
+        return calculateExpirationTime(record, calculateMaxIdleMillis(mapContainer.getMapConfig()));
+    }
+
+    /**
+     * Adds a new record to the expiration index.
+     */
+    protected void addToExpirationIndex(Record record) {
+        expirationIndex.add(record, getExpirationTime(record));
+    }
+
+    /**
+     * Updates the expiration index after the expiration time of a record changed. The record only needs to be added
+     * if the record now expires earlier; otherwise it is moved when its current slot is due.
+     */
+    protected void updateExpirationIndex(Record record, long previousExpirationTime) {
+        long expirationTime = getExpirationTime(record);
+        if (expirationTime < previousExpirationTime) {
+            expirationIndex.add(record, expirationTime);
+        }
+    }
+
+    /**
+     * Updates the ttl and the expiration time of an existing record.
+     */
+    protected void updateExpiration(Record record, long ttl) {
+        long previousExpirationTime = getExpirationTime(record);
+        updateExpiryTime(record, ttl, mapContainer.getMapConfig());
+        updateExpirationIndex(record, previousExpirationTime);
+    }
+
     /**
      * Check if record is reachable according to ttl or idle times.
      * If not reachable return null.
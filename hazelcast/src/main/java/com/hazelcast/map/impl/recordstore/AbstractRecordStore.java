@@ -20,6 +20,7 @@ import com.hazelcast.concurrent.lock.LockService;
 import com.hazelcast.concurrent.lock.LockStore;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.partition.InternalPartitionService;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.MapServiceContext;
@@ -35,6 +36,7 @@ import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.spi.DefaultObjectNamespace;
 import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.Clock;
 
@@ -45,6 +47,8 @@ import static com.hazelcast.map.impl.ExpirationTimeSetter.calculateMaxIdleMillis
 import static com.hazelcast.map.impl.ExpirationTimeSetter.calculateTTLMillis;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.pickTTL;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.setExpirationTime;
+import static com.hazelcast.spi.properties.GroupProperty.MAP_REPLICA_SYNC_MAX_REMOVED_KEYS;
+import static com.hazelcast.spi.properties.GroupProperty.PARTITION_REPLICA_SYNC_INCREMENTAL_ENABLED;
 
 
 /**
@@ -106,7 +110,18 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
 
     @Override
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
-        return new StorageImpl(recordFactory, memoryFormat, serializationService);
+        if (NATIVE == memoryFormat) {
+            return new NativeStorageImpl(recordFactory, memoryFormat, serializationService);
+        }
+        StorageImpl storage = new StorageImpl(recordFactory, memoryFormat, serializationService);
+        NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
+        HazelcastProperties properties = nodeEngine.getProperties();
+        if (!properties.getBoolean(PARTITION_REPLICA_SYNC_INCREMENTAL_ENABLED)) {
+            return storage;
+        }
+        InternalPartitionService partitionService = (InternalPartitionService) nodeEngine.getPartitionService();
+        return new ReplicaVersionTrackingStorage(storage, partitionService, partitionId,
+                properties.getInteger(MAP_REPLICA_SYNC_MAX_REMOVED_KEYS));
     }
 
     @Override
@@ -141,7 +156,7 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
 
     protected void saveIndex(Record record, Object oldValue) {
         Data dataKey = record.getKey();
-        final Indexes indexes = mapContainer.getIndexes();
+        final Indexes indexes = mapContainer.getIndexes(partitionId);
         if (indexes.hasIndex()) {
             Object value = Records.getValueOrCachedValue(record, serializationService);
             // When using format InMemoryFormat.NATIVE, just copy key & value to heap.
@@ -157,7 +172,7 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
 
 
     protected void removeIndex(Record record) {
-        Indexes indexes = mapContainer.getIndexes();
+        Indexes indexes = mapContainer.getIndexes(partitionId);
         if (indexes.hasIndex()) {
             Data key = record.getKey();
             Object value = Records.getValueOrCachedValue(record, serializationService);
@@ -174,7 +189,7 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     }
 
     protected void removeIndex(Collection<Record> records) {
-        Indexes indexes = mapContainer.getIndexes();
+        Indexes indexes = mapContainer.getIndexes(partitionId);
         if (!indexes.hasIndex()) {
             return;
         }
@@ -38,6 +38,7 @@ import com.hazelcast.map.impl.querycache.QueryCacheContext;
 import com.hazelcast.map.impl.querycache.publisher.MapPublisherRegistry;
 import com.hazelcast.map.impl.querycache.publisher.PublisherContext;
 import com.hazelcast.map.impl.querycache.publisher.PublisherRegistry;
+import com.hazelcast.map.impl.record.NativeDataRecord;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.Records;
 import com.hazelcast.map.merge.MapMergePolicy;
@@ -139,13 +140,15 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     }
 
     @Override
-    public void loadAllFromStore(List<Data> keys) {
+    public Future<?> loadAllFromStore(List<Data> keys) {
+        Future<?> f = null;
         if (!keys.isEmpty()) {
-            Future f = recordStoreLoader.loadValues(keys);
+            f = recordStoreLoader.loadValues(keys);
             loadingFutures.add(f);
         }
 
         keyLoader.trackLoading(false, null);
+        return f;
     }
 
     @Override
@@ -228,7 +231,13 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     @Override
     public void putRecord(Data key, Record record) {
         markRecordStoreExpirable(record.getTtl());
+        Record existingRecord = storage.get(key);
+        if (existingRecord != null) {
+            // an incremental replica sync replaces the records of existing keys
+            expirationIndex.remove(existingRecord);
+        }
         storage.put(key, record);
+        addToExpirationIndex(record);
         updateStatsOnPut(record.getHits());
     }
 
@@ -246,6 +255,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (record == null) {
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            addToExpirationIndex(record);
         } else {
             updateRecord(key, record, value, now);
         }
@@ -292,7 +302,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             lockService.clearLockStore(partitionId, namespace);
         }
 
-        Indexes indexes = mapContainer.getIndexes();
+        Indexes indexes = mapContainer.getIndexes(partitionId);
         if (indexes.hasIndex()) {
             for (Record record : storage.values()) {
                 Data key = record.getKey();
@@ -312,6 +322,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         } else {
             storage.clear(false);
         }
+        expirationIndex.clear();
     }
 
     /**
@@ -341,7 +352,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             if (getOrNullIfExpired(record, now, false) == null) {
                 continue;
             }
-            if (recordFactory.isEquals(value, record.getValue())) {
+            if (isRecordValueEqual(value, record)) {
                 return true;
             }
         }
@@ -354,6 +365,12 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         return lockStore != null && lockStore.txnLock(key, caller, threadId, referenceId, ttl, blockReads);
     }
 
+    @Override
+    public boolean localLock(Data key, String caller, long threadId, long referenceId, long ttl) {
+        checkIfLoaded();
+        return lockStore != null && lockStore.lock(key, caller, threadId, referenceId, ttl);
+    }
+
     @Override
     public boolean extendLock(Data key, String caller, long threadId, long ttl) {
         checkIfLoaded();
@@ -398,6 +415,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (value != null) {
             record = createRecord(value, DEFAULT_TTL, getNow());
             storage.put(key, record);
+            addToExpirationIndex(record);
             if (!backup) {
                 saveIndex(record, null);
             }
@@ -463,6 +481,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         Iterator<Record> iterator = recordsToRemove.iterator();
         while (iterator.hasNext()) {
             Record record = iterator.next();
+            expirationIndex.remove(record);
             storage.removeRecord(record);
             updateStatsOnRemove(record.getHits());
             iterator.remove();
@@ -498,6 +517,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     public void reset() {
         mapDataStore.reset();
         storage.clear(false);
+        expirationIndex.clear();
         resetStats();
     }
 
@@ -509,6 +529,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             value = record.getValue();
             mapDataStore.flush(key, value, backup);
             removeIndex(record);
+            expirationIndex.remove(record);
             storage.removeRecord(record);
             updateStatsOnRemove(record.getHits());
             if (!backup) {
@@ -536,6 +557,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (record == null) {
             return;
         }
+        expirationIndex.remove(record);
         storage.removeRecord(record);
         updateStatsOnRemove(record.getHits());
         mapDataStore.removeBackup(key, now);
@@ -566,25 +588,36 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
 
         final Record record = getRecordOrNull(key, now, false);
         Object oldValue;
-        boolean removed = false;
         if (record == null) {
             oldValue = mapDataStore.load(key);
-            if (oldValue == null) {
+            if (oldValue == null || !recordFactory.isEquals(testValue, oldValue)) {
                 return false;
             }
         } else {
+            if (!isRecordValueEqual(testValue, record)) {
+                return false;
+            }
             oldValue = record.getValue();
         }
-        if (recordFactory.isEquals(testValue, oldValue)) {
-            mapServiceContext.interceptRemove(name, oldValue);
-            removeIndex(record);
-            mapDataStore.remove(key, now);
-            onStore(record);
-            storage.removeRecord(record);
-            updateStatsOnRemove(record.getHits());
-            removed = true;
+        mapServiceContext.interceptRemove(name, oldValue);
+        removeIndex(record);
+        mapDataStore.remove(key, now);
+        onStore(record);
+        expirationIndex.remove(record);
+        storage.removeRecord(record);
+        updateStatsOnRemove(record.getHits());
+        return true;
+    }
+
+    /**
+     * Compares the value of the record with the given value. The value of a {@link NativeDataRecord} is compared in
+     * native memory, so it isn't copied to the heap for the comparison.
+     */
+    private boolean isRecordValueEqual(Object value, Record record) {
+        if (record instanceof NativeDataRecord) {
+            return ((NativeDataRecord) record).valueEquals(value == null ? null : toData(value));
         }
-        return removed;
+        return recordFactory.isEquals(value, record.getValue());
     }
 
     @Override
@@ -618,6 +651,21 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         return value;
     }
 
+    @Override
+    public Object peek(Data key) {
+        checkIfLoaded();
+        final long now = getNow();
+
+        Record record = getRecordOrNull(key, now, false);
+        if (record == null) {
+            record = loadRecordOrNull(key, false);
+        }
+        Object value = record == null ? null : record.getValue();
+        value = mapServiceContext.interceptGet(name, value);
+
+        return value;
+    }
+
     @Override
     public Data readBackupData(Data key) {
         final long now = getNow();
@@ -770,9 +818,10 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (record == null) {
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            addToExpirationIndex(record);
         } else {
             updateRecord(key, record, value, now);
-            updateExpiryTime(record, ttl, mapContainer.getMapConfig());
+            updateExpiration(record, ttl);
         }
 
         saveIndex(record, oldValue);
@@ -799,6 +848,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             record = createRecord(newValue, DEFAULT_TTL, now);
             mergeRecordExpiration(record, mergingEntry);
             storage.put(key, record);
+            addToExpirationIndex(record);
         } else {
             oldValue = record.getValue();
             EntryView existingEntry = EntryViews.createLazyEntryView(record.getKey(), record.getValue(),
@@ -809,12 +859,15 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
                 removeIndex(record);
                 mapDataStore.remove(key, now);
                 onStore(record);
+                expirationIndex.remove(record);
                 storage.removeRecord(record);
                 updateStatsOnRemove(record.getHits());
                 return true;
             }
             if (newValue == mergingEntry.getValue()) {
+                long previousExpirationTime = getExpirationTime(record);
                 mergeRecordExpiration(record, mergingEntry);
+                updateExpirationIndex(record, previousExpirationTime);
             }
             // same with the existing entry so no need to map-store etc operations.
             if (recordFactory.isEquals(newValue, oldValue)) {
@@ -856,12 +909,12 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (record == null) {
             return false;
         }
+        if (!isRecordValueEqual(expect, record)) {
+            return false;
+        }
         final MapServiceContext mapServiceContext = this.mapServiceContext;
         final Object current = record.getValue();
         final String mapName = this.name;
-        if (!recordFactory.isEquals(expect, current)) {
-            return false;
-        }
         update = mapServiceContext.interceptPut(mapName, current, update);
         update = mapDataStore.add(key, update, now);
         onStore(record);
@@ -882,11 +935,12 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             value = mapServiceContext.interceptPut(name, null, value);
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            addToExpirationIndex(record);
         } else {
             oldValue = record.getValue();
             value = mapServiceContext.interceptPut(name, oldValue, value);
             updateRecord(key, record, value, now);
-            updateExpiryTime(record, ttl, mapContainer.getMapConfig());
+            updateExpiration(record, ttl);
         }
         saveIndex(record, oldValue);
         mapDataStore.addTransient(key, now);
@@ -925,11 +979,12 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             value = mapServiceContext.interceptPut(name, null, value);
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            addToExpirationIndex(record);
         } else {
             oldValue = record.getValue();
             value = mapServiceContext.interceptPut(name, oldValue, value);
             updateRecord(key, record, value, now);
-            updateExpiryTime(record, ttl, mapContainer.getMapConfig());
+            updateExpiration(record, ttl);
         }
         if (!backup) {
             saveIndex(record, oldValue);
@@ -970,6 +1025,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             if (oldValue != null) {
                 record = createRecord(oldValue, DEFAULT_TTL, now);
                 storage.put(key, record);
+                addToExpirationIndex(record);
             }
         } else {
             accessRecord(record, now);
@@ -982,6 +1038,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             record = createRecord(value, ttl, now);
             storage.put(key, record);
             updateExpiryTime(record, ttl, mapContainer.getMapConfig());
+            addToExpirationIndex(record);
         }
         saveIndex(record, oldValue);
         return oldValue;
@@ -1001,6 +1058,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             mapDataStore.remove(key, now);
             onStore(record);
         }
+        expirationIndex.remove(record);
         storage.removeRecord(record);
         updateStatsOnRemove(record.getHits());
         return oldValue;
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.Clock;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Keeps the records of a {@link RecordStore} ordered by the time they expire, so the expiration task only needs to look
+ * at the entries which are due instead of sampling the whole record store.
+ * <p/>
+ * The records are grouped in slots of {@code slotMillis} milliseconds and every record is in a single slot, which is
+ * due at or before the time the record can expire. The slot is stored in the record itself, see
+ * {@link Record#getExpirationSlot()}, so the index costs a reference in the list of a slot per record instead of hash
+ * table entries. The index is maintained lazily:
+ * <ul>
+ * <li>a record is only moved when it is created or when its expiration time moves to an earlier slot</li>
+ * <li>when the expiration time of a record moves forward, e.g. after an access extends the max-idle time,
+ * the record is left in its slot and moved to the right slot when that slot is {@link #pollDue(long, int) polled}</li>
+ * </ul>
+ * So a polled key is only a candidate; the caller has to check if its record actually expired.
+ * <p/>
+ * A removed or moved record is only marked as not being in its previous slot; the stale entry is skipped when the slot
+ * is polled. When there are more stale entries than records in the index, the stale entries are dropped from all slots,
+ * so the index doesn't keep removed records reachable for long.
+ * <p/>
+ * Like the record store, this class isn't thread-safe; it is only accessed by the partition thread.
+ */
+final class ExpirationIndex {
+
+    /**
+     * Default width of a slot in milliseconds.
+     */
+    static final long DEFAULT_SLOT_MILLIS = 1000;
+
+    /**
+     * The {@link Record#getExpirationSlot() slot} of a record which isn't in the index.
+     */
+    static final int NO_SLOT = 0;
+
+    private static final int MIN_STALE_ENTRIES_TO_COMPACT = 64;
+
+    private final long slotMillis;
+    // the slots are stored relative to this one, so they fit in an int; slot 1 is due when the index is created
+    private final long baseSlot;
+    private final TreeMap<Integer, List<Record>> slots = new TreeMap<Integer, List<Record>>();
+    private int size;
+    private int entryCount;
+
+    ExpirationIndex() {
+        this(DEFAULT_SLOT_MILLIS, Clock.currentTimeMillis());
+    }
+
+    ExpirationIndex(long slotMillis, long baseTime) {
+        checkPositive(slotMillis, "slotMillis should be positive");
+        this.slotMillis = slotMillis;
+        this.baseSlot = slotOf(baseTime) - 1;
+    }
+
+    /**
+     * Adds the record to the slot of the given expiration time. Nothing is added for an entry which never expires. A
+     * record which is already in an earlier slot is left there.
+     *
+     * @param record         the record, which is already in the storage of the record store
+     * @param expirationTime the time the record expires in milliseconds, or {@link Long#MAX_VALUE} if it never expires
+     */
+    void add(Record record, long expirationTime) {
+        if (expirationTime == Long.MAX_VALUE) {
+            return;
+        }
+        // an expiration time before the creation of the index is due right away
+        long slot = Math.max(slotOf(expirationTime) - baseSlot, 1);
+        if (slot > Integer.MAX_VALUE) {
+            // decades ahead with the default slot width, handled like an entry which never expires
+            return;
+        }
+        int currentSlot = record.getExpirationSlot();
+        if (currentSlot == NO_SLOT) {
+            size++;
+        } else if (currentSlot <= slot) {
+            return;
+        }
+        record.setExpirationSlot((int) slot);
+        List<Record> records = slots.get((int) slot);
+        if (records == null) {
+            records = new ArrayList<Record>();
+            slots.put((int) slot, records);
+        }
+        records.add(record);
+        entryCount++;
+        compactIfNeeded();
+    }
+
+    /**
+     * Removes a removed record from the index.
+     *
+     * @param record the record
+     */
+    void remove(Record record) {
+        if (record.getExpirationSlot() == NO_SLOT) {
+            return;
+        }
+        record.setExpirationSlot(NO_SLOT);
+        size--;
+        compactIfNeeded();
+    }
+
+    /**
+     * Removes the records of the slots which are due at the given time from the index and returns their keys,
+     * starting with the slot which expires first. The keys of the remaining due slots are returned by the next call.
+     *
+     * @param now      the current time in milliseconds
+     * @param maxCount the maximum number of keys to return
+     * @return the keys which may have expired
+     */
+    List<Data> pollDue(long now, int maxCount) {
+        List<Data> dueKeys = new ArrayList<Data>();
+        Iterator<Map.Entry<Integer, List<Record>>> slotIterator = slots.entrySet().iterator();
+        while (slotIterator.hasNext() && dueKeys.size() < maxCount) {
+            Map.Entry<Integer, List<Record>> slot = slotIterator.next();
+            if (timeOf(slot.getKey()) > now) {
+                break;
+            }
+            List<Record> records = slot.getValue();
+            int polledCount = pollSlot(slot.getKey(), records, dueKeys, maxCount);
+            if (polledCount == records.size()) {
+                slotIterator.remove();
+            } else {
+                records.subList(0, polledCount).clear();
+            }
+            entryCount -= polledCount;
+        }
+        return dueKeys;
+    }
+
+    /**
+     * Returns {@code true} if at least one slot is due at the given time. The slot may only hold stale entries.
+     */
+    boolean hasDue(long now) {
+        return !slots.isEmpty() && timeOf(slots.firstKey()) <= now;
+    }
+
+    /**
+     * Returns the number of records in the index, including the records whose expiration time moved to a later slot.
+     */
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        for (Map.Entry<Integer, List<Record>> slot : slots.entrySet()) {
+            for (Record record : slot.getValue()) {
+                if (record.getExpirationSlot() == slot.getKey()) {
+                    record.setExpirationSlot(NO_SLOT);
+                }
+            }
+        }
+        slots.clear();
+        size = 0;
+        entryCount = 0;
+    }
+
+    private int pollSlot(int slot, List<Record> records, List<Data> dueKeys, int maxCount) {
+        int polledCount = 0;
+        while (polledCount < records.size() && dueKeys.size() < maxCount) {
+            Record record = records.get(polledCount++);
+            if (record.getExpirationSlot() == slot) {
+                record.setExpirationSlot(NO_SLOT);
+                size--;
+                dueKeys.add(record.getKey());
+            }
+        }
+        return polledCount;
+    }
+
+    private void compactIfNeeded() {
+        int staleCount = entryCount - size;
+        if (staleCount < MIN_STALE_ENTRIES_TO_COMPACT || staleCount <= size) {
+            return;
+        }
+        Iterator<Map.Entry<Integer, List<Record>>> slotIterator = slots.entrySet().iterator();
+        while (slotIterator.hasNext()) {
+            Map.Entry<Integer, List<Record>> slot = slotIterator.next();
+            if (dropStaleEntries(slot.getKey(), slot.getValue())) {
+                slotIterator.remove();
+            }
+        }
+        entryCount = size;
+    }
+
+    /**
+     * Drops the entries of the records which aren't in the given slot anymore and returns if the slot is empty.
+     */
+    private static boolean dropStaleEntries(int slot, List<Record> records) {
+        int keptCount = 0;
+        for (Record record : records) {
+            if (record.getExpirationSlot() == slot) {
+                records.set(keptCount++, record);
+            }
+        }
+        records.subList(keptCount, records.size()).clear();
+        return keptCount == 0;
+    }
+
+    private long timeOf(int slot) {
+        return (baseSlot + slot) * slotMillis;
+    }
+
+    /**
+     * Rounds up, so all the records of a due slot have an expiration time before or at the time it is polled.
+     */
+    private long slotOf(long expirationTime) {
+        long slot = expirationTime / slotMillis;
+        return slot * slotMillis < expirationTime ? slot + 1 : slot;
+    }
+}
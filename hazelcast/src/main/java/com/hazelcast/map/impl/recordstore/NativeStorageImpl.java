@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.map.impl.record.NativeDataRecord;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordFactory;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+
+/**
+ * {@link Storage} for maps with {@link InMemoryFormat#NATIVE} in-memory format. Values of the records are kept
+ * in native memory (see {@link NativeDataRecord}); this storage releases the native blocks of the records
+ * which are removed or replaced.
+ *
+ * @param <R> the value type to be put in this storage.
+ */
+public class NativeStorageImpl<R extends Record> extends StorageImpl<R> {
+
+    NativeStorageImpl(RecordFactory<R> recordFactory, InMemoryFormat inMemoryFormat,
+                      SerializationService serializationService) {
+        super(recordFactory, inMemoryFormat, serializationService);
+    }
+
+    @Override
+    public void put(Data key, R record) {
+        R previousRecord = get(key);
+        super.put(key, record);
+        if (previousRecord != record) {
+            dispose(previousRecord);
+        }
+    }
+
+    @Override
+    public void removeRecord(R record) {
+        super.removeRecord(record);
+        dispose(record);
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        for (R record : values()) {
+            dispose(record);
+        }
+        super.clear(isDuringShutdown);
+    }
+
+    private static void dispose(Record record) {
+        if (record instanceof NativeDataRecord) {
+            ((NativeDataRecord) record).dispose();
+        }
+    }
+}
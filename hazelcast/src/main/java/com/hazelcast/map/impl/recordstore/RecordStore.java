@@ -34,6 +34,7 @@ import com.hazelcast.spi.exception.RetryableHazelcastException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Future;
 
 /**
  * Defines a record-store.
@@ -91,6 +92,15 @@ public interface RecordStore<R extends Record> extends LocalRecordStoreStats {
      */
     Object get(Data dataKey, boolean backup);
 
+    /**
+     * Gets record from {@link RecordStore} without updating its access statistics and idle expiration time.
+     * Loads missing keys from map store.
+     *
+     * @param dataKey key.
+     * @return value of an entry in {@link RecordStore}
+     */
+    Object peek(Data dataKey);
+
     /**
      * Called when {@link com.hazelcast.config.MapConfig#isReadBackupData} is <code>true</code> from
      * {@link com.hazelcast.map.impl.proxy.MapProxySupport#getInternal}
@@ -222,6 +232,13 @@ public interface RecordStore<R extends Record> extends LocalRecordStoreStats {
 
     boolean txnLock(Data key, String caller, long threadId, long referenceId, long ttl, boolean blockReads);
 
+    /**
+     * Locks the key on this partition only, without replicating the lock to the backups.
+     *
+     * Used to keep the key locked while the processing of an operation is offloaded from the partition thread.
+     */
+    boolean localLock(Data key, String caller, long threadId, long referenceId, long ttl);
+
     boolean extendLock(Data key, String caller, long threadId, long ttl);
 
     boolean unlock(Data key, String caller, long threadId, long referenceId);
@@ -314,8 +331,9 @@ public interface RecordStore<R extends Record> extends LocalRecordStoreStats {
      * Loads all given keys from defined map store.
      *
      * @param keys keys to be loaded.
+     * @return future for checking when the values of the keys are loaded, or {@code null} if there was nothing to load
      */
-    void loadAllFromStore(List<Data> keys);
+    Future<?> loadAllFromStore(List<Data> keys);
 
     void updateLoadStatus(boolean lastBatch, Throwable exception);
 
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.partition.InternalPartitionService;
+import com.hazelcast.map.impl.SizeEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.partition.IPartition;
+import com.hazelcast.spi.serialization.SerializationService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.Math.max;
+
+/**
+ * A {@link Storage} which tracks the changes of the partition owner for incremental replica synchronization.
+ *
+ * While this member owns the partition, the keys of modified records are remembered with the current partition
+ * replica version and the keys of removed records are remembered with the version of their removal. The versions are
+ * kept here instead of in the records, so the records don't pay for them when the tracking is disabled.
+ * A bounded number of removed keys is remembered; when the oldest is dropped, or the storage is cleared, the changes
+ * before that version are not known anymore and {@link #canReplicateSince(long)} returns {@code false} for them.
+ *
+ * Changes are stamped with the version of the first backup replica, which is never lower than the versions of the
+ * other backup replicas. This is exact for the first backup and conservative for the others.
+ */
+public class ReplicaVersionTrackingStorage implements Storage<Data, Record> {
+
+    private final Storage<Data, Record> storage;
+    private final InternalPartitionService partitionService;
+    private final int partitionId;
+    private final IPartition partition;
+    private final int maxRemovedKeys;
+    private final Map<Data, Long> modifiedKeys = new HashMap<Data, Long>();
+    private final LinkedHashMap<Data, Long> removedKeys = new LinkedHashMap<Data, Long>();
+
+    private long deltaSince;
+
+    ReplicaVersionTrackingStorage(Storage<Data, Record> storage, InternalPartitionService partitionService,
+                                  int partitionId, int maxRemovedKeys) {
+        this.storage = storage;
+        this.partitionService = partitionService;
+        this.partitionId = partitionId;
+        this.partition = partitionService.getPartition(partitionId, false);
+        this.maxRemovedKeys = maxRemovedKeys;
+    }
+
+    /**
+     * Returns if all changes since the given partition replica version are known.
+     */
+    public boolean canReplicateSince(long sinceVersion) {
+        return sinceVersion >= deltaSince;
+    }
+
+    /**
+     * Returns the records modified at or after the given partition replica version.
+     */
+    public List<Record> getRecordsModifiedSince(long sinceVersion) {
+        List<Record> modified = new ArrayList<Record>();
+        for (Map.Entry<Data, Long> entry : modifiedKeys.entrySet()) {
+            if (entry.getValue() >= sinceVersion) {
+                Record record = storage.get(entry.getKey());
+                if (record != null) {
+                    modified.add(record);
+                }
+            }
+        }
+        return modified;
+    }
+
+    /**
+     * Returns the keys of the records removed at or after the given partition replica version.
+     */
+    public List<Data> getKeysRemovedSince(long sinceVersion) {
+        List<Data> removed = new ArrayList<Data>();
+        for (Map.Entry<Data, Long> entry : removedKeys.entrySet()) {
+            if (entry.getValue() >= sinceVersion) {
+                removed.add(entry.getKey());
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Forgets the tracked changes. Called when this member becomes the partition owner; the backups are fully
+     * synchronized with the new owner before they are synchronized incrementally.
+     */
+    public void resetTracking() {
+        modifiedKeys.clear();
+        removedKeys.clear();
+        deltaSince = 0;
+    }
+
+    @Override
+    public void put(Data key, Record record) {
+        onModified(key);
+        storage.put(key, record);
+    }
+
+    @Override
+    public void updateRecordValue(Data key, Record record, Object value) {
+        onModified(key);
+        storage.updateRecordValue(key, record, value);
+    }
+
+    @Override
+    public Record get(Data key) {
+        return storage.get(key);
+    }
+
+    @Override
+    public Record getIfSameKey(Data key) {
+        return storage.getIfSameKey(key);
+    }
+
+    @Override
+    public void removeRecord(Record record) {
+        if (record != null) {
+            onRemoved(record.getKey());
+        }
+        storage.removeRecord(record);
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return storage.containsKey(key);
+    }
+
+    @Override
+    public Collection<Record> values() {
+        return storage.values();
+    }
+
+    @Override
+    public int size() {
+        return storage.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return storage.isEmpty();
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        onCleared();
+        storage.clear(isDuringShutdown);
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        onCleared();
+        storage.destroy(isDuringShutdown);
+    }
+
+    @Override
+    public SizeEstimator getSizeEstimator() {
+        return storage.getSizeEstimator();
+    }
+
+    @Override
+    public void setSizeEstimator(SizeEstimator sizeEstimator) {
+        storage.setSizeEstimator(sizeEstimator);
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        storage.disposeDeferredBlocks();
+    }
+
+    @Override
+    public Iterable<LazyEntryViewFromRecord> getRandomSamples(int sampleCount) {
+        return storage.getRandomSamples(sampleCount);
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(int tableIndex, int size) {
+        return storage.fetchKeys(tableIndex, size);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(int tableIndex, int size, SerializationService serializationService) {
+        return storage.fetchEntries(tableIndex, size, serializationService);
+    }
+
+    private void onModified(Data key) {
+        if (!removedKeys.isEmpty()) {
+            removedKeys.remove(key);
+        }
+        if (partition.isLocal()) {
+            modifiedKeys.put(key, currentVersion());
+        }
+    }
+
+    private void onRemoved(Data key) {
+        modifiedKeys.remove(key);
+        if (partition.isLocal()) {
+            removedKeys.remove(key);
+            removedKeys.put(key, currentVersion());
+            if (removedKeys.size() > maxRemovedKeys) {
+                dropEldestRemovedKey();
+            }
+        }
+    }
+
+    private void onCleared() {
+        modifiedKeys.clear();
+        removedKeys.clear();
+        if (partition.isLocal()) {
+            deltaSince = currentVersion() + 1;
+        }
+    }
+
+    private void dropEldestRemovedKey() {
+        Map.Entry<Data, Long> eldest = removedKeys.entrySet().iterator().next();
+        deltaSince = max(deltaSince, eldest.getValue() + 1);
+        removedKeys.remove(eldest.getKey());
+    }
+
+    // the version of the next backup is one higher; a backup synchronized up to version v needs the changes
+    // stamped with v or higher
+    private long currentVersion() {
+        return partitionService.getPartitionReplicaVersions(partitionId)[0];
+    }
+}
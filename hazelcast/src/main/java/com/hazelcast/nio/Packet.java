@@ -435,11 +435,11 @@ public final class Packet extends HeapData implements OutboundFrame {
          */
         BIND,
         /**
-         * Unused packet type. Available for future use.
+         * The type of a packet which carries a batch of other packets, see {@link PacketBatch}.
          * <p>
          * {@code ordinal = 5}
          */
-        UNDEFINED5,
+        BATCH,
         /**
          * Unused packet type. Available for future use.
          * <p>
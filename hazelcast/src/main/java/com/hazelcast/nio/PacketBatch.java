@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio;
+
+import static com.hazelcast.nio.Bits.CHAR_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.readCharB;
+import static com.hazelcast.nio.Bits.readIntB;
+import static com.hazelcast.nio.Bits.writeCharB;
+import static com.hazelcast.nio.Bits.writeIntB;
+import static com.hazelcast.nio.Packet.FLAG_URGENT;
+
+/**
+ * Encodes multiple packets into the payload of a single {@link Packet.Type#BATCH} packet and decodes them again.
+ *
+ * Sending a batch instead of the individual packets reduces the number of packets to write, read and dispatch when
+ * many small packets are sent to the same member. The receiving side splits the batch in the original order, so the
+ * ordering of the batched packets is preserved.
+ *
+ * The payload of a batch packet is a sequence of entries; each entry consists of the partition id, the flags,
+ * the size of the payload and the payload of a batched packet.
+ */
+public final class PacketBatch {
+
+    static final int ENTRY_HEADER_SIZE = INT_SIZE_IN_BYTES + CHAR_SIZE_IN_BYTES + INT_SIZE_IN_BYTES;
+
+    private PacketBatch() {
+    }
+
+    /**
+     * Creates a batch packet for the first {@code count} packets of the given array.
+     *
+     * The batch packet is urgent if any of the batched packets is urgent.
+     *
+     * @param packets the packets to batch
+     * @param count   the number of packets to batch
+     * @return the created batch packet
+     */
+    public static Packet toBatchPacket(Packet[] packets, int count) {
+        int length = 0;
+        for (int k = 0; k < count; k++) {
+            length += ENTRY_HEADER_SIZE + packets[k].totalSize();
+        }
+
+        byte[] payload = new byte[length];
+        boolean urgent = false;
+        int pos = 0;
+        for (int k = 0; k < count; k++) {
+            Packet packet = packets[k];
+            int size = packet.totalSize();
+
+            writeIntB(payload, pos, packet.getPartitionId());
+            pos += INT_SIZE_IN_BYTES;
+            writeCharB(payload, pos, packet.getFlags());
+            pos += CHAR_SIZE_IN_BYTES;
+            writeIntB(payload, pos, size);
+            pos += INT_SIZE_IN_BYTES;
+            if (size > 0) {
+                System.arraycopy(packet.toByteArray(), 0, payload, pos, size);
+                pos += size;
+            }
+
+            urgent |= packet.isUrgent();
+        }
+
+        Packet batch = new Packet(payload).setPacketType(Packet.Type.BATCH);
+        if (urgent) {
+            batch.raiseFlags(FLAG_URGENT);
+        }
+        return batch;
+    }
+
+    /**
+     * Splits a batch packet into the batched packets. The connection of the batch packet is set on each of them.
+     *
+     * @param batch the batch packet
+     * @return the batched packets in the order they were batched
+     */
+    public static Packet[] split(Packet batch) {
+        byte[] payload = batch.toByteArray();
+
+        int count = 0;
+        for (int pos = 0; pos < payload.length; count++) {
+            pos += ENTRY_HEADER_SIZE + readIntB(payload, pos + INT_SIZE_IN_BYTES + CHAR_SIZE_IN_BYTES);
+        }
+
+        Packet[] packets = new Packet[count];
+        int pos = 0;
+        for (int k = 0; k < count; k++) {
+            int partitionId = readIntB(payload, pos);
+            pos += INT_SIZE_IN_BYTES;
+            char flags = readCharB(payload, pos);
+            pos += CHAR_SIZE_IN_BYTES;
+            int size = readIntB(payload, pos);
+            pos += INT_SIZE_IN_BYTES;
+
+            byte[] bytes = null;
+            if (size > 0) {
+                bytes = new byte[size];
+                System.arraycopy(payload, pos, bytes, 0, size);
+                pos += size;
+            }
+
+            Packet packet = new Packet(bytes, partitionId);
+            packet.resetFlagsTo(flags);
+            packet.setConn(batch.getConn());
+            packets[k] = packet;
+        }
+        return packets;
+    }
+}
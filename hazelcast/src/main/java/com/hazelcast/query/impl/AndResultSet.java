@@ -163,4 +163,13 @@ public class AndResultSet extends AbstractSet<QueryableEntry> {
     public int size() {
         return setSmallest.size();
     }
+
+    /**
+     * The size of this set is only an upper bound, since the entries of the smallest set are filtered lazily. So
+     * emptiness is decided by looking for an entry which passes the filters.
+     */
+    @Override
+    public boolean isEmpty() {
+        return !iterator().hasNext();
+    }
 }
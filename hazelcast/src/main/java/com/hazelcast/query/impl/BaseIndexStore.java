@@ -20,21 +20,44 @@ import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.impl.getters.MultiResult;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Base class for concrete index store implementations
+ * <p>
+ * A store is either concurrent (shared by all partition threads of a member and guarded by a read-write lock)
+ * or partition-local (owned, updated and queried by a single partition thread, so no locking is done).
  */
 public abstract class BaseIndexStore implements IndexStore {
 
     protected static final float LOAD_FACTOR = 0.75F;
 
+    /**
+     * The maximum number of distinct values visited to estimate the number of entries in a range.
+     */
+    static final int ESTIMATE_SCAN_LIMIT = 64;
+
+    /**
+     * The fraction of the entries assumed to be in a range when nothing is known about the distribution of the values.
+     */
+    static final int DEFAULT_RANGE_SELECTIVITY_DIVISOR = 3;
+
     protected ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
     protected ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
     protected ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
 
+    protected final boolean concurrent;
+
     private boolean multiResultHasToDetectDuplicates;
 
+    // the number of index mappings with a non-null value, maintained for the selectivity estimates
+    private final AtomicLong valueCount = new AtomicLong();
+
+    protected BaseIndexStore(boolean concurrent) {
+        this.concurrent = concurrent;
+    }
+
 
     abstract void newIndexInternal(Comparable newValue, QueryableEntry record);
 
@@ -100,23 +123,69 @@ public abstract class BaseIndexStore implements IndexStore {
     }
 
 
+    @Override
+    public long getValueCount() {
+        return valueCount.get();
+    }
+
+    void onValueAdded() {
+        valueCount.incrementAndGet();
+    }
+
+    void onValueRemoved() {
+        valueCount.decrementAndGet();
+    }
+
+    void resetValueCount() {
+        valueCount.set(0);
+    }
+
+    /**
+     * Checks if the value is between the given bounds. A {@code null} bound is unbounded.
+     */
+    @SuppressWarnings("unchecked")
+    static boolean isInRange(Comparable value, Comparable from, boolean fromInclusive, Comparable to,
+                             boolean toInclusive) {
+        if (from != null) {
+            int order = value.compareTo(from);
+            if (order < 0 || (order == 0 && !fromInclusive)) {
+                return false;
+            }
+        }
+        if (to != null) {
+            int order = value.compareTo(to);
+            if (order > 0 || (order == 0 && !toInclusive)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     void takeWriteLock() {
-        writeLock.lock();
+        if (concurrent) {
+            writeLock.lock();
+        }
     }
 
     void releaseWriteLock() {
-        writeLock.unlock();
+        if (concurrent) {
+            writeLock.unlock();
+        }
     }
 
     protected void takeReadLock() {
-        readLock.lock();
+        if (concurrent) {
+            readLock.lock();
+        }
     }
 
     protected void releaseReadLock() {
-        readLock.unlock();
+        if (concurrent) {
+            readLock.unlock();
+        }
     }
 
-    private Comparable sanitizeValue(Object input) {
+    static Comparable sanitizeValue(Object input) {
         if (input == null || input instanceof Comparable) {
             Comparable value = (Comparable) input;
             if (value == null) {
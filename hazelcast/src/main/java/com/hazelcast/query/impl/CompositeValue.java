@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import java.util.Arrays;
+
+/**
+ * The value of an entry in a composite index: the values of the indexed attributes, in the order the attributes are
+ * listed in the index definition.
+ * <p>
+ * Composite values are ordered component by component. A {@code null} component sorts before any other value, and
+ * the {@link #NEGATIVE_INFINITY} and {@link #POSITIVE_INFINITY} markers sort before and after everything else, so a
+ * range query on a prefix of the components can be expressed as a range between two composite values.
+ */
+public final class CompositeValue implements Comparable<CompositeValue> {
+
+    /**
+     * A component value smaller than any other value, including {@code null}.
+     */
+    public static final Comparable NEGATIVE_INFINITY = new InfinityValue(-1);
+
+    /**
+     * A component value greater than any other value.
+     */
+    public static final Comparable POSITIVE_INFINITY = new InfinityValue(1);
+
+    private final Comparable[] components;
+
+    /**
+     * @param components the component values; {@code null} components are stored as {@link IndexImpl#NULL}
+     */
+    public CompositeValue(Comparable[] components) {
+        Comparable[] values = new Comparable[components.length];
+        for (int i = 0; i < components.length; i++) {
+            values[i] = components[i] == null ? IndexImpl.NULL : components[i];
+        }
+        this.components = values;
+    }
+
+    /**
+     * Returns a copy of the component values.
+     */
+    public Comparable[] getComponents() {
+        return Arrays.copyOf(components, components.length);
+    }
+
+    @Override
+    public int compareTo(CompositeValue that) {
+        int length = Math.min(components.length, that.components.length);
+        for (int i = 0; i < length; i++) {
+            int order = compareComponent(components[i], that.components[i]);
+            if (order != 0) {
+                return order;
+            }
+        }
+        return components.length - that.components.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return Arrays.equals(components, ((CompositeValue) o).components);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(components);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(components);
+    }
+
+    static boolean isSpecial(Comparable value) {
+        return value instanceof InfinityValue || value instanceof IndexImpl.NullObject;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareComponent(Comparable left, Comparable right) {
+        if (left == right) {
+            return 0;
+        }
+        if (left == NEGATIVE_INFINITY || right == POSITIVE_INFINITY) {
+            return -1;
+        }
+        if (left == POSITIVE_INFINITY || right == NEGATIVE_INFINITY) {
+            return 1;
+        }
+        boolean leftNull = left instanceof IndexImpl.NullObject;
+        boolean rightNull = right instanceof IndexImpl.NullObject;
+        if (leftNull || rightNull) {
+            return leftNull ? (rightNull ? 0 : -1) : 1;
+        }
+        return left.compareTo(right);
+    }
+
+    /**
+     * A marker sorting before or after every other component value.
+     */
+    private static final class InfinityValue implements Comparable {
+        private final int sign;
+
+        InfinityValue(int sign) {
+            this.sign = sign;
+        }
+
+        @Override
+        public int compareTo(Object o) {
+            return o == this ? 0 : sign;
+        }
+
+        @Override
+        public String toString() {
+            return sign < 0 ? "-INF" : "+INF";
+        }
+    }
+}
@@ -53,9 +53,63 @@ public interface Index {
 
     Set<QueryableEntry> getSubRecordsBetween(Comparable from, Comparable to);
 
+    /**
+     * Returns the entries with a value between the given bounds, or an empty set if {@code from} is greater than
+     * {@code to}.
+     */
+    Set<QueryableEntry> getSubRecordsBetween(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive);
+
     Set<QueryableEntry> getSubRecords(ComparisonType comparisonType, Comparable searchedValue);
 
+    /**
+     * Returns the number of entries indexed with the given value, without materializing them.
+     */
+    long estimateRecordCount(Comparable value);
+
+    /**
+     * Estimates the number of entries matching the given comparison, without materializing them.
+     */
+    long estimateRecordCount(ComparisonType comparisonType, Comparable value);
+
+    /**
+     * Estimates the number of entries with a value between the given bounds, without materializing them. A
+     * {@code null} bound is unbounded.
+     */
+    long estimateRecordCountBetween(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive);
+
     String getAttributeName();
 
+    /**
+     * Returns the indexed attributes: a single attribute for a regular index, or the attributes of a composite index
+     * in the order they are compared.
+     */
+    String[] getComponents();
+
     boolean isOrdered();
+
+    /**
+     * Returns the number of indexed entries, including the entries with a {@code null} value.
+     */
+    long getRecordCount();
+
+    /**
+     * Returns if an entry may be indexed under multiple values, i.e. when the indexed attribute has an {@code [any]}
+     * quantifier or is extracted by a {@link com.hazelcast.query.extractor.ValueExtractor}. It depends only on the
+     * index definition, not on the values indexed so far.
+     */
+    boolean isMultiValued();
+
+    /**
+     * Returns an entry with the lowest non-null value, or {@code null} if there is no such entry.
+     *
+     * @throws UnsupportedOperationException if the index is not ordered
+     */
+    QueryableEntry getRecordWithLowestValue();
+
+    /**
+     * Returns an entry with the highest non-null value, or {@code null} if there is no such entry.
+     *
+     * @throws UnsupportedOperationException if the index is not ordered
+     */
+    QueryableEntry getRecordWithHighestValue();
 }
@@ -24,6 +24,7 @@ import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.QueryException;
 import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.getters.MultiResult;
 import com.hazelcast.query.impl.predicates.PredicateDataSerializerHook;
 
 import java.io.IOException;
@@ -38,9 +39,13 @@ public class IndexImpl implements Index {
 
     public static final NullObject NULL = new NullObject();
 
+    private static final String COMPONENT_SEPARATOR = ",";
+
     private final IndexStore indexStore;
     private final String attributeName;
+    private final String[] components;
     private final boolean ordered;
+    private final boolean multiValued;
 
     private volatile TypeConverter converter;
 
@@ -48,11 +53,18 @@ public class IndexImpl implements Index {
     private final Extractors extractors;
 
     public IndexImpl(String attributeName, boolean ordered, InternalSerializationService ss, Extractors extractors) {
+        this(attributeName, ordered, ss, extractors, true);
+    }
+
+    public IndexImpl(String attributeName, boolean ordered, InternalSerializationService ss, Extractors extractors,
+                     boolean concurrent) {
         this.attributeName = attributeName;
+        this.components = parseComponents(attributeName);
         this.ordered = ordered;
         this.ss = ss;
-        this.indexStore = ordered ? new SortedIndexStore() : new UnsortedIndexStore();
+        this.indexStore = ordered ? new SortedIndexStore(concurrent) : new UnsortedIndexStore(concurrent);
         this.extractors = extractors;
+        this.multiValued = isMultiValued(components, extractors);
     }
 
     @Override
@@ -64,8 +76,9 @@ public class IndexImpl implements Index {
          * another thread can query over indexes without knowing the converter and
          * this causes to class cast exceptions.
          */
-        if (converter == null || converter == NULL_CONVERTER) {
-            converter = entry.getConverter(attributeName);
+        if (converter == null || converter == NULL_CONVERTER
+                || (converter instanceof CompositeConverter && ((CompositeConverter) converter).isTransient())) {
+            converter = createConverter(entry);
         }
 
         Object newAttributeValue = extractAttributeValue(entry.getKeyData(), entry.getValue());
@@ -83,8 +96,31 @@ public class IndexImpl implements Index {
         indexStore.removeIndex(attributeValue, key);
     }
 
+    private TypeConverter createConverter(QueryableEntry entry) {
+        if (components.length == 1) {
+            return entry.getConverter(attributeName);
+        }
+        TypeConverter[] converters = new TypeConverter[components.length];
+        for (int i = 0; i < components.length; i++) {
+            converters[i] = entry.getConverter(components[i]);
+        }
+        return new CompositeConverter(converters);
+    }
+
     private Object extractAttributeValue(Data key, Object value) {
-        return QueryableEntry.extractAttributeValue(extractors, ss, attributeName, key, value);
+        if (components.length == 1) {
+            return QueryableEntry.extractAttributeValue(extractors, ss, attributeName, key, value);
+        }
+        Comparable[] values = new Comparable[components.length];
+        for (int i = 0; i < components.length; i++) {
+            Object componentValue = QueryableEntry.extractAttributeValue(extractors, ss, components[i], key, value);
+            if (componentValue instanceof MultiResult) {
+                throw new QueryException("Attribute '" + components[i] + "' of the composite index '" + attributeName
+                        + "' has multiple values");
+            }
+            values[i] = BaseIndexStore.sanitizeValue(componentValue);
+        }
+        return new CompositeValue(values);
     }
 
     @Override
@@ -127,6 +163,54 @@ public class IndexImpl implements Index {
         return indexStore.getSubRecordsBetween(convert(fromAttributeValue), convert(toAttributeValue));
     }
 
+    @Override
+    public Set<QueryableEntry> getSubRecordsBetween(Comparable from, boolean fromInclusive, Comparable to,
+                                                    boolean toInclusive) {
+        if (converter == null) {
+            return Collections.EMPTY_SET;
+        }
+        return indexStore.getSubRecordsBetween(convert(from), fromInclusive, convert(to), toInclusive);
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable value) {
+        if (converter == null) {
+            return 0;
+        }
+        return indexStore.estimateRecordCount(convert(value));
+    }
+
+    @Override
+    public long estimateRecordCount(ComparisonType comparisonType, Comparable value) {
+        if (converter == null) {
+            return 0;
+        }
+        Comparable convertedValue = convert(value);
+        switch (comparisonType) {
+            case LESSER:
+                return indexStore.estimateRecordCount(null, false, convertedValue, false);
+            case LESSER_EQUAL:
+                return indexStore.estimateRecordCount(null, false, convertedValue, true);
+            case GREATER:
+                return indexStore.estimateRecordCount(convertedValue, false, null, false);
+            case GREATER_EQUAL:
+                return indexStore.estimateRecordCount(convertedValue, true, null, false);
+            case NOT_EQUAL:
+                return Math.max(0, indexStore.getValueCount() - indexStore.estimateRecordCount(convertedValue));
+            default:
+                throw new IllegalArgumentException("Unrecognized comparisonType: " + comparisonType);
+        }
+    }
+
+    @Override
+    public long estimateRecordCountBetween(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        if (converter == null) {
+            return 0;
+        }
+        return indexStore.estimateRecordCount(from == null ? null : convert(from), fromInclusive,
+                to == null ? null : convert(to), toInclusive);
+    }
+
     /**
      * Note: the fact that the given attributeValue is of type Comparable doesn't mean that this value is of the same
      * type as the one that's stored in the index, thus the conversion is needed.
@@ -157,11 +241,88 @@ public class IndexImpl implements Index {
         return attributeName;
     }
 
+    @Override
+    public String[] getComponents() {
+        return components.clone();
+    }
+
     @Override
     public boolean isOrdered() {
         return ordered;
     }
 
+    @Override
+    public long getRecordCount() {
+        return indexStore.getRecordCount();
+    }
+
+    @Override
+    public boolean isMultiValued() {
+        return multiValued;
+    }
+
+    @Override
+    public QueryableEntry getRecordWithLowestValue() {
+        return indexStore.getRecordWithLowestValue();
+    }
+
+    @Override
+    public QueryableEntry getRecordWithHighestValue() {
+        return indexStore.getRecordWithHighestValue();
+    }
+
+    /**
+     * Returns the names of the attributes of a composite index, or the single attribute name of a regular index.
+     * <p>
+     * The attributes of a composite index are separated by commas, e.g. {@code "customerId, status"}.
+     */
+    public static String[] parseComponents(String attributeName) {
+        if (!attributeName.contains(COMPONENT_SEPARATOR)) {
+            return new String[]{attributeName};
+        }
+        String[] components = attributeName.split(COMPONENT_SEPARATOR);
+        for (int i = 0; i < components.length; i++) {
+            components[i] = components[i].trim();
+            if (components[i].isEmpty()) {
+                throw new IllegalArgumentException("Composite index '" + attributeName + "' has an empty attribute name");
+            }
+            if (components[i].contains("[any]")) {
+                throw new IllegalArgumentException("Composite index '" + attributeName
+                        + "' can't contain the collection attribute '" + components[i] + "'");
+            }
+        }
+        return components;
+    }
+
+    /**
+     * An attribute yields multiple values if its path has an {@code [any]} quantifier, or if it is extracted by a
+     * {@link com.hazelcast.query.extractor.ValueExtractor}, which may collect any number of values.
+     */
+    private static boolean isMultiValued(String[] components, Extractors extractors) {
+        for (String component : components) {
+            if (component.contains("[any]") || extractors.isExtractedAttribute(component)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the attribute name an index is registered by: the attributes of a composite index joined by a comma
+     * without any whitespace, or the given attribute name for a regular index.
+     */
+    public static String canonicalizeAttributeName(String attributeName) {
+        String[] components = parseComponents(attributeName);
+        if (components.length == 1) {
+            return attributeName;
+        }
+        StringBuilder sb = new StringBuilder(components[0]);
+        for (int i = 1; i < components.length; i++) {
+            sb.append(COMPONENT_SEPARATOR).append(components[i]);
+        }
+        return sb.toString();
+    }
+
     ConcurrentMap<Data, QueryableEntry> getRecordMap(Comparable indexValue) {
         return indexStore.getRecordMap(indexValue);
     }
@@ -32,8 +32,54 @@ public interface IndexStore {
     void clear();
 
     Set<QueryableEntry> getSubRecordsBetween(Comparable from, Comparable to);
+
+    /**
+     * Returns the entries with a value between the given bounds. Unlike {@link #getSubRecordsBetween(Comparable, Comparable)}
+     * the bounds are not swapped when {@code from} is greater than {@code to}; the result is empty instead.
+     */
+    Set<QueryableEntry> getSubRecordsBetween(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive);
     Set<QueryableEntry> getSubRecords(ComparisonType comparisonType, Comparable searchedValue);
     Set<QueryableEntry> getRecords(Comparable value);
     Set<QueryableEntry> getRecords(Set<Comparable> values);
     ConcurrentMap<Data, QueryableEntry> getRecordMap(Comparable indexValue);
+
+    /**
+     * Returns the number of indexed entries, including the entries with a {@code null} value.
+     */
+    long getRecordCount();
+
+    /**
+     * Returns the number of indexed non-null values. An entry indexed under multiple values is counted once per value.
+     * <p>
+     * Unlike {@link #getRecordCount()} this is a constant time operation.
+     */
+    long getValueCount();
+
+    /**
+     * Returns the number of entries indexed with the given value, without materializing them.
+     */
+    long estimateRecordCount(Comparable value);
+
+    /**
+     * Estimates the number of entries with a value between the given bounds, without materializing them. A {@code null}
+     * bound is unbounded; entries with a {@code null} value are never counted.
+     * <p>
+     * The estimate is exact if the range contains only a few distinct values. Otherwise it is derived from the
+     * distribution of the indexed values.
+     */
+    long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive);
+
+    /**
+     * Returns an entry with the lowest non-null value, or {@code null} if there is no such entry.
+     *
+     * @throws UnsupportedOperationException if the store is not sorted
+     */
+    QueryableEntry getRecordWithLowestValue();
+
+    /**
+     * Returns an entry with the highest non-null value, or {@code null} if there is no such entry.
+     *
+     * @throws UnsupportedOperationException if the store is not sorted
+     */
+    QueryableEntry getRecordWithHighestValue();
 }
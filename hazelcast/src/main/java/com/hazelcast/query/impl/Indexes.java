@@ -30,6 +30,9 @@ import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Contains all indexes for a data-structure, e.g. an IMap.
+ * <p>
+ * Indexes are either global (one instance per member shared by all partition threads) or partition-local
+ * (one instance per partition, updated and queried only by the partition thread owning that partition).
  */
 public class Indexes {
     private static final Index[] EMPTY_INDEX = {};
@@ -37,23 +40,38 @@ public class Indexes {
     private final AtomicReference<Index[]> indexes = new AtomicReference<Index[]>(EMPTY_INDEX);
     private volatile boolean hasIndex;
     private final InternalSerializationService serializationService;
+    private final boolean global;
     private Extractors extractors;
 
     public Indexes(InternalSerializationService serializationService, Extractors extractors) {
+        this(serializationService, extractors, true);
+    }
+
+    public Indexes(InternalSerializationService serializationService, Extractors extractors, boolean global) {
         this.serializationService = serializationService;
         this.extractors = extractors;
+        this.global = global;
     }
 
     public synchronized Index destroyIndex(String attribute) {
-        return mapIndexes.remove(attribute);
+        return mapIndexes.remove(IndexImpl.canonicalizeAttributeName(attribute));
     }
 
-    public synchronized Index addOrGetIndex(String attribute, boolean ordered) {
+    /**
+     * Returns the index on the given attribute, creating it if it doesn't exist yet.
+     * <p>
+     * A composite index is created when multiple attributes separated by commas are given, e.g.
+     * {@code "customerId, status"}. It indexes the combination of the attribute values, so a query with equality
+     * predicates on all its attributes, or on a prefix of them plus a range predicate on the next attribute when the
+     * index is ordered, is answered by a single index lookup.
+     */
+    public synchronized Index addOrGetIndex(String attributeName, boolean ordered) {
+        String attribute = IndexImpl.canonicalizeAttributeName(attributeName);
         Index index = mapIndexes.get(attribute);
         if (index != null) {
             return index;
         }
-        index = new IndexImpl(attribute, ordered, serializationService, extractors);
+        index = new IndexImpl(attribute, ordered, serializationService, extractors, global);
         mapIndexes.put(attribute, index);
         Object[] indexObjects = mapIndexes.values().toArray();
         Index[] newIndexes = new Index[indexObjects.length];
@@ -65,6 +83,23 @@ public class Indexes {
         return index;
     }
 
+    /**
+     * @return {@code true} if these indexes are shared by all partitions of a member,
+     * {@code false} if they only hold the entries of a single partition
+     */
+    public boolean isGlobal() {
+        return global;
+    }
+
+    /**
+     * Clears the contents of all indexes while keeping the index definitions.
+     */
+    public void clearContents() {
+        for (Index index : getIndexes()) {
+            index.clear();
+        }
+    }
+
     public Index[] getIndexes() {
         return indexes.get();
     }
@@ -100,7 +135,7 @@ public class Indexes {
      * @return Index for attribute or null if the index does not exist.
      */
     public Index getIndex(String attribute) {
-        return mapIndexes.get(attribute);
+        return mapIndexes.get(IndexImpl.canonicalizeAttributeName(attribute));
     }
 
     public Set<QueryableEntry> query(Predicate predicate) {
@@ -18,9 +18,12 @@ package com.hazelcast.query.impl;
 
 import com.hazelcast.nio.serialization.Data;
 
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListMap;
@@ -34,8 +37,22 @@ public class SortedIndexStore extends BaseIndexStore {
     private final ConcurrentMap<Data, QueryableEntry> recordsWithNullValue
             = new ConcurrentHashMap<Data, QueryableEntry>();
 
-    private final ConcurrentSkipListMap<Comparable, ConcurrentMap<Data, QueryableEntry>> recordMap
-            = new ConcurrentSkipListMap<Comparable, ConcurrentMap<Data, QueryableEntry>>();
+    private final NavigableMap<Comparable, ConcurrentMap<Data, QueryableEntry>> recordMap;
+
+    public SortedIndexStore() {
+        this(true);
+    }
+
+    /**
+     * @param concurrent {@code true} if the store is shared between threads, {@code false} if it is
+     *                   partition-local and only accessed by the owning partition thread
+     */
+    public SortedIndexStore(boolean concurrent) {
+        super(concurrent);
+        this.recordMap = concurrent
+                ? new ConcurrentSkipListMap<Comparable, ConcurrentMap<Data, QueryableEntry>>()
+                : new TreeMap<Comparable, ConcurrentMap<Data, QueryableEntry>>();
+    }
 
     @Override
     void newIndexInternal(Comparable newValue, QueryableEntry record) {
@@ -52,7 +69,9 @@ public class SortedIndexStore extends BaseIndexStore {
             records = new ConcurrentHashMap<Data, QueryableEntry>(1, LOAD_FACTOR, 1);
             recordMap.put(attribute, records);
         }
-        records.put(entry.getKeyData(), entry);
+        if (records.put(entry.getKeyData(), entry) == null) {
+            onValueAdded();
+        }
     }
 
     @Override
@@ -67,7 +86,9 @@ public class SortedIndexStore extends BaseIndexStore {
     private void removeMappingForAttribute(Object attribute, Data indexKey) {
         ConcurrentMap<Data, QueryableEntry> records = recordMap.get(attribute);
         if (records != null) {
-            records.remove(indexKey);
+            if (records.remove(indexKey) != null) {
+                onValueRemoved();
+            }
             if (records.size() == 0) {
                 recordMap.remove(attribute);
             }
@@ -80,6 +101,7 @@ public class SortedIndexStore extends BaseIndexStore {
         try {
             recordsWithNullValue.clear();
             recordMap.clear();
+            resetValueCount();
         } finally {
             releaseWriteLock();
         }
@@ -101,6 +123,27 @@ public class SortedIndexStore extends BaseIndexStore {
         }
     }
 
+    @Override
+    public Set<QueryableEntry> getSubRecordsBetween(Comparable from, boolean fromInclusive, Comparable to,
+                                                    boolean toInclusive) {
+        takeReadLock();
+        try {
+            MultiResultSet results = createMultiResultSet();
+            int order = from.compareTo(to);
+            if (order > 0 || (order == 0 && !(fromInclusive && toInclusive))) {
+                return results;
+            }
+            SortedMap<Comparable, ConcurrentMap<Data, QueryableEntry>> subMap =
+                    recordMap.subMap(from, fromInclusive, to, toInclusive);
+            for (ConcurrentMap<Data, QueryableEntry> value : subMap.values()) {
+                results.addResultSet(value);
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
     @Override
     public Set<QueryableEntry> getSubRecords(ComparisonType comparisonType, Comparable searchedValue) {
         takeReadLock();
@@ -192,6 +235,123 @@ public class SortedIndexStore extends BaseIndexStore {
         }
     }
 
+    @Override
+    public long getRecordCount() {
+        takeReadLock();
+        try {
+            long count = recordsWithNullValue.size();
+            for (ConcurrentMap<Data, QueryableEntry> records : recordMap.values()) {
+                count += records.size();
+            }
+            return count;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable value) {
+        takeReadLock();
+        try {
+            ConcurrentMap<Data, QueryableEntry> records = value instanceof IndexImpl.NullObject
+                    ? recordsWithNullValue : recordMap.get(value);
+            return records == null ? 0 : records.size();
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        takeReadLock();
+        try {
+            NavigableMap<Comparable, ConcurrentMap<Data, QueryableEntry>> range =
+                    rangeOrNull(from, fromInclusive, to, toInclusive);
+            if (range == null) {
+                return 0;
+            }
+            long count = 0;
+            int scanned = 0;
+            for (ConcurrentMap<Data, QueryableEntry> records : range.values()) {
+                if (scanned++ == ESTIMATE_SCAN_LIMIT) {
+                    return Math.max(count, estimateFromDistribution(from, to));
+                }
+                count += records.size();
+            }
+            return count;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    private NavigableMap<Comparable, ConcurrentMap<Data, QueryableEntry>> rangeOrNull(
+            Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        if (from != null && to != null) {
+            int order = from.compareTo(to);
+            if (order > 0 || (order == 0 && !(fromInclusive && toInclusive))) {
+                return null;
+            }
+            return recordMap.subMap(from, fromInclusive, to, toInclusive);
+        }
+        if (from != null) {
+            return recordMap.tailMap(from, fromInclusive);
+        }
+        if (to != null) {
+            return recordMap.headMap(to, toInclusive);
+        }
+        return recordMap;
+    }
+
+    /**
+     * Estimates the number of values in a range assuming numeric values are evenly distributed between the lowest and
+     * the highest indexed value.
+     */
+    private long estimateFromDistribution(Comparable from, Comparable to) {
+        long valueCount = getValueCount();
+        Comparable lowest = recordMap.firstKey();
+        Comparable highest = recordMap.lastKey();
+        Comparable lower = from == null ? lowest : from;
+        Comparable upper = to == null ? highest : to;
+        if (lowest instanceof Number && highest instanceof Number && lower instanceof Number && upper instanceof Number) {
+            double span = ((Number) highest).doubleValue() - ((Number) lowest).doubleValue();
+            if (span > 0) {
+                double fraction = (((Number) upper).doubleValue() - ((Number) lower).doubleValue()) / span;
+                return (long) Math.ceil(Math.max(0, Math.min(1, fraction)) * valueCount);
+            }
+        }
+        return valueCount / DEFAULT_RANGE_SELECTIVITY_DIVISOR;
+    }
+
+    @Override
+    public QueryableEntry getRecordWithLowestValue() {
+        takeReadLock();
+        try {
+            return firstRecord(recordMap.values());
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public QueryableEntry getRecordWithHighestValue() {
+        takeReadLock();
+        try {
+            return firstRecord(recordMap.descendingMap().values());
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    private static QueryableEntry firstRecord(Iterable<ConcurrentMap<Data, QueryableEntry>> recordsByValue) {
+        for (ConcurrentMap<Data, QueryableEntry> records : recordsByValue) {
+            Iterator<QueryableEntry> iterator = records.values().iterator();
+            if (iterator.hasNext()) {
+                return iterator.next();
+            }
+        }
+        return null;
+    }
+
     @Override
     public String toString() {
         return "SortedIndexStore{"
@@ -18,6 +18,7 @@ package com.hazelcast.query.impl;
 
 import com.hazelcast.nio.serialization.Data;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -28,11 +29,27 @@ import java.util.concurrent.ConcurrentMap;
  */
 public class UnsortedIndexStore extends BaseIndexStore {
 
+    private static final int INITIAL_CAPACITY = 1000;
+
     private final ConcurrentMap<Data, QueryableEntry> recordsWithNullValue
             = new ConcurrentHashMap<Data, QueryableEntry>();
 
-    private final ConcurrentMap<Comparable, ConcurrentMap<Data, QueryableEntry>> recordMap
-            = new ConcurrentHashMap<Comparable, ConcurrentMap<Data, QueryableEntry>>(1000);
+    private final Map<Comparable, ConcurrentMap<Data, QueryableEntry>> recordMap;
+
+    public UnsortedIndexStore() {
+        this(true);
+    }
+
+    /**
+     * @param concurrent {@code true} if the store is shared between threads, {@code false} if it is
+     *                   partition-local and only accessed by the owning partition thread
+     */
+    public UnsortedIndexStore(boolean concurrent) {
+        super(concurrent);
+        this.recordMap = concurrent
+                ? new ConcurrentHashMap<Comparable, ConcurrentMap<Data, QueryableEntry>>(INITIAL_CAPACITY)
+                : new HashMap<Comparable, ConcurrentMap<Data, QueryableEntry>>();
+    }
 
     @Override
     void newIndexInternal(Comparable newValue, QueryableEntry record) {
@@ -49,7 +66,9 @@ public class UnsortedIndexStore extends BaseIndexStore {
             records = new ConcurrentHashMap<Data, QueryableEntry>(1, LOAD_FACTOR, 1);
             recordMap.put(attribute, records);
         }
-        records.put(entry.getKeyData(), entry);
+        if (records.put(entry.getKeyData(), entry) == null) {
+            onValueAdded();
+        }
     }
 
     @Override
@@ -64,7 +83,9 @@ public class UnsortedIndexStore extends BaseIndexStore {
     private void removeMappingForAttribute(Object attribute, Data indexKey) {
         ConcurrentMap<Data, QueryableEntry> records = recordMap.get(attribute);
         if (records != null) {
-            records.remove(indexKey);
+            if (records.remove(indexKey) != null) {
+                onValueRemoved();
+            }
             if (records.size() == 0) {
                 recordMap.remove(attribute);
             }
@@ -77,6 +98,7 @@ public class UnsortedIndexStore extends BaseIndexStore {
         try {
             recordsWithNullValue.clear();
             recordMap.clear();
+            resetValueCount();
         } finally {
             releaseWriteLock();
         }
@@ -117,6 +139,31 @@ public class UnsortedIndexStore extends BaseIndexStore {
         }
     }
 
+    @Override
+    public Set<QueryableEntry> getSubRecordsBetween(Comparable from, boolean fromInclusive, Comparable to,
+                                                    boolean toInclusive) {
+        takeReadLock();
+        try {
+            MultiResultSet results = createMultiResultSet();
+            for (Map.Entry<Comparable, ConcurrentMap<Data, QueryableEntry>> recordMapEntry : recordMap.entrySet()) {
+                Comparable value = recordMapEntry.getKey();
+                int fromOrder = value.compareTo(from);
+                int toOrder = value.compareTo(to);
+                boolean valid = (fromInclusive ? fromOrder >= 0 : fromOrder > 0)
+                        && (toInclusive ? toOrder <= 0 : toOrder < 0);
+                if (valid) {
+                    ConcurrentMap<Data, QueryableEntry> records = recordMapEntry.getValue();
+                    if (records != null) {
+                        results.addResultSet(records);
+                    }
+                }
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
     @Override
     public Set<QueryableEntry> getSubRecords(ComparisonType comparisonType, Comparable searchedValue) {
         takeReadLock();
@@ -208,6 +255,62 @@ public class UnsortedIndexStore extends BaseIndexStore {
         }
     }
 
+    @Override
+    public long getRecordCount() {
+        takeReadLock();
+        try {
+            long count = recordsWithNullValue.size();
+            for (ConcurrentMap<Data, QueryableEntry> records : recordMap.values()) {
+                count += records.size();
+            }
+            return count;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable value) {
+        takeReadLock();
+        try {
+            ConcurrentMap<Data, QueryableEntry> records = value instanceof IndexImpl.NullObject
+                    ? recordsWithNullValue : recordMap.get(value);
+            return records == null ? 0 : records.size();
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        takeReadLock();
+        try {
+            if (recordMap.size() > ESTIMATE_SCAN_LIMIT) {
+                // the values are not ordered, so there is nothing known about their distribution
+                return getValueCount() / DEFAULT_RANGE_SELECTIVITY_DIVISOR;
+            }
+            long count = 0;
+            for (Map.Entry<Comparable, ConcurrentMap<Data, QueryableEntry>> recordMapEntry : recordMap.entrySet()) {
+                if (isInRange(recordMapEntry.getKey(), from, fromInclusive, to, toInclusive)) {
+                    count += recordMapEntry.getValue().size();
+                }
+            }
+            return count;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public QueryableEntry getRecordWithLowestValue() {
+        throw new UnsupportedOperationException("The index store is not sorted");
+    }
+
+    @Override
+    public QueryableEntry getRecordWithHighestValue() {
+        throw new UnsupportedOperationException("The index store is not sorted");
+    }
+
     @Override
     public String toString() {
         return "UnsortedIndexStore{"
@@ -70,6 +70,13 @@ public final class Extractors {
         return null;
     }
 
+    /**
+     * Returns if the given attribute is extracted by a configured {@link ValueExtractor}.
+     */
+    public boolean isExtractedAttribute(String attributeName) {
+        return extractors.containsKey(extractAttributeNameNameWithoutArguments(attributeName));
+    }
+
     /**
      * @return Data (in this case it's portable) or Object (in this case it's non-portable)
      */
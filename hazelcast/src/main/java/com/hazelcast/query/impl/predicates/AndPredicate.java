@@ -42,7 +42,10 @@ import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.PREDICAT
  */
 @BinaryInterface
 public final class AndPredicate
-        implements IndexAwarePredicate, IdentifiedDataSerializable, VisitablePredicate, NegatablePredicate, CompoundPredicate {
+        implements IndexAwarePredicate, IdentifiedDataSerializable, VisitablePredicate, NegatablePredicate, CompoundPredicate,
+        CostAwarePredicate {
+
+    private static final long NOT_INDEXED = -1;
 
     protected Predicate[] predicates;
 
@@ -64,41 +67,88 @@ public final class AndPredicate
         return visitor.visit(this, indexes);
     }
 
+    /**
+     * Looks up the indexed predicate with the smallest estimated result in its index. The other indexed predicates are
+     * only looked up in their index when their result is estimated to be at most as large, otherwise they are applied
+     * to the entries found, like the predicates without an index. So a predicate on a low-selectivity attribute doesn't
+     * materialize a huge intermediate result. Indexed predicates whose result can't be estimated are always looked up.
+     */
     @Override
     public Set<QueryableEntry> filter(QueryContext queryContext) {
-        Set<QueryableEntry> smallestIndexedResult = null;
+        long[] estimatedSizes = estimateResultSizes(queryContext);
+        int mostSelective = indexOfMostSelective(estimatedSizes);
+        if (mostSelective == -1) {
+            return null;
+        }
+
+        Set<QueryableEntry> smallestIndexedResult = ((IndexAwarePredicate) predicates[mostSelective]).filter(queryContext);
+        int candidateCount = smallestIndexedResult.size();
         List<Set<QueryableEntry>> otherIndexedResults = new LinkedList<Set<QueryableEntry>>();
         List<Predicate> lsNoIndexPredicates = null;
-        for (Predicate predicate : predicates) {
-            boolean indexed = false;
-            if (predicate instanceof IndexAwarePredicate) {
-                IndexAwarePredicate iap = (IndexAwarePredicate) predicate;
-                if (iap.isIndexed(queryContext)) {
-                    indexed = true;
-                    Set<QueryableEntry> s = iap.filter(queryContext);
-                    if (smallestIndexedResult == null) {
-                        smallestIndexedResult = s;
-                    } else if (s.size() < smallestIndexedResult.size()) {
-                        otherIndexedResults.add(smallestIndexedResult);
-                        smallestIndexedResult = s;
-                    } else {
-                        otherIndexedResults.add(s);
-                    }
-                }
+        for (int i = 0; i < predicates.length; i++) {
+            if (i == mostSelective) {
+                continue;
             }
-            if (!indexed) {
+            Predicate predicate = predicates[i];
+            long estimatedSize = estimatedSizes[i];
+            if (estimatedSize == UNKNOWN_RESULT_SIZE || (estimatedSize != NOT_INDEXED && estimatedSize <= candidateCount)) {
+                Set<QueryableEntry> s = ((IndexAwarePredicate) predicate).filter(queryContext);
+                if (s.size() < smallestIndexedResult.size()) {
+                    otherIndexedResults.add(smallestIndexedResult);
+                    smallestIndexedResult = s;
+                } else {
+                    otherIndexedResults.add(s);
+                }
+            } else {
                 if (lsNoIndexPredicates == null) {
                     lsNoIndexPredicates = new LinkedList<Predicate>();
                 }
                 lsNoIndexPredicates.add(predicate);
             }
         }
-        if (smallestIndexedResult == null) {
-            return null;
-        }
         return new AndResultSet(smallestIndexedResult, otherIndexedResults, lsNoIndexPredicates);
     }
 
+    private static int indexOfMostSelective(long[] estimatedSizes) {
+        int mostSelective = -1;
+        for (int i = 0; i < estimatedSizes.length; i++) {
+            if (estimatedSizes[i] != NOT_INDEXED
+                    && (mostSelective == -1 || estimatedSizes[i] < estimatedSizes[mostSelective])) {
+                mostSelective = i;
+            }
+        }
+        return mostSelective;
+    }
+
+    /**
+     * Returns the smallest estimated result of the indexed inner predicates, since that is an upper bound of the result.
+     */
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        long size = UNKNOWN_RESULT_SIZE;
+        for (long estimatedSize : estimateResultSizes(queryContext)) {
+            if (estimatedSize != NOT_INDEXED) {
+                size = Math.min(size, estimatedSize);
+            }
+        }
+        return size;
+    }
+
+    private long[] estimateResultSizes(QueryContext queryContext) {
+        long[] estimatedSizes = new long[predicates.length];
+        for (int i = 0; i < predicates.length; i++) {
+            Predicate predicate = predicates[i];
+            if (!(predicate instanceof IndexAwarePredicate) || !((IndexAwarePredicate) predicate).isIndexed(queryContext)) {
+                estimatedSizes[i] = NOT_INDEXED;
+            } else if (predicate instanceof CostAwarePredicate) {
+                estimatedSizes[i] = ((CostAwarePredicate) predicate).estimateResultSize(queryContext);
+            } else {
+                estimatedSizes[i] = UNKNOWN_RESULT_SIZE;
+            }
+        }
+        return estimatedSizes;
+    }
+
     @Override
     public boolean isIndexed(QueryContext queryContext) {
         for (Predicate predicate : predicates) {
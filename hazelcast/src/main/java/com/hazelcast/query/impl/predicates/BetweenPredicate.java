@@ -31,7 +31,7 @@ import java.util.Set;
  * Between Predicate
  */
 @BinaryInterface
-public class BetweenPredicate extends AbstractIndexAwarePredicate {
+public class BetweenPredicate extends AbstractIndexAwarePredicate implements CostAwarePredicate {
 
     Comparable to;
     Comparable from;
@@ -67,6 +67,11 @@ public class BetweenPredicate extends AbstractIndexAwarePredicate {
         return index.getSubRecordsBetween(from, to);
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        return getIndex(queryContext).estimateRecordCountBetween(from, true, to, true);
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
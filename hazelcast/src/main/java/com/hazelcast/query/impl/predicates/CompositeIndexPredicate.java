@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.CompositeValue;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Looks up the entries matching a group of predicates on the attributes of a composite index with a single lookup in
+ * that index.
+ * <p>
+ * This predicate is only created by the {@link CompositeIndexVisitor} while optimizing a query on a member, it is
+ * never sent over the wire. Entries are still {@link #apply(Map.Entry) matched} by the original predicates.
+ */
+public final class CompositeIndexPredicate implements CostAwarePredicate {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String indexName;
+    private final CompositeValue from;
+    private final boolean fromInclusive;
+    private final CompositeValue to;
+    private final boolean toInclusive;
+    private final Predicate[] predicates;
+
+    /**
+     * Creates a predicate matching the entries having exactly the given composite value.
+     */
+    CompositeIndexPredicate(String indexName, CompositeValue value, Predicate[] predicates) {
+        this(indexName, value, true, value, true, predicates);
+    }
+
+    /**
+     * Creates a predicate matching the entries with a composite value in the given range.
+     */
+    CompositeIndexPredicate(String indexName, CompositeValue from, boolean fromInclusive, CompositeValue to,
+                            boolean toInclusive, Predicate[] predicates) {
+        this.indexName = indexName;
+        this.from = from;
+        this.fromInclusive = fromInclusive;
+        this.to = to;
+        this.toInclusive = toInclusive;
+        this.predicates = predicates;
+    }
+
+    @Override
+    public Set<QueryableEntry> filter(QueryContext queryContext) {
+        Index index = queryContext.getIndex(indexName);
+        if (from == to) {
+            return index.getRecords(from);
+        }
+        return index.getSubRecordsBetween(from, fromInclusive, to, toInclusive);
+    }
+
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        Index index = queryContext.getIndex(indexName);
+        if (from == to) {
+            return index.estimateRecordCount(from);
+        }
+        return index.estimateRecordCountBetween(from, fromInclusive, to, toInclusive);
+    }
+
+    @Override
+    public boolean isIndexed(QueryContext queryContext) {
+        return queryContext.getIndex(indexName) != null;
+    }
+
+    @Override
+    public boolean apply(Map.Entry mapEntry) {
+        for (Predicate predicate : predicates) {
+            if (!predicate.apply(mapEntry)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    String getIndexName() {
+        return indexName;
+    }
+
+    Predicate[] getPredicates() {
+        return predicates;
+    }
+
+    @Override
+    public String toString() {
+        return "CompositeIndexPredicate{index=" + indexName
+                + ", from=" + (fromInclusive ? "[" : "(") + from
+                + ", to=" + to + (toInclusive ? "]" : ")")
+                + ", predicates=" + Arrays.toString(predicates) + '}';
+    }
+}
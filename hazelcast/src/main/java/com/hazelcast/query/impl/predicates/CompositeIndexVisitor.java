@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.CompositeValue;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexImpl;
+import com.hazelcast.query.impl.Indexes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hazelcast.query.impl.CompositeValue.NEGATIVE_INFINITY;
+import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
+
+/**
+ * Rewrites predicates on the attributes of a composite index into a single {@link CompositeIndexPredicate}.
+ *
+ * Imagine a composite index on (customerId, status, date). Then (customerId = 1 and status = 'open' and date > X and
+ * amount > 10) is rewritten into (composite(customerId, status, date) in ([1, 'open', X], [1, 'open', +INF]] and
+ * amount > 10). So instead of intersecting the large result sets of the single attribute indexes, the matching
+ * entries are found by a single lookup in the composite index.
+ *
+ * A composite index is used for equality predicates on all of its attributes. An ordered composite index is also
+ * used for equality predicates on a prefix of its attributes, optionally followed by a range predicate on the next
+ * attribute. When multiple composite indexes match, the one covering the most predicates is used.
+ */
+public class CompositeIndexVisitor extends AbstractVisitor {
+
+    @Override
+    public Predicate visit(AndPredicate andPredicate, Indexes indexes) {
+        Predicate[] originalPredicates = andPredicate.predicates;
+        CompositeIndexPredicate best = findBestMatch(originalPredicates, indexes);
+        if (best == null) {
+            return andPredicate;
+        }
+
+        Predicate[] matched = best.getPredicates();
+        if (matched.length == originalPredicates.length) {
+            return best;
+        }
+        Predicate[] newPredicates = new Predicate[originalPredicates.length - matched.length + 1];
+        newPredicates[0] = best;
+        int i = 1;
+        for (Predicate predicate : originalPredicates) {
+            if (!containsSame(matched, predicate)) {
+                newPredicates[i++] = predicate;
+            }
+        }
+        return new AndPredicate(newPredicates);
+    }
+
+    /**
+     * Returns the composite index predicate covering the most predicates, or {@code null} if no composite index matches.
+     */
+    private static CompositeIndexPredicate findBestMatch(Predicate[] predicates, Indexes indexes) {
+        CompositeIndexPredicate best = null;
+        for (Index index : indexes.getIndexes()) {
+            String[] components = index.getComponents();
+            if (components.length < 2) {
+                continue;
+            }
+            CompositeIndexPredicate candidate = match(index, components, predicates, indexes);
+            if (candidate != null && (best == null || candidate.getPredicates().length > best.getPredicates().length)) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private static CompositeIndexPredicate match(Index index, String[] components, Predicate[] predicates,
+                                                 Indexes indexes) {
+        List<Predicate> matched = new ArrayList<Predicate>(components.length + 1);
+        Comparable[] prefix = new Comparable[components.length];
+        int prefixLength = matchEqualPrefix(components, predicates, prefix, matched);
+
+        String indexName = index.getAttributeName();
+        if (prefixLength == components.length) {
+            return new CompositeIndexPredicate(indexName, new CompositeValue(prefix), toArray(matched));
+        }
+        if (!index.isOrdered()) {
+            return null;
+        }
+
+        Range range = findRange(components[prefixLength], predicates);
+        if (range == null) {
+            if (isServedByRegularIndex(prefixLength, components, indexes)) {
+                return null;
+            }
+            return new CompositeIndexPredicate(indexName,
+                    bound(prefix, prefixLength, NEGATIVE_INFINITY, NEGATIVE_INFINITY), true,
+                    bound(prefix, prefixLength, POSITIVE_INFINITY, POSITIVE_INFINITY), true, toArray(matched));
+        }
+        if (isServedByRegularIndex(prefixLength + 1, components, indexes)) {
+            return null;
+        }
+        range.addPredicatesTo(matched);
+        return rangeMatch(indexName, prefix, prefixLength, range, toArray(matched));
+    }
+
+    /**
+     * Returns if the given number of matched leading attributes doesn't justify the composite index: a regular index
+     * on the first attribute serves a single predicate as well.
+     */
+    private static boolean isServedByRegularIndex(int matchedAttributes, String[] components, Indexes indexes) {
+        return matchedAttributes == 0 || (matchedAttributes == 1 && indexes.getIndex(components[0]) != null);
+    }
+
+    /**
+     * Fills the prefix with the values of the equality predicates on the leading attributes of the index.
+     *
+     * @return the number of leading attributes with an equality predicate
+     */
+    private static int matchEqualPrefix(String[] components, Predicate[] predicates, Comparable[] prefix,
+                                        List<Predicate> matched) {
+        int prefixLength = 0;
+        while (prefixLength < components.length) {
+            EqualPredicate equalPredicate = findEqualPredicate(components[prefixLength], predicates);
+            if (equalPredicate == null) {
+                break;
+            }
+            prefix[prefixLength++] = equalPredicate.value;
+            matched.add(equalPredicate);
+        }
+        return prefixLength;
+    }
+
+    private static CompositeIndexPredicate rangeMatch(String indexName, Comparable[] prefix, int prefixLength, Range range,
+                                                      Predicate[] matched) {
+        CompositeValue from;
+        boolean fromInclusive;
+        if (range.lowerValue != null) {
+            fromInclusive = range.lowerInclusive;
+            from = bound(prefix, prefixLength, range.lowerValue, fromInclusive ? NEGATIVE_INFINITY : POSITIVE_INFINITY);
+        } else {
+            // only an upper bound: entries with a null value don't match it
+            fromInclusive = false;
+            from = bound(prefix, prefixLength, IndexImpl.NULL, POSITIVE_INFINITY);
+        }
+
+        CompositeValue to;
+        boolean toInclusive;
+        if (range.upperValue != null) {
+            toInclusive = range.upperInclusive;
+            to = bound(prefix, prefixLength, range.upperValue, toInclusive ? POSITIVE_INFINITY : NEGATIVE_INFINITY);
+        } else {
+            toInclusive = true;
+            to = bound(prefix, prefixLength, POSITIVE_INFINITY, POSITIVE_INFINITY);
+        }
+        return new CompositeIndexPredicate(indexName, from, fromInclusive, to, toInclusive, matched);
+    }
+
+    /**
+     * Creates a composite value with the given prefix, followed by the given value and the given filler for all
+     * remaining components.
+     */
+    private static CompositeValue bound(Comparable[] prefix, int prefixLength, Comparable value, Comparable filler) {
+        Comparable[] components = Arrays.copyOf(prefix, prefix.length);
+        components[prefixLength] = value;
+        Arrays.fill(components, prefixLength + 1, components.length, filler);
+        return new CompositeValue(components);
+    }
+
+    private static EqualPredicate findEqualPredicate(String attributeName, Predicate[] predicates) {
+        for (Predicate predicate : predicates) {
+            // subclasses like the NotEqualPredicate have a different meaning
+            if (predicate.getClass() == EqualPredicate.class
+                    && attributeName.equals(((EqualPredicate) predicate).attributeName)) {
+                return (EqualPredicate) predicate;
+            }
+        }
+        return null;
+    }
+
+    private static Range findRange(String attributeName, Predicate[] predicates) {
+        for (Predicate predicate : predicates) {
+            if (predicate instanceof BetweenPredicate) {
+                BetweenPredicate between = (BetweenPredicate) predicate;
+                if (attributeName.equals(between.attributeName) && between.from != null && between.to != null) {
+                    return new Range(between, between.from, true, between, between.to, true);
+                }
+            }
+        }
+
+        GreaterLessPredicate lower = findGreaterLess(attributeName, predicates, false);
+        GreaterLessPredicate upper = findGreaterLess(attributeName, predicates, true);
+        if (lower == null && upper == null) {
+            return null;
+        }
+        return Range.of(lower, upper);
+    }
+
+    private static GreaterLessPredicate findGreaterLess(String attributeName, Predicate[] predicates, boolean less) {
+        for (Predicate predicate : predicates) {
+            if (predicate instanceof GreaterLessPredicate) {
+                GreaterLessPredicate greaterLess = (GreaterLessPredicate) predicate;
+                if (greaterLess.less == less && attributeName.equals(greaterLess.attributeName)
+                        && greaterLess.value != null) {
+                    return greaterLess;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean containsSame(Predicate[] predicates, Predicate predicate) {
+        for (Predicate p : predicates) {
+            if (p == predicate) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Predicate[] toArray(List<Predicate> predicates) {
+        return predicates.toArray(new Predicate[predicates.size()]);
+    }
+
+    /**
+     * The bounds of the range predicates on an attribute. A missing bound has a {@code null} value.
+     */
+    private static final class Range {
+        private final Predicate lower;
+        private final Comparable lowerValue;
+        private final boolean lowerInclusive;
+        private final Predicate upper;
+        private final Comparable upperValue;
+        private final boolean upperInclusive;
+
+        Range(Predicate lower, Comparable lowerValue, boolean lowerInclusive,
+              Predicate upper, Comparable upperValue, boolean upperInclusive) {
+            this.lower = lower;
+            this.lowerValue = lowerValue;
+            this.lowerInclusive = lowerInclusive;
+            this.upper = upper;
+            this.upperValue = upperValue;
+            this.upperInclusive = upperInclusive;
+        }
+
+        static Range of(GreaterLessPredicate lower, GreaterLessPredicate upper) {
+            return new Range(lower, lower == null ? null : lower.value, lower != null && lower.equal,
+                    upper, upper == null ? null : upper.value, upper != null && upper.equal);
+        }
+
+        void addPredicatesTo(List<Predicate> predicates) {
+            if (lower != null) {
+                predicates.add(lower);
+            }
+            if (upper != null && upper != lower) {
+                predicates.add(upper);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.IndexAwarePredicate;
+import com.hazelcast.query.impl.QueryContext;
+
+/**
+ * An {@link IndexAwarePredicate} able to estimate the number of entries its {@link #filter(QueryContext) index lookup}
+ * returns, without doing the lookup.
+ * <p>
+ * The estimates come from the statistics maintained by the indexes. They are used by the {@link AndPredicate} to look
+ * up the most selective predicate in its index and apply the others to the resulting candidates, instead of
+ * materializing and intersecting the results of all indexed predicates.
+ */
+public interface CostAwarePredicate extends IndexAwarePredicate {
+
+    /**
+     * Returned when the size of the result can't be estimated.
+     */
+    long UNKNOWN_RESULT_SIZE = Long.MAX_VALUE;
+
+    /**
+     * Estimates the number of entries returned by {@link #filter(QueryContext)}. Only called when the predicate
+     * {@link #isIndexed(QueryContext) is indexed}.
+     *
+     * @param queryContext the query context
+     * @return the estimated number of entries or {@link #UNKNOWN_RESULT_SIZE}
+     */
+    long estimateResultSize(QueryContext queryContext);
+}
@@ -33,7 +33,7 @@ import java.util.Set;
  * Equal Predicate
  */
 @BinaryInterface
-public class EqualPredicate extends AbstractIndexAwarePredicate implements NegatablePredicate {
+public class EqualPredicate extends AbstractIndexAwarePredicate implements NegatablePredicate, CostAwarePredicate {
 
     protected Comparable value;
 
@@ -55,6 +55,11 @@ public class EqualPredicate extends AbstractIndexAwarePredicate implements Negat
         return index.getRecords(value);
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        return getIndex(queryContext).estimateRecordCount(value);
+    }
+
     protected boolean applyForSingleAttributeValue(Map.Entry mapEntry, Comparable attributeValue) {
         if (attributeValue == null) {
             return value == null || value == IndexImpl.NULL;
@@ -32,7 +32,7 @@ import java.util.Set;
  * In Predicate
  */
 @BinaryInterface
-public class InPredicate extends AbstractIndexAwarePredicate {
+public class InPredicate extends AbstractIndexAwarePredicate implements CostAwarePredicate {
 
     Comparable[] values;
     private volatile Set<Comparable> convertedInValues;
@@ -75,6 +75,16 @@ public class InPredicate extends AbstractIndexAwarePredicate {
         }
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        Index index = getIndex(queryContext);
+        long size = 0;
+        for (Comparable value : values) {
+            size += index.estimateRecordCount(value);
+        }
+        return size;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
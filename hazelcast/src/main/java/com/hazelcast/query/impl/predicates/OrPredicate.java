@@ -42,7 +42,8 @@ import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.PREDICAT
  */
 @BinaryInterface
 public final class OrPredicate
-        implements IndexAwarePredicate, VisitablePredicate, NegatablePredicate, IdentifiedDataSerializable, CompoundPredicate {
+        implements IndexAwarePredicate, VisitablePredicate, NegatablePredicate, IdentifiedDataSerializable, CompoundPredicate,
+        CostAwarePredicate {
 
     protected Predicate[] predicates;
 
@@ -72,6 +73,22 @@ public final class OrPredicate
         return indexedResults.isEmpty() ? null : new OrResultSet(indexedResults);
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        long size = 0;
+        for (Predicate predicate : predicates) {
+            if (!(predicate instanceof CostAwarePredicate)) {
+                return UNKNOWN_RESULT_SIZE;
+            }
+            long predicateSize = ((CostAwarePredicate) predicate).estimateResultSize(queryContext);
+            if (predicateSize == UNKNOWN_RESULT_SIZE) {
+                return UNKNOWN_RESULT_SIZE;
+            }
+            size += predicateSize;
+        }
+        return size;
+    }
+
     @Override
     public boolean isIndexed(QueryContext queryContext) {
         for (Predicate predicate : predicates) {
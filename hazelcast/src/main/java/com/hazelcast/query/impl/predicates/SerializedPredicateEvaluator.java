@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.nio.Bits;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.AttributeType;
+import com.hazelcast.query.impl.IndexImpl;
+
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_INTEGER;
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_LONG;
+import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
+
+/**
+ * Evaluates an {@link EqualPredicate}, {@link InPredicate}, {@link GreaterLessPredicate} or {@link BetweenPredicate}
+ * on the {@code __key} or {@code this} attribute directly against the serialized entry, without deserializing it
+ * and without creating a queryable entry.
+ * <p>
+ * Only integer and long values are read from the serialized bytes, since their layout is fixed. Any other entry
+ * is not {@link #isApplicable(Data, Object) applicable} and the predicate has to be applied as usual. The values
+ * given to the predicate are converted to the type of the serialized value like {@link AbstractPredicate} does.
+ * <p>
+ * Not thread-safe: the converted values are cached on first use.
+ */
+public final class SerializedPredicateEvaluator {
+
+    private static final long[] UNSUPPORTED = new long[0];
+
+    private enum Comparison {
+        ANY_OF,
+        GREATER_LESS,
+        BETWEEN
+    }
+
+    private final boolean key;
+    private final boolean bigEndian;
+    private final Comparison comparison;
+    private final Comparable[] values;
+    private final boolean equal;
+    private final boolean less;
+
+    private long[] integerValues;
+    private long[] longValues;
+
+    private SerializedPredicateEvaluator(boolean key, ByteOrder byteOrder, Comparison comparison, Comparable[] values,
+                                         boolean equal, boolean less) {
+        this.key = key;
+        this.bigEndian = byteOrder == ByteOrder.BIG_ENDIAN;
+        this.comparison = comparison;
+        this.values = values;
+        this.equal = equal;
+        this.less = less;
+    }
+
+    /**
+     * Creates an evaluator for the given predicate.
+     *
+     * @param predicate the predicate to evaluate
+     * @param byteOrder the byte order of the serialization service which serialized the entries
+     * @return the evaluator or {@code null} if the predicate cannot be evaluated against the serialized entries
+     */
+    public static SerializedPredicateEvaluator create(Predicate predicate, ByteOrder byteOrder) {
+        Class<?> predicateClass = predicate.getClass();
+        if (predicateClass == EqualPredicate.class) {
+            EqualPredicate equalPredicate = (EqualPredicate) predicate;
+            return create(equalPredicate.attributeName, byteOrder, Comparison.ANY_OF,
+                    new Comparable[]{equalPredicate.value}, false, false);
+        } else if (predicateClass == InPredicate.class) {
+            InPredicate inPredicate = (InPredicate) predicate;
+            return create(inPredicate.attributeName, byteOrder, Comparison.ANY_OF, inPredicate.values, false, false);
+        } else if (predicateClass == GreaterLessPredicate.class) {
+            GreaterLessPredicate greaterLessPredicate = (GreaterLessPredicate) predicate;
+            return create(greaterLessPredicate.attributeName, byteOrder, Comparison.GREATER_LESS,
+                    new Comparable[]{greaterLessPredicate.value}, greaterLessPredicate.equal, greaterLessPredicate.less);
+        } else if (predicateClass == BetweenPredicate.class) {
+            BetweenPredicate betweenPredicate = (BetweenPredicate) predicate;
+            return create(betweenPredicate.attributeName, byteOrder, Comparison.BETWEEN,
+                    new Comparable[]{betweenPredicate.from, betweenPredicate.to}, false, false);
+        }
+        return null;
+    }
+
+    private static SerializedPredicateEvaluator create(String attributeName, ByteOrder byteOrder, Comparison comparison,
+                                                       Comparable[] values, boolean equal, boolean less) {
+        boolean key = KEY_ATTRIBUTE_NAME.value().equals(attributeName);
+        if (!key && !THIS_ATTRIBUTE_NAME.value().equals(attributeName)) {
+            return null;
+        }
+        return new SerializedPredicateEvaluator(key, byteOrder, comparison, values, equal, less);
+    }
+
+    /**
+     * Returns if the predicate can be evaluated against the given serialized entry.
+     */
+    public boolean isApplicable(Data keyData, Object value) {
+        Object target = key ? keyData : value;
+        if (!(target instanceof HeapData)) {
+            return false;
+        }
+        long[] convertedValues = getConvertedValues(((Data) target).getType());
+        return convertedValues != null && convertedValues != UNSUPPORTED;
+    }
+
+    /**
+     * Applies the predicate to the given serialized entry. Must only be called if the entry is
+     * {@link #isApplicable(Data, Object) applicable}.
+     */
+    public boolean apply(Data keyData, Object value) {
+        Data data = key ? keyData : (Data) value;
+        byte[] payload = data.toByteArray();
+        long attributeValue;
+        long[] convertedValues;
+        if (data.getType() == CONSTANT_TYPE_INTEGER) {
+            attributeValue = Bits.readInt(payload, HeapData.DATA_OFFSET, bigEndian);
+            convertedValues = integerValues;
+        } else {
+            attributeValue = Bits.readLong(payload, HeapData.DATA_OFFSET, bigEndian);
+            convertedValues = longValues;
+        }
+
+        switch (comparison) {
+            case ANY_OF:
+                return isAnyOf(attributeValue, convertedValues);
+            case GREATER_LESS:
+                return isGreaterLess(attributeValue, convertedValues[0]);
+            case BETWEEN:
+                return attributeValue >= convertedValues[0] && attributeValue <= convertedValues[1];
+            default:
+                throw new IllegalStateException("Unhandled comparison: " + comparison);
+        }
+    }
+
+    private static boolean isAnyOf(long attributeValue, long[] convertedValues) {
+        for (long convertedValue : convertedValues) {
+            if (attributeValue == convertedValue) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isGreaterLess(long attributeValue, long convertedValue) {
+        if (attributeValue == convertedValue) {
+            return equal;
+        }
+        return less == (attributeValue < convertedValue);
+    }
+
+    private long[] getConvertedValues(int type) {
+        if (type == CONSTANT_TYPE_INTEGER) {
+            if (integerValues == null) {
+                integerValues = convert(AttributeType.INTEGER);
+            }
+            return integerValues;
+        } else if (type == CONSTANT_TYPE_LONG) {
+            if (longValues == null) {
+                longValues = convert(AttributeType.LONG);
+            }
+            return longValues;
+        }
+        return null;
+    }
+
+    private long[] convert(AttributeType attributeType) {
+        long[] convertedValues = new long[values.length];
+        int count = 0;
+        for (Comparable value : values) {
+            Comparable convertedValue = value == null || value instanceof IndexImpl.NullObject
+                    ? null : attributeType.getConverter().convert(value);
+            if (convertedValue instanceof Number) {
+                convertedValues[count++] = ((Number) convertedValue).longValue();
+            } else if (comparison != Comparison.ANY_OF) {
+                // leave the comparison of odd values to the predicate itself
+                return UNSUPPORTED;
+            }
+            // a null value never equals the non-null attribute value, so it is skipped
+        }
+        return count == convertedValues.length ? convertedValues : Arrays.copyOf(convertedValues, count);
+    }
+}
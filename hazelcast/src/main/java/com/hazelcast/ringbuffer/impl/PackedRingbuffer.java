@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+
+import java.util.Arrays;
+
+import static java.lang.Math.max;
+
+/**
+ * A ringbuffer storing the items in serialized format, packed into large slabs instead of keeping a {@link Data}
+ * instance per item.
+ * <p/>
+ * The bytes of the items are appended to the current slab; when it is full a new slab is allocated. For every slot of
+ * the ring only the slab, the offset in the slab and the length of the item are stored in primitive arrays, so a large
+ * ringbuffer contains a few big objects instead of millions of small ones. These arrays are allocated per segment of
+ * {@link #SEGMENT_SIZE} slots when the first item is stored in the segment, so a large ringbuffer which is barely used
+ * stays small.
+ * <p/>
+ * A slab is never written again at an offset it already contains an item at. Hence an item is read as a
+ * {@link SlicedData} view on its slab instead of being copied, and the view stays valid after the item is overwritten
+ * in the ring. A slab is dropped as soon as none of the items in the ring refer to it anymore; views which are still
+ * referenced keep it reachable.
+ * <p/>
+ * Like the {@link ArrayRingbuffer}, no thread-safety is needed since a partition can only be accessed by a single
+ * thread at any given moment.
+ */
+public class PackedRingbuffer implements Ringbuffer<Data> {
+
+    /**
+     * Default size of a slab in bytes. An item larger than a slab gets a slab of its own.
+     */
+    public static final int DEFAULT_SLAB_SIZE = 1024 * 1024;
+
+    /**
+     * The number of slots the slot information is allocated for at once.
+     */
+    static final int SEGMENT_SIZE = 1024;
+
+    private static final int NULL_LENGTH = -1;
+    private static final int INITIAL_SLAB_TABLE_SIZE = 4;
+
+    // the slab id, offset in the slab and length of the item in a slot are stored next to each other in a segment
+    private static final int SLAB_ID = 0;
+    private static final int OFFSET = 1;
+    private static final int LENGTH = 2;
+    private static final int SLOT_INTS = 3;
+
+    private final int[][] segments;
+    private final int capacity;
+    private final int slabSize;
+
+    private Slab[] slabs = new Slab[INITIAL_SLAB_TABLE_SIZE];
+    private int writeSlabId = -1;
+    private long tailSequence = -1;
+    private long headSequence = tailSequence + 1;
+
+    public PackedRingbuffer(int capacity) {
+        this(capacity, DEFAULT_SLAB_SIZE);
+    }
+
+    /**
+     * @param capacity the capacity of the ringbuffer
+     * @param slabSize the size of a slab in bytes
+     */
+    public PackedRingbuffer(int capacity, int slabSize) {
+        this.capacity = capacity;
+        this.slabSize = slabSize;
+        this.segments = new int[(capacity + SEGMENT_SIZE - 1) / SEGMENT_SIZE][];
+    }
+
+    @Override
+    public long tailSequence() {
+        return tailSequence;
+    }
+
+    @Override
+    public void setTailSequence(long sequence) {
+        this.tailSequence = sequence;
+    }
+
+    @Override
+    public long headSequence() {
+        return headSequence;
+    }
+
+    @Override
+    public void setHeadSequence(long sequence) {
+        this.headSequence = sequence;
+    }
+
+    @Override
+    public long getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public long size() {
+        return tailSequence - headSequence + 1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public long add(Data item) {
+        tailSequence++;
+
+        if (tailSequence - capacity == headSequence) {
+            headSequence++;
+        }
+
+        store(toIndex(tailSequence), item);
+        return tailSequence;
+    }
+
+    @Override
+    public Data read(long sequence) {
+        checkReadSequence(sequence);
+
+        int index = toIndex(sequence);
+        int[] segment = segments[index / SEGMENT_SIZE];
+        if (segment == null) {
+            return null;
+        }
+        int slot = slotOf(index);
+        int length = segment[slot + LENGTH];
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        return new SlicedData(slabs[segment[slot + SLAB_ID]].bytes, segment[slot + OFFSET], length);
+    }
+
+    @Override
+    public void checkBlockableReadSequence(long readSequence) {
+        if (readSequence > tailSequence + 1) {
+            throw new IllegalArgumentException("sequence:" + readSequence
+                    + " is too large. The current tailSequence is:" + tailSequence);
+        }
+
+        if (readSequence < headSequence) {
+            throw new StaleSequenceException("sequence:" + readSequence
+                    + " is too small. The current headSequence is:" + headSequence
+                    + " tailSequence is:" + tailSequence, headSequence);
+        }
+    }
+
+    @Override
+    public void checkReadSequence(long sequence) {
+        if (sequence > tailSequence) {
+            throw new IllegalArgumentException("sequence:" + sequence
+                    + " is too large. The current tailSequence is:" + tailSequence);
+        }
+
+        if (sequence < headSequence) {
+            throw new StaleSequenceException("sequence:" + sequence
+                    + " is too small. The current headSequence is:" + headSequence
+                    + " tailSequence is:" + tailSequence, headSequence);
+        }
+    }
+
+    @Override
+    public void set(long seq, Data data) {
+        store(toIndex(seq), data);
+    }
+
+    /**
+     * Returns the number of slabs currently allocated.
+     */
+    int slabCount() {
+        int count = 0;
+        for (Slab slab : slabs) {
+            if (slab != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of segments of slot information currently allocated.
+     */
+    int segmentCount() {
+        int count = 0;
+        for (int[] segment : segments) {
+            if (segment != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int toIndex(long sequence) {
+        return (int) (sequence % capacity);
+    }
+
+    private static int slotOf(int index) {
+        return (index % SEGMENT_SIZE) * SLOT_INTS;
+    }
+
+    private void store(int index, Data item) {
+        int[] segment = segments[index / SEGMENT_SIZE];
+        if (segment == null) {
+            if (item == null) {
+                return;
+            }
+            segment = newSegment();
+            segments[index / SEGMENT_SIZE] = segment;
+        }
+        int slot = slotOf(index);
+        release(segment, slot);
+        if (item == null) {
+            return;
+        }
+
+        byte[] bytes = item.toByteArray();
+        int length = bytes == null ? 0 : bytes.length;
+        int slabId = writeSlabFor(length);
+        Slab slab = slabs[slabId];
+        if (length > 0) {
+            System.arraycopy(bytes, 0, slab.bytes, slab.writeOffset, length);
+        }
+        segment[slot + SLAB_ID] = slabId;
+        segment[slot + OFFSET] = slab.writeOffset;
+        segment[slot + LENGTH] = length;
+        slab.writeOffset += length;
+        slab.liveCount++;
+    }
+
+    private static int[] newSegment() {
+        int[] segment = new int[SEGMENT_SIZE * SLOT_INTS];
+        for (int slot = 0; slot < segment.length; slot += SLOT_INTS) {
+            segment[slot + LENGTH] = NULL_LENGTH;
+        }
+        return segment;
+    }
+
+    private void release(int[] segment, int slot) {
+        if (segment[slot + LENGTH] == NULL_LENGTH) {
+            return;
+        }
+        segment[slot + LENGTH] = NULL_LENGTH;
+
+        int slabId = segment[slot + SLAB_ID];
+        Slab slab = slabs[slabId];
+        slab.liveCount--;
+        // the write slab is kept to append to, even if nothing in the ring refers to it anymore
+        if (slab.liveCount == 0 && slabId != writeSlabId) {
+            slabs[slabId] = null;
+        }
+    }
+
+    private int writeSlabFor(int length) {
+        if (writeSlabId != -1) {
+            Slab slab = slabs[writeSlabId];
+            if (slab.bytes.length - slab.writeOffset >= length) {
+                return writeSlabId;
+            }
+            if (slab.liveCount == 0) {
+                slabs[writeSlabId] = null;
+            }
+        }
+
+        writeSlabId = freeSlabId();
+        slabs[writeSlabId] = new Slab(max(slabSize, length));
+        return writeSlabId;
+    }
+
+    private int freeSlabId() {
+        for (int id = 0; id < slabs.length; id++) {
+            if (slabs[id] == null) {
+                return id;
+            }
+        }
+        int id = slabs.length;
+        slabs = Arrays.copyOf(slabs, slabs.length * 2);
+        return id;
+    }
+
+    /**
+     * A byte array the items are appended to.
+     */
+    private static final class Slab {
+        final byte[] bytes;
+        // the offset the next item is written to
+        int writeOffset;
+        // the number of items in the ring stored in this slab
+        int liveCount;
+
+        Slab(int size) {
+            this.bytes = new byte[size];
+        }
+    }
+}
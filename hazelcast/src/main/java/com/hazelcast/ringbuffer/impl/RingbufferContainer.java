@@ -86,7 +86,7 @@ public class RingbufferContainer implements IdentifiedDataSerializable {
         this(name);
 
         this.inMemoryFormat = config.getInMemoryFormat();
-        this.ringbuffer = new ArrayRingbuffer(config.getCapacity());
+        this.ringbuffer = createRingbuffer(config.getCapacity(), config.isPackedStorageEnabled() && inMemoryFormat == BINARY);
 
         final long ttlMs = SECONDS.toMillis(config.getTimeToLiveSeconds());
         if (ttlMs != TTL_DISABLED) {
@@ -438,6 +438,7 @@ public class RingbufferContainer implements IdentifiedDataSerializable {
         out.writeInt((int) ringbuffer.getCapacity());
         out.writeLong(ttlEnabled ? expirationPolicy.getTtlMs() : 0);
         out.writeInt(inMemoryFormat.ordinal());
+        out.writeBoolean(ringbuffer instanceof PackedRingbuffer);
 
         long now = System.currentTimeMillis();
 
@@ -471,8 +472,9 @@ public class RingbufferContainer implements IdentifiedDataSerializable {
         final int capacity = in.readInt();
         final long ttlMs = in.readLong();
         inMemoryFormat = values()[in.readInt()];
+        final boolean packed = in.readBoolean();
 
-        ringbuffer = new ArrayRingbuffer(capacity);
+        ringbuffer = createRingbuffer(capacity, packed);
         ringbuffer.setTailSequence(tailSequence);
         ringbuffer.setHeadSequence(headSequence);
 
@@ -496,6 +498,10 @@ public class RingbufferContainer implements IdentifiedDataSerializable {
         }
     }
 
+    private static Ringbuffer createRingbuffer(int capacity, boolean packed) {
+        return packed ? new PackedRingbuffer(capacity) : new ArrayRingbuffer(capacity);
+    }
+
     String getName() {
         return name;
     }
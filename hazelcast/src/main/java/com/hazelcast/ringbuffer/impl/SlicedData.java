@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.serialization.impl.SerializationConstants;
+import com.hazelcast.nio.Bits;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.HashUtil;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.serialization.impl.HeapData.DATA_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.HEAP_DATA_OVERHEAD;
+import static com.hazelcast.internal.serialization.impl.HeapData.PARTITION_HASH_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.TYPE_OFFSET;
+import static com.hazelcast.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * A {@link Data} which is a slice of a byte array shared with other items, laid out like the payload of a
+ * {@link HeapData}.
+ * <p/>
+ * It's used by the {@link PackedRingbuffer} to read an item without copying it out of its slab. The bytes are only
+ * copied when {@link #toByteArray()} is called. The slice must never be written to again after it was handed out.
+ */
+@SuppressFBWarnings("EI_EXPOSE_REP2")
+final class SlicedData implements Data {
+
+    // array (12: array header, 4: length)
+    private static final int ARRAY_HEADER_SIZE_IN_BYTES = 16;
+
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+
+    SlicedData(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        return Arrays.copyOfRange(bytes, offset, offset + length);
+    }
+
+    @Override
+    public int getType() {
+        if (length == 0) {
+            return SerializationConstants.CONSTANT_TYPE_NULL;
+        }
+        return Bits.readIntB(bytes, offset + TYPE_OFFSET);
+    }
+
+    @Override
+    public int totalSize() {
+        return length;
+    }
+
+    @Override
+    public int dataSize() {
+        return Math.max(length - HEAP_DATA_OVERHEAD, 0);
+    }
+
+    @Override
+    public int getHeapCost() {
+        // the same as the HeapData the slice is copied to
+        return REFERENCE_COST_IN_BYTES + ARRAY_HEADER_SIZE_IN_BYTES + length;
+    }
+
+    @Override
+    public int getPartitionHash() {
+        if (hasPartitionHash()) {
+            return Bits.readIntB(bytes, offset + PARTITION_HASH_OFFSET);
+        }
+        return hashCode();
+    }
+
+    @Override
+    public boolean hasPartitionHash() {
+        return length >= HEAP_DATA_OVERHEAD && Bits.readIntB(bytes, offset + PARTITION_HASH_OFFSET) != 0;
+    }
+
+    @Override
+    public long hash64() {
+        return HashUtil.MurmurHash3_x64_64(bytes, offset + DATA_OFFSET, dataSize());
+    }
+
+    @Override
+    public boolean isPortable() {
+        return SerializationConstants.CONSTANT_TYPE_PORTABLE == getType();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Data)) {
+            return false;
+        }
+
+        Data data = (Data) o;
+        if (getType() != data.getType() || dataSize() != data.dataSize()) {
+            return false;
+        }
+        if (dataSize() == 0) {
+            return true;
+        }
+
+        // compared like HeapData does, from the end since the start is usually the same
+        byte[] other = data.toByteArray();
+        for (int i = length - 1; i >= DATA_OFFSET; i--) {
+            if (bytes[offset + i] != other[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return HashUtil.MurmurHash3_x86_32(bytes, offset + DATA_OFFSET, dataSize());
+    }
+
+    @Override
+    public String toString() {
+        return "SlicedData{"
+                + "type=" + getType()
+                + ", hashCode=" + hashCode()
+                + ", partitionHash=" + getPartitionHash()
+                + ", totalSize=" + totalSize()
+                + ", dataSize=" + dataSize()
+                + '}';
+    }
+}
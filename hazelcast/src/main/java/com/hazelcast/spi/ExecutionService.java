@@ -65,7 +65,8 @@ public interface ExecutionService {
     /**
      * Name of the map-loader executor that loads the {@link com.hazelcast.core.MapLoader#loadAll(java.util.Collection)}.
      *
-     * This is the executor you want to configure when you want to load more data from the database in parallel.
+     * This is the executor you want to configure when you want to load more data from the database in parallel. Its pool
+     * size defaults to {@link com.hazelcast.spi.properties.GroupProperty#MAP_LOAD_PARALLELISM}.
      */
     String MAP_LOADER_EXECUTOR = "hz:map-load";
 
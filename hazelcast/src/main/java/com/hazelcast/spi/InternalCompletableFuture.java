@@ -33,6 +33,16 @@ public interface InternalCompletableFuture<E> extends ICompletableFuture<E> {
      */
     E join();
 
+    /**
+     * Waits for this future to complete and returns the result without deserializing it.
+     *
+     * This is useful when the result is going to be serialized again anyway, e.g. when it is stored in a Near Cache
+     * with the {@link com.hazelcast.config.InMemoryFormat#BINARY} format or when it is send to a client.
+     *
+     * @return the result; a {@link com.hazelcast.nio.serialization.Data} if the result is available in serialized form.
+     */
+    Object joinRaw();
+
      /**
      * Completes this future.
      *
@@ -139,12 +139,32 @@ public abstract class AbstractInvocationFuture<V> implements InternalCompletable
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * By default the result is the same as the one returned by {@link #join()}; subclasses that deserialize the
+     * result should override this method.
+     */
+    @Override
+    public Object joinRaw() {
+        return join();
+    }
+
     @Override
     public final V get() throws InterruptedException, ExecutionException {
+        return resolveAndThrowIfException(awaitCompletion());
+    }
+
+    /**
+     * Waits for this future to complete.
+     *
+     * @return the unresolved state of the completed future.
+     */
+    protected final Object awaitCompletion() {
         Object response = registerWaiter(Thread.currentThread(), null);
         if (response != VOID) {
             // no registration was done since a value is available.
-            return resolveAndThrowIfException(response);
+            return response;
         }
 
         boolean interrupted = false;
@@ -152,7 +172,7 @@ public abstract class AbstractInvocationFuture<V> implements InternalCompletable
             for (; ; ) {
                 park();
                 if (isDone()) {
-                    return resolveAndThrowIfException(state);
+                    return state;
                 } else if (Thread.interrupted()) {
                     interrupted = true;
                     onInterruptDetected();
@@ -16,18 +16,22 @@
 
 package com.hazelcast.spi.impl;
 
+import com.hazelcast.internal.partition.ChunkedMigrationAwareService;
+import com.hazelcast.internal.partition.IncrementalReplicationAwareService;
 import com.hazelcast.spi.MigrationAwareService;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.PartitionMigrationEvent;
 import com.hazelcast.spi.PartitionReplicationEvent;
 
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A {@link MigrationAwareService} that delegates to another {@link MigrationAwareService} and keeps track of the number of
  * migrations concerning the partition owner (either as current or new replica index) currently in-flight.
  */
-public class CountingMigrationAwareService implements MigrationAwareService {
+public class CountingMigrationAwareService implements ChunkedMigrationAwareService, IncrementalReplicationAwareService {
 
     private static final int PARTITION_OWNER_INDEX = 0;
 
@@ -45,6 +49,26 @@ public class CountingMigrationAwareService implements MigrationAwareService {
         return migrationAwareService.prepareReplicationOperation(event);
     }
 
+    @Override
+    public Iterator<Operation> prepareReplicationChunks(PartitionReplicationEvent event, long maxChunkSizeInBytes) {
+        if (migrationAwareService instanceof ChunkedMigrationAwareService) {
+            return ((ChunkedMigrationAwareService) migrationAwareService)
+                    .prepareReplicationChunks(event, maxChunkSizeInBytes);
+        }
+
+        Operation operation = migrationAwareService.prepareReplicationOperation(event);
+        return operation == null ? null : Collections.singletonList(operation).iterator();
+    }
+
+    @Override
+    public Operation prepareIncrementalReplicationOperation(PartitionReplicationEvent event, long sinceVersion) {
+        if (migrationAwareService instanceof IncrementalReplicationAwareService) {
+            return ((IncrementalReplicationAwareService) migrationAwareService)
+                    .prepareIncrementalReplicationOperation(event, sinceVersion);
+        }
+        return null;
+    }
+
     @Override
     public void beforeMigration(PartitionMigrationEvent event) {
         if (event.getCurrentReplicaIndex() == PARTITION_OWNER_INDEX || event.getNewReplicaIndex() == PARTITION_OWNER_INDEX) {
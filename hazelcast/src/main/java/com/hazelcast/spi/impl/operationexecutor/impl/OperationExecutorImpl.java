@@ -36,12 +36,14 @@ import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunnerFactory;
 import com.hazelcast.spi.impl.operationservice.impl.operations.Backup;
 import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.spi.properties.HazelcastProperty;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.spi.impl.operationservice.impl.AsyncInboundResponseHandler.getIdleStrategy;
 import static com.hazelcast.spi.properties.GroupProperty.GENERIC_OPERATION_THREAD_COUNT;
 import static com.hazelcast.spi.properties.GroupProperty.PARTITION_COUNT;
 import static com.hazelcast.spi.properties.GroupProperty.PARTITION_OPERATION_THREAD_COUNT;
@@ -74,6 +76,21 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 @SuppressWarnings("checkstyle:methodcount")
 public final class OperationExecutorImpl implements OperationExecutor, MetricsProvider {
 
+    /**
+     * The idle strategy used by the partition operation threads when there is no work. Valid values are:
+     * <ul>
+     * <li>block: the thread blocks until work arrives; this is the default</li>
+     * <li>backoff: the thread spins, then yields and then parks for increasing periods before it checks for work again</li>
+     * <li>busyspin: the thread spins without ever blocking</li>
+     * </ul>
+     * The backoff and busyspin strategies reduce the latency of handing over an operation to a partition thread since
+     * the submitting thread doesn't need to unpark it, at the price of cpu usage. Since every partition thread idles on its
+     * own, the {@link com.hazelcast.spi.properties.GroupProperty#PARTITION_OPERATION_THREAD_COUNT} should be reduced when
+     * using them.
+     */
+    public static final HazelcastProperty IDLE_STRATEGY
+            = new HazelcastProperty("hazelcast.operation.partitionthread.idlestrategy", "block");
+
     private static final int TERMINATION_TIMEOUT_SECONDS = 3;
 
     private final ILogger logger;
@@ -150,8 +167,9 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
         PartitionOperationThread[] threads = new PartitionOperationThread[threadCount];
         for (int threadId = 0; threadId < threads.length; threadId++) {
             String threadName = threadGroup.getThreadPoolNamePrefix("partition-operation") + threadId;
-            // the normalQueue will be a blocking queue. We don't want to idle, because there are many operation threads.
-            MPSCQueue<Object> normalQueue = new MPSCQueue<Object>(null);
+            // by default the normalQueue will be a blocking queue. We don't want to idle, because there are many operation
+            // threads. The MPSCQueue takes all pending items with a single cas, so the batch is processed without contention.
+            MPSCQueue<Object> normalQueue = new MPSCQueue<Object>(getIdleStrategy(properties, IDLE_STRATEGY));
             OperationQueue operationQueue = new DefaultOperationQueue(normalQueue, new ConcurrentLinkedQueue<Object>());
 
             PartitionOperationThread partitionThread = new PartitionOperationThread(threadName, threadId, operationQueue, logger,
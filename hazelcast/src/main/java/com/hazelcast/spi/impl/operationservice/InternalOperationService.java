@@ -108,4 +108,13 @@ public interface InternalOperationService extends OperationService {
     List<SlowOperationDTO> getSlowOperationDTOs();
 
     <V> void asyncInvokeOnPartition(String serviceName, Operation op, int partitionId, ExecutionCallback<V> callback);
+
+    /**
+     * Creates an {@link OperationBatch} which coalesces the operations for the same remote member.
+     *
+     * @param maxBatchSize the maximum number of operations send to a member in a single packet
+     * @return the created OperationBatch
+     * @throws IllegalArgumentException if maxBatchSize is smaller than 1
+     */
+    OperationBatch newOperationBatch(int maxBatchSize);
 }
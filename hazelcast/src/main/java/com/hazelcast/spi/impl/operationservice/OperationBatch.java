@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.operationservice;
+
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.spi.Operation;
+
+/**
+ * Invokes partition operations and coalesces the operations for the same remote member into a single
+ * {@link com.hazelcast.nio.Packet.Type#BATCH} packet, so that many small operations can be send without a
+ * packet per operation.
+ *
+ * An operation for a remote member is held back until {@link #flush()} is called or until the maximum batch size for that
+ * member is reached. An operation for the local member is executed immediately. A retry of an invocation is never
+ * batched, so it doesn't depend on the batch being flushed again.
+ *
+ * An OperationBatch isn't threadsafe; it should only be used by the thread which created it.
+ */
+public interface OperationBatch {
+
+    /**
+     * Invokes the operation on the given partition.
+     *
+     * @param serviceName the name of the service
+     * @param op          the operation to invoke
+     * @param partitionId the id of the partition
+     * @param <E>         the type of the result
+     * @return the future of the invocation
+     */
+    <E> InternalCompletableFuture<E> invokeOnPartition(String serviceName, Operation op, int partitionId);
+
+    /**
+     * Sends all held back operations.
+     */
+    void flush();
+}
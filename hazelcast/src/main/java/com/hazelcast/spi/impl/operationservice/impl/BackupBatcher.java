@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.instance.HazelcastThreadGroup;
+import com.hazelcast.instance.Node;
+import com.hazelcast.internal.metrics.MetricsProvider;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.concurrent.MPSCChunkedArrayQueue;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.ConnectionManager;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.PacketBatch;
+import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.util.ConstructorFunction;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.instance.OutOfMemoryErrorDispatcher.inspectOutOfMemoryError;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.spi.properties.GroupProperty.BACKUP_BATCH_FLUSH_DELAY_MICROS;
+import static com.hazelcast.spi.properties.GroupProperty.BACKUP_BATCH_MAX_SIZE;
+import static com.hazelcast.util.ConcurrencyUtil.getOrPutIfAbsent;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Coalesces the backup packets sent to the same member into {@link Packet.Type#BATCH} packets.
+ *
+ * A backup packet is put in the queue of its target member. The queue is flushed by the sending thread as soon as
+ * {@link com.hazelcast.spi.properties.GroupProperty#BACKUP_BATCH_MAX_SIZE} packets are pending or when an urgent packet
+ * is sent. Otherwise the queue is flushed by the flush thread. The flush thread is parked while no packets are queued;
+ * the first packet queued wakes it up and it flushes all queues after
+ * {@link com.hazelcast.spi.properties.GroupProperty#BACKUP_BATCH_FLUSH_DELAY_MICROS}.
+ *
+ * Only a single thread flushes a queue at any given moment, so the packets for a member are sent in the order they
+ * were queued. Since a batch is split on the receiving side in the same order, the order of the backups for a partition
+ * is preserved.
+ */
+final class BackupBatcher implements MetricsProvider {
+
+    @Probe(name = "batchesSent")
+    private final MwCounter batchesSent = newMwCounter();
+
+    @Probe(name = "batchedBackupsSent")
+    private final MwCounter batchedBackupsSent = newMwCounter();
+
+    // set when packets are queued for the flush thread; the flush thread parks while it isn't set
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ConcurrentMap<Address, MemberBatch> batches = new ConcurrentHashMap<Address, MemberBatch>();
+    private final ConstructorFunction<Address, MemberBatch> batchConstructor
+            = new ConstructorFunction<Address, MemberBatch>() {
+        @Override
+        public MemberBatch createNew(Address target) {
+            return new MemberBatch(target);
+        }
+    };
+
+    private final Node node;
+    private final ILogger logger;
+    private final int maxBatchSize;
+    private final long flushDelayNanos;
+    private final FlushThread flushThread;
+
+    BackupBatcher(Node node, HazelcastThreadGroup threadGroup, HazelcastProperties properties, ILogger logger) {
+        this.node = node;
+        this.logger = logger;
+        this.maxBatchSize = checkPositive(properties.getInteger(BACKUP_BATCH_MAX_SIZE),
+                BACKUP_BATCH_MAX_SIZE.getName() + " should be positive");
+        this.flushDelayNanos = checkPositive(properties.getNanos(BACKUP_BATCH_FLUSH_DELAY_MICROS),
+                BACKUP_BATCH_FLUSH_DELAY_MICROS.getName() + " should be positive");
+        this.flushThread = new FlushThread(threadGroup);
+    }
+
+    @Probe(name = "pendingBackups")
+    private long pendingBackups() {
+        long pending = 0;
+        for (MemberBatch batch : batches.values()) {
+            pending += batch.queue.size();
+        }
+        return pending;
+    }
+
+    /**
+     * Queues the backup packet for sending to the given target.
+     *
+     * @param packet the backup packet
+     * @param target the member to send the packet to
+     * @return {@code true} if the packet is queued, {@code false} if the target isn't a member, in which case the packet
+     * should be sent unbatched
+     */
+    boolean send(Packet packet, Address target) {
+        MemberBatch batch = batches.get(target);
+        if (batch == null) {
+            batch = newBatch(target);
+            if (batch == null) {
+                if (logger.isFinestEnabled()) {
+                    logger.finest("Not batching backup to " + target + " since it isn't a member");
+                }
+                return false;
+            }
+        }
+        batch.queue.offer(packet);
+
+        if (packet.isUrgent() || batch.queue.size() >= maxBatchSize) {
+            batch.flush();
+        }
+        // the flush above could have missed the packet if another thread was flushing, so the flush thread is always
+        // requested to check the queues
+        if (flushRequested.compareAndSet(false, true)) {
+            LockSupport.unpark(flushThread);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the batch of a member which has left. The member is already removed from the member list, so
+     * {@link #send(Packet, Address)} doesn't create a new batch for it afterwards.
+     */
+    void onMemberLeft(Address address) {
+        batches.remove(address);
+    }
+
+    /**
+     * Creates the batch for the given target, unless the target isn't a member (anymore). The membership is checked again
+     * after the batch is created, since {@link #onMemberLeft(Address)} could have run in between; otherwise the batch of a
+     * member which has left would never be removed.
+     *
+     * @return the batch or {@code null} if the target isn't a member
+     */
+    private MemberBatch newBatch(Address target) {
+        if (!isMember(target)) {
+            return null;
+        }
+        MemberBatch batch = getOrPutIfAbsent(batches, target, batchConstructor);
+        if (!isMember(target)) {
+            batches.remove(target, batch);
+            return null;
+        }
+        return batch;
+    }
+
+    private boolean isMember(Address target) {
+        return node.getClusterService().getMember(target) != null;
+    }
+
+    boolean hasBatch(Address target) {
+        return batches.containsKey(target);
+    }
+
+    @Override
+    public void provideMetrics(MetricsRegistry registry) {
+        registry.scanAndRegister(this, "operation.backupBatcher");
+    }
+
+    void start() {
+        flushThread.start();
+    }
+
+    void shutdown() {
+        flushThread.shutdown();
+    }
+
+    private final class MemberBatch {
+
+        private final Address target;
+        private final MPSCChunkedArrayQueue<Packet> queue = new MPSCChunkedArrayQueue<Packet>();
+        // protects the single consumer side of the queue and the packets array
+        private final AtomicBoolean flushing = new AtomicBoolean();
+        private final Packet[] packets = new Packet[maxBatchSize];
+
+        private MemberBatch(Address target) {
+            this.target = target;
+        }
+
+        /**
+         * Sends all pending packets. If another thread is already flushing, this call returns immediately; a packet it
+         * misses is picked up by the flush thread.
+         */
+        private void flush() {
+            if (!flushing.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                for (; ; ) {
+                    int count = drain();
+                    if (count == 0) {
+                        return;
+                    }
+                    transmit(count);
+                }
+            } finally {
+                flushing.set(false);
+            }
+        }
+
+        private int drain() {
+            int count = 0;
+            while (count < packets.length) {
+                Packet packet = queue.poll();
+                if (packet == null) {
+                    break;
+                }
+                packets[count++] = packet;
+            }
+            return count;
+        }
+
+        private void transmit(int count) {
+            Packet packet;
+            if (count == 1) {
+                packet = packets[0];
+            } else {
+                packet = PacketBatch.toBatchPacket(packets, count);
+                batchesSent.inc();
+                batchedBackupsSent.inc(count);
+            }
+
+            for (int k = 0; k < count; k++) {
+                packets[k] = null;
+            }
+
+            ConnectionManager connectionManager = node.getConnectionManager();
+            Connection connection = connectionManager.getOrConnect(target);
+            if (!connectionManager.transmit(packet, connection)) {
+                // the backups are repaired by the anti-entropy mechanism once the replica versions are compared
+                logger.warning("Failed to send " + count + " backups to " + target + ", connection: " + connection);
+            }
+        }
+    }
+
+    /**
+     * The FlushThread needs to implement the OperationHostileThread interface to make sure that the OperationExecutor
+     * is not going to schedule any operations on this thread.
+     */
+    private final class FlushThread extends Thread implements OperationHostileThread {
+
+        private volatile boolean shutdown;
+
+        private FlushThread(HazelcastThreadGroup threadGroup) {
+            super(threadGroup.getInternalThreadGroup(), threadGroup.getThreadNamePrefix("backup-batcher"));
+            setContextClassLoader(threadGroup.getClassLoader());
+        }
+
+        @Override
+        public void run() {
+            while (!shutdown) {
+                if (!flushRequested.get()) {
+                    LockSupport.park();
+                    continue;
+                }
+
+                LockSupport.parkNanos(flushDelayNanos);
+                // reset before flushing; a packet queued after the queue of its batch is drained requests another round
+                flushRequested.set(false);
+                flushAll();
+            }
+        }
+
+        private void flushAll() {
+            for (MemberBatch batch : batches.values()) {
+                if (!isMember(batch.target)) {
+                    // onMemberLeft isn't called when a member is removed while the cluster isn't active
+                    batches.remove(batch.target, batch);
+                    continue;
+                }
+                try {
+                    batch.flush();
+                } catch (Throwable t) {
+                    inspectOutOfMemoryError(t);
+                    logger.severe("Failed to flush backups to " + batch.target, t);
+                }
+            }
+        }
+
+        private void shutdown() {
+            shutdown = true;
+            LockSupport.unpark(this);
+        }
+    }
+}
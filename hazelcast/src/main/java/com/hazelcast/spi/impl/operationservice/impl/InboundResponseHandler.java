@@ -21,22 +21,39 @@ import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.partition.ReplicaErrorLogger;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.PacketHandler;
+import com.hazelcast.spi.impl.SpiDataSerializerHook;
 import com.hazelcast.spi.impl.operationservice.impl.responses.BackupAckResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
 
+import java.nio.ByteOrder;
+
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.internal.serialization.impl.HeapData.DATA_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.TYPE_OFFSET;
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_DATA_SERIALIZABLE;
 import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static com.hazelcast.nio.Bits.BOOLEAN_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.BYTE_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.readInt;
+import static com.hazelcast.nio.Bits.readIntB;
+import static com.hazelcast.nio.Bits.readLong;
+import static com.hazelcast.spi.impl.SpiDataSerializerHook.BACKUP_ACK_RESPONSE;
+import static com.hazelcast.spi.impl.SpiDataSerializerHook.NORMAL_RESPONSE;
 
 /**
  * Responsible for handling responses for invocations. Based on the content of the response packet, it will lookup the
@@ -44,10 +61,26 @@ import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
  */
 public final class InboundResponseHandler implements PacketHandler, MetricsProvider {
 
+    // the offsets of the fields of a serialized Response, see DataSerializableSerializer and the writeData methods of
+    // Response and NormalResponse.
+    static final int OFFSET_SERIALIZER_HEADER = DATA_OFFSET;
+    static final int OFFSET_FACTORY_ID = OFFSET_SERIALIZER_HEADER + BYTE_SIZE_IN_BYTES;
+    static final int OFFSET_TYPE_ID = OFFSET_FACTORY_ID + INT_SIZE_IN_BYTES;
+    static final int OFFSET_CALL_ID = OFFSET_TYPE_ID + INT_SIZE_IN_BYTES;
+    static final int OFFSET_URGENT = OFFSET_CALL_ID + LONG_SIZE_IN_BYTES;
+    static final int OFFSET_BACKUP_ACKS = OFFSET_URGENT + BOOLEAN_SIZE_IN_BYTES;
+    static final int OFFSET_IS_DATA = OFFSET_BACKUP_ACKS + BYTE_SIZE_IN_BYTES;
+    static final int OFFSET_VALUE_LENGTH = OFFSET_IS_DATA + BOOLEAN_SIZE_IN_BYTES;
+    static final int OFFSET_VALUE = OFFSET_VALUE_LENGTH + INT_SIZE_IN_BYTES;
+
+    // the header written by the DataSerializableSerializer for an IdentifiedDataSerializable
+    private static final byte IDS_FLAG = 1;
+
     private final ILogger logger;
     private final InternalSerializationService serializationService;
     private final InvocationRegistry invocationRegistry;
     private final NodeEngineImpl nodeEngine;
+    private final boolean bigEndian;
     @Probe(name = "responses[normal]", level = MANDATORY)
     private final SwCounter responsesNormal = newSwCounter();
     @Probe(name = "responses[timeout]", level = MANDATORY)
@@ -67,6 +100,7 @@ public final class InboundResponseHandler implements PacketHandler, MetricsProvi
         this.serializationService = serializationService;
         this.invocationRegistry = invocationRegistry;
         this.nodeEngine = nodeEngine;
+        this.bigEndian = serializationService.getByteOrder() == ByteOrder.BIG_ENDIAN;
     }
 
     @Override
@@ -76,8 +110,12 @@ public final class InboundResponseHandler implements PacketHandler, MetricsProvi
 
     @Override
     public void handle(Packet packet) throws Exception {
-        Response response = serializationService.toObject(packet);
         Address sender = packet.getConn().getEndPoint();
+        if (handleWithoutDeserialization(packet, sender)) {
+            return;
+        }
+
+        Response response = serializationService.toObject(packet);
         try {
             if (response instanceof NormalResponse) {
                 NormalResponse normalResponse = (NormalResponse) response;
@@ -104,6 +142,57 @@ public final class InboundResponseHandler implements PacketHandler, MetricsProvi
         }
     }
 
+    /**
+     * Tries to handle the {@link NormalResponse} and {@link BackupAckResponse} by reading the fields directly from the
+     * bytes of the packet, instead of deserializing the Response. The value of a NormalResponse is passed to the
+     * Invocation as {@link Data}; it is deserialized by the InvocationFuture when the result is retrieved.
+     *
+     * @return true if the packet was handled, false if the packet needs to be deserialized.
+     */
+    private boolean handleWithoutDeserialization(Packet packet, Address sender) {
+        byte[] bytes = packet.toByteArray();
+        if (bytes == null || bytes.length < OFFSET_URGENT
+                || readIntB(bytes, TYPE_OFFSET) != CONSTANT_TYPE_DATA_SERIALIZABLE
+                || bytes[OFFSET_SERIALIZER_HEADER] != IDS_FLAG
+                || readInt(bytes, OFFSET_FACTORY_ID, bigEndian) != SpiDataSerializerHook.F_ID) {
+            return false;
+        }
+
+        int typeId = readInt(bytes, OFFSET_TYPE_ID, bigEndian);
+        long callId = readLong(bytes, OFFSET_CALL_ID, bigEndian);
+        try {
+            switch (typeId) {
+                case BACKUP_ACK_RESPONSE:
+                    notifyBackupComplete(callId);
+                    return true;
+                case NORMAL_RESPONSE:
+                    if (bytes.length < OFFSET_VALUE || bytes[OFFSET_IS_DATA] == 0) {
+                        // the value isn't serialized as Data, so it needs to be deserialized anyway
+                        return false;
+                    }
+                    int backupAcks = bytes[OFFSET_BACKUP_ACKS];
+                    notifyNormalResponse(callId, readValue(bytes), backupAcks, sender);
+                    return true;
+                default:
+                    return false;
+            }
+        } catch (Throwable e) {
+            logger.severe("While processing response...", e);
+            return true;
+        }
+    }
+
+    private Data readValue(byte[] bytes) {
+        int length = readInt(bytes, OFFSET_VALUE_LENGTH, bigEndian);
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] value = new byte[length];
+        System.arraycopy(bytes, OFFSET_VALUE, value, 0, length);
+        return new HeapData(value);
+    }
+
     public void notifyBackupComplete(long callId) {
         responsesBackup.inc();
 
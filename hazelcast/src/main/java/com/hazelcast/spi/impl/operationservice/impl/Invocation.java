@@ -158,11 +158,19 @@ public abstract class Invocation implements OperationResponseHandler {
     Address invTarget;
     MemberImpl targetMember;
 
+    /**
+     * The batch the operation is added to instead of being send, if the target is remote. It is only used for the first
+     * attempt; a retry is send immediately.
+     */
+    OperationBatchImpl batch;
+
     final Context context;
     final InvocationFuture future;
     final int tryCount;
     final long tryPauseMillis;
     final long callTimeoutMillis;
+    // only set if the latency histograms are enabled
+    final long startNanos;
 
     /** Refer to {@link com.hazelcast.spi.InvocationBuilder#setDoneCallback(Runnable)} for an explanation */
     private final Runnable taskDoneCallback;
@@ -175,6 +183,7 @@ public abstract class Invocation implements OperationResponseHandler {
         this.tryCount = tryCount;
         this.tryPauseMillis = tryPauseMillis;
         this.callTimeoutMillis = getCallTimeoutMillis(callTimeoutMillis);
+        this.startNanos = context.invocationLatencyHistograms == null ? 0 : System.nanoTime();
         this.future = new InvocationFuture(this, deserialize);
     }
 
@@ -495,6 +504,9 @@ public abstract class Invocation implements OperationResponseHandler {
     @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
             justification = "We have the guarantee that only a single thread at any given time can change the volatile field")
     private void doInvoke(boolean isAsync) {
+        OperationBatchImpl batch = this.batch;
+        this.batch = null;
+
         if (!engineActive()) {
             return;
         }
@@ -512,7 +524,11 @@ public abstract class Invocation implements OperationResponseHandler {
         }
 
         if (remote) {
-            doInvokeRemote();
+            if (batch == null) {
+                doInvokeRemote();
+            } else {
+                batch.add(this);
+            }
         } else {
             doInvokeLocal(isAsync);
         }
@@ -591,7 +607,13 @@ public abstract class Invocation implements OperationResponseHandler {
     // because both invocationRegistry.deregister() and future.complete() are idempotent.
     private void complete(Object value) {
         future.complete(value);
-        if (context.invocationRegistry.deregister(this) && taskDoneCallback != null) {
+        if (!context.invocationRegistry.deregister(this)) {
+            return;
+        }
+        if (context.invocationLatencyHistograms != null) {
+            context.invocationLatencyHistograms.record(op, System.nanoTime() - startNanos);
+        }
+        if (taskDoneCallback != null) {
             context.asyncExecutor.execute(taskDoneCallback);
         }
     }
@@ -743,6 +765,8 @@ public abstract class Invocation implements OperationResponseHandler {
         final MwCounter retryCount;
         final InternalSerializationService serializationService;
         final Address thisAddress;
+        // null if the latency histograms are disabled
+        final OperationLatencyHistograms invocationLatencyHistograms;
 
         @SuppressWarnings("checkstyle:parameternumber")
         Context(ManagedExecutorService asyncExecutor,
@@ -762,7 +786,8 @@ public abstract class Invocation implements OperationResponseHandler {
                        OperationExecutor operationExecutor,
                        MwCounter retryCount,
                        InternalSerializationService serializationService,
-                       Address thisAddress) {
+                       Address thisAddress,
+                       OperationLatencyHistograms invocationLatencyHistograms) {
             this.asyncExecutor = asyncExecutor;
             this.clusterClock = clusterClock;
             this.clusterService = clusterService;
@@ -781,6 +806,7 @@ public abstract class Invocation implements OperationResponseHandler {
             this.retryCount = retryCount;
             this.serializationService = serializationService;
             this.thisAddress = thisAddress;
+            this.invocationLatencyHistograms = invocationLatencyHistograms;
         }
     }
 }
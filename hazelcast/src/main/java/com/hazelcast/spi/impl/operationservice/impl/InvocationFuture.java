@@ -30,6 +30,7 @@ import static com.hazelcast.spi.impl.operationservice.impl.InvocationConstant.HE
 import static com.hazelcast.spi.impl.operationservice.impl.InvocationConstant.INTERRUPTED;
 import static com.hazelcast.util.Clock.currentTimeMillis;
 import static com.hazelcast.util.ExceptionUtil.fixAsyncStackTrace;
+import static com.hazelcast.util.ExceptionUtil.rethrow;
 import static com.hazelcast.util.StringUtil.timeToString;
 
 /**
@@ -70,12 +71,23 @@ final class InvocationFuture<E> extends AbstractInvocationFuture<E> {
         interrupted = true;
     }
 
+    @Override
+    public Object joinRaw() {
+        try {
+            return throwIfException(resolve(awaitCompletion(), false));
+        } catch (Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
     @Override
     protected E resolveAndThrowIfException(Object unresolved) throws ExecutionException, InterruptedException {
-        Object value = resolve(unresolved);
+        return (E) throwIfException(resolve(unresolved));
+    }
 
+    private static Object throwIfException(Object value) throws ExecutionException, InterruptedException {
         if (value == null || !(value instanceof Throwable)) {
-            return (E) value;
+            return value;
         } else if (value instanceof CancellationException) {
             throw (CancellationException) value;
         } else if (value instanceof ExecutionException) {
@@ -91,6 +103,10 @@ final class InvocationFuture<E> extends AbstractInvocationFuture<E> {
 
     @Override
     protected Object resolve(Object unresolved) {
+        return resolve(unresolved, deserialize);
+    }
+
+    private Object resolve(Object unresolved, boolean deserialize) {
         if (unresolved == null) {
             return null;
         } else if (unresolved == INTERRUPTED) {
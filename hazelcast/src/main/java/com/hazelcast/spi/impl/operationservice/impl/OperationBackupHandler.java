@@ -207,7 +207,7 @@ final class OperationBackupHandler {
             boolean isSyncBackup = syncBackups == 1;
 
             Backup backup = newBackup(backupAwareOp, backupOp, replicaVersions, 1, isSyncBackup);
-            operationService.send(backup, target);
+            operationService.sendBackup(backup, target);
 
             if (isSyncBackup) {
                 return 1;
@@ -234,7 +234,7 @@ final class OperationBackupHandler {
             boolean isSyncBackup = replicaIndex <= syncBackups;
 
             Backup backup = newBackup(backupAwareOp, backupOpData, replicaVersions, replicaIndex, isSyncBackup);
-            operationService.send(backup, target);
+            operationService.sendBackup(backup, target);
 
             if (isSyncBackup) {
                 sendSyncBackups++;
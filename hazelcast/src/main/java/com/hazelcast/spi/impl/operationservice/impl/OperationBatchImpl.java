@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.ConnectionManager;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.PacketBatch;
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.exception.RetryableIOException;
+import com.hazelcast.spi.impl.operationservice.OperationBatch;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.spi.InvocationBuilder.DEFAULT_CALL_TIMEOUT;
+import static com.hazelcast.spi.InvocationBuilder.DEFAULT_DESERIALIZE_RESULT;
+import static com.hazelcast.spi.InvocationBuilder.DEFAULT_REPLICA_INDEX;
+import static com.hazelcast.spi.InvocationBuilder.DEFAULT_TRY_COUNT;
+import static com.hazelcast.spi.InvocationBuilder.DEFAULT_TRY_PAUSE_MILLIS;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * The {@link OperationBatch} implementation. The remote invocations are collected per target member and their operations
+ * are sent as a {@link Packet.Type#BATCH} packet, like the {@link BackupBatcher} does for backups.
+ */
+final class OperationBatchImpl implements OperationBatch {
+
+    private final Map<Address, TargetBatch> batches = new HashMap<Address, TargetBatch>();
+    private final OperationServiceImpl operationService;
+    private final int maxBatchSize;
+
+    OperationBatchImpl(OperationServiceImpl operationService, int maxBatchSize) {
+        this.operationService = operationService;
+        this.maxBatchSize = checkPositive(maxBatchSize, "maxBatchSize should be positive");
+    }
+
+    @Override
+    public <E> InternalCompletableFuture<E> invokeOnPartition(String serviceName, Operation op, int partitionId) {
+        op.setServiceName(serviceName)
+                .setPartitionId(partitionId)
+                .setReplicaIndex(DEFAULT_REPLICA_INDEX);
+
+        Invocation invocation = new PartitionInvocation(operationService.invocationContext, op, DEFAULT_TRY_COUNT,
+                DEFAULT_TRY_PAUSE_MILLIS, DEFAULT_CALL_TIMEOUT, DEFAULT_DESERIALIZE_RESULT);
+        invocation.batch = this;
+        return invocation.invoke();
+    }
+
+    /**
+     * Adds the invocation to the batch of its target. Called by the invocation instead of sending the operation.
+     */
+    void add(Invocation invocation) {
+        Address target = invocation.invTarget;
+        TargetBatch batch = batches.get(target);
+        if (batch == null) {
+            batch = new TargetBatch(target);
+            batches.put(target, batch);
+        }
+
+        batch.add(invocation);
+        if (batch.count == maxBatchSize) {
+            batch.flush();
+        }
+    }
+
+    @Override
+    public void flush() {
+        for (TargetBatch batch : batches.values()) {
+            batch.flush();
+        }
+    }
+
+    /**
+     * Checks if the invocation is still in the attempt it was added to the batch with. An invocation can be retried or
+     * completed before the batch is flushed, e.g. when the target leaves or the call times out; the retry is sent by the
+     * invocation itself, so the operation must not be sent again by the batch. Every attempt registers the invocation with
+     * a new call ID.
+     */
+    private static boolean isCurrentAttempt(Invocation invocation, long callId) {
+        return invocation.isActive() && invocation.op.getCallId() == callId && !invocation.future.isDone();
+    }
+
+    private final class TargetBatch {
+
+        private final Address target;
+        private final Invocation[] invocations = new Invocation[maxBatchSize];
+        private final long[] callIds = new long[maxBatchSize];
+        private final Packet[] packets = new Packet[maxBatchSize];
+        private int count;
+
+        private TargetBatch(Address target) {
+            this.target = target;
+        }
+
+        private void add(Invocation invocation) {
+            invocations[count] = invocation;
+            callIds[count] = invocation.op.getCallId();
+            count++;
+        }
+
+        /**
+         * Serializes the operations which are still in the attempt they were added with and sends them. The operations
+         * are serialized only now, so the packets carry the current call IDs.
+         */
+        private void flush() {
+            if (count == 0) {
+                return;
+            }
+
+            int packetCount = toPackets();
+            count = 0;
+            if (packetCount > 0) {
+                transmit(packetCount);
+            }
+        }
+
+        /**
+         * Serializes the operations of the current attempts and moves their invocations to the front of the batch.
+         *
+         * @return the number of packets
+         */
+        private int toPackets() {
+            int packetCount = 0;
+            for (int k = 0; k < count; k++) {
+                Invocation invocation = invocations[k];
+                long callId = callIds[k];
+                invocations[k] = null;
+                if (!isCurrentAttempt(invocation, callId)) {
+                    continue;
+                }
+
+                try {
+                    packets[packetCount] = operationService.toPacket(invocation.op);
+                } catch (Exception e) {
+                    invocation.notifyError(e);
+                    continue;
+                }
+                invocations[packetCount] = invocation;
+                callIds[packetCount] = callId;
+                packetCount++;
+            }
+            return packetCount;
+        }
+
+        private void transmit(int packetCount) {
+            Packet packet = packetCount == 1 ? packets[0] : PacketBatch.toBatchPacket(packets, packetCount);
+            ConnectionManager connectionManager = operationService.node.getConnectionManager();
+            Connection connection = connectionManager.getOrConnect(target);
+            boolean sent = connectionManager.transmit(packet, connection);
+
+            for (int k = 0; k < packetCount; k++) {
+                // an invocation which has been retried in the meantime already takes care of itself
+                if (!sent && isCurrentAttempt(invocations[k], callIds[k])) {
+                    invocations[k].notifyError(new RetryableIOException("Packet not send to -> " + target));
+                }
+                invocations[k] = null;
+                packets[k] = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.internal.metrics.LongProbeFunction;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.util.counters.LatencyHistogram;
+import com.hazelcast.spi.Operation;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+import static java.lang.Math.min;
+
+/**
+ * Keeps a {@link LatencyHistogram} per operation class and exposes the count, max and the p50/p99/p999 of every histogram
+ * as probes in the {@link MetricsRegistry}, e.g.
+ * {@code operation.latency[com.hazelcast.map.impl.operation.GetOperation].p99Micros}.
+ * <p/>
+ * The histogram of an operation class is created and registered the first time the operation class is recorded.
+ */
+final class OperationLatencyHistograms {
+
+    private static final int MAX_STRIPE_COUNT = 8;
+    private static final double P50 = 50;
+    private static final double P99 = 99;
+    private static final double P999 = 99.9;
+
+    private static final LongProbeFunction<LatencyHistogram> COUNT = new LongProbeFunction<LatencyHistogram>() {
+        @Override
+        public long get(LatencyHistogram histogram) {
+            return histogram.count();
+        }
+    };
+
+    private static final LongProbeFunction<LatencyHistogram> MAX = new LongProbeFunction<LatencyHistogram>() {
+        @Override
+        public long get(LatencyHistogram histogram) {
+            return histogram.maxMicros();
+        }
+    };
+
+    private final ConcurrentMap<Class, LatencyHistogram> histograms = new ConcurrentHashMap<Class, LatencyHistogram>();
+    private final MetricsRegistry metricsRegistry;
+    private final String prefix;
+    private final int stripeCount;
+
+    OperationLatencyHistograms(MetricsRegistry metricsRegistry, String prefix) {
+        this.metricsRegistry = metricsRegistry;
+        this.prefix = prefix;
+        this.stripeCount = min(MAX_STRIPE_COUNT, nextPowerOfTwo(Runtime.getRuntime().availableProcessors()));
+    }
+
+    void record(Operation op, long durationNanos) {
+        Class opClass = op.getClass();
+        LatencyHistogram histogram = histograms.get(opClass);
+        if (histogram == null) {
+            histogram = register(opClass);
+        }
+        histogram.recordNanos(durationNanos);
+    }
+
+    private LatencyHistogram register(Class opClass) {
+        LatencyHistogram histogram = new LatencyHistogram(stripeCount);
+        LatencyHistogram found = histograms.putIfAbsent(opClass, histogram);
+        if (found != null) {
+            return found;
+        }
+
+        String name = prefix + "[" + opClass.getName() + "].";
+        metricsRegistry.register(histogram, name + "count", MANDATORY, COUNT);
+        metricsRegistry.register(histogram, name + "maxMicros", MANDATORY, MAX);
+        metricsRegistry.register(histogram, name + "p50Micros", MANDATORY, new Percentile(P50));
+        metricsRegistry.register(histogram, name + "p99Micros", MANDATORY, new Percentile(P99));
+        metricsRegistry.register(histogram, name + "p999Micros", MANDATORY, new Percentile(P999));
+        return histogram;
+    }
+
+    private static final class Percentile implements LongProbeFunction<LatencyHistogram> {
+        private final double percentile;
+
+        Percentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        @Override
+        public long get(LatencyHistogram histogram) {
+            return histogram.percentileMicros(percentile);
+        }
+    }
+}
@@ -154,6 +154,21 @@ class OperationRunnerImpl extends OperationRunner implements MetricsProvider {
 
     @Override
     public void run(Operation op) {
+        OperationLatencyHistograms latencyHistograms = operationService.operationLatencyHistograms;
+        if (latencyHistograms == null) {
+            runOperation(op);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            runOperation(op);
+        } finally {
+            latencyHistograms.record(op, System.nanoTime() - startNanos);
+        }
+    }
+
+    private void runOperation(Operation op) {
         if (count != null) {
             count.inc();
         }
@@ -48,6 +48,7 @@ import com.hazelcast.spi.impl.operationexecutor.OperationExecutor;
 import com.hazelcast.spi.impl.operationexecutor.impl.OperationExecutorImpl;
 import com.hazelcast.spi.impl.operationexecutor.slowoperationdetector.SlowOperationDetector;
 import com.hazelcast.spi.impl.operationservice.InternalOperationService;
+import com.hazelcast.spi.impl.operationservice.OperationBatch;
 import com.hazelcast.util.EmptyStatement;
 import com.hazelcast.util.executor.ExecutorType;
 import com.hazelcast.util.executor.ManagedExecutorService;
@@ -70,7 +71,9 @@ import static com.hazelcast.spi.InvocationBuilder.DEFAULT_REPLICA_INDEX;
 import static com.hazelcast.spi.InvocationBuilder.DEFAULT_TRY_COUNT;
 import static com.hazelcast.spi.InvocationBuilder.DEFAULT_TRY_PAUSE_MILLIS;
 import static com.hazelcast.spi.impl.operationutil.Operations.isJoinOperation;
+import static com.hazelcast.spi.properties.GroupProperty.BACKUP_BATCH_ENABLED;
 import static com.hazelcast.spi.properties.GroupProperty.OPERATION_CALL_TIMEOUT_MILLIS;
+import static com.hazelcast.spi.properties.GroupProperty.OPERATION_LATENCY_HISTOGRAMS_ENABLED;
 import static com.hazelcast.util.CollectionUtil.toIntegerList;
 import static com.hazelcast.util.Preconditions.checkNotNegative;
 import static com.hazelcast.util.Preconditions.checkNotNull;
@@ -123,8 +126,13 @@ public final class OperationServiceImpl implements InternalOperationService, Met
     final Node node;
     final ILogger logger;
     final OperationBackupHandler backupHandler;
+    // null if backup batching is disabled
+    final BackupBatcher backupBatcher;
     final BackpressureRegulator backpressureRegulator;
     final OutboundResponseHandler outboundResponseHandler;
+    // null if the latency histograms are disabled
+    final OperationLatencyHistograms operationLatencyHistograms;
+    final OperationLatencyHistograms invocationLatencyHistograms;
     volatile Invocation.Context invocationContext;
 
     private final InvocationMonitor invocationMonitor;
@@ -160,8 +168,16 @@ public final class OperationServiceImpl implements InternalOperationService, Met
                 nodeEngine, thisAddress, node.getHazelcastThreadGroup(), node.getProperties(), invocationRegistry,
                 node.getLogger(InvocationMonitor.class), serializationService, nodeEngine.getServiceManager());
 
+        this.backupBatcher = node.getProperties().getBoolean(BACKUP_BATCH_ENABLED)
+                ? new BackupBatcher(node, node.getHazelcastThreadGroup(), node.getProperties(),
+                node.getLogger(BackupBatcher.class))
+                : null;
+
         this.backupHandler = new OperationBackupHandler(this);
 
+        this.operationLatencyHistograms = newLatencyHistograms("operation.latency");
+        this.invocationLatencyHistograms = newLatencyHistograms("operation.invocations.latency");
+
         this.inboundResponseHandler = new InboundResponseHandler(
                 node.getLogger(InboundResponseHandler.class), node.getSerializationService(), invocationRegistry, nodeEngine);
         this.asyncInboundResponseHandler = new AsyncInboundResponseHandler(
@@ -177,6 +193,16 @@ public final class OperationServiceImpl implements InternalOperationService, Met
                 node.getProperties(), node.getHazelcastThreadGroup());
     }
 
+    /**
+     * Returns the latency histograms registered under the given prefix, or {@code null} if they are disabled.
+     */
+    private OperationLatencyHistograms newLatencyHistograms(String prefix) {
+        if (!node.getProperties().getBoolean(OPERATION_LATENCY_HISTOGRAMS_ENABLED)) {
+            return null;
+        }
+        return new OperationLatencyHistograms(nodeEngine.getMetricsRegistry(), prefix);
+    }
+
     public OutboundResponseHandler getOutboundResponseHandler() {
         return outboundResponseHandler;
     }
@@ -307,6 +333,11 @@ public final class OperationServiceImpl implements InternalOperationService, Met
                 DEFAULT_CALL_TIMEOUT, DEFAULT_DESERIALIZE_RESULT).invoke();
     }
 
+    @Override
+    public OperationBatch newOperationBatch(int maxBatchSize) {
+        return new OperationBatchImpl(this, maxBatchSize);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <E> InternalCompletableFuture<E> invokeOnTarget(String serviceName, Operation op, Address target) {
@@ -404,6 +435,37 @@ public final class OperationServiceImpl implements InternalOperationService, Met
             throw new IllegalArgumentException("Target is this node! -> " + target + ", op: " + op);
         }
 
+        Packet packet = toPacket(op);
+
+        ConnectionManager connectionManager = node.getConnectionManager();
+        Connection connection = connectionManager.getOrConnect(target);
+        return connectionManager.transmit(packet, connection);
+    }
+
+    /**
+     * Sends a backup operation to the target. If backup batching is enabled, the backup is handed over to the
+     * {@link BackupBatcher}, else it is sent immediately.
+     */
+    void sendBackup(Operation backup, Address target) {
+        if (backupBatcher == null) {
+            send(backup, target);
+            return;
+        }
+
+        checkNotNull(target, "Target is required!");
+        if (thisAddress.equals(target)) {
+            throw new IllegalArgumentException("Target is this node! -> " + target + ", op: " + backup);
+        }
+
+        Packet packet = toPacket(backup);
+        if (!backupBatcher.send(packet, target)) {
+            // the target isn't a member; the connection manager and invocation monitor deal with it like any other send
+            ConnectionManager connectionManager = node.getConnectionManager();
+            connectionManager.transmit(packet, connectionManager.getOrConnect(target));
+        }
+    }
+
+    Packet toPacket(Operation op) {
         byte[] bytes = serializationService.toBytes(op);
         int partitionId = op.getPartitionId();
         Packet packet = new Packet(bytes, partitionId).setPacketType(Packet.Type.OPERATION);
@@ -411,14 +473,14 @@ public final class OperationServiceImpl implements InternalOperationService, Met
         if (op.isUrgent()) {
             packet.raiseFlags(FLAG_URGENT);
         }
-
-        ConnectionManager connectionManager = node.getConnectionManager();
-        Connection connection = connectionManager.getOrConnect(target);
-        return connectionManager.transmit(packet, connection);
+        return packet;
     }
 
     public void onMemberLeft(MemberImpl member) {
         invocationMonitor.onMemberLeft(member);
+        if (backupBatcher != null) {
+            backupBatcher.onMemberLeft(member.getAddress());
+        }
     }
 
     public void reset() {
@@ -430,6 +492,9 @@ public final class OperationServiceImpl implements InternalOperationService, Met
         registry.scanAndRegister(this, "operation");
         registry.collectMetrics(invocationRegistry, invocationMonitor, inboundResponseHandler, asyncInboundResponseHandler,
                 operationExecutor);
+        if (backupBatcher != null) {
+            registry.collectMetrics(backupBatcher);
+        }
     }
 
     public void start() {
@@ -440,6 +505,9 @@ public final class OperationServiceImpl implements InternalOperationService, Met
         invocationMonitor.start();
         operationExecutor.start();
         asyncInboundResponseHandler.start();
+        if (backupBatcher != null) {
+            backupBatcher.start();
+        }
         slowOperationDetector.start();
     }
 
@@ -475,7 +543,8 @@ public final class OperationServiceImpl implements InternalOperationService, Met
                 operationExecutor,
                 retryCount,
                 serializationService,
-                nodeEngine.getThisAddress());
+                nodeEngine.getThisAddress(),
+                invocationLatencyHistograms);
     }
 
     /**
@@ -489,6 +558,9 @@ public final class OperationServiceImpl implements InternalOperationService, Met
         invocationRegistry.shutdown();
         invocationMonitor.shutdown();
         asyncInboundResponseHandler.shutdown();
+        if (backupBatcher != null) {
+            backupBatcher.shutdown();
+        }
 
         try {
             invocationMonitor.awaitTermination(TERMINATION_TIMEOUT_MILLIS);
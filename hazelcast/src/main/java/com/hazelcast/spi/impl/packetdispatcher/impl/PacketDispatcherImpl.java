@@ -18,6 +18,7 @@ package com.hazelcast.spi.impl.packetdispatcher.impl;
 
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.PacketBatch;
 import com.hazelcast.spi.impl.PacketHandler;
 import com.hazelcast.spi.impl.packetdispatcher.PacketDispatcher;
 
@@ -76,6 +77,12 @@ public final class PacketDispatcherImpl implements PacketDispatcher {
                 case JET:
                     jetService.handle(packet);
                     break;
+                case BATCH:
+                    // the batched packets are dispatched on the calling thread, so their order is preserved
+                    for (Packet batched : PacketBatch.split(packet)) {
+                        dispatch(batched);
+                    }
+                    break;
                 default:
                     logger.severe("Header flags [" + Integer.toBinaryString(packet.getFlags())
                             + "] specify an undefined packet type " + packet.getPacketType().name());
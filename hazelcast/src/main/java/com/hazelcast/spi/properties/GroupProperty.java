@@ -26,6 +26,7 @@ import com.hazelcast.map.impl.query.QueryResultSizeLimiter;
 import com.hazelcast.query.TruePredicate;
 import com.hazelcast.query.impl.predicates.QueryOptimizerFactory;
 
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -176,6 +177,14 @@ public final class GroupProperty {
     public static final HazelcastProperty MAP_LOAD_CHUNK_SIZE
             = new HazelcastProperty("hazelcast.map.load.chunk.size", 1000);
 
+    /**
+     * The number of threads per member loading the values of the keys distributed by the initial load of the maps
+     * with a {@link com.hazelcast.core.MapLoader}. An executor config with the name
+     * {@value com.hazelcast.spi.ExecutionService#MAP_LOADER_EXECUTOR}, or matching it by a wildcard, takes precedence.
+     */
+    public static final HazelcastProperty MAP_LOAD_PARALLELISM
+            = new HazelcastProperty("hazelcast.map.load.parallelism", 16);
+
     public static final HazelcastProperty MERGE_FIRST_RUN_DELAY_SECONDS
             = new HazelcastProperty("hazelcast.merge.first.run.delay.seconds", 300, SECONDS);
     public static final HazelcastProperty MERGE_NEXT_RUN_DELAY_SECONDS
@@ -364,12 +373,47 @@ public final class GroupProperty {
     public static final HazelcastProperty DISABLE_STALE_READ_ON_PARTITION_MIGRATION
             = new HazelcastProperty("hazelcast.partition.migration.stale.read.disabled", false);
 
+    /**
+     * Enables streaming of the partition data in multiple chunks during a migration.
+     *
+     * When enabled, services implementing {@link com.hazelcast.internal.partition.ChunkedMigrationAwareService} send their
+     * data in chunks of at most {@link #PARTITION_MIGRATION_CHUNK_MAX_SIZE} megabytes; the next chunk is only prepared
+     * after the destination has applied the previous one. This bounds the memory needed to migrate a large partition.
+     */
+    public static final HazelcastProperty PARTITION_MIGRATION_CHUNKS_ENABLED
+            = new HazelcastProperty("hazelcast.partition.migration.chunks.enabled", false);
+
+    /**
+     * The maximum size of a single migration chunk in megabytes. See {@link #PARTITION_MIGRATION_CHUNKS_ENABLED}.
+     */
+    public static final HazelcastProperty PARTITION_MIGRATION_CHUNK_MAX_SIZE
+            = new HazelcastProperty("hazelcast.partition.migration.chunk.max.size.mb", 16);
+
     public static final HazelcastProperty PARTITION_TABLE_SEND_INTERVAL
             = new HazelcastProperty("hazelcast.partition.table.send.interval", 15, SECONDS);
     public static final HazelcastProperty PARTITION_BACKUP_SYNC_INTERVAL
             = new HazelcastProperty("hazelcast.partition.backup.sync.interval", 30, SECONDS);
     public static final HazelcastProperty PARTITION_MAX_PARALLEL_REPLICATIONS
             = new HazelcastProperty("hazelcast.partition.max.parallel.replications", 5);
+
+    /**
+     * Enables incremental replica synchronization.
+     *
+     * When a backup replica falls behind the partition owner, it normally receives the complete partition data again.
+     * When enabled, services implementing {@link com.hazelcast.internal.partition.IncrementalReplicationAwareService}
+     * send only the entries changed since the last backup the replica applied in order, if the owner still knows
+     * them. Otherwise the complete partition data is sent.
+     */
+    public static final HazelcastProperty PARTITION_REPLICA_SYNC_INCREMENTAL_ENABLED
+            = new HazelcastProperty("hazelcast.partition.replica.sync.incremental.enabled", false);
+
+    /**
+     * The maximum number of removed keys a map partition remembers for incremental replica synchronization. When
+     * more keys are removed, the replicas which are behind the oldest remembered removal are synchronized completely.
+     * See {@link #PARTITION_REPLICA_SYNC_INCREMENTAL_ENABLED}.
+     */
+    public static final HazelcastProperty MAP_REPLICA_SYNC_MAX_REMOVED_KEYS
+            = new HazelcastProperty("hazelcast.map.replica.sync.max.removed.keys", 1000);
     public static final HazelcastProperty PARTITIONING_STRATEGY_CLASS
             = new HazelcastProperty("hazelcast.partitioning.strategy.class", "");
 
@@ -425,6 +469,17 @@ public final class GroupProperty {
     public static final HazelcastProperty SLOW_INVOCATION_DETECTOR_THRESHOLD_MILLIS
             = new HazelcastProperty("hazelcast.slow.invocation.detector.threshold.millis", -1, MILLISECONDS);
 
+    /**
+     * Enables the latency histograms of the operations.
+     * <p/>
+     * When enabled, the latency of every operation is recorded per operation class, both the time it took to run the
+     * operation on the member executing it and the time it took the caller to get the response. The count, max, p50, p99
+     * and p999 of each histogram are exposed as {@code operation.latency[<class>]} and
+     * {@code operation.invocations.latency[<class>]} metrics, which are rendered by the Diagnostics MetricsPlugin.
+     */
+    public static final HazelcastProperty OPERATION_LATENCY_HISTOGRAMS_ENABLED
+            = new HazelcastProperty("hazelcast.operation.latency.histograms.enabled", false);
+
     public static final HazelcastProperty LOCK_MAX_LEASE_TIME_SECONDS
             = new HazelcastProperty("hazelcast.lock.max.lease.time.seconds", Long.MAX_VALUE, SECONDS);
 
@@ -544,6 +599,44 @@ public final class GroupProperty {
     public static final HazelcastProperty BACKPRESSURE_MAX_CONCURRENT_INVOCATIONS_PER_PARTITION
             = new HazelcastProperty("hazelcast.backpressure.max.concurrent.invocations.per.partition", 100);
 
+    /**
+     * Enables the batching of backups.
+     * <p/>
+     * When enabled, the backups sent to the same member are coalesced into a single batch packet instead of sending a packet
+     * per backup. This reduces the number of packets that need to be written, read and dispatched under a high write load.
+     * <p/>
+     * All members of the cluster need to support batch packets, so only enable this when all members run a version with
+     * this feature.
+     */
+    public static final HazelcastProperty BACKUP_BATCH_ENABLED
+            = new HazelcastProperty("hazelcast.backup.batch.enabled", false);
+
+    /**
+     * The maximum number of backups in a single batch. When this number of backups is pending for a member, the batch
+     * is sent immediately instead of waiting for the flush delay to expire.
+     */
+    public static final HazelcastProperty BACKUP_BATCH_MAX_SIZE
+            = new HazelcastProperty("hazelcast.backup.batch.max.size", 64);
+
+    /**
+     * The maximum delay in microseconds a backup is held back before the pending backups for a member are sent.
+     * <p/>
+     * A higher value leads to bigger batches, but also increases the latency of operations waiting for a sync backup.
+     */
+    public static final HazelcastProperty BACKUP_BATCH_FLUSH_DELAY_MICROS
+            = new HazelcastProperty("hazelcast.backup.batch.flush.delay.micros", 100, MICROSECONDS);
+
+    /**
+     * The time in microseconds a publisher of a reliable topic waits for the messages of concurrent publishers before
+     * it sends the pending messages as a single batch to the ringbuffer.
+     * <p/>
+     * A higher value leads to bigger batches when there are many concurrent publishers, but also increases the latency
+     * of every publish. The default 0 sends a batch immediately; the messages published while a batch is in flight are
+     * still sent together.
+     */
+    public static final HazelcastProperty RELIABLE_TOPIC_PUBLISH_LINGER_MICROS
+            = new HazelcastProperty("hazelcast.reliabletopic.publish.linger.micros", 0, MICROSECONDS);
+
     /**
      * Run Query Evaluations for multiple partitions in parallel.
      * <p/>
@@ -619,6 +712,20 @@ public final class GroupProperty {
     public static final HazelcastProperty QUERY_OPTIMIZER_TYPE
             = new HazelcastProperty("hazelcast.query.optimizer.type", QueryOptimizerFactory.Type.RULES.toString());
 
+    /**
+     * Use partition-local indexes for maps instead of a single index shared by all partitions of a member.
+     * <p/>
+     * With partition-local indexes each partition owns its own index segment which is updated and queried only by the
+     * partition thread, so no concurrent structures or locks are needed on the write path. Queries on maps with indexes
+     * are then executed on partition threads and the per-partition results are merged.
+     * <p/>
+     * Enable this when write throughput on indexed maps is limited by index contention.
+     * <p/>
+     * The default is false.
+     */
+    public static final HazelcastProperty QUERY_PARTITION_LOCAL_INDEXES
+            = new HazelcastProperty("hazelcast.query.partition.local.indexes", false);
+
 
     /**
      * Forces the JCache provider, which can have values client or server, to force the provider type.
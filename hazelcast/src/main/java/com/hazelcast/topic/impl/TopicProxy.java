@@ -21,6 +21,10 @@ import com.hazelcast.core.MessageListener;
 import com.hazelcast.monitor.LocalTopicStats;
 import com.hazelcast.spi.NodeEngine;
 
+import java.util.Collection;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
 public class TopicProxy<E> extends TopicProxySupport implements ITopic<E> {
 
     public TopicProxy(String name, NodeEngine nodeEngine, TopicService service) {
@@ -32,6 +36,15 @@ public class TopicProxy<E> extends TopicProxySupport implements ITopic<E> {
         publishInternal(message);
     }
 
+    @Override
+    public void publishAll(Collection<? extends E> messages) {
+        checkNotNull(messages, "messages can't be null");
+
+        for (E message : messages) {
+            publish(message);
+        }
+    }
+
     @Override
     public String addMessageListener(MessageListener<E> listener) {
         if (listener == null) {
@@ -31,6 +31,10 @@ import com.hazelcast.spi.exception.DistributedObjectDestroyedException;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.topic.ReliableMessageListener;
 
+import static com.hazelcast.ringbuffer.impl.RingbufferProxy.MAX_BATCH_SIZE;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
 
 /**
  * An {@link com.hazelcast.core.ExecutionCallback} that will try to read an item from the ringbuffer or blocks
@@ -38,9 +42,16 @@ import com.hazelcast.topic.ReliableMessageListener;
  * a self-perpetuating stream of async calls.
  * <p/>
  * The ReliableTopicRunner keeps track of the sequence.
+ * <p/>
+ * The read batch size adapts to the backlog of the listener: it starts with the configured
+ * {@link com.hazelcast.config.ReliableTopicConfig#getReadBatchSize()}, doubles while the reads return full batches
+ * (up to the maximum batch size of the ringbuffer) and halves again, down to the configured size, when the reads
+ * return less than a quarter of the batch size.
  */
 class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSet<ReliableTopicMessage>> {
 
+    private static final int SHRINK_THRESHOLD_DIVISOR = 4;
+
     final ReliableMessageListener<E> listener;
     private final Ringbuffer<ReliableTopicMessage> ringbuffer;
     private final String topicName;
@@ -50,9 +61,11 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
     private final String id;
     private final ReliableTopicProxy<E> proxy;
 
+    private final int minBatchSize;
+
     private long sequence;
+    private int batchSize;
     private volatile boolean cancelled;
-    private final int batchSze;
 
     public ReliableMessageListenerRunner(String id,
                                          ReliableMessageListener<E> listener,
@@ -66,7 +79,8 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
         this.serializationService = nodeEngine.getSerializationService();
         this.clusterService = nodeEngine.getClusterService();
         this.logger = nodeEngine.getLogger(ReliableMessageListenerRunner.class);
-        this.batchSze = proxy.topicConfig.getReadBatchSize();
+        this.minBatchSize = proxy.topicConfig.getReadBatchSize();
+        this.batchSize = minBatchSize;
 
         // we are going to listen to next publication. We don't care about what already has been published.
         long initialSequence = listener.retrieveInitialSequence();
@@ -81,7 +95,7 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
             return;
         }
 
-        ICompletableFuture<ReadResultSet<ReliableTopicMessage>> f = ringbuffer.readManyAsync(sequence, 1, batchSze, null);
+        ICompletableFuture<ReadResultSet<ReliableTopicMessage>> f = ringbuffer.readManyAsync(sequence, 1, batchSize, null);
         f.andThen(this, proxy.executor);
     }
 
@@ -110,9 +124,23 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
             sequence++;
         }
 
+        adjustBatchSize(result.readCount());
         next();
     }
 
+    private void adjustBatchSize(int readCount) {
+        if (readCount >= batchSize) {
+            // the reader is behind; read more in one go to catch up
+            batchSize = min(batchSize * 2, MAX_BATCH_SIZE);
+        } else if (readCount < batchSize / SHRINK_THRESHOLD_DIVISOR) {
+            batchSize = max(batchSize / 2, minBatchSize);
+        }
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
     private void process(ReliableTopicMessage message) throws Throwable {
         proxy.localTopicStats.incrementReceives();
         listener.onMessage(toMessage(message));
@@ -27,24 +27,25 @@ import com.hazelcast.monitor.impl.LocalTopicStatsImpl;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.ClassLoaderUtil;
 import com.hazelcast.nio.serialization.Data;
-import com.hazelcast.ringbuffer.OverflowPolicy;
 import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.spi.AbstractDistributedObject;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.topic.ReliableMessageListener;
-import com.hazelcast.topic.TopicOverloadException;
 import com.hazelcast.topic.TopicOverloadPolicy;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.UuidUtil;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 
 import static com.hazelcast.ringbuffer.impl.RingbufferService.TOPIC_RB_PREFIX;
 import static com.hazelcast.spi.ExecutionService.ASYNC_EXECUTOR;
+import static com.hazelcast.spi.properties.GroupProperty.RELIABLE_TOPIC_PUBLISH_LINGER_MICROS;
 import static com.hazelcast.util.Preconditions.checkNotNull;
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 
 /**
@@ -68,6 +69,7 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
     private final NodeEngine nodeEngine;
     private final Address thisAddress;
     private final String name;
+    private final ReliableTopicPublisher publisher;
 
     public ReliableTopicProxy(String name, NodeEngine nodeEngine, ReliableTopicService service,
                               ReliableTopicConfig topicConfig) {
@@ -80,6 +82,8 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
         this.executor = initExecutor(nodeEngine, topicConfig);
         this.thisAddress = nodeEngine.getThisAddress();
         this.overloadPolicy = topicConfig.getTopicOverloadPolicy();
+        this.publisher = new ReliableTopicPublisher(ringbuffer, overloadPolicy, name,
+                nodeEngine.getProperties().getNanos(RELIABLE_TOPIC_PUBLISH_LINGER_MICROS));
 
         for (ListenerConfig listenerConfig : topicConfig.getMessageListenerConfigs()) {
             addMessageListener(listenerConfig);
@@ -148,22 +152,7 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
         try {
             Data data = nodeEngine.toData(payload);
             ReliableTopicMessage message = new ReliableTopicMessage(data, thisAddress);
-            switch (overloadPolicy) {
-                case ERROR:
-                    addOrFail(message);
-                    break;
-                case DISCARD_OLDEST:
-                    addOrOverwrite(message);
-                    break;
-                case DISCARD_NEWEST:
-                    ringbuffer.addAsync(message, OverflowPolicy.FAIL).get();
-                    break;
-                case BLOCK:
-                    addWithBackoff(message);
-                    break;
-                default:
-                    throw new IllegalArgumentException("Unknown overloadPolicy:" + overloadPolicy);
-            }
+            publisher.publish(message);
 
             localTopicStats.incrementPublishes();
         } catch (RuntimeException e) {
@@ -173,30 +162,24 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
         }
     }
 
-    private Long addOrOverwrite(ReliableTopicMessage message) throws Exception {
-        return ringbuffer.addAsync(message, OverflowPolicy.OVERWRITE).get();
-    }
-
-    private void addOrFail(ReliableTopicMessage message) throws Exception {
-        long sequenceId = ringbuffer.addAsync(message, OverflowPolicy.FAIL).get();
-        if (sequenceId == -1) {
-            throw new TopicOverloadException("Failed to publish message: " + message + " on topic:" + getName());
-        }
-    }
+    @Override
+    public void publishAll(Collection<? extends E> payloads) {
+        checkNotNull(payloads, "messages can't be null");
 
-    private void addWithBackoff(ReliableTopicMessage message) throws Exception {
-        long timeoutMs = INITIAL_BACKOFF_MS;
-        for (; ; ) {
-            long result = ringbuffer.addAsync(message, OverflowPolicy.FAIL).get();
-            if (result != -1) {
-                break;
+        try {
+            List<ReliableTopicMessage> messages = new ArrayList<ReliableTopicMessage>(payloads.size());
+            for (E payload : payloads) {
+                messages.add(new ReliableTopicMessage(nodeEngine.toData(payload), thisAddress));
             }
+            publisher.publishAll(messages);
 
-            MILLISECONDS.sleep(timeoutMs);
-            timeoutMs *= 2;
-            if (timeoutMs > MAX_BACKOFF) {
-                timeoutMs = MAX_BACKOFF;
+            for (int k = 0; k < messages.size(); k++) {
+                localTopicStats.incrementPublishes();
             }
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new HazelcastException("Failed to publish " + payloads.size() + " messages to topic:" + getName(), e);
         }
     }
 
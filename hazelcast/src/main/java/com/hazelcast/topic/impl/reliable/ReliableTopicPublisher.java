@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.ringbuffer.OverflowPolicy;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.topic.TopicOverloadException;
+import com.hazelcast.topic.TopicOverloadPolicy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.ringbuffer.impl.RingbufferProxy.MAX_BATCH_SIZE;
+import static com.hazelcast.topic.impl.reliable.ReliableTopicProxy.INITIAL_BACKOFF_MS;
+import static com.hazelcast.topic.impl.reliable.ReliableTopicProxy.MAX_BACKOFF;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Publishes the messages of a reliable topic to its ringbuffer, coalescing the messages of concurrent publishers
+ * into a single {@link Ringbuffer#addAllAsync} call.
+ *
+ * A publisher which finds no batch in flight sends all pending messages, up to the maximum batch size of the
+ * ringbuffer, and waits for the result. The messages published in the meantime are collected and sent by the next
+ * publisher which gets the turn. So under load the number of invocations drops to one per round trip. If a linger
+ * time is configured, the sending publisher first waits for that time, so the messages of concurrent publishers end
+ * up in the same batch even when there is no batch in flight. A single thread publishing many messages should use
+ * {@link #publishAll(List)}, since {@link #publish(ReliableTopicMessage)} waits for every message.
+ *
+ * The order of the messages of a single publishing thread is preserved. The {@link TopicOverloadPolicy} is applied
+ * per message: if the ringbuffer has no capacity for the complete batch, the leading messages which fit are added
+ * and only the remaining messages are rejected (ERROR), dropped (DISCARD_NEWEST) or retried (BLOCK).
+ *
+ * Only a failure of the ringbuffer fails the messages of other publishers in the batch. An interrupt of the sending
+ * publisher doesn't abort a pending add, so the outcome of every message is known. If the sending publisher is
+ * interrupted while it backs off (BLOCK), only its own remaining messages fail; the remaining messages of the other
+ * publishers are handed back and sent by the next publisher which gets the turn.
+ */
+public class ReliableTopicPublisher {
+
+    private final Ringbuffer<ReliableTopicMessage> ringbuffer;
+    private final TopicOverloadPolicy overloadPolicy;
+    private final String topicName;
+    private final long lingerNanos;
+    private final Queue<PendingMessage> pending = new ConcurrentLinkedQueue<PendingMessage>();
+    // the messages handed back by an interrupted publisher; only accessed by the publisher which is sending
+    private final Queue<PendingMessage> handedBack = new ArrayDeque<PendingMessage>();
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private final Object mutex = new Object();
+
+    /**
+     * @param ringbuffer     the ringbuffer of the topic
+     * @param overloadPolicy the overload policy of the topic
+     * @param topicName      the name of the topic
+     * @param lingerNanos    the time to wait for messages of concurrent publishers before a batch is sent,
+     *                       0 to send a batch immediately
+     */
+    public ReliableTopicPublisher(Ringbuffer<ReliableTopicMessage> ringbuffer, TopicOverloadPolicy overloadPolicy,
+                                  String topicName, long lingerNanos) {
+        this.ringbuffer = ringbuffer;
+        this.overloadPolicy = overloadPolicy;
+        this.topicName = topicName;
+        this.lingerNanos = lingerNanos;
+    }
+
+    /**
+     * Publishes the message and waits until it is added to the ringbuffer.
+     *
+     * @throws TopicOverloadException if the ringbuffer has no capacity and the overload policy is ERROR
+     * @throws Exception              if adding the message failed
+     */
+    public void publish(ReliableTopicMessage message) throws Exception {
+        publishAll(Collections.singletonList(message));
+    }
+
+    /**
+     * Publishes the messages in the given order and waits until all of them are added to the ringbuffer. The messages
+     * are sent in batches of up to the maximum batch size of the ringbuffer.
+     *
+     * If a message fails, the messages after it may still be published. The failure of the first failed message is
+     * thrown.
+     *
+     * @throws TopicOverloadException if the ringbuffer has no capacity for a message and the overload policy is ERROR
+     * @throws Exception              if adding a message failed
+     */
+    public void publishAll(List<ReliableTopicMessage> messages) throws Exception {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        List<PendingMessage> pendingMessages = new ArrayList<PendingMessage>(messages.size());
+        for (ReliableTopicMessage message : messages) {
+            PendingMessage pendingMessage = new PendingMessage(message);
+            pendingMessages.add(pendingMessage);
+            pending.offer(pendingMessage);
+        }
+
+        // the messages are sent in the order they are queued, so all messages are done when the last one is
+        awaitDone(pendingMessages.get(pendingMessages.size() - 1));
+
+        for (PendingMessage pendingMessage : pendingMessages) {
+            if (pendingMessage.failure != null) {
+                throw pendingMessage.failure;
+            }
+        }
+    }
+
+    private void awaitDone(PendingMessage pendingMessage) {
+        boolean interrupted = false;
+        while (!pendingMessage.done) {
+            if (sending.compareAndSet(false, true)) {
+                try {
+                    sendBatch();
+                } finally {
+                    sending.set(false);
+                    synchronized (mutex) {
+                        mutex.notifyAll();
+                    }
+                }
+            } else {
+                synchronized (mutex) {
+                    // the message is sent by another publisher; the mutex is notified when its batch completed
+                    while (!pendingMessage.done && sending.get()) {
+                        try {
+                            mutex.wait();
+                        } catch (InterruptedException e) {
+                            interrupted = true;
+                        }
+                    }
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sendBatch() {
+        if (lingerNanos > 0) {
+            LockSupport.parkNanos(lingerNanos);
+        }
+
+        List<PendingMessage> batch = pollBatch();
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<ReliableTopicMessage> messages = new ArrayList<ReliableTopicMessage>(batch.size());
+        for (PendingMessage pendingMessage : batch) {
+            messages.add(pendingMessage.message);
+        }
+
+        int added = 0;
+        Exception failure = null;
+        try {
+            added = add(messages);
+        } catch (Exception e) {
+            failure = e;
+        }
+        complete(batch, added, failure);
+    }
+
+    /**
+     * Polls the next batch; the messages handed back by an interrupted publisher were queued first, so they are sent
+     * first.
+     */
+    private List<PendingMessage> pollBatch() {
+        List<PendingMessage> batch = new ArrayList<PendingMessage>();
+        while (batch.size() < MAX_BATCH_SIZE && !handedBack.isEmpty()) {
+            batch.add(handedBack.poll());
+        }
+        while (batch.size() < MAX_BATCH_SIZE) {
+            PendingMessage pendingMessage = pending.poll();
+            if (pendingMessage == null) {
+                break;
+            }
+            batch.add(pendingMessage);
+        }
+        return batch;
+    }
+
+    /**
+     * Completes the messages of a sent batch.
+     *
+     * @param added   the number of leading messages which have been added
+     * @param failure the failure of the add, or {@code null} if it succeeded
+     */
+    private void complete(List<PendingMessage> batch, int added, Exception failure) {
+        Thread sender = Thread.currentThread();
+        for (int k = 0; k < batch.size(); k++) {
+            PendingMessage sent = batch.get(k);
+            if (failure != null) {
+                sent.failure = failure;
+            } else if (k >= added) {
+                if (overloadPolicy == TopicOverloadPolicy.BLOCK && sent.publisher != sender) {
+                    // the sender was interrupted while backing off; the message is sent by the next publisher
+                    handedBack.offer(sent);
+                    continue;
+                }
+                sent.failure = notAddedFailure(sent);
+            }
+            sent.done = true;
+        }
+    }
+
+    private Exception notAddedFailure(PendingMessage sent) {
+        if (overloadPolicy == TopicOverloadPolicy.BLOCK) {
+            return new InterruptedException("Interrupted while publishing message: " + sent.message
+                    + " on topic:" + topicName);
+        }
+        if (overloadPolicy == TopicOverloadPolicy.ERROR) {
+            return new TopicOverloadException("Failed to publish message: " + sent.message + " on topic:" + topicName);
+        }
+        return null;
+    }
+
+    /**
+     * Adds the messages according to the overload policy.
+     *
+     * @return the number of leading messages which have been added; the other messages didn't fit in the ringbuffer
+     */
+    private int add(List<ReliableTopicMessage> messages) throws Exception {
+        switch (overloadPolicy) {
+            case ERROR:
+            case DISCARD_NEWEST:
+                return addAsManyAsFit(messages);
+            case DISCARD_OLDEST:
+                getUninterruptibly(ringbuffer.addAllAsync(messages, OverflowPolicy.OVERWRITE));
+                return messages.size();
+            case BLOCK:
+                return addWithBackoff(messages);
+            default:
+                throw new IllegalArgumentException("Unknown overloadPolicy:" + overloadPolicy);
+        }
+    }
+
+    /**
+     * Adds the leading messages which fit in the remaining capacity of the ringbuffer. So a message only fails to be
+     * added when there is no capacity left for it, like when it is added on its own.
+     *
+     * @return the number of messages added
+     */
+    private int addAsManyAsFit(List<ReliableTopicMessage> messages) throws Exception {
+        int added = 0;
+        while (added < messages.size()) {
+            List<ReliableTopicMessage> remaining = messages.subList(added, messages.size());
+            if (getUninterruptibly(ringbuffer.addAllAsync(remaining, OverflowPolicy.FAIL)) != -1) {
+                return messages.size();
+            }
+
+            long capacity = ringbuffer.remainingCapacity();
+            if (capacity == 0) {
+                break;
+            }
+            // the capacity can be taken by other publishers in the meantime; then the next round tries again
+            int count = (int) Math.min(capacity, remaining.size());
+            if (getUninterruptibly(ringbuffer.addAllAsync(remaining.subList(0, count), OverflowPolicy.FAIL)) != -1) {
+                added += count;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Adds the messages, backing off while the ringbuffer is full.
+     *
+     * @return the number of leading messages which have been added; less than all messages only if the sending thread
+     * is interrupted while backing off
+     */
+    private int addWithBackoff(List<ReliableTopicMessage> messages) throws Exception {
+        long timeoutMs = INITIAL_BACKOFF_MS;
+        int added = 0;
+        for (; ; ) {
+            added += addAsManyAsFit(messages.subList(added, messages.size()));
+            if (added == messages.size()) {
+                return added;
+            }
+
+            try {
+                MILLISECONDS.sleep(timeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return added;
+            }
+            timeoutMs *= 2;
+            if (timeoutMs > MAX_BACKOFF) {
+                timeoutMs = MAX_BACKOFF;
+            }
+        }
+    }
+
+    /**
+     * Waits for the result of an add. An interrupt doesn't abort the wait, since the messages of other publishers may
+     * be part of the add; the interrupt status is restored afterwards.
+     */
+    private static <E> E getUninterruptibly(Future<E> future) throws ExecutionException {
+        boolean interrupted = false;
+        try {
+            for (; ; ) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class PendingMessage {
+        private final ReliableTopicMessage message;
+        private final Thread publisher = Thread.currentThread();
+        private volatile Exception failure;
+        private volatile boolean done;
+
+        PendingMessage(ReliableTopicMessage message) {
+            this.message = message;
+        }
+    }
+}
@@ -75,6 +75,11 @@ public final class CompletedFuture<V> implements InternalCompletableFuture<V> {
         }
     }
 
+    @Override
+    public Object joinRaw() {
+        return value instanceof Data ? value : join();
+    }
+
     @Override
     public boolean complete(Object value) {
         return false;
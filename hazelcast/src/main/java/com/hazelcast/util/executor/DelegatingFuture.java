@@ -158,6 +158,20 @@ public class DelegatingFuture<V> implements InternalCompletableFuture<V> {
         return resolve(future.join());
     }
 
+    @Override
+    public Object joinRaw() {
+        if (result != null) {
+            return result;
+        }
+
+        Object deserializedValue = this.deserializedValue;
+        if (deserializedValue != VOID) {
+            return deserializedValue;
+        }
+
+        return future.joinRaw();
+    }
+
     @Override
     public void andThen(final ExecutionCallback<V> callback) {
         future.andThen(new DelegatingExecutionCallback(callback));
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation;
+
+import com.hazelcast.aggregation.impl.CountAggregator;
+import com.hazelcast.aggregation.impl.MaxAggregator;
+import com.hazelcast.aggregation.impl.MinAggregator;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.query.Predicates.greaterThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MapIndexAwareAggregateTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @Test
+    public void count_withIndex() {
+        IMap<Integer, Person> map = getPopulatedMap(2, true);
+
+        assertEquals(Long.valueOf(ENTRY_COUNT), map.aggregate(new CountAggregator<Map.Entry<Integer, Person>>()));
+    }
+
+    @Test
+    public void minMax_withOrderedIndex() {
+        IMap<Integer, Person> map = getPopulatedMap(2, true);
+
+        assertEquals(0d, map.aggregate(new MinAggregator<Map.Entry<Integer, Person>, Double>("age")), 0d);
+        assertEquals(ENTRY_COUNT - 1d, map.aggregate(new MaxAggregator<Map.Entry<Integer, Person>, Double>("age")), 0d);
+    }
+
+    @Test
+    public void minMax_withUnorderedIndex() {
+        IMap<Integer, Person> map = getPopulatedMap(2, false);
+
+        assertEquals(0d, map.aggregate(new MinAggregator<Map.Entry<Integer, Person>, Double>("age")), 0d);
+        assertEquals(ENTRY_COUNT - 1d, map.aggregate(new MaxAggregator<Map.Entry<Integer, Person>, Double>("age")), 0d);
+    }
+
+    @Test
+    public void minMax_withIndex_afterUpdates() {
+        IMap<Integer, Person> map = getPopulatedMap(1, true);
+        map.remove(0);
+        map.put(1, new Person(ENTRY_COUNT * 2));
+
+        assertEquals(2d, map.aggregate(new MinAggregator<Map.Entry<Integer, Person>, Double>("age")), 0d);
+        assertEquals(ENTRY_COUNT * 2d, map.aggregate(new MaxAggregator<Map.Entry<Integer, Person>, Double>("age")), 0d);
+        assertEquals(Long.valueOf(ENTRY_COUNT - 1), map.aggregate(new CountAggregator<Map.Entry<Integer, Person>>()));
+    }
+
+    @Test
+    public void max_withIndex_doesNotAccumulateAllEntries() {
+        IMap<Integer, Person> map = getPopulatedMap(1, true);
+        CountingMaxAggregator.ACCUMULATED.set(0);
+
+        assertEquals(ENTRY_COUNT - 1d, map.aggregate(new CountingMaxAggregator()), 0d);
+        assertEquals(1, CountingMaxAggregator.ACCUMULATED.get());
+    }
+
+    @Test
+    public void max_withPredicate_usesEntries() {
+        IMap<Integer, Person> map = getPopulatedMap(1, true);
+
+        Double max = map.aggregate(new MaxAggregator<Map.Entry<Integer, Person>, Double>("age"), greaterThan("age", 500d));
+
+        assertEquals(ENTRY_COUNT - 1d, max, 0d);
+    }
+
+    @Test
+    public void min_withIndex_onEmptyMap() {
+        IMap<Integer, Person> map = getPopulatedMap(1, true);
+        map.clear();
+
+        assertNull(map.aggregate(new MinAggregator<Map.Entry<Integer, Person>, Double>("age")));
+        assertEquals(Long.valueOf(0), map.aggregate(new CountAggregator<Map.Entry<Integer, Person>>()));
+    }
+
+    @Test
+    public void count_withPredicate_onPartitionScan() {
+        IMap<Integer, Person> map = getPopulatedMap(1, true);
+
+        // there is no index on the key, so the entries are scanned and accumulated in chunks
+        Long count = map.aggregate(new CountAggregator<Map.Entry<Integer, Person>>(), greaterThan("__key", -1));
+
+        assertEquals(Long.valueOf(ENTRY_COUNT), count);
+    }
+
+    @Test
+    public void count_withIndex_whenEntriesExpired() {
+        IMap<Integer, Person> map = getPopulatedMap(1, true);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(ENTRY_COUNT + i, new Person(i), 1, TimeUnit.SECONDS);
+        }
+
+        sleepAtLeastSeconds(2);
+
+        // the expired entries may still be in the index, so the entries must be counted one by one
+        assertEquals(Long.valueOf(ENTRY_COUNT), map.aggregate(new CountAggregator<Map.Entry<Integer, Person>>()));
+    }
+
+    @Test
+    public void minMax_withIndex_whenEntriesExpired() {
+        IMap<Integer, Person> map = getPopulatedMap(1, true);
+        map.put(-1, new Person(-1), 1, TimeUnit.SECONDS);
+        map.put(ENTRY_COUNT, new Person(ENTRY_COUNT), 1, TimeUnit.SECONDS);
+
+        sleepAtLeastSeconds(2);
+
+        assertEquals(0d, map.aggregate(new MinAggregator<Map.Entry<Integer, Person>, Double>("age")), 0d);
+        assertEquals(ENTRY_COUNT - 1d, map.aggregate(new MaxAggregator<Map.Entry<Integer, Person>, Double>("age")), 0d);
+    }
+
+    private IMap<Integer, Person> getPopulatedMap(int nodeCount, boolean ordered) {
+        Config config = new Config();
+        config.addMapConfig(new MapConfig("aggr").addMapIndexConfig(new MapIndexConfig("age", ordered)));
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(nodeCount).newInstances(config);
+
+        IMap<Integer, Person> map = instances[0].getMap("aggr");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Person(i));
+        }
+        return map;
+    }
+
+    public static class CountingMaxAggregator extends MaxAggregator<Map.Entry<Integer, Person>, Double> {
+
+        static final AtomicInteger ACCUMULATED = new AtomicInteger();
+
+        public CountingMaxAggregator() {
+            super("age");
+        }
+
+        @Override
+        public void accumulate(Map.Entry<Integer, Person> entry) {
+            ACCUMULATED.incrementAndGet();
+            super.accumulate(entry);
+        }
+    }
+}
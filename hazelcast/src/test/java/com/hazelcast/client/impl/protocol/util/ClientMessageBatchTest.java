@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.util;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientMessageBatchTest extends HazelcastTestSupport {
+
+    @Test
+    public void testConstructor() {
+        assertUtilityConstructor(ClientMessageBatch.class);
+    }
+
+    @Test
+    public void testToBatchMessageAndSplit() {
+        ClientMessage[] messages = new ClientMessage[3];
+        for (int k = 0; k < messages.length; k++) {
+            messages[k] = newMessage(k);
+        }
+
+        ClientMessage batch = ClientMessageBatch.toBatchMessage(messages, 2);
+
+        assertTrue(ClientMessageBatch.isBatch(batch));
+        assertTrue(batch.isFlagSet(ClientMessage.BEGIN_AND_END_FLAGS));
+        assertEquals(ClientMessage.HEADER_SIZE + messages[0].getFrameLength() + messages[1].getFrameLength(),
+                batch.getFrameLength());
+
+        List<ClientMessage> split = ClientMessageBatch.split(batch);
+        assertEquals(2, split.size());
+        for (int k = 0; k < split.size(); k++) {
+            ClientMessage message = split.get(k);
+            assertFalse(ClientMessageBatch.isBatch(message));
+            assertEquals(k, message.getCorrelationId());
+            assertEquals(k, message.getPartitionId());
+            assertEquals(k, message.getInt());
+            assertEquals("message-" + k, message.getStringUtf8());
+        }
+    }
+
+    private static ClientMessage newMessage(int id) {
+        String payload = "message-" + id;
+        ClientMessage message = ClientMessage.createForEncode(ClientMessage.HEADER_SIZE + 64);
+        message.setMessageType(1);
+        message.setCorrelationId(id);
+        message.setPartitionId(id);
+        message.set(id);
+        message.set(payload);
+        message.updateFrameLength();
+        return message;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.util;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.query.Predicates.equal;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MapFetchWithQueryCodecTest extends HazelcastTestSupport {
+
+    @Test
+    public void testConstructor() {
+        assertUtilityConstructor(MapFetchWithQueryCodec.class);
+    }
+
+    @Test
+    public void testEncodeAndDecodeRequest() {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        Data predicateData = serializationService.toData(equal("this", 42));
+
+        ClientMessage request = MapFetchWithQueryCodec.encodeRequest("map", 12, 100, predicateData);
+        ClientMessage received = ClientMessage.createForDecode(request.buffer, 0);
+        MapFetchWithQueryCodec.RequestParameters parameters = MapFetchWithQueryCodec.decodeRequest(received);
+
+        assertEquals(MapFetchWithQueryCodec.REQUEST_TYPE, received.getMessageType());
+        assertEquals("map", parameters.getName());
+        assertEquals(12, parameters.getTableIndex());
+        assertEquals(100, parameters.getBatch());
+        assertEquals(predicateData, parameters.getPredicate());
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.collection.impl.queue;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.QueueConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IQueue;
+import com.hazelcast.spi.partition.IPartitionService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.transaction.TransactionContext;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ShardedQueueTest extends HazelcastTestSupport {
+
+    private static final int SHARD_COUNT = 8;
+
+    private HazelcastInstance instance1;
+    private HazelcastInstance instance2;
+    private IQueue<Integer> queue;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.addQueueConfig(new QueueConfig("sharded*").setShardCount(SHARD_COUNT));
+        config.addQueueConfig(new QueueConfig("bounded*").setShardCount(2).setMaxSize(1));
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        instance1 = factory.newHazelcastInstance(config);
+        instance2 = factory.newHazelcastInstance(config);
+        warmUpPartitions(instance1, instance2);
+        queue = instance1.getQueue("sharded" + randomString());
+    }
+
+    @Test
+    public void testCreatesShardedProxy() {
+        assertTrue(queue instanceof ShardedQueueProxyImpl);
+        assertTrue(instance1.getQueue(randomString()) instanceof QueueProxyImpl);
+    }
+
+    @Test
+    public void testShardsInDifferentPartitions() {
+        IPartitionService partitionService = getNode(instance1).getNodeEngine().getPartitionService();
+        String[] shardNames = ShardedQueueProxyImpl.createShardNames("queue", SHARD_COUNT, partitionService);
+
+        Set<Integer> partitions = new HashSet<Integer>();
+        for (String shardName : shardNames) {
+            partitions.add(partitionService.getPartitionId(shardName.substring(shardName.indexOf('@') + 1)));
+        }
+        assertEquals(SHARD_COUNT, partitions.size());
+    }
+
+    @Test
+    public void testOfferAndPoll() {
+        for (int i = 0; i < 100; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertEquals(100, queue.size());
+
+        IQueue<Integer> other = instance2.getQueue(queue.getName());
+        Set<Integer> polled = new HashSet<Integer>();
+        for (int i = 0; i < 100; i++) {
+            polled.add(i % 2 == 0 ? queue.poll() : other.poll());
+        }
+
+        assertEquals(100, polled.size());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testOffer_whenAllShardsFull() {
+        IQueue<Integer> bounded = instance1.getQueue("bounded" + randomString());
+        assertTrue(bounded.offer(1));
+        assertTrue(bounded.offer(2));
+        assertFalse(bounded.offer(3));
+        assertEquals(0, bounded.remainingCapacity());
+
+        Set<Integer> polled = new HashSet<Integer>(asList(bounded.poll(), bounded.poll()));
+        assertEquals(new HashSet<Integer>(asList(1, 2)), polled);
+    }
+
+    @Test
+    public void testOfferWithTimeout_waitsForCapacityInAnyShard() throws Exception {
+        final IQueue<Integer> bounded = instance1.getQueue("bounded" + randomString());
+        assertTrue(bounded.offer(1));
+        assertTrue(bounded.offer(2));
+        Future<Boolean> future = spawn(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return bounded.offer(3, 1, TimeUnit.MINUTES);
+            }
+        });
+        sleepMillis(300);
+
+        // frees one of the shards, not necessarily the one the offer waits on
+        assertNotNull(bounded.poll());
+
+        assertTrue(future.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(2, bounded.size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testTransactionalQueue_notSupported() {
+        TransactionContext context = instance1.newTransactionContext();
+        context.beginTransaction();
+        try {
+            context.getQueue(queue.getName());
+        } finally {
+            context.rollbackTransaction();
+        }
+    }
+
+    @Test
+    public void testPoll_prefersLocalShards() {
+        List<Integer> items = new ArrayList<Integer>();
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            items.add(i);
+        }
+        queue.addAll(items);
+        long ownedBefore = queue.getLocalQueueStats().getOwnedItemCount();
+        assertTrue(ownedBefore > 0);
+
+        queue.poll();
+
+        assertEquals(ownedBefore - 1, queue.getLocalQueueStats().getOwnedItemCount());
+    }
+
+    @Test
+    public void testAddAllAndDrainTo() {
+        List<Integer> items = new ArrayList<Integer>();
+        for (int i = 0; i < 100; i++) {
+            items.add(i);
+        }
+
+        assertTrue(queue.addAll(items));
+        assertEquals(100, queue.size());
+        assertTrue(queue.containsAll(items));
+
+        List<Integer> drained = new ArrayList<Integer>();
+        assertEquals(10, queue.drainTo(drained, 10));
+        assertEquals(90, queue.drainTo(drained));
+
+        assertEquals(new HashSet<Integer>(items), new HashSet<Integer>(drained));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testTake_waitsForItemInOtherShard() throws Exception {
+        Future<Integer> future = spawn(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return queue.take();
+            }
+        });
+        sleepMillis(300);
+
+        IQueue<Integer> other = instance2.getQueue(queue.getName());
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            other.offer(i);
+        }
+
+        assertTrue(future.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS) < SHARD_COUNT);
+    }
+
+    @Test
+    public void testPollWithTimeout_whenEmpty() throws Exception {
+        assertNull(queue.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testContainsRemoveAndClear() {
+        queue.addAll(asList(1, 2, 3, 4));
+
+        assertTrue(queue.contains(3));
+        assertTrue(queue.remove(3));
+        assertFalse(queue.contains(3));
+        assertEquals(3, queue.toArray().length);
+        assertTrue(queue.retainAll(asList(1, 2)));
+        assertEquals(2, queue.size());
+
+        queue.clear();
+
+        assertEquals(0, queue.size());
+        assertFalse(queue.iterator().hasNext());
+    }
+
+    @Test
+    public void testDestroy_removesShards() {
+        queue.offer(1);
+        queue.destroy();
+
+        IQueue<Integer> recreated = instance1.getQueue(queue.getName());
+        assertEquals(0, recreated.size());
+    }
+}
@@ -219,7 +219,7 @@ public class RingbufferConfigTest {
         String s = config.toString();
 
         assertEquals("RingbufferConfig{name='someRingbuffer', capacity=10000, backupCount=1,"
-                + " asyncBackupCount=0, timeToLiveSeconds=0, inMemoryFormat=BINARY,"
+                + " asyncBackupCount=0, timeToLiveSeconds=0, inMemoryFormat=BINARY, packedStorageEnabled=false,"
                 + " ringbufferStoreConfig=RingbufferStoreConfig{enabled=true, className='null', properties={}}}", s);
     }
 
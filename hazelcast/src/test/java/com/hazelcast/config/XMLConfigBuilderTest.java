@@ -239,6 +239,7 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
                 "        <backup-count>1</backup-count>" +
                 "        <async-backup-count>0</async-backup-count>" +
                 "        <empty-queue-ttl>-1</empty-queue-ttl>" +
+                "        <shard-count>4</shard-count>" +
                 "        <item-listeners>" +
                 "            <item-listener>com.hazelcast.examples.ItemListener</item-listener>" +
                 "        </item-listeners>" +
@@ -260,6 +261,7 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
         assertEquals(1, qConfig.getBackupCount());
         assertEquals(0, qConfig.getAsyncBackupCount());
         assertEquals(-1, qConfig.getEmptyQueueTtl());
+        assertEquals(4, qConfig.getShardCount());
 
         assertTrue(qConfig.getItemListenerConfigs().size() == 1);
         final ItemListenerConfig listenerConfig = qConfig.getItemListenerConfigs().iterator().next();
@@ -332,6 +334,7 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
                 + "        <async-backup-count>1</async-backup-count>"
                 + "        <time-to-live-seconds>9</time-to-live-seconds>"
                 + "        <in-memory-format>OBJECT</in-memory-format>"
+                + "        <packed-storage-enabled>true</packed-storage-enabled>"
                 + "    </ringbuffer>"
                 + HAZELCAST_END_TAG;
         Config config = buildConfig(xml);
@@ -341,6 +344,7 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
         assertEquals(1, ringbufferConfig.getAsyncBackupCount());
         assertEquals(9, ringbufferConfig.getTimeToLiveSeconds());
         assertEquals(InMemoryFormat.OBJECT, ringbufferConfig.getInMemoryFormat());
+        assertTrue(ringbufferConfig.isPackedStorageEnabled());
     }
 
     @Test
@@ -708,6 +712,7 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
                 + "      <eviction-policy>LFU</eviction-policy>\n"
                 + "      <invalidate-on-change>false</invalidate-on-change>\n"
                 + "      <cache-local-entries>false</cache-local-entries>\n"
+                + "      <admission-filter-enabled>true</admission-filter-enabled>\n"
                 + "      <eviction eviction-policy=\"LRU\" max-size-policy=\"ENTRY_COUNT\" size=\"3333\"/>\n"
                 + "    </near-cache>\n"
                 + "  </map>\n"
@@ -724,6 +729,7 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
         assertEquals("LFU", nearCacheConfig.getEvictionPolicy());
         assertFalse(nearCacheConfig.isInvalidateOnChange());
         assertFalse(nearCacheConfig.isCacheLocalEntries());
+        assertTrue(nearCacheConfig.isAdmissionFilterEnabled());
         assertEquals(LRU, nearCacheConfig.getEvictionConfig().getEvictionPolicy());
         assertEquals(ENTRY_COUNT, nearCacheConfig.getEvictionConfig().getMaximumSizePolicy());
         assertEquals(3333, nearCacheConfig.getEvictionConfig().getSize());
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.core;
+
+import com.hazelcast.logging.Logger;
+import com.hazelcast.spi.impl.AbstractCompletableFuture;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.executor.CompletedFuture;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PipeliningTest extends HazelcastTestSupport {
+
+    private HazelcastInstance hz;
+
+    @Before
+    public void before() {
+        hz = createHazelcastInstance();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_whenZeroDepth() {
+        new Pipelining<String>(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void add_whenNull() throws InterruptedException {
+        Pipelining<String> pipelining = new Pipelining<String>(1);
+        pipelining.add(null);
+    }
+
+    @Test
+    public void testResults() throws Exception {
+        IMap<Integer, String> map = hz.getMap(randomMapName());
+        int keyCount = 1000;
+        List<String> expected = new ArrayList<String>(keyCount);
+        for (int k = 0; k < keyCount; k++) {
+            map.put(k, "value-" + k);
+            expected.add("value-" + k);
+        }
+
+        Pipelining<String> pipelining = new Pipelining<String>(10);
+        for (int k = 0; k < keyCount; k++) {
+            pipelining.add(map.getAsync(k));
+        }
+
+        assertEquals(expected, pipelining.results());
+    }
+
+    @Test
+    public void add_blocksWhenDepthReached() throws Exception {
+        final Pipelining<String> pipelining = new Pipelining<String>(1);
+        PendingFuture pending = new PendingFuture();
+        pipelining.add(pending);
+
+        final AtomicBoolean added = new AtomicBoolean();
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    pipelining.add(new CompletedFuture<String>(null, "value", null));
+                    added.set(true);
+                } catch (InterruptedException e) {
+                    ignore(e);
+                }
+            }
+        };
+        thread.start();
+
+        sleepMillis(500);
+        assertFalse(added.get());
+
+        pending.setResult("pending");
+        assertJoinable(thread);
+        assertEquals(true, added.get());
+    }
+
+    @Test
+    public void flush_whenDepthReachedAndOnResults() throws Exception {
+        final AtomicInteger flushCount = new AtomicInteger();
+        final Pipelining<String> pipelining = new Pipelining<String>(1) {
+            @Override
+            protected void flush() {
+                flushCount.incrementAndGet();
+            }
+        };
+        PendingFuture pending = new PendingFuture();
+        pipelining.add(pending);
+        assertEquals(0, flushCount.get());
+
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    pipelining.add(new CompletedFuture<String>(null, "value", null));
+                } catch (InterruptedException e) {
+                    ignore(e);
+                }
+            }
+        };
+        thread.start();
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(1, flushCount.get());
+            }
+        });
+
+        pending.setResult("pending");
+        assertJoinable(thread);
+        pipelining.results();
+        assertEquals(2, flushCount.get());
+    }
+
+    private static class PendingFuture extends AbstractCompletableFuture<String> {
+
+        PendingFuture() {
+            super(new Executor() {
+                @Override
+                public void execute(Runnable command) {
+                    command.run();
+                }
+            }, Logger.getLogger(PendingFuture.class));
+        }
+
+        @Override
+        protected void setResult(Object result) {
+            super.setResult(result);
+        }
+    }
+}
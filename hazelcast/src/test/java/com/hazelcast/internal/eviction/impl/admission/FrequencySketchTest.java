@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.admission;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.eviction.impl.admission.FrequencySketch.MAX_FREQUENCY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class FrequencySketchTest {
+
+    @Test
+    public void testIncrement() {
+        FrequencySketch sketch = new FrequencySketch(512);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment(42);
+        }
+
+        assertEquals(5, sketch.frequency(42));
+        assertEquals(0, sketch.frequency(43));
+    }
+
+    @Test
+    public void testIncrement_saturatesAtMaxFrequency() {
+        FrequencySketch sketch = new FrequencySketch(512);
+        for (int i = 0; i < 100; i++) {
+            sketch.increment(42);
+        }
+
+        assertEquals(MAX_FREQUENCY, sketch.frequency(42));
+    }
+
+    @Test
+    public void testAging_halvesFrequencies() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 8; i++) {
+            sketch.increment(42);
+        }
+
+        // the sketch is aged after 10 * 16 increments, which halves the size
+        int frequencyBeforeAging;
+        int key = 1000;
+        int previousSize;
+        do {
+            frequencyBeforeAging = sketch.frequency(42);
+            previousSize = sketch.size();
+            sketch.increment(key++);
+        } while (sketch.size() > previousSize);
+
+        int frequencyAfterAging = sketch.frequency(42);
+        assertTrue(frequencyBeforeAging >= 8);
+        assertTrue(frequencyAfterAging <= frequencyBeforeAging / 2 + 1);
+        assertTrue(sketch.size() < 10 * 16);
+    }
+
+    @Test
+    public void testAdmission_prefersFrequentKey() {
+        TinyLfuAdmissionPolicy policy = new TinyLfuAdmissionPolicy(512);
+        for (int i = 0; i < 3; i++) {
+            policy.onAccess("frequent");
+        }
+        policy.onAccess("once");
+
+        assertTrue(policy.isAdmitted("frequent", "once"));
+        assertFalse(policy.isAdmitted("once", "frequent"));
+        assertFalse(policy.isAdmitted("once", "once"));
+    }
+}
@@ -123,6 +123,45 @@ public class NearCacheRecordStoreTest extends NearCacheRecordStoreTestSupport {
         doEvictionWithEntryCountMaxSizePolicy(inMemoryFormat, null);
     }
 
+    @Test
+    public void admissionFilterKeepsFrequentlyUsedRecordsWhenKeysAreScanned() {
+        int maxSize = DEFAULT_RECORD_COUNT / 2;
+
+        NearCacheConfig nearCacheConfig = createNearCacheConfig(DEFAULT_NEAR_CACHE_NAME, inMemoryFormat);
+        nearCacheConfig.setAdmissionFilterEnabled(true);
+        nearCacheConfig.setEvictionConfig(new EvictionConfig(maxSize, MaxSizePolicy.ENTRY_COUNT, EvictionPolicy.LRU));
+
+        NearCacheRecordStore<Integer, String> nearCacheRecordStore
+                = createNearCacheRecordStore(nearCacheConfig, inMemoryFormat);
+
+        // the first keys are read frequently
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < maxSize; i++) {
+                getOrPut(nearCacheRecordStore, i);
+            }
+        }
+        // the other keys are read only once
+        for (int i = maxSize; i < 10 * maxSize; i++) {
+            getOrPut(nearCacheRecordStore, i);
+            assertTrue(maxSize >= nearCacheRecordStore.size());
+        }
+
+        int hits = 0;
+        for (int i = 0; i < maxSize; i++) {
+            if (nearCacheRecordStore.get(i) != null) {
+                hits++;
+            }
+        }
+        assertTrue("hits: " + hits, hits >= maxSize * 9 / 10);
+    }
+
+    private static void getOrPut(NearCacheRecordStore<Integer, String> nearCacheRecordStore, int key) {
+        if (nearCacheRecordStore.get(key) == null) {
+            nearCacheRecordStore.doEvictionIfRequired();
+            nearCacheRecordStore.put(key, "Record-" + key);
+        }
+    }
+
     private void doEvictionWithEntryCountMaxSizePolicy(InMemoryFormat inMemoryFormat, EvictionPolicy evictionPolicy) {
         int maxSize = DEFAULT_RECORD_COUNT / 2;
 
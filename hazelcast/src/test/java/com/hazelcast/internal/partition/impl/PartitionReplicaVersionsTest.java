@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PartitionReplicaVersionsTest {
+
+    private PartitionReplicaVersions replicaVersions;
+
+    @Before
+    public void setUp() {
+        replicaVersions = new PartitionReplicaVersions(0);
+    }
+
+    @Test
+    public void testSyncVersion_whenIncremental() {
+        assertTrue(replicaVersions.update(new long[]{1, 1, 0, 0, 0, 0}, 1));
+        assertTrue(replicaVersions.update(new long[]{2, 2, 0, 0, 0, 0}, 1));
+
+        assertEquals(2, replicaVersions.getSyncVersion(1));
+        assertEquals(2, replicaVersions.getSyncVersion(2));
+    }
+
+    @Test
+    public void testSyncVersion_whenDirty() {
+        assertTrue(replicaVersions.update(new long[]{1, 1, 0, 0, 0, 0}, 1));
+        assertFalse(replicaVersions.update(new long[]{3, 3, 0, 0, 0, 0}, 1));
+        assertFalse(replicaVersions.update(new long[]{4, 4, 0, 0, 0, 0}, 1));
+
+        assertEquals(1, replicaVersions.getSyncVersion(1));
+        assertEquals(-1, replicaVersions.getSyncVersion(2));
+    }
+
+    @Test
+    public void testSyncVersion_afterSet() {
+        assertFalse(replicaVersions.update(new long[]{3, 3, 0, 0, 0, 0}, 1));
+        replicaVersions.set(new long[]{5, 5, 0, 0, 0, 0}, 1);
+
+        assertEquals(5, replicaVersions.getSyncVersion(1));
+    }
+
+    @Test
+    public void testEpoch_renewedOnClear() {
+        long epoch = replicaVersions.getEpoch();
+        replicaVersions.clear();
+
+        assertNotEquals(epoch, replicaVersions.getEpoch());
+    }
+}
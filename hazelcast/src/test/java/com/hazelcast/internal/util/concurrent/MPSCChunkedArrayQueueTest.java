@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.concurrent;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MPSCChunkedArrayQueueTest extends HazelcastTestSupport {
+
+    private static final int CHUNK_SIZE = 4;
+
+    private MPSCChunkedArrayQueue<String> queue;
+
+    @Before
+    public void setup() {
+        queue = new MPSCChunkedArrayQueue<String>(CHUNK_SIZE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void construct_whenZeroChunkSize() {
+        new MPSCChunkedArrayQueue<String>(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void offer_whenNull() {
+        queue.offer(null);
+    }
+
+    @Test
+    public void poll_whenEmpty() {
+        assertNull(queue.poll());
+        assertNull(queue.peek());
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void poll() {
+        queue.offer("1");
+        queue.offer("2");
+
+        assertEquals("1", queue.peek());
+        assertEquals("1", queue.poll());
+        assertEquals("2", queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void poll_whenItemsSpanMultipleChunks() {
+        int count = CHUNK_SIZE * 10 + 1;
+        for (int k = 0; k < count; k++) {
+            queue.offer("" + k);
+        }
+
+        assertEquals(count, queue.size());
+        for (int k = 0; k < count; k++) {
+            assertEquals("" + k, queue.poll());
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void poll_whenOfferAndPollInterleaved() {
+        for (int k = 0; k < CHUNK_SIZE * 10; k++) {
+            queue.offer("" + k);
+            assertEquals("" + k, queue.poll());
+            assertNull(queue.peek());
+        }
+    }
+
+    @Test
+    public void clear() {
+        for (int k = 0; k < CHUNK_SIZE * 2; k++) {
+            queue.offer("" + k);
+        }
+
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+
+        queue.offer("next");
+        assertEquals("next", queue.poll());
+    }
+
+    @Test
+    public void iterator() {
+        for (int k = 0; k < CHUNK_SIZE * 2; k++) {
+            queue.offer("" + k);
+        }
+        queue.poll();
+
+        List<String> items = new ArrayList<String>();
+        Iterator<String> it = queue.iterator();
+        while (it.hasNext()) {
+            items.add(it.next());
+        }
+
+        assertEquals(CHUNK_SIZE * 2 - 1, items.size());
+        assertEquals("1", items.get(0));
+        assertFalse(items.contains("0"));
+    }
+
+    @Test
+    public void multipleProducers_preserveOrderPerProducer() throws Exception {
+        final int producerCount = 4;
+        final int itemsPerProducer = 100000;
+        final MPSCChunkedArrayQueue<long[]> queue = new MPSCChunkedArrayQueue<long[]>(128);
+
+        Thread[] producers = new Thread[producerCount];
+        for (int p = 0; p < producerCount; p++) {
+            final int producer = p;
+            producers[p] = new Thread() {
+                @Override
+                public void run() {
+                    for (long k = 0; k < itemsPerProducer; k++) {
+                        queue.offer(new long[]{producer, k});
+                    }
+                }
+            };
+            producers[p].start();
+        }
+
+        long[] expected = new long[producerCount];
+        int consumed = 0;
+        while (consumed < producerCount * itemsPerProducer) {
+            long[] item = queue.poll();
+            if (item == null) {
+                continue;
+            }
+            int producer = (int) item[0];
+            assertEquals(expected[producer], item[1]);
+            expected[producer]++;
+            consumed++;
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+}
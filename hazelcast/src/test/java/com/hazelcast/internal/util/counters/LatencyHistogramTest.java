@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.counters;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.util.counters.LatencyHistogram.BUCKET_COUNT;
+import static com.hazelcast.internal.util.counters.LatencyHistogram.bucketIndex;
+import static com.hazelcast.internal.util.counters.LatencyHistogram.highestValue;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class LatencyHistogramTest {
+
+    private LatencyHistogram histogram;
+
+    @Before
+    public void setup() {
+        histogram = new LatencyHistogram(4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void construct_whenStripeCountNotPowerOfTwo() {
+        new LatencyHistogram(3);
+    }
+
+    @Test
+    public void empty() {
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.maxMicros());
+        assertEquals(0, histogram.percentileMicros(99));
+    }
+
+    @Test
+    public void recordNanos() {
+        recordMicros(10);
+        recordMicros(20);
+        recordMicros(1000);
+
+        assertEquals(3, histogram.count());
+        assertEquals(1000, histogram.maxMicros());
+    }
+
+    @Test
+    public void recordNanos_whenNegative() {
+        histogram.recordNanos(-1);
+
+        assertEquals(1, histogram.count());
+        assertEquals(0, histogram.maxMicros());
+    }
+
+    @Test
+    public void percentileMicros() {
+        for (int micros = 1; micros <= 1000; micros++) {
+            recordMicros(micros);
+        }
+
+        assertWithinPrecision(500, histogram.percentileMicros(50));
+        assertWithinPrecision(990, histogram.percentileMicros(99));
+        assertWithinPrecision(999, histogram.percentileMicros(99.9));
+        assertEquals(1000, histogram.percentileMicros(100));
+    }
+
+    @Test
+    public void percentileMicros_whenOutlier() {
+        for (int k = 0; k < 999; k++) {
+            recordMicros(100);
+        }
+        recordMicros(1000000);
+
+        assertWithinPrecision(100, histogram.percentileMicros(99));
+        assertWithinPrecision(100, histogram.percentileMicros(99.9));
+        assertEquals(1000000, histogram.percentileMicros(99.99));
+    }
+
+    @Test
+    public void percentileMicros_neverExceedsMax() {
+        recordMicros(1000);
+
+        assertEquals(1000, histogram.percentileMicros(50));
+    }
+
+    @Test
+    public void bucketIndex_isContiguous() {
+        for (int index = 1; index < BUCKET_COUNT; index++) {
+            long lowestValue = highestValue(index - 1) + 1;
+            assertEquals(index, bucketIndex(lowestValue));
+            assertEquals(index, bucketIndex(highestValue(index)));
+        }
+    }
+
+    @Test
+    public void bucketIndex_whenHuge() {
+        assertEquals(BUCKET_COUNT - 1, bucketIndex(Long.MAX_VALUE));
+    }
+
+    private void recordMicros(long micros) {
+        histogram.recordNanos(MICROSECONDS.toNanos(micros));
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        // a bucket is at most 1/16 of its value wide
+        assertTrue("expected about " + expected + " but was " + actual,
+                actual >= expected && actual <= expected + expected / 16);
+    }
+}
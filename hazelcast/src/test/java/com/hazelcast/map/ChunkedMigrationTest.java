@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.spi.properties.GroupProperty.PARTITION_COUNT;
+import static com.hazelcast.spi.properties.GroupProperty.PARTITION_MIGRATION_CHUNKS_ENABLED;
+import static com.hazelcast.spi.properties.GroupProperty.PARTITION_MIGRATION_CHUNK_MAX_SIZE;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ChunkedMigrationTest extends HazelcastTestSupport {
+
+    // with 2 partitions and a chunk size of 1 MB, each partition is migrated in multiple chunks
+    private static final int ENTRY_COUNT = 400;
+    private static final int VALUE_SIZE = 10 * 1024;
+
+    private TestHazelcastInstanceFactory factory;
+    private Config config;
+
+    @Before
+    public void setup() {
+        factory = createHazelcastInstanceFactory(3);
+        config = new Config()
+                .setProperty(PARTITION_COUNT.getName(), "2")
+                .setProperty(PARTITION_MIGRATION_CHUNKS_ENABLED.getName(), "true")
+                .setProperty(PARTITION_MIGRATION_CHUNK_MAX_SIZE.getName(), "1");
+    }
+
+    @Test
+    public void whenAddingInstances() {
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        IMap<Integer, byte[]> map1 = instance1.getMap("map1");
+        IMap<Integer, Integer> map2 = instance1.getMap("map2");
+        fill(map1, map2);
+
+        factory.newHazelcastInstance(config);
+        waitAllForSafeState(factory.getAllHazelcastInstances());
+        assertEntries(map1, map2);
+
+        factory.newHazelcastInstance(config);
+        waitAllForSafeState(factory.getAllHazelcastInstances());
+        assertEntries(map1, map2);
+    }
+
+    @Test
+    public void whenRemovingInstances() {
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        HazelcastInstance instance3 = factory.newHazelcastInstance(config);
+        IMap<Integer, byte[]> map1 = instance1.getMap("map1");
+        IMap<Integer, Integer> map2 = instance1.getMap("map2");
+        fill(map1, map2);
+
+        instance2.shutdown();
+        instance3.shutdown();
+        waitAllForSafeState(instance1);
+
+        assertEntries(map1, map2);
+    }
+
+    private static void fill(IMap<Integer, byte[]> map1, IMap<Integer, Integer> map2) {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map1.put(i, value(i));
+            map2.put(i, i);
+        }
+    }
+
+    private static void assertEntries(IMap<Integer, byte[]> map1, IMap<Integer, Integer> map2) {
+        assertEquals(ENTRY_COUNT, map1.size());
+        assertEquals(ENTRY_COUNT, map2.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertArrayEquals(value(i), map1.get(i));
+            assertEquals(i, map2.get(i).intValue());
+        }
+    }
+
+    private static byte[] value(int i) {
+        byte[] value = new byte[VALUE_SIZE];
+        value[0] = (byte) i;
+        value[VALUE_SIZE - 1] = (byte) (i >> 8);
+        return value;
+    }
+}
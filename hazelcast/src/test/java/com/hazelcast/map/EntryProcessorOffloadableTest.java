@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.Offloadable;
+import com.hazelcast.core.ReadOnly;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class EntryProcessorOffloadableTest extends HazelcastTestSupport {
+
+    private static final String MAP_NAME = "EntryProcessorOffloadableTest";
+
+    private HazelcastInstance instance1;
+    private HazelcastInstance instance2;
+
+    @Before
+    public void setUp() {
+        Config config = getConfig();
+        config.getMapConfig(MAP_NAME).setBackupCount(1);
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        instance1 = factory.newHazelcastInstance(config);
+        instance2 = factory.newHazelcastInstance(config);
+    }
+
+    @Test
+    public void testOffloadable_modifiesEntryAndBackup() {
+        String key = generateKeyOwnedBy(instance1);
+        IMap<String, Integer> map = instance1.getMap(MAP_NAME);
+        map.put(key, 1);
+
+        Object result = map.executeOnKey(key, new IncrementOffloadable());
+
+        assertEquals(2, result);
+        assertEquals(2, (int) map.get(key));
+        assertFalse(map.isLocked(key));
+
+        instance1.shutdown();
+        IMap<String, Integer> backupMap = instance2.getMap(MAP_NAME);
+        assertEquals(2, (int) backupMap.get(key));
+    }
+
+    @Test
+    public void testOffloadable_runsOnOtherThreadThanPartitionThread() {
+        String key = generateKeyOwnedBy(instance1);
+        IMap<String, Integer> map = instance1.getMap(MAP_NAME);
+        map.put(key, 1);
+
+        Object threadName = map.executeOnKey(key, new ThreadNameOffloadable(Offloadable.OFFLOADABLE_EXECUTOR));
+
+        assertFalse((String) threadName, ((String) threadName).contains("partition-operation"));
+    }
+
+    @Test
+    public void testOffloadable_noOffloading_runsOnPartitionThread() {
+        String key = generateKeyOwnedBy(instance1);
+        IMap<String, Integer> map = instance1.getMap(MAP_NAME);
+        map.put(key, 1);
+
+        Object threadName = map.executeOnKey(key, new ThreadNameOffloadable(Offloadable.NO_OFFLOADING));
+
+        assertTrue((String) threadName, ((String) threadName).contains("partition-operation"));
+    }
+
+    @Test
+    public void testOffloadable_locksKeyWhileProcessing_withoutBlockingPartition() throws Exception {
+        final String key = generateKeyOwnedBy(instance1);
+        final IMap<String, Integer> map = instance1.getMap(MAP_NAME);
+        map.put(key, 1);
+
+        BlockingOffloadable.started = new CountDownLatch(1);
+        BlockingOffloadable.resume = new CountDownLatch(1);
+        Future future = map.submitToKey(key, new BlockingOffloadable());
+        assertOpenEventually(BlockingOffloadable.started);
+
+        // the partition thread is not blocked by the processor
+        assertEquals(1, (int) map.get(key));
+        assertTrue(map.isLocked(key));
+        Future put = spawn(new Runnable() {
+            @Override
+            public void run() {
+                map.put(key, 5);
+            }
+        });
+        sleepMillis(500);
+        assertFalse(put.isDone());
+
+        BlockingOffloadable.resume.countDown();
+
+        assertEquals(2, future.get());
+        put.get();
+        assertEquals(5, (int) map.get(key));
+        assertFalse(map.isLocked(key));
+    }
+
+    @Test
+    public void testOffloadable_sameCallerThread_waitsForOffloadedProcessor() throws Exception {
+        String key = generateKeyOwnedBy(instance1);
+        IMap<String, Integer> map = instance1.getMap(MAP_NAME);
+        map.put(key, 1);
+
+        HoldingOffloadable.started = new CountDownLatch(1);
+        HoldingOffloadable.resume = new CountDownLatch(1);
+        Future first = map.submitToKey(key, new HoldingOffloadable());
+        assertOpenEventually(HoldingOffloadable.started);
+
+        // submitted by the thread which submitted the processor holding the lock
+        Future second = map.submitToKey(key, new IncrementOffloadable());
+        Future third = map.submitToKey(key, new Increment());
+        sleepMillis(500);
+        assertFalse(second.isDone());
+        assertFalse(third.isDone());
+
+        HoldingOffloadable.resume.countDown();
+
+        assertEquals(2, first.get());
+        Set<Object> results = new HashSet<Object>(asList(second.get(), third.get()));
+        assertEquals(new HashSet<Object>(asList(3, 4)), results);
+        assertEquals(4, (int) map.get(key));
+        assertFalse(map.isLocked(key));
+    }
+
+    @Test
+    public void testOffloadable_whenCallerHoldsLock_runsOnPartitionThread() {
+        String key = generateKeyOwnedBy(instance1);
+        IMap<String, Integer> map = instance1.getMap(MAP_NAME);
+        map.put(key, 1);
+        map.lock(key);
+
+        Object threadName = map.executeOnKey(key, new ThreadNameOffloadable(Offloadable.OFFLOADABLE_EXECUTOR));
+
+        assertTrue((String) threadName, ((String) threadName).contains("partition-operation"));
+        assertTrue(map.isLocked(key));
+        map.unlock(key);
+        assertFalse(map.isLocked(key));
+    }
+
+    @Test
+    public void testOffloadable_processorThrows_keyUnlocked() {
+        String key = generateKeyOwnedBy(instance1);
+        IMap<String, Integer> map = instance1.getMap(MAP_NAME);
+        map.put(key, 1);
+
+        try {
+            map.executeOnKey(key, new FailingOffloadable());
+        } catch (IllegalStateException expected) {
+            ignore(expected);
+        }
+
+        assertFalse(map.isLocked(key));
+        assertEquals(1, (int) map.get(key));
+    }
+
+    @Test
+    public void testReadOnly_returnsResult() {
+        String key = generateKeyOwnedBy(instance1);
+        IMap<String, Integer> map = instance1.getMap(MAP_NAME);
+        map.put(key, 1);
+
+        assertEquals(1, map.executeOnKey(key, new ReadOnlyGet()));
+    }
+
+    @Test
+    public void testReadOnly_doesNotWaitForLock() {
+        final String key = generateKeyOwnedBy(instance1);
+        final IMap<String, Integer> map = instance1.getMap(MAP_NAME);
+        map.put(key, 1);
+        spawn(new Runnable() {
+            @Override
+            public void run() {
+                map.lock(key);
+            }
+        });
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertTrue(map.isLocked(key));
+            }
+        });
+
+        assertEquals(1, map.executeOnKey(key, new ReadOnlyGet()));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnly_modifyingEntry_throwsException() {
+        String key = generateKeyOwnedBy(instance1);
+        IMap<String, Integer> map = instance1.getMap(MAP_NAME);
+        map.put(key, 1);
+
+        map.executeOnKey(key, new ReadOnlyModifying());
+    }
+
+    @Test
+    public void testReadOnly_modifyingEntry_entryNotModified() {
+        String key = generateKeyOwnedBy(instance1);
+        IMap<String, Integer> map = instance1.getMap(MAP_NAME);
+        map.put(key, 1);
+
+        try {
+            map.executeOnKey(key, new ReadOnlyModifying());
+        } catch (UnsupportedOperationException expected) {
+            ignore(expected);
+        }
+
+        assertEquals(1, (int) map.get(key));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnly_executeOnEntries_modifyingEntry_throwsException() {
+        IMap<String, Integer> map = instance1.getMap(MAP_NAME);
+        map.put("key", 1);
+
+        map.executeOnEntries(new ReadOnlyModifying());
+    }
+
+    @Test
+    public void testReadOnlyOffloadable_returnsResult() {
+        String key = generateKeyOwnedBy(instance1);
+        IMap<String, Integer> map = instance1.getMap(MAP_NAME);
+        map.put(key, 1);
+
+        assertEquals(1, map.executeOnKey(key, new ReadOnlyGetOffloadable()));
+        assertFalse(map.isLocked(key));
+    }
+
+    private static class IncrementOffloadable extends AbstractEntryProcessor<String, Integer> implements Offloadable {
+
+        @Override
+        public Object process(Map.Entry<String, Integer> entry) {
+            int value = entry.getValue() + 1;
+            entry.setValue(value);
+            return value;
+        }
+
+        @Override
+        public String getExecutorName() {
+            return OFFLOADABLE_EXECUTOR;
+        }
+    }
+
+    private static class ThreadNameOffloadable extends AbstractEntryProcessor<String, Integer> implements Offloadable {
+
+        private final String executorName;
+
+        ThreadNameOffloadable(String executorName) {
+            super(false);
+            this.executorName = executorName;
+        }
+
+        @Override
+        public Object process(Map.Entry<String, Integer> entry) {
+            return Thread.currentThread().getName();
+        }
+
+        @Override
+        public String getExecutorName() {
+            return executorName;
+        }
+    }
+
+    private static class BlockingOffloadable extends IncrementOffloadable {
+
+        static volatile CountDownLatch started;
+        static volatile CountDownLatch resume;
+
+        @Override
+        public Object process(Map.Entry<String, Integer> entry) {
+            started.countDown();
+            assertOpenEventually(resume);
+            return super.process(entry);
+        }
+    }
+
+    private static class HoldingOffloadable extends IncrementOffloadable {
+
+        static volatile CountDownLatch started;
+        static volatile CountDownLatch resume;
+
+        @Override
+        public Object process(Map.Entry<String, Integer> entry) {
+            started.countDown();
+            assertOpenEventually(resume);
+            return super.process(entry);
+        }
+    }
+
+    private static class Increment extends AbstractEntryProcessor<String, Integer> {
+
+        @Override
+        public Object process(Map.Entry<String, Integer> entry) {
+            int value = entry.getValue() + 1;
+            entry.setValue(value);
+            return value;
+        }
+    }
+
+    private static class FailingOffloadable extends IncrementOffloadable {
+
+        @Override
+        public Object process(Map.Entry<String, Integer> entry) {
+            throw new IllegalStateException("expected");
+        }
+    }
+
+    private static class ReadOnlyGet implements EntryProcessor<String, Integer>, ReadOnly {
+
+        @Override
+        public Object process(Map.Entry<String, Integer> entry) {
+            return entry.getValue();
+        }
+
+        @Override
+        public EntryBackupProcessor<String, Integer> getBackupProcessor() {
+            return null;
+        }
+    }
+
+    private static class ReadOnlyGetOffloadable extends ReadOnlyGet implements Offloadable {
+
+        @Override
+        public String getExecutorName() {
+            return OFFLOADABLE_EXECUTOR;
+        }
+    }
+
+    private static class ReadOnlyModifying implements EntryProcessor<String, Integer>, ReadOnly {
+
+        @Override
+        public Object process(Map.Entry<String, Integer> entry) {
+            entry.setValue(5);
+            return null;
+        }
+
+        @Override
+        public EntryBackupProcessor<String, Integer> getBackupProcessor() {
+            return null;
+        }
+    }
+}
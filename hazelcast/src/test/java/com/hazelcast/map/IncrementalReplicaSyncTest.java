@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import static com.hazelcast.internal.partition.AntiEntropyCorrectnessTest.setBackupPacketDropFilter;
+import static com.hazelcast.spi.properties.GroupProperty.MAP_REPLICA_SYNC_MAX_REMOVED_KEYS;
+import static com.hazelcast.spi.properties.GroupProperty.PARTITION_BACKUP_SYNC_INTERVAL;
+import static com.hazelcast.spi.properties.GroupProperty.PARTITION_COUNT;
+import static com.hazelcast.spi.properties.GroupProperty.PARTITION_REPLICA_SYNC_INCREMENTAL_ENABLED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class IncrementalReplicaSyncTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+    private static final int REMOVED_COUNT = 100;
+    private static final float BACKUP_BLOCK_RATIO = 0.5f;
+
+    private TestHazelcastInstanceFactory factory;
+    private Config config;
+
+    @Before
+    public void setup() {
+        factory = createHazelcastInstanceFactory(2);
+        config = new Config()
+                .setProperty(PARTITION_COUNT.getName(), "11")
+                .setProperty(PARTITION_BACKUP_SYNC_INTERVAL.getName(), "1")
+                .setProperty(PARTITION_REPLICA_SYNC_INCREMENTAL_ENABLED.getName(), "true");
+    }
+
+    @Test
+    public void backupsInSync_whenChangesAreKnown() throws Exception {
+        testBackupsInSync();
+    }
+
+    @Test
+    public void backupsInSync_whenRemovedKeysAreDropped() throws Exception {
+        config.setProperty(MAP_REPLICA_SYNC_MAX_REMOVED_KEYS.getName(), "10");
+        testBackupsInSync();
+    }
+
+    private void testBackupsInSync() throws Exception {
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        warmUpPartitions(instance1, instance2);
+
+        IMap<Integer, Integer> map = instance1.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+        waitAllForSafeState(instance1, instance2);
+
+        setBackupPacketDropFilter(instance1, BACKUP_BLOCK_RATIO);
+        setBackupPacketDropFilter(instance2, BACKUP_BLOCK_RATIO);
+        // the invocations whose backups are dropped wait for the backup timeout, so they are run concurrently
+        List<Future> futures = new ArrayList<Future>(ENTRY_COUNT);
+        for (int i = 0; i < REMOVED_COUNT; i++) {
+            futures.add(map.removeAsync(i));
+        }
+        for (int i = REMOVED_COUNT; i < ENTRY_COUNT; i++) {
+            futures.add(map.putAsync(i, -i));
+        }
+        for (Future future : futures) {
+            future.get();
+        }
+        waitAllForSafeState(instance1, instance2);
+
+        instance1.getLifecycleService().terminate();
+        IMap<Integer, Integer> backupMap = instance2.getMap(map.getName());
+        assertEquals(ENTRY_COUNT - REMOVED_COUNT, backupMap.size());
+        for (int i = 0; i < REMOVED_COUNT; i++) {
+            assertNull(backupMap.get(i));
+        }
+        for (int i = REMOVED_COUNT; i < ENTRY_COUNT; i++) {
+            assertEquals(-i, backupMap.get(i).intValue());
+        }
+    }
+}
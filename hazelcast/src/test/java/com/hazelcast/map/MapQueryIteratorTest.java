@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterEqual;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MapQueryIteratorTest extends HazelcastTestSupport {
+
+    @Test
+    public void testIterator_allPartitions() {
+        IMap<Integer, Integer> map = getPopulatedMap(2, 1000);
+
+        Set<Integer> keys = collectKeys(map.iterator(10, greaterEqual("this", 500)));
+
+        assertEquals(500, keys.size());
+        for (int i = 500; i < 1000; i++) {
+            assertTrue(keys.contains(i));
+        }
+    }
+
+    @Test
+    public void testIterator_selectivePredicate() {
+        IMap<Integer, Integer> map = getPopulatedMap(1, 10000);
+
+        Set<Integer> keys = collectKeys(map.iterator(1, equal("this", 4242)));
+
+        assertEquals(1, keys.size());
+        assertTrue(keys.contains(4242));
+    }
+
+    @Test
+    public void testIterator_singlePartition() {
+        HazelcastInstance instance = createHazelcastInstance();
+        MapProxyImpl<String, Integer> map = (MapProxyImpl<String, Integer>) instance.<String, Integer>getMap(randomMapName());
+        String key = generateKeyForPartition(instance, 1);
+        map.put(key, 1);
+        map.put(generateKeyForPartition(instance, 2), 1);
+
+        Iterator<Map.Entry<String, Integer>> iterator = map.iterator(10, 1, equal("this", 1));
+
+        assertEquals(key, iterator.next().getKey());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testIterator_noMatch() {
+        IMap<Integer, Integer> map = getPopulatedMap(1, 100);
+
+        assertFalse(map.iterator(10, equal("this", -1)).hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNext_whenExhausted() {
+        IMap<Integer, Integer> map = getPopulatedMap(1, 0);
+
+        map.iterator(10, equal("this", 1)).next();
+    }
+
+    @Test
+    public void testRemove() {
+        IMap<Integer, Integer> map = getPopulatedMap(1, 100);
+
+        Iterator<Map.Entry<Integer, Integer>> iterator = map.iterator(10, greaterEqual("this", 50));
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        assertEquals(50, map.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPagingPredicate_notAllowed() {
+        IMap<Integer, Integer> map = getPopulatedMap(1, 0);
+
+        map.iterator(10, new PagingPredicate<Integer, Integer>(10));
+    }
+
+    private IMap<Integer, Integer> getPopulatedMap(int nodeCount, int entryCount) {
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(nodeCount).newInstances();
+        IMap<Integer, Integer> map = instances[0].getMap(randomMapName());
+        for (int i = 0; i < entryCount; i++) {
+            map.put(i, i);
+        }
+        return map;
+    }
+
+    private static Set<Integer> collectKeys(Iterator<Map.Entry<Integer, Integer>> iterator) {
+        Set<Integer> keys = new HashSet<Integer>();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Integer> entry = iterator.next();
+            assertEquals(entry.getKey(), entry.getValue());
+            keys.add(entry.getKey());
+        }
+        return keys;
+    }
+}
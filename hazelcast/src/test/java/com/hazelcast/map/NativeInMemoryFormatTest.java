@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryAllocator;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.query.SampleObjects.Employee;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class NativeInMemoryFormatTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private HazelcastInstance instance;
+    private IMap<Integer, Employee> map;
+
+    @Before
+    public void setUp() {
+        Config config = getConfig();
+        config.getNativeMemoryConfig()
+                .setEnabled(true)
+                .setSize(new MemorySize(16, MemoryUnit.MEGABYTES));
+        config.getMapConfig("native*").setInMemoryFormat(InMemoryFormat.NATIVE);
+        config.getMapConfig("readBackupNative*").setInMemoryFormat(InMemoryFormat.NATIVE).setReadBackupData(true);
+
+        instance = createHazelcastInstance(config);
+        map = instance.getMap("native" + randomMapName());
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Employee("name" + i, i, true, i));
+        }
+
+        assertEquals(ENTRY_COUNT, map.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("name" + i, map.get(i).getName());
+        }
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.remove(i);
+        }
+        assertEquals(0, map.size());
+        assertNull(map.get(0));
+    }
+
+    @Test
+    public void testGet_whenReadBackupData() {
+        // the values of a NATIVE map are only read on the partition thread, even if reading backups is allowed
+        IMap<Integer, Employee> readBackupMap = instance.getMap("readBackupNative" + randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            readBackupMap.put(i, new Employee("name" + i, i, true, i));
+        }
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("name" + i, readBackupMap.get(i).getName());
+        }
+    }
+
+    @Test
+    public void testQuery() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Employee("name" + i, i % 10, true, i));
+        }
+
+        Collection<Employee> values = map.values(new SqlPredicate("age = 5"));
+
+        assertEquals(ENTRY_COUNT / 10, values.size());
+        for (Employee employee : values) {
+            assertEquals(5, employee.getAge());
+        }
+    }
+
+    @Test
+    public void testValueComparingOperations() {
+        Employee employee = new Employee("name", 1, true, 1);
+        Employee otherEmployee = new Employee("name", 2, true, 2);
+        map.put(1, employee);
+
+        assertTrue(map.containsValue(employee));
+        assertFalse(map.containsValue(otherEmployee));
+
+        assertFalse(map.replace(1, otherEmployee, otherEmployee));
+        assertTrue(map.replace(1, employee, otherEmployee));
+        assertEquals(2, map.get(1).getAge());
+
+        assertFalse(map.remove(1, employee));
+        assertTrue(map.remove(1, otherEmployee));
+        assertNull(map.get(1));
+    }
+
+    @Test
+    public void testNativeMemoryReleased_whenEntriesRemovedOrReplaced() {
+        UnsafeMemoryAllocator allocator = getAllocator();
+        map.put(1, new Employee("name", 1, true, 1));
+        long usedAfterPut = allocator.getUsedMemory();
+        assertTrue(usedAfterPut > 0);
+
+        map.put(1, new Employee("name", 2, true, 2));
+        assertEquals(usedAfterPut, allocator.getUsedMemory());
+
+        map.remove(1);
+        assertEquals(0, allocator.getUsedMemory());
+
+        map.put(1, new Employee("name", 1, true, 1));
+        map.clear();
+        assertEquals(0, allocator.getUsedMemory());
+    }
+
+    @Test
+    public void testCost_excludesNativeMemory() {
+        IMap<Integer, String> stringMap = instance.getMap("native" + randomMapName());
+        stringMap.put(1, "a");
+        stringMap.put(2, randomString() + randomString() + randomString());
+
+        assertEquals(stringMap.getEntryView(1).getCost(), stringMap.getEntryView(2).getCost());
+    }
+
+    @Test
+    public void testNativeMemoryExposedAsMetrics() {
+        map.put(1, new Employee("name", 1, true, 1));
+
+        MetricsRegistry metricsRegistry = getNodeEngineImpl(instance).getMetricsRegistry();
+        long usedMemory = metricsRegistry.newLongGauge("map.nativeMemory.usedMemory").read();
+        assertTrue(usedMemory > 0);
+        assertEquals(getAllocator().getUsedMemory(), usedMemory);
+        assertEquals(16 * 1024 * 1024, metricsRegistry.newLongGauge("map.nativeMemory.maxMemory").read());
+    }
+
+    private UnsafeMemoryAllocator getAllocator() {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        return (UnsafeMemoryAllocator) mapServiceContext.getNativeMemoryManager().getAllocator();
+    }
+}
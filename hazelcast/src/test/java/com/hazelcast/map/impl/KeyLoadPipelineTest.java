@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.map.impl;
+
+import com.hazelcast.logging.Logger;
+import com.hazelcast.spi.impl.AbstractCompletableFuture;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.Executor;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class KeyLoadPipelineTest extends HazelcastTestSupport {
+
+    private KeyLoadPipeline pipeline;
+
+    @Before
+    public void setUp() {
+        pipeline = new KeyLoadPipeline(2, 2, Logger.getLogger(KeyLoadPipelineTest.class));
+    }
+
+    @Test
+    public void acquire_blocksWhenDepthReached_untilBatchLoaded() {
+        PendingFuture first = sendBatch(0, 10);
+        sendBatch(0, 10);
+
+        final Thread sender = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    pipeline.acquire(0);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+        sender.start();
+
+        assertTrueAllTheTime(new AssertTask() {
+            @Override
+            public void run() {
+                assertTrue(sender.isAlive());
+            }
+        }, 1);
+        first.setResult(null);
+        assertJoinable(sender);
+    }
+
+    @Test
+    public void acquire_doesNotBlockOtherPartitions() throws Exception {
+        sendBatch(0, 10);
+        sendBatch(0, 10);
+
+        pipeline.acquire(1);
+    }
+
+    @Test
+    public void failedBatch_releasesPermit() throws Exception {
+        PendingFuture first = sendBatch(0, 10);
+        sendBatch(0, 10);
+
+        first.setResult(new IllegalStateException("expected"));
+
+        pipeline.acquire(0);
+    }
+
+    @Test
+    public void awaitCompletion_whenBatchesPending() throws Exception {
+        sendBatch(0, 10);
+
+        assertFalse(pipeline.awaitCompletion(100, MILLISECONDS));
+    }
+
+    @Test
+    public void awaitCompletion_whenAllBatchesLoaded() throws Exception {
+        sendBatch(0, 10).setResult(null);
+        sendBatch(1, 5).setResult(null);
+
+        assertTrue(pipeline.awaitCompletion(10, SECONDS));
+    }
+
+    @Test
+    public void keyCounts() throws Exception {
+        sendBatch(0, 10).setResult(null);
+        sendBatch(1, 5);
+
+        assertEquals(15, pipeline.getSentKeyCount());
+        assertEquals(10, pipeline.getLoadedKeyCount());
+    }
+
+    private PendingFuture sendBatch(int partitionId, int keyCount) {
+        try {
+            pipeline.acquire(partitionId);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+        PendingFuture future = new PendingFuture();
+        pipeline.track(partitionId, keyCount, future);
+        return future;
+    }
+
+    private static class PendingFuture extends AbstractCompletableFuture<Object> {
+
+        PendingFuture() {
+            super(new Executor() {
+                @Override
+                public void execute(Runnable command) {
+                    command.run();
+                }
+            }, Logger.getLogger(PendingFuture.class));
+        }
+
+        @Override
+        protected void setResult(Object result) {
+            super.setResult(result);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.hazelcast.map.impl;
 
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -7,18 +10,29 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
 import static com.hazelcast.map.impl.MapKeyLoader.Role;
 import static com.hazelcast.map.impl.MapKeyLoader.Role.NONE;
 import static com.hazelcast.map.impl.MapKeyLoader.Role.RECEIVER;
 import static com.hazelcast.map.impl.MapKeyLoader.Role.SENDER;
 import static com.hazelcast.map.impl.MapKeyLoader.Role.SENDER_BACKUP;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelTest.class})
 @SuppressWarnings("ConstantConditions")
 public class MapKeyLoaderUtilTest {
 
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
     @Test
     public void assignRole_SENDER() {
         boolean isPartitionOwner = true;
@@ -106,4 +120,54 @@ public class MapKeyLoaderUtilTest {
 
         assertEquals(NONE, role);
     }
+
+    @Test
+    public void toPartitionBatches_sendsFullBatchBeforeAllKeysAreRead() {
+        List<Entry<Integer, Data>> entries = new ArrayList<Entry<Integer, Data>>();
+        entries.add(entry(1, 0));
+        entries.add(entry(2, 1));
+        entries.add(entry(1, 2));
+        entries.add(entry(2, 3));
+        entries.add(entry(3, 4));
+        Iterator<Entry<Integer, Data>> keys = entries.iterator();
+
+        Iterator<Entry<Integer, List<Data>>> batches = MapKeyLoaderUtil.toPartitionBatches(keys, 2);
+
+        Entry<Integer, List<Data>> first = batches.next();
+        assertEquals(1, (int) first.getKey());
+        assertEquals(2, first.getValue().size());
+        // the keys of the other partitions are not read yet
+        assertTrue(keys.hasNext());
+    }
+
+    @Test
+    public void toPartitionBatches_returnsAllKeysInBatchesOfMaxSize() {
+        List<Entry<Integer, Data>> entries = new ArrayList<Entry<Integer, Data>>();
+        for (int i = 0; i < 100; i++) {
+            entries.add(entry(i % 3, i));
+        }
+
+        Iterator<Entry<Integer, List<Data>>> batches = MapKeyLoaderUtil.toPartitionBatches(entries.iterator(), 10);
+
+        Map<Integer, Integer> keysPerPartition = new HashMap<Integer, Integer>();
+        int batchCount = 0;
+        while (batches.hasNext()) {
+            Entry<Integer, List<Data>> batch = batches.next();
+            assertTrue(batch.getValue().size() <= 10);
+            Integer count = keysPerPartition.get(batch.getKey());
+            keysPerPartition.put(batch.getKey(), (count == null ? 0 : count) + batch.getValue().size());
+            batchCount++;
+        }
+
+        assertEquals(34, (int) keysPerPartition.get(0));
+        assertEquals(33, (int) keysPerPartition.get(1));
+        assertEquals(33, (int) keysPerPartition.get(2));
+        // 3 full batches and 1 remaining batch per partition
+        assertEquals(12, batchCount);
+        assertFalse(batches.hasNext());
+    }
+
+    private Entry<Integer, Data> entry(int partitionId, int key) {
+        return new MapEntrySimple<Integer, Data>(partitionId, serializationService.toData(key));
+    }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.map.impl.mapstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.ExecutorConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.executor.ManagedExecutorService;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.spi.ExecutionService.MAP_LOADER_EXECUTOR;
+import static com.hazelcast.spi.properties.GroupProperty.MAP_LOAD_PARALLELISM;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MapLoaderExecutorTest extends HazelcastTestSupport {
+
+    @Test
+    public void poolSize_fromProperty_whenNoExecutorConfig() {
+        Config config = getConfig();
+        config.setProperty(MAP_LOAD_PARALLELISM.getName(), "3");
+
+        assertEquals(3, getMapLoaderExecutor(config).getMaximumPoolSize());
+    }
+
+    @Test
+    public void poolSize_fromExecutorConfig() {
+        Config config = getConfig();
+        config.setProperty(MAP_LOAD_PARALLELISM.getName(), "3");
+        config.addExecutorConfig(new ExecutorConfig(MAP_LOADER_EXECUTOR, 5));
+
+        assertEquals(5, getMapLoaderExecutor(config).getMaximumPoolSize());
+    }
+
+    @Test
+    public void poolSize_fromWildcardExecutorConfig() {
+        Config config = getConfig();
+        config.setProperty(MAP_LOAD_PARALLELISM.getName(), "3");
+        config.addExecutorConfig(new ExecutorConfig("hz:map-*", 7));
+
+        assertEquals(7, getMapLoaderExecutor(config).getMaximumPoolSize());
+    }
+
+    @Test
+    public void poolSize_fromProperty_whenDefaultExecutorConfig() {
+        Config config = getConfig();
+        config.setProperty(MAP_LOAD_PARALLELISM.getName(), "3");
+        config.addExecutorConfig(new ExecutorConfig("default", 9));
+
+        assertEquals(3, getMapLoaderExecutor(config).getMaximumPoolSize());
+    }
+
+    private ManagedExecutorService getMapLoaderExecutor(Config config) {
+        HazelcastInstance hz = createHazelcastInstance(config);
+        return getNodeEngineImpl(hz).getExecutionService().getExecutor(MAP_LOADER_EXECUTOR);
+    }
+}
@@ -16,6 +16,7 @@ import java.util.Collections;
 
 import static com.hazelcast.map.impl.mapstore.writebehind.entry.DelayedEntries.createWithoutValue;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -48,6 +49,21 @@ public class CoalescedWriteBehindQueueTest extends HazelcastTestSupport {
         assertEquals(0, queue.size());
     }
 
+    @Test
+    public void test_removeFirstOccurrence_whenEntryUpdated_thenNewerEntryKept() throws Exception {
+        DelayedEntry<Data, Object> entry = newEntry(1);
+        entry.setSequence(1);
+        DelayedEntry<Data, Object> update = newEntry(1);
+        update.setSequence(2);
+        queue.addLast(entry);
+        queue.addLast(update);
+
+        assertFalse(queue.removeFirstOccurrence(entry));
+        assertEquals(1, queue.size());
+        assertTrue(queue.removeFirstOccurrence(update));
+        assertEquals(0, queue.size());
+    }
+
     @Test
     public void test_contains() throws Exception {
         DelayedEntry<Data, Object> entry = newEntry(1);
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.mapstore.writebehind.entry.DelayedEntry;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import static com.hazelcast.map.impl.mapstore.writebehind.entry.DelayedEntries.createWithoutValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class CyclicWriteBehindQueueTest extends HazelcastTestSupport {
+
+    private SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private CyclicWriteBehindQueue queue = new CyclicWriteBehindQueue();
+
+    @Test
+    public void test_removeFirstOccurrence_whenAtHead() throws Exception {
+        DelayedEntry<Data, Object> first = newEntry(1, 1);
+        DelayedEntry<Data, Object> second = newEntry(1, 2);
+        queue.addLast(first);
+        queue.addLast(second);
+
+        assertTrue(queue.removeFirstOccurrence(first));
+
+        assertEquals(1, queue.size());
+        assertEquals(2, queue.peek().getSequence());
+        assertTrue(queue.contains(second));
+    }
+
+    @Test
+    public void test_removeFirstOccurrence_whenNotAtHead() throws Exception {
+        DelayedEntry<Data, Object> stored = newEntry(1, 2);
+        DelayedEntry<Data, Object> failed = newEntry(2, 1);
+        queue.addLast(stored);
+        queue.addFirst(Collections.<DelayedEntry>singletonList(failed));
+
+        assertTrue(queue.removeFirstOccurrence(stored));
+
+        assertEquals(1, queue.size());
+        assertEquals(1, queue.peek().getSequence());
+        assertFalse(queue.contains(stored));
+    }
+
+    @Test
+    public void test_removeFirstOccurrence_whenNotFound() throws Exception {
+        queue.addLast(newEntry(1, 1));
+
+        assertFalse(queue.removeFirstOccurrence(newEntry(1, 2)));
+        assertEquals(1, queue.size());
+    }
+
+    private DelayedEntry<Data, Object> newEntry(Object key, long sequence) {
+        DelayedEntry<Data, Object> entry = createWithoutValue(serializationService.toData(key));
+        entry.setSequence(sequence);
+        return entry;
+    }
+}
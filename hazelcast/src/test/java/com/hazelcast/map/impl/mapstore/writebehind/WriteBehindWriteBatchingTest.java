@@ -9,6 +9,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastSerialClassRunner.class)
@@ -42,6 +43,38 @@ public class WriteBehindWriteBatchingTest extends HazelcastTestSupport {
         }, 20);
     }
 
+    @Test
+    public void testWriteBatching_withoutWriteCoalescing() throws Exception {
+        final int writeBatchSize = 100;
+        final MapStoreWithCounter<Integer, Integer> mapStore = new MapStoreWithCounter<Integer, Integer>();
+        final IMap<Integer, Integer> map = TestMapUsingMapStoreBuilder.<Integer, Integer>create()
+                .withMapStore(mapStore)
+                .withNodeCount(1)
+                .withNodeFactory(createHazelcastInstanceFactory(1))
+                .withWriteDelaySeconds(3)
+                .withWriteCoalescing(false)
+                .withWriteBatchSize(writeBatchSize)
+                .build();
+
+        final int numberOfItems = 1000;
+        populateMap(map, numberOfItems);
+        for (int i = 0; i < numberOfItems; i++) {
+            map.remove(i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                // all updates are stored, the stores and deletes of the keys of all partitions are batched together
+                assertEquals(numberOfItems, mapStore.countStore.get());
+                assertEquals(numberOfItems, mapStore.countDelete.get());
+                assertTrue(mapStore.store.isEmpty());
+                int fullBatchCount = mapStore.findNumberOfBatchsEqualWriteBatchSize(writeBatchSize);
+                assertTrue("full batches: " + fullBatchCount, fullBatchCount >= numberOfItems / writeBatchSize / 2);
+            }
+        }, 20);
+    }
+
     private void populateMap(IMap<Integer, Integer> map, int numberOfItems) {
         for (int i = 0; i < numberOfItems; i++) {
             map.put(i, i);
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.MapLoader;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class LoadAllOperationTest extends HazelcastTestSupport {
+
+    @Test
+    public void response_isSentWhenValuesAreLoaded() throws Exception {
+        String mapName = randomMapName();
+        BlockingMapLoader loader = new BlockingMapLoader();
+        Config config = getConfig();
+        config.getMapConfig(mapName).setMapStoreConfig(new MapStoreConfig().setImplementation(loader));
+        HazelcastInstance hz = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = hz.getMap(mapName);
+        map.size();
+
+        Data key = getSerializationService(hz).toData(1);
+        int partitionId = getPartitionService(hz).getPartitionId(key);
+        MapServiceContext mapServiceContext = getNodeEngineImpl(hz).<MapService>getService(SERVICE_NAME).getMapServiceContext();
+        MapOperation op = mapServiceContext.getMapOperationProvider(mapName)
+                .createLoadAllOperation(mapName, Collections.singletonList(key), true);
+        final InternalCompletableFuture<Object> future = getNodeEngineImpl(hz).getOperationService()
+                .invokeOnPartition(SERVICE_NAME, op, partitionId);
+
+        assertOpenEventually(loader.loadAllStarted);
+        assertTrueAllTheTime(new AssertTask() {
+            @Override
+            public void run() {
+                assertFalse(future.isDone());
+            }
+        }, 2);
+
+        loader.resume.countDown();
+        future.join();
+        assertEquals(1, map.size());
+    }
+
+    private static class BlockingMapLoader implements MapLoader<Integer, Integer> {
+
+        private final CountDownLatch loadAllStarted = new CountDownLatch(1);
+        private final CountDownLatch resume = new CountDownLatch(1);
+
+        @Override
+        public Integer load(Integer key) {
+            return key;
+        }
+
+        @Override
+        public Map<Integer, Integer> loadAll(Collection<Integer> keys) {
+            loadAllStarted.countDown();
+            assertOpenEventually(resume);
+            Map<Integer, Integer> entries = new HashMap<Integer, Integer>();
+            for (Integer key : keys) {
+                entries.put(key, key);
+            }
+            return entries;
+        }
+
+        @Override
+        public Iterable<Integer> loadAllKeys() {
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.SampleObjects.Employee;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PartitionScanRunnerTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 5000;
+
+    private HazelcastInstance instance;
+    private PartitionScanRunner runner;
+    private String mapName;
+
+    @Before
+    public void setUp() {
+        instance = createHazelcastInstance();
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        runner = new PartitionScanRunner(mapServiceContext);
+        mapName = randomMapName();
+    }
+
+    @Test
+    public void run_whenSeveralEntriesMatch_thenMatchedEntriesAreNotAliased() {
+        IMap<Integer, Employee> map = instance.getMap(mapName);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Employee("name" + i, i, true, i));
+        }
+        int partitionId = getPartitionId(0);
+
+        Collection<QueryableEntry> result = runner.run(mapName, Predicates.greaterEqual("age", ENTRY_COUNT / 2), partitionId);
+
+        Set<Integer> expectedKeys = getKeysOfPartition(partitionId, ENTRY_COUNT / 2, ENTRY_COUNT - 1);
+        assertTrue(expectedKeys.size() > 1);
+        assertEquals(expectedKeys.size(), result.size());
+        Map<QueryableEntry, Boolean> distinctEntries = new IdentityHashMap<QueryableEntry, Boolean>();
+        Set<Integer> keys = new HashSet<Integer>();
+        for (QueryableEntry entry : result) {
+            distinctEntries.put(entry, true);
+            keys.add((Integer) entry.getKey());
+            // the key and value of every entry must still belong together
+            assertEquals((int) (Integer) entry.getKey(), ((Employee) entry.getValue()).getAge());
+        }
+        assertEquals(result.size(), distinctEntries.size());
+        assertEquals(expectedKeys, keys);
+    }
+
+    @Test
+    public void run_whenKeyComparison_thenMatchesSerializedKeys() {
+        IMap<Integer, Integer> map = instance.getMap(mapName);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, -i);
+        }
+        int partitionId = getPartitionId(0);
+
+        assertKeys(partitionId, 100, 800, Predicates.between("__key", 100, 800));
+        assertKeys(partitionId, 500, ENTRY_COUNT - 1, Predicates.greaterEqual("__key", "500"));
+        assertKeys(partitionId, 0, 499, Predicates.lessThan("__key", 500L));
+    }
+
+    @Test
+    public void run_whenValueComparison_thenMatchesSerializedValues() {
+        IMap<Integer, Long> map = instance.getMap(mapName);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, (long) i);
+        }
+        int partitionId = getPartitionId(0);
+
+        assertKeys(partitionId, 0, 0, Predicates.equal("this", 0));
+        assertKeys(partitionId, 300, 700, Predicates.between("this", 300, 700.5));
+        assertKeys(partitionId, 0, ENTRY_COUNT - 1, Predicates.in("this", toComparables(ENTRY_COUNT)));
+    }
+
+    private void assertKeys(int partitionId, int from, int to, Predicate predicate) {
+        Set<Integer> keys = new HashSet<Integer>();
+        for (QueryableEntry entry : runner.run(mapName, predicate, partitionId)) {
+            keys.add((Integer) entry.getKey());
+        }
+        assertEquals(getKeysOfPartition(partitionId, from, to), keys);
+    }
+
+    private Set<Integer> getKeysOfPartition(int partitionId, int from, int to) {
+        Set<Integer> keys = new HashSet<Integer>();
+        for (int i = from; i <= to; i++) {
+            if (getPartitionId(i) == partitionId) {
+                keys.add(i);
+            }
+        }
+        return keys;
+    }
+
+    private int getPartitionId(int key) {
+        return instance.getPartitionService().getPartition(key).getPartitionId();
+    }
+
+    private static Comparable[] toComparables(int count) {
+        Comparable[] values = new Comparable[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = i;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.query.SampleObjects.Value;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class QueryPartitionLocalIndexTest extends HazelcastTestSupport {
+
+    private static Config getConfig(String partitionCount) {
+        Config config = new Config();
+        config.setProperty(GroupProperty.QUERY_PARTITION_LOCAL_INDEXES.getName(), "true");
+        config.setProperty(GroupProperty.PARTITION_COUNT.getName(), partitionCount);
+        return config;
+    }
+
+    @Test
+    public void testQuery_usesPartitionLocalIndexes() {
+        HazelcastInstance instance = createHazelcastInstance(getConfig("1"));
+        IMap<String, Value> map = instance.getMap(randomMapName());
+        map.addIndex("name", true);
+
+        for (int i = 0; i < 10; i++) {
+            map.put("" + i, new Value("name" + (i % 2)));
+        }
+
+        Collection<Value> values = map.values(new SqlPredicate("name='name0'"));
+        assertEquals(5, values.size());
+
+        MapContainer mapContainer = getMapContainer(instance, map.getName());
+        assertFalse(mapContainer.isGlobalIndexEnabled());
+        assertTrue(mapContainer.getIndexes().hasIndex());
+
+        Indexes partitionIndexes = mapContainer.getIndexes(0);
+        assertFalse(partitionIndexes.isGlobal());
+        assertEquals(5, partitionIndexes.getIndex("name").getRecords("name1").size());
+    }
+
+    @Test
+    public void testQuery_whenEntriesUpdatedAndRemoved() {
+        HazelcastInstance instance = createHazelcastInstance(getConfig("11"));
+        IMap<String, Value> map = instance.getMap(randomMapName());
+        map.addIndex("name", false);
+
+        for (int i = 0; i < 100; i++) {
+            map.put("" + i, new Value("old"));
+        }
+        for (int i = 0; i < 50; i++) {
+            map.put("" + i, new Value("new"));
+        }
+        for (int i = 50; i < 60; i++) {
+            map.remove("" + i);
+        }
+
+        assertEquals(50, map.values(new SqlPredicate("name='new'")).size());
+        assertEquals(40, map.values(new SqlPredicate("name='old'")).size());
+    }
+
+    @Test
+    public void testQuery_afterMigration() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        Config config = getConfig("71");
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        String mapName = randomMapName();
+        IMap<Integer, Value> map = instance1.getMap(mapName);
+        map.addIndex("index", true);
+
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, new Value("name" + i, i));
+        }
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(instance1, instance2);
+
+        assertEquals(500, instance2.getMap(mapName).values(new SqlPredicate("index < 500")).size());
+        assertEquals(500, map.values(new SqlPredicate("index >= 500")).size());
+    }
+
+    private static MapContainer getMapContainer(HazelcastInstance instance, String mapName) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        return mapServiceContext.getMapContainer(mapName);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.memory.impl.MemoryManagerBean;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryAllocator;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class NativeDataRecordTest {
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    private UnsafeMemoryAllocator allocator;
+    private MemoryManager memoryManager;
+    private Data key;
+    private Data value;
+
+    private NativeDataRecord record;
+    private NativeDataRecord recordSameAttributes;
+    private NativeDataRecord recordOtherValue;
+
+    @Before
+    public void setUp() {
+        allocator = new UnsafeMemoryAllocator(1 << 20);
+        memoryManager = new MemoryManagerBean(allocator, MEM);
+        key = serializationService.toData("key");
+        value = serializationService.toData("value");
+
+        record = newRecord(value);
+        recordSameAttributes = newRecord(serializationService.toData("value"));
+        recordOtherValue = newRecord(serializationService.toData("otherValue"));
+    }
+
+    @After
+    public void tearDown() {
+        record.dispose();
+        recordSameAttributes.dispose();
+        recordOtherValue.dispose();
+        assertEquals(0, allocator.getUsedMemory());
+    }
+
+    @Test
+    public void testGetValue() {
+        assertEquals(value, record.getValue());
+    }
+
+    @Test
+    public void testGetValue_afterDispose() {
+        NativeDataRecord disposed = newRecord(value);
+        disposed.dispose();
+
+        assertNull(disposed.getValue());
+    }
+
+    @Test
+    public void testValueEquals() {
+        assertTrue(record.valueEquals(serializationService.toData("value")));
+        assertFalse(record.valueEquals(serializationService.toData("otherValue")));
+        assertFalse(record.valueEquals(serializationService.toData(1)));
+        assertFalse(record.valueEquals(null));
+    }
+
+    @Test
+    public void testEquals() {
+        assertEquals(record, record);
+        assertEquals(record, recordSameAttributes);
+
+        assertNotEquals(record, null);
+        assertNotEquals(record, new Object());
+        assertNotEquals(record, recordOtherValue);
+    }
+
+    @Test
+    public void testHashCode() {
+        assertEquals(record.hashCode(), recordSameAttributes.hashCode());
+        assertNotEquals(record.hashCode(), recordOtherValue.hashCode());
+    }
+
+    private NativeDataRecord newRecord(Data recordValue) {
+        NativeDataRecord newRecord = new NativeDataRecord(memoryManager);
+        newRecord.setKey(key);
+        newRecord.setValue(recordValue);
+        return newRecord;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.record.AbstractRecord;
+import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordFactory;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ExpirationIndexTest {
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final RecordFactory recordFactory = new DataRecordFactory(new MapConfig(), serializationService, null);
+    private final Map<Integer, Record> records = new HashMap<Integer, Record>();
+    private final ExpirationIndex index = new ExpirationIndex(1000, 0);
+
+    @Test
+    public void testPollDue_returnsOnlyExpiredSlots() {
+        index.add(record(1), 1500);
+        index.add(record(2), 2000);
+        index.add(record(3), 5000);
+
+        assertTrue(index.pollDue(1999, 100).isEmpty());
+        assertEquals(new HashSet<Data>(asList(key(1), key(2))), new HashSet<Data>(index.pollDue(2000, 100)));
+        assertEquals(1, index.size());
+        assertFalse(index.hasDue(4999));
+        assertEquals(asList(key(3)), index.pollDue(5000, 100));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testPollDue_inExpirationOrder() {
+        index.add(record(3), 3000);
+        index.add(record(1), 1000);
+        index.add(record(2), 2000);
+
+        assertEquals(asList(key(1), key(2), key(3)), index.pollDue(10000, 100));
+    }
+
+    @Test
+    public void testPollDue_respectsMaxCount() {
+        for (int i = 0; i < 10; i++) {
+            index.add(record(i), 1000);
+        }
+
+        assertEquals(4, index.pollDue(1000, 4).size());
+        assertEquals(6, index.size());
+        assertTrue(index.hasDue(1000));
+        assertEquals(6, index.pollDue(1000, 100).size());
+        assertFalse(index.hasDue(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testAdd_sameKeyInSameSlotOnlyOnce() {
+        index.add(record(1), 1100);
+        index.add(record(1), 1900);
+
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testAdd_whenEarlierSlot_thenKeyMoved() {
+        index.add(record(1), 5000);
+        index.add(record(1), 2000);
+
+        assertEquals(1, index.size());
+        assertEquals(asList(key(1)), index.pollDue(2000, 100));
+        // the entry left in the later slot is stale
+        assertTrue(index.pollDue(Long.MAX_VALUE, 100).isEmpty());
+        assertFalse(index.hasDue(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testAdd_whenLaterSlot_thenKeyStaysInEarlierSlot() {
+        index.add(record(1), 2000);
+        index.add(record(1), 5000);
+
+        assertEquals(1, index.size());
+        assertEquals(asList(key(1)), index.pollDue(2000, 100));
+        assertFalse(index.hasDue(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testRemove() {
+        index.add(record(1), 1000);
+        index.add(record(2), 1000);
+
+        index.remove(record(1));
+        index.remove(record(3));
+
+        assertEquals(1, index.size());
+        assertEquals(asList(key(2)), index.pollDue(1000, 100));
+        index.remove(record(2));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testRemove_thenReAdded() {
+        index.add(record(1), 1000);
+        index.remove(record(1));
+        index.add(record(1), 2000);
+
+        assertEquals(1, index.size());
+        assertTrue(index.pollDue(1000, 100).isEmpty());
+        assertEquals(asList(key(1)), index.pollDue(2000, 100));
+    }
+
+    @Test
+    public void testRemove_whenManyRemoved_thenStaleEntriesDropped() {
+        for (int i = 0; i < 1000; i++) {
+            index.add(record(i), 1000 + i);
+        }
+        for (int i = 0; i < 990; i++) {
+            index.remove(record(i));
+        }
+
+        assertEquals(10, index.size());
+        List<Data> dueKeys = index.pollDue(Long.MAX_VALUE, 100);
+        assertEquals(10, dueKeys.size());
+        assertEquals(key(990), dueKeys.get(0));
+        assertFalse(index.hasDue(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testAdd_whenExpiredBeforeIndexCreated_thenDueRightAway() {
+        ExpirationIndex lateIndex = new ExpirationIndex(1000, 10000);
+        lateIndex.add(record(1), 3000);
+
+        assertEquals(asList(key(1)), lateIndex.pollDue(10000, 100));
+    }
+
+    @Test
+    public void testAdd_eternalEntryIgnored() {
+        index.add(record(1), Long.MAX_VALUE);
+
+        assertEquals(0, index.size());
+        assertFalse(index.hasDue(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testClear() {
+        index.add(record(1), 1000);
+        index.add(record(2), 2000);
+
+        index.clear();
+
+        assertEquals(0, index.size());
+        assertTrue(index.pollDue(Long.MAX_VALUE, 100).isEmpty());
+        assertEquals(ExpirationIndex.NO_SLOT, record(1).getExpirationSlot());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenSlotMillisNotPositive() {
+        new ExpirationIndex(0, 0);
+    }
+
+    private Data key(int i) {
+        return serializationService.toData(i);
+    }
+
+    private Record record(int i) {
+        Record record = records.get(i);
+        if (record == null) {
+            record = recordFactory.newRecord(i);
+            ((AbstractRecord) record).setKey(key(i));
+            records.put(i, record);
+        }
+        return record;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks how the record store maintains its {@link ExpirationIndex}. The periodic expiration task is disabled, so the
+ * entries only expire when the test calls {@link RecordStore#evictExpiredEntries(int, boolean)}.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class RecordStoreExpirationTest extends HazelcastTestSupport {
+
+    private static final int MAX_IDLE_SECONDS = 3;
+
+    private HazelcastInstance instance;
+    private MapServiceContext mapServiceContext;
+
+    @Before
+    public void setUp() {
+        Config config = new Config();
+        config.setProperty(GroupProperty.PARTITION_COUNT.getName(), "1");
+        config.setProperty("hazelcast.internal.map.expiration.task.period.seconds", String.valueOf(Integer.MAX_VALUE));
+        config.getMapConfig("maxIdle*").setMaxIdleSeconds(MAX_IDLE_SECONDS);
+        instance = createHazelcastInstance(config);
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        mapServiceContext = mapService.getMapServiceContext();
+    }
+
+    @Test
+    public void testEvictExpiredEntries_whenTtlExpired() {
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        map.put(1, 1, 1, TimeUnit.SECONDS);
+        map.put(2, 2);
+        DefaultRecordStore recordStore = getRecordStore(map);
+        assertEquals(1, recordStore.expirationIndex.size());
+
+        // the key is in the slot of the first full second after it expires
+        sleepAtLeastMillis(2100);
+        recordStore.evictExpiredEntries(100, false);
+
+        assertEquals(1, recordStore.size());
+        assertEquals(0, recordStore.expirationIndex.size());
+    }
+
+    @Test
+    public void testRemove_dropsKeyFromExpirationIndex() {
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        map.put(1, 1, 1, TimeUnit.HOURS);
+        map.put(2, 2, 1, TimeUnit.HOURS);
+        map.put(3, 3, 1, TimeUnit.HOURS);
+        map.put(4, 4, 1, TimeUnit.HOURS);
+        DefaultRecordStore recordStore = getRecordStore(map);
+        assertEquals(4, recordStore.expirationIndex.size());
+
+        map.remove(1);
+        map.remove(2, 2);
+        map.delete(3);
+        map.evict(4);
+
+        assertEquals(0, recordStore.expirationIndex.size());
+    }
+
+    @Test
+    public void testEvictExpiredEntries_whenAccessedUnderMaxIdle_thenNotEvictedEarly() {
+        IMap<Integer, Integer> map = instance.getMap("maxIdle" + randomMapName());
+        map.put(1, 1);
+        DefaultRecordStore recordStore = getRecordStore(map);
+
+        sleepAtLeastMillis(2000);
+        map.get(1);
+        sleepAtLeastMillis(2000);
+        // the original slot of the key is due by now, but the access extended the max idle time
+        recordStore.evictExpiredEntries(100, false);
+
+        assertEquals(1, recordStore.size());
+        assertEquals(1, recordStore.expirationIndex.size());
+        assertEquals(1, (int) map.get(1));
+    }
+
+    @Test
+    public void testEvictExpiredEntries_whenUpdatedUnderMaxIdle_thenNotEvictedEarly() {
+        IMap<Integer, Integer> map = instance.getMap("maxIdle" + randomMapName());
+        map.put(1, 1);
+        DefaultRecordStore recordStore = getRecordStore(map);
+
+        sleepAtLeastMillis(2000);
+        map.set(1, 2);
+        sleepAtLeastMillis(2000);
+        recordStore.evictExpiredEntries(100, false);
+
+        assertEquals(1, recordStore.size());
+        assertEquals(1, recordStore.expirationIndex.size());
+
+        // the key was moved to the slot of its new expiration time
+        sleepAtLeastSeconds(MAX_IDLE_SECONDS);
+        recordStore.evictExpiredEntries(100, false);
+
+        assertEquals(0, recordStore.size());
+        assertEquals(0, recordStore.expirationIndex.size());
+    }
+
+    private DefaultRecordStore getRecordStore(IMap map) {
+        return (DefaultRecordStore) mapServiceContext.getRecordStore(0, map.getName());
+    }
+}
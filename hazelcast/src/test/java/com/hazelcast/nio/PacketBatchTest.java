@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio;
+
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.nio.Packet.FLAG_OP_RESPONSE;
+import static com.hazelcast.nio.Packet.FLAG_URGENT;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class PacketBatchTest {
+
+    @Test
+    public void testSplit() {
+        Packet[] packets = new Packet[]{
+                new Packet(payload(20), 1).setPacketType(Packet.Type.OPERATION),
+                new Packet(null, 2).setPacketType(Packet.Type.OPERATION).raiseFlags(FLAG_OP_RESPONSE),
+                new Packet(payload(100), -1).setPacketType(Packet.Type.EVENT),
+        };
+
+        Packet batch = PacketBatch.toBatchPacket(packets, packets.length);
+        Connection conn = mock(Connection.class);
+        batch.setConn(conn);
+
+        assertEquals(Packet.Type.BATCH, batch.getPacketType());
+        assertFalse(batch.isUrgent());
+
+        Packet[] result = PacketBatch.split(batch);
+
+        assertEquals(packets.length, result.length);
+        for (int k = 0; k < packets.length; k++) {
+            assertEquals(packets[k].getPartitionId(), result[k].getPartitionId());
+            assertEquals(packets[k].getFlags(), result[k].getFlags());
+            assertArrayEquals(packets[k].toByteArray(), result[k].toByteArray());
+            assertSame(conn, result[k].getConn());
+        }
+    }
+
+    @Test
+    public void testSplit_onlyUsesGivenCount() {
+        Packet[] packets = new Packet[]{
+                new Packet(payload(20), 1).setPacketType(Packet.Type.OPERATION),
+                new Packet(payload(20), 2).setPacketType(Packet.Type.OPERATION),
+        };
+
+        Packet[] result = PacketBatch.split(PacketBatch.toBatchPacket(packets, 1));
+
+        assertEquals(1, result.length);
+        assertEquals(1, result[0].getPartitionId());
+    }
+
+    @Test
+    public void testBatchIsUrgent_whenAnyPacketUrgent() {
+        Packet[] packets = new Packet[]{
+                new Packet(payload(20), 1).setPacketType(Packet.Type.OPERATION),
+                new Packet(payload(20), 2).setPacketType(Packet.Type.OPERATION).raiseFlags(FLAG_URGENT),
+        };
+
+        Packet batch = PacketBatch.toBatchPacket(packets, packets.length);
+
+        assertTrue(batch.isUrgent());
+        assertFalse(PacketBatch.split(batch)[0].isUrgent());
+        assertTrue(PacketBatch.split(batch)[1].isUrgent());
+    }
+
+    @Test
+    public void testBatchSurvivesWire() {
+        Packet[] packets = new Packet[]{
+                new Packet(payload(20), 1).setPacketType(Packet.Type.OPERATION),
+                new Packet(payload(50), 2).setPacketType(Packet.Type.OPERATION),
+        };
+        Packet batch = PacketBatch.toBatchPacket(packets, packets.length);
+
+        ByteBuffer buffer = ByteBuffer.allocate(batch.packetSize());
+        assertTrue(batch.writeTo(buffer));
+        buffer.flip();
+        Packet received = new Packet();
+        assertTrue(received.readFrom(buffer));
+
+        Packet[] result = PacketBatch.split(received);
+        assertEquals(2, result.length);
+        assertArrayEquals(packets[1].toByteArray(), result[1].toByteArray());
+    }
+
+    private static byte[] payload(int length) {
+        byte[] payload = new byte[length];
+        for (int k = 0; k < length; k++) {
+            payload[k] = (byte) k;
+        }
+        return payload;
+    }
+}
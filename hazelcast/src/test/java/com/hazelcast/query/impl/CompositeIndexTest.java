@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.SampleObjects.Employee;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.AndPredicate;
+import com.hazelcast.query.impl.predicates.CompositeIndexPredicate;
+import com.hazelcast.query.impl.predicates.RuleBasedQueryOptimizer;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.hazelcast.instance.TestUtil.toData;
+import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.between;
+import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterThan;
+import static com.hazelcast.query.Predicates.lessEqual;
+import static com.hazelcast.query.Predicates.lessThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class CompositeIndexTest {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final RuleBasedQueryOptimizer optimizer = new RuleBasedQueryOptimizer();
+    private final List<QueryEntry> entries = new ArrayList<QueryEntry>();
+
+    private Indexes indexes;
+
+    @Before
+    public void setUp() {
+        indexes = new Indexes(serializationService, Extractors.empty());
+        indexes.addOrGetIndex("city, age", true);
+        indexes.addOrGetIndex("name,active", false);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            String city = i % 7 == 0 ? null : "city" + (i % 5);
+            Employee employee = new Employee(i, "name" + (i % 10), city, i % 50, i % 2 == 0, i);
+            QueryEntry entry = new QueryEntry(serializationService, toData(i), employee, Extractors.empty());
+            entries.add(entry);
+            indexes.saveEntryIndex(entry, null);
+        }
+    }
+
+    @Test
+    public void testAttributeNamesCanonicalized() {
+        assertSame(indexes.getIndex("city,age"), indexes.getIndex(" city ,  age"));
+        assertEquals(2, indexes.getIndex("city,age").getComponents().length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCollectionAttributeRejected() {
+        indexes.addOrGetIndex("city, children[any]", true);
+    }
+
+    @Test
+    public void testEqualityOnAllAttributes() {
+        Predicate predicate = and(equal("city", "city1"), equal("age", 11));
+
+        assertTrue(optimize(predicate) instanceof CompositeIndexPredicate);
+        assertQuery(predicate);
+    }
+
+    @Test
+    public void testEqualityOnAllAttributes_unorderedIndex() {
+        Predicate predicate = and(equal("active", true), equal("name", "name4"));
+
+        assertTrue(optimize(predicate) instanceof CompositeIndexPredicate);
+        assertQuery(predicate);
+    }
+
+    @Test
+    public void testEqualityOnPrefixAndRange() {
+        assertQuery(and(equal("city", "city2"), greaterThan("age", 10), lessEqual("age", 32)));
+        assertQuery(and(equal("city", "city2"), between("age", 10, 20)));
+        assertQuery(and(equal("city", "city3"), lessThan("age", 7)));
+        assertQuery(and(equal("city", "city3"), greaterThan("age", "40")));
+    }
+
+    @Test
+    public void testOtherPredicatesKept() {
+        Predicate predicate = and(equal("city", "city4"), lessThan("age", 30), greaterThan("salary", 500d));
+
+        Predicate optimized = optimize(predicate);
+        assertTrue(optimized instanceof AndPredicate);
+        assertQuery(predicate);
+    }
+
+    @Test
+    public void testRangeNotUsed_whenIndexUnordered() {
+        Predicate predicate = and(equal("name", "name4"), greaterThan("salary", 500d));
+
+        assertFalse(optimize(predicate) instanceof CompositeIndexPredicate);
+    }
+
+    @Test
+    public void testIndexUpdated() {
+        QueryEntry entry = entries.get(1);
+        Employee oldValue = (Employee) entry.getValue();
+        Employee newValue = new Employee(1, "name1", "city1", 49, false, 1);
+        QueryEntry newEntry = new QueryEntry(serializationService, entry.getKeyData(), newValue, Extractors.empty());
+        indexes.saveEntryIndex(newEntry, oldValue);
+        entries.set(1, newEntry);
+
+        assertQuery(and(equal("city", "city1"), equal("age", 49)));
+        assertQuery(and(equal("city", "city1"), equal("age", 1)));
+    }
+
+    private Predicate optimize(Predicate predicate) {
+        return optimizer.optimize(predicate, indexes);
+    }
+
+    private void assertQuery(Predicate predicate) {
+        Set<Object> expected = new HashSet<Object>();
+        for (QueryEntry entry : entries) {
+            if (predicate.apply(entry)) {
+                expected.add(entry.getKey());
+            }
+        }
+
+        Set<Object> actual = new HashSet<Object>();
+        for (QueryableEntry entry : indexes.query(optimize(predicate))) {
+            actual.add(entry.getKey());
+        }
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+    }
+}
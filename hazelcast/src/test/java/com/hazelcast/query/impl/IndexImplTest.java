@@ -19,6 +19,8 @@ package com.hazelcast.query.impl;
 import com.hazelcast.config.MapAttributeConfig;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.extractor.ValueCollector;
+import com.hazelcast.query.extractor.ValueExtractor;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelTest;
@@ -30,6 +32,8 @@ import org.junit.runner.RunWith;
 
 import java.util.Collections;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -57,10 +61,40 @@ public class IndexImplTest {
         verify(entry, never()).getKey();
     }
 
+    @Test
+    public void isMultiValued_whenPlainAttribute() {
+        assertFalse(index.isMultiValued());
+    }
+
+    @Test
+    public void isMultiValued_whenAnyQuantifier_thenTrueBeforeAnyEntryIndexed() {
+        IndexImpl anyIndex = new IndexImpl("values[any]", false, mock(InternalSerializationService.class), Extractors.empty());
+
+        assertTrue(anyIndex.isMultiValued());
+    }
+
+    @Test
+    public void isMultiValued_whenExtractedAttribute_thenTrueBeforeAnyEntryIndexed() {
+        MapAttributeConfig attributeConfig = new MapAttributeConfig("extracted", CollectingExtractor.class.getName());
+        Extractors extractors = new Extractors(Collections.singletonList(attributeConfig), null);
+        IndexImpl extractedIndex = new IndexImpl("extracted", false, mock(InternalSerializationService.class), extractors);
+
+        assertTrue(extractedIndex.isMultiValued());
+    }
+
     private QueryableEntry createMockQueryableEntry() {
         QueryableEntry entry = mock(QueryableEntry.class);
         Data keyData = mock(Data.class);
         when(entry.getKeyData()).thenReturn(keyData);
         return entry;
     }
+
+    public static class CollectingExtractor extends ValueExtractor<Object, Object> {
+
+        @Override
+        public void extract(Object target, Object argument, ValueCollector collector) {
+            collector.addObject(target);
+            collector.addObject(target);
+        }
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.SampleObjects.Employee;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.AndPredicate;
+import com.hazelcast.query.impl.predicates.EqualPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.hazelcast.instance.TestUtil.toData;
+import static com.hazelcast.query.Predicates.greaterThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class IndexStatisticsTest {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    private Indexes indexes;
+
+    @Before
+    public void setUp() {
+        indexes = new Indexes(serializationService, Extractors.empty());
+        indexes.addOrGetIndex("name", false);
+        indexes.addOrGetIndex("age", true);
+        indexes.addOrGetIndex("active", false);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Employee employee = new Employee(i, "name" + i, i % 100, i % 2 == 0, i);
+            indexes.saveEntryIndex(new QueryEntry(serializationService, toData(i), employee, Extractors.empty()), null);
+        }
+    }
+
+    @Test
+    public void testEstimateRecordCount_equality() {
+        assertEquals(ENTRY_COUNT / 2, indexes.getIndex("active").estimateRecordCount(true));
+        assertEquals(1, indexes.getIndex("name").estimateRecordCount("name5"));
+        assertEquals(0, indexes.getIndex("name").estimateRecordCount("unknown"));
+        assertEquals(10, indexes.getIndex("age").estimateRecordCount(5));
+    }
+
+    @Test
+    public void testEstimateRecordCount_smallRangeIsExact() {
+        Index index = indexes.getIndex("age");
+
+        assertEquals(30, index.estimateRecordCount(ComparisonType.LESSER, 3));
+        assertEquals(40, index.estimateRecordCount(ComparisonType.GREATER_EQUAL, 96));
+        assertEquals(50, index.estimateRecordCountBetween(10, true, 15, false));
+        assertEquals(0, index.estimateRecordCountBetween(15, true, 10, true));
+    }
+
+    @Test
+    public void testEstimateRecordCount_largeRangeIsInterpolated() {
+        long estimate = indexes.getIndex("age").estimateRecordCount(ComparisonType.LESSER, 80);
+
+        assertTrue("estimate: " + estimate, estimate >= 750 && estimate <= 850);
+    }
+
+    @Test
+    public void testEstimateRecordCount_afterUpdates() {
+        Index index = indexes.getIndex("active");
+        for (int i = 0; i < 10; i++) {
+            Employee employee = new Employee(i, "name" + i, i % 100, i % 2 == 0, i);
+            index.removeEntryIndex(toData(i), employee);
+        }
+
+        assertEquals(ENTRY_COUNT / 2 - 5, index.estimateRecordCount(true));
+    }
+
+    @Test
+    public void testAnd_lowSelectivityPredicateAppliedToCandidates() {
+        CountingEqualPredicate active = new CountingEqualPredicate("active", true);
+        CountingEqualPredicate name = new CountingEqualPredicate("name", "name42");
+        Predicate predicate = new AndPredicate(active, name, greaterThan("age", 10));
+
+        Set<QueryableEntry> result = new HashSet<QueryableEntry>(indexes.query(predicate));
+
+        assertEquals(1, result.size());
+        assertEquals(0, active.filterCount);
+        assertEquals(1, name.filterCount);
+    }
+
+    @Test
+    public void testAnd_noMatch() {
+        Predicate predicate = new AndPredicate(new EqualPredicate("active", true), new EqualPredicate("name", "name43"));
+
+        assertTrue(indexes.query(predicate).isEmpty());
+    }
+
+    private static class CountingEqualPredicate extends EqualPredicate {
+
+        int filterCount;
+
+        CountingEqualPredicate(String attribute, Comparable value) {
+            super(attribute, value);
+        }
+
+        @Override
+        public Set<QueryableEntry> filter(QueryContext queryContext) {
+            filterCount++;
+            return super.filter(queryContext);
+        }
+    }
+}
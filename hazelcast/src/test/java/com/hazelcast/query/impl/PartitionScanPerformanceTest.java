@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.query.PartitionScanRunner;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.SampleObjects.Employee;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.HazelcastTestSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full partition scan done by {@link PartitionScanRunner}.
+ * <p>
+ * Every benchmark invocation scans {@value #ENTRY_COUNT} entries, so the reported score is in scanned entries per
+ * second and the {@code gc.alloc.rate.norm} metric of the GC profiler is the number of bytes allocated per scanned entry.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PartitionScanPerformanceTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 100000;
+    private static final int WARMUP_ITERATIONS_COUNT = 10;
+    private static final int MEASUREMENT_ITERATIONS_COUNT = 20;
+
+    private HazelcastInstance hz;
+    private PartitionScanRunner runner;
+    private String mapName;
+
+    @Setup
+    public void setup() {
+        Config config = new Config();
+        config.setProperty(GroupProperty.PARTITION_COUNT.getName(), "1");
+        config.getMapConfig("binaryMap").setInMemoryFormat(InMemoryFormat.BINARY);
+        hz = createHazelcastInstance(config);
+
+        IMap<Integer, Employee> map = hz.getMap("binaryMap");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Employee("name" + i, i % 100, true, i));
+        }
+        mapName = map.getName();
+
+        MapService mapService = getNodeEngineImpl(hz).getService(MapService.SERVICE_NAME);
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        runner = new PartitionScanRunner(mapServiceContext);
+    }
+
+    @TearDown
+    public void tearDown() {
+        hz.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRY_COUNT)
+    public Object scan_equalPredicate() {
+        return scan(Predicates.equal("age", 42));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRY_COUNT)
+    public Object scan_greaterLessPredicate() {
+        return scan(Predicates.greaterThan("age", 98));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRY_COUNT)
+    public Object scan_betweenPredicate() {
+        return scan(Predicates.between("age", 10, 11));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRY_COUNT)
+    public Object scan_inPredicate() {
+        return scan(Predicates.in("age", 1, 2, 3));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRY_COUNT)
+    public Object scan_keyBetweenPredicate() {
+        // evaluated against the serialized keys
+        return scan(Predicates.between("__key", 10, 11));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRY_COUNT)
+    public Object scan_keyInPredicate() {
+        // evaluated against the serialized keys
+        return scan(Predicates.in("__key", 1, 2, 3));
+    }
+
+    private Object scan(Predicate predicate) {
+        return runner.run(mapName, predicate, 0);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(PartitionScanPerformanceTest.class.getSimpleName())
+                .warmupIterations(WARMUP_ITERATIONS_COUNT)
+                .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+                .addProfiler(GCProfiler.class)
+                .verbosity(VerboseMode.NORMAL)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.IndexImpl;
+import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class SerializedPredicateEvaluatorTest {
+
+    private static final long[] VALUES = {Long.MIN_VALUE, Integer.MIN_VALUE, -1, 0, 1, 2, 3, 10, Integer.MAX_VALUE,
+            Long.MAX_VALUE};
+
+    @Test
+    public void create_whenUnsupportedPredicate_thenNull() {
+        ByteOrder byteOrder = ByteOrder.BIG_ENDIAN;
+
+        assertNull(SerializedPredicateEvaluator.create(Predicates.notEqual("this", 1), byteOrder));
+        assertNull(SerializedPredicateEvaluator.create(Predicates.like("this", "1%"), byteOrder));
+        assertNull(SerializedPredicateEvaluator.create(Predicates.equal("age", 1), byteOrder));
+        assertNull(SerializedPredicateEvaluator.create(Predicates.equal("__key.age", 1), byteOrder));
+        assertNotNull(SerializedPredicateEvaluator.create(Predicates.equal("__key", 1), byteOrder));
+    }
+
+    @Test
+    public void isApplicable_whenNotIntegerOrLong_thenFalse() {
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+        SerializedPredicateEvaluator evaluator = SerializedPredicateEvaluator.create(Predicates.equal("this", 1),
+                ss.getByteOrder());
+
+        assertFalse(evaluator.isApplicable(ss.toData(1), ss.toData("1")));
+        assertFalse(evaluator.isApplicable(ss.toData(1), ss.toData(1d)));
+        assertFalse(evaluator.isApplicable(ss.toData(1), 1));
+        assertTrue(evaluator.isApplicable(ss.toData("1"), ss.toData(1)));
+        assertTrue(evaluator.isApplicable(ss.toData("1"), ss.toData(1L)));
+    }
+
+    @Test
+    public void isApplicable_whenComparedWithNull_thenFalse() {
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+        SerializedPredicateEvaluator evaluator = SerializedPredicateEvaluator.create(
+                Predicates.greaterThan("this", IndexImpl.NULL), ss.getByteOrder());
+
+        assertFalse(evaluator.isApplicable(ss.toData(1), ss.toData(1)));
+    }
+
+    @Test
+    public void apply_bigEndian() {
+        assertSameAsPredicate(ByteOrder.BIG_ENDIAN);
+    }
+
+    @Test
+    public void apply_littleEndian() {
+        assertSameAsPredicate(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void assertSameAsPredicate(ByteOrder byteOrder) {
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder()
+                .setUseNativeByteOrder(false).setByteOrder(byteOrder).build();
+        Predicate[] predicates = {
+                Predicates.equal("this", 1),
+                Predicates.equal("__key", "10"),
+                Predicates.equal("this", null),
+                Predicates.in("this", -1, 2L, "3", null),
+                Predicates.greaterThan("this", 1),
+                Predicates.greaterEqual("__key", 1L),
+                Predicates.lessThan("this", 2.5),
+                Predicates.lessEqual("this", "10"),
+                Predicates.between("this", -1, 3),
+                Predicates.between("__key", 3, -1),
+        };
+        for (Predicate predicate : predicates) {
+            for (long value : VALUES) {
+                assertSameAsPredicate(ss, predicate, (int) value);
+                assertSameAsPredicate(ss, predicate, value);
+            }
+        }
+    }
+
+    private static void assertSameAsPredicate(InternalSerializationService ss, Predicate predicate, Object attributeValue) {
+        Data data = ss.toData(attributeValue);
+        SerializedPredicateEvaluator evaluator = SerializedPredicateEvaluator.create(predicate, ss.getByteOrder());
+        assertTrue(evaluator.isApplicable(data, data));
+
+        // a fresh predicate, since predicates cache the type of the first attribute they convert a value to
+        Predicate copy = ss.toObject(ss.toData(predicate));
+        boolean expected = copy.apply(new QueryEntry(ss, data, data, Extractors.empty()));
+        assertEquals(predicate + " on " + attributeValue, expected, evaluator.apply(data, data));
+    }
+}
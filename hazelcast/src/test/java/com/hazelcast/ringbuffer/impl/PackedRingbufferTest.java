@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PackedRingbufferTest {
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void testAddAndRead() {
+        PackedRingbuffer rb = new PackedRingbuffer(10);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, rb.add(toData("item" + i)));
+        }
+
+        assertEquals(5, rb.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals("item" + i, toObject(rb.read(i)));
+        }
+    }
+
+    @Test
+    public void testAdd_whenFull_thenOldestOverwritten() {
+        PackedRingbuffer rb = new PackedRingbuffer(5);
+        for (int i = 0; i < 12; i++) {
+            rb.add(toData("item" + i));
+        }
+
+        assertEquals(7, rb.headSequence());
+        assertEquals(11, rb.tailSequence());
+        for (long seq = rb.headSequence(); seq <= rb.tailSequence(); seq++) {
+            assertEquals("item" + seq, toObject(rb.read(seq)));
+        }
+    }
+
+    @Test(expected = StaleSequenceException.class)
+    public void testReadStaleSequenceThrowsException() {
+        PackedRingbuffer rb = new PackedRingbuffer(5);
+        for (int i = 0; i < 10; i++) {
+            rb.add(toData("item" + i));
+        }
+        rb.read(rb.headSequence() - 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReadFutureSequenceThrowsException() {
+        PackedRingbuffer rb = new PackedRingbuffer(5);
+        rb.add(toData("item"));
+        rb.read(rb.tailSequence() + 1);
+    }
+
+    @Test
+    public void testSet_overwritesAndAllowsNull() {
+        PackedRingbuffer rb = new PackedRingbuffer(5);
+        rb.add(toData("item0"));
+        rb.add(toData("item1"));
+
+        rb.set(0, toData("replaced"));
+        rb.set(1, null);
+
+        assertEquals("replaced", toObject(rb.read(0)));
+        assertNull(rb.read(1));
+    }
+
+    @Test
+    public void testSlabsReleased_whenItemsOverwritten() {
+        PackedRingbuffer rb = new PackedRingbuffer(10, 256);
+        for (int i = 0; i < 10000; i++) {
+            rb.add(toData("item" + i));
+        }
+
+        // the 10 items in the ring need only a few slabs; the others are released
+        assertTrue("slab count: " + rb.slabCount(), rb.slabCount() <= 3);
+        assertEquals("item9999", toObject(rb.read(9999)));
+    }
+
+    @Test
+    public void testItemLargerThanSlab() {
+        PackedRingbuffer rb = new PackedRingbuffer(5, 16);
+        String large = new String(new char[1000]).replace('\0', 'x');
+        rb.add(toData("small"));
+        rb.add(toData(large));
+        rb.add(toData("small"));
+
+        assertEquals("small", toObject(rb.read(0)));
+        assertEquals(large, toObject(rb.read(1)));
+        assertEquals("small", toObject(rb.read(2)));
+    }
+
+    @Test
+    public void testRead_equalToAddedData() {
+        PackedRingbuffer rb = new PackedRingbuffer(5);
+        Data item = toData("item");
+        rb.add(item);
+
+        Data read = rb.read(0);
+
+        assertEquals(item, read);
+        assertEquals(read, item);
+        assertEquals(item.hashCode(), read.hashCode());
+        assertEquals(item.hash64(), read.hash64());
+        assertEquals(item.getPartitionHash(), read.getPartitionHash());
+        assertEquals(item.getType(), read.getType());
+        assertArrayEquals(item.toByteArray(), read.toByteArray());
+    }
+
+    @Test
+    public void testRead_whenItemOverwrittenAfterwards_thenReadItemUnchanged() {
+        PackedRingbuffer rb = new PackedRingbuffer(2, 64);
+        rb.add(toData("item0"));
+        Data read = rb.read(0);
+
+        for (int i = 1; i < 100; i++) {
+            rb.add(toData("item" + i));
+        }
+
+        assertEquals("item0", toObject(read));
+    }
+
+    @Test
+    public void testSegmentsAllocatedLazily() {
+        PackedRingbuffer rb = new PackedRingbuffer(100 * PackedRingbuffer.SEGMENT_SIZE);
+        assertEquals(0, rb.segmentCount());
+
+        for (int i = 0; i < PackedRingbuffer.SEGMENT_SIZE + 1; i++) {
+            rb.add(toData("item" + i));
+        }
+
+        assertEquals(2, rb.segmentCount());
+    }
+
+    @Test
+    public void testContainer_whenPackedStorageEnabled() {
+        RingbufferConfig config = new RingbufferConfig("foo")
+                .setCapacity(10)
+                .setPackedStorageEnabled(true);
+        RingbufferContainer container = new RingbufferContainer("foo", config, serializationService, getClass().getClassLoader());
+
+        assertTrue(container.getRingbuffer() instanceof PackedRingbuffer);
+
+        container.add(toData("item"));
+        assertEquals("item", toObject(container.read(0)));
+    }
+
+    private Data toData(Object item) {
+        return serializationService.toData(item);
+    }
+
+    private Object toObject(Data data) {
+        return serializationService.toObject(data);
+    }
+}
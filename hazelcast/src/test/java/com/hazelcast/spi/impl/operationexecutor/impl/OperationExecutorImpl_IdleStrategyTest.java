@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+
+import static com.hazelcast.spi.impl.operationexecutor.impl.OperationExecutorImpl.IDLE_STRATEGY;
+import static com.hazelcast.spi.properties.GroupProperty.PARTITION_COUNT;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class OperationExecutorImpl_IdleStrategyTest extends OperationExecutorImpl_AbstractTest {
+
+    private static final int TASK_COUNT = 1000;
+
+    @Test
+    public void whenBlock() {
+        config.setProperty(IDLE_STRATEGY.getName(), "block");
+
+        assertAllPartitionTasksExecuted();
+    }
+
+    @Test
+    public void whenBackoff() {
+        config.setProperty(IDLE_STRATEGY.getName(), "backoff");
+
+        assertAllPartitionTasksExecuted();
+    }
+
+    @Test
+    public void whenBusySpin() {
+        config.setProperty(IDLE_STRATEGY.getName(), "busyspin");
+
+        assertAllPartitionTasksExecuted();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void whenUnknown() {
+        config.setProperty(IDLE_STRATEGY.getName(), "foo");
+
+        initExecutor();
+    }
+
+    private void assertAllPartitionTasksExecuted() {
+        initExecutor();
+
+        int partitionCount = props.getInteger(PARTITION_COUNT);
+        CountDownLatch latch = new CountDownLatch(TASK_COUNT);
+        for (int k = 0; k < TASK_COUNT; k++) {
+            executor.execute(new CountDownTask(k % partitionCount, latch));
+        }
+
+        assertOpenEventually(latch);
+    }
+
+    private static final class CountDownTask implements PartitionSpecificRunnable {
+
+        private final int partitionId;
+        private final CountDownLatch latch;
+
+        private CountDownTask(int partitionId, CountDownLatch latch) {
+            this.partitionId = partitionId;
+            this.latch = latch;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        public void run() {
+            latch.countDown();
+        }
+    }
+}
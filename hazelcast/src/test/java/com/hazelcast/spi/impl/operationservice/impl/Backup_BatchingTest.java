@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.spi.properties.GroupProperty.BACKUP_BATCH_ENABLED;
+import static com.hazelcast.spi.properties.GroupProperty.BACKUP_BATCH_MAX_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that backups are applied when they are send in batches.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class Backup_BatchingTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private HazelcastInstance[] cluster;
+
+    @Before
+    public void setup() {
+        Config config = new Config()
+                .setProperty(BACKUP_BATCH_ENABLED.getName(), "true")
+                .setProperty(BACKUP_BATCH_MAX_SIZE.getName(), "16");
+        config.getMapConfig("async*").setBackupCount(0).setAsyncBackupCount(1);
+        cluster = createHazelcastInstanceFactory(2).newInstances(config);
+        warmUpPartitions(cluster);
+    }
+
+    @Test
+    public void testSyncBackups() {
+        assertNotNull(getOperationServiceImpl(cluster[0]).backupBatcher);
+
+        IMap<Integer, Integer> map = cluster[0].getMap(randomMapName());
+        for (int k = 0; k < ENTRY_COUNT; k++) {
+            map.put(k, k);
+        }
+
+        assertBackupEntryCount(map.getName(), ENTRY_COUNT);
+    }
+
+    @Test
+    public void testAsyncBackups() {
+        String mapName = "async" + randomMapName();
+        IMap<Integer, Integer> map = cluster[0].getMap(mapName);
+        for (int k = 0; k < ENTRY_COUNT; k++) {
+            map.set(k, k);
+        }
+
+        assertBackupEntryCount(mapName, ENTRY_COUNT);
+    }
+
+    @Test
+    public void testBatchRemoved_whenMemberLeft() {
+        IMap<Integer, Integer> map = cluster[0].getMap(randomMapName());
+        for (int k = 0; k < ENTRY_COUNT; k++) {
+            map.put(k, k);
+        }
+        final BackupBatcher backupBatcher = getOperationServiceImpl(cluster[0]).backupBatcher;
+        final Address leftAddress = getAddress(cluster[1]);
+        assertTrue(backupBatcher.hasBatch(leftAddress));
+
+        cluster[1].getLifecycleService().terminate();
+        for (int k = 0; k < ENTRY_COUNT; k++) {
+            map.put(k, k);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertFalse(backupBatcher.hasBatch(leftAddress));
+            }
+        });
+    }
+
+    @Test
+    public void testSend_whenTargetNotMember() throws Exception {
+        OperationServiceImpl operationService = getOperationServiceImpl(cluster[0]);
+        Address nonMember = new Address("127.0.0.1", 1);
+
+        Packet packet = operationService.toPacket(new DummyBackupOperation());
+
+        assertFalse(operationService.backupBatcher.send(packet, nonMember));
+        assertFalse(operationService.backupBatcher.hasBatch(nonMember));
+    }
+
+    private void assertBackupEntryCount(final String mapName, final long expected) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                long backupEntryCount = 0;
+                for (HazelcastInstance hz : cluster) {
+                    backupEntryCount += hz.getMap(mapName).getLocalMapStats().getBackupEntryCount();
+                }
+                assertEquals(expected, backupEntryCount);
+            }
+        });
+        assertEquals(0, getOperationServiceImpl(cluster[0]).failedBackupsCount.get());
+    }
+}
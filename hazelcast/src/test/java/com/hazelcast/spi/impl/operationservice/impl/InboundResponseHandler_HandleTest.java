@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.operationservice.impl.responses.BackupAckResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
+import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.nio.Packet.FLAG_OP_RESPONSE;
+import static com.hazelcast.spi.properties.GroupProperty.BACKPRESSURE_ENABLED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class InboundResponseHandler_HandleTest extends HazelcastTestSupport {
+
+    private InvocationRegistry invocationRegistry;
+    private OperationServiceImpl operationService;
+    private HazelcastInstance local;
+    private InboundResponseHandler inboundResponseHandler;
+    private InternalSerializationService serializationService;
+    private Connection connection;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.setProperty(BACKPRESSURE_ENABLED.getName(), "false");
+        local = createHazelcastInstance(config);
+        warmUpPartitions(local);
+
+        operationService = getOperationServiceImpl(local);
+        invocationRegistry = operationService.invocationRegistry;
+        inboundResponseHandler = operationService.getInboundResponseHandler();
+        serializationService = getSerializationService(local);
+
+        connection = mock(Connection.class);
+        when(connection.getEndPoint()).thenReturn(getAddress(local));
+    }
+
+    private Invocation newInvocation() {
+        Invocation.Context context = operationService.invocationContext;
+        Invocation invocation = new PartitionInvocation(context, new DummyBackupAwareOperation(1), 0, 0, 0, false);
+        invocation.invTarget = getAddress(local);
+        return invocation;
+    }
+
+    private Packet toPacket(Response response) {
+        return new Packet(serializationService.toBytes(response))
+                .setPacketType(Packet.Type.OPERATION)
+                .raiseFlags(FLAG_OP_RESPONSE)
+                .setConn(connection);
+    }
+
+    @Test
+    public void normalResponse_whenDataValue() throws Exception {
+        Invocation invocation = newInvocation();
+        invocationRegistry.register(invocation);
+        long callId = invocation.op.getCallId();
+
+        Data value = serializationService.toData("foo");
+        inboundResponseHandler.handle(toPacket(new NormalResponse(value, callId, 0, false)));
+
+        assertEquals("foo", invocation.future.join());
+        assertInvocationDeregisteredEventually(callId);
+    }
+
+    @Test
+    public void normalResponse_whenDataValueAndBackup_thenValueNotDeserialized() throws Exception {
+        Invocation invocation = newInvocation();
+        invocationRegistry.register(invocation);
+        long callId = invocation.op.getCallId();
+
+        Data value = serializationService.toData("foo");
+        inboundResponseHandler.handle(toPacket(new NormalResponse(value, callId, 1, false)));
+
+        assertTrue(invocation.pendingResponse instanceof Data);
+        assertEquals(value, invocation.pendingResponse);
+        assertFalse(invocation.future.isDone());
+
+        inboundResponseHandler.handle(toPacket(new BackupAckResponse(callId, false)));
+
+        assertEquals("foo", invocation.future.join());
+        assertInvocationDeregisteredEventually(callId);
+    }
+
+    @Test
+    public void normalResponse_whenNullValue() throws Exception {
+        Invocation invocation = newInvocation();
+        invocationRegistry.register(invocation);
+        long callId = invocation.op.getCallId();
+
+        inboundResponseHandler.handle(toPacket(new NormalResponse(null, callId, 0, false)));
+
+        assertNull(invocation.future.join());
+    }
+
+    @Test
+    public void normalResponse_whenObjectValue() throws Exception {
+        Invocation invocation = newInvocation();
+        invocationRegistry.register(invocation);
+        long callId = invocation.op.getCallId();
+
+        inboundResponseHandler.handle(toPacket(new NormalResponse("foo", callId, 0, false)));
+
+        assertEquals("foo", invocation.future.join());
+        assertInvocationDeregisteredEventually(callId);
+    }
+
+    @Test
+    public void normalResponse_whenInvocationMissing_thenNothingBadHappens() throws Exception {
+        Invocation invocation = newInvocation();
+        invocationRegistry.register(invocation);
+        long callId = invocation.op.getCallId();
+        invocationRegistry.deregister(invocation);
+
+        inboundResponseHandler.handle(toPacket(new NormalResponse(serializationService.toData("foo"), callId, 0, false)));
+
+        assertInvocationDeregisteredEventually(callId);
+    }
+
+    private void assertInvocationDeregisteredEventually(final long callId) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertNull(invocationRegistry.get(callId));
+            }
+        });
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.OperationTimeoutException;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.operationservice.InternalOperationService;
+import com.hazelcast.test.ExpectedRuntimeException;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class InvocationFuture_JoinRawTest extends HazelcastTestSupport {
+
+    private HazelcastInstance local;
+    private InternalOperationService operationService;
+
+    @Before
+    public void setup() {
+        local = createHazelcastInstance();
+        operationService = getOperationService(local);
+    }
+
+    @Test
+    public void whenDataResponse_thenNotDeserialized() {
+        Data data = getSerializationService(local).toData("foo");
+        InvocationFuture future = newFuture();
+        future.complete(data);
+
+        assertSame(data, future.joinRaw());
+        assertEquals("foo", future.join());
+    }
+
+    @Test
+    public void whenObjectResponse() {
+        InvocationFuture future = newFuture();
+        future.complete("foo");
+
+        assertEquals("foo", future.joinRaw());
+    }
+
+    @Test
+    public void whenNullResponse() {
+        InvocationFuture future = newFuture();
+        future.complete(null);
+
+        assertNull(future.joinRaw());
+    }
+
+    @Test(expected = ExpectedRuntimeException.class)
+    public void whenExceptionResponse() {
+        InvocationFuture future = newFuture();
+        future.complete(new ExpectedRuntimeException());
+
+        future.joinRaw();
+    }
+
+    @Test(expected = OperationTimeoutException.class)
+    public void whenCallTimeout() {
+        InvocationFuture future = newFuture();
+        future.complete(InvocationConstant.CALL_TIMEOUT);
+
+        future.joinRaw();
+    }
+
+    private InvocationFuture newFuture() {
+        return (InvocationFuture) operationService.invokeOnTarget(null, new SlowDummyOperation(), getAddress(local));
+    }
+
+    private static class SlowDummyOperation extends DummyOperation {
+        {
+            // we need to set the call-id to prevent running the operation on the calling-thread
+            setPartitionId(1);
+        }
+
+        @Override
+        public void run() throws Exception {
+            Thread.sleep(5000);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.exception.RetryableIOException;
+import com.hazelcast.spi.impl.operationservice.OperationBatch;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class OperationBatchImplTest extends HazelcastTestSupport {
+
+    private static final ConcurrentMap<String, AtomicInteger> RUN_COUNTS = new ConcurrentHashMap<String, AtomicInteger>();
+    private static final ConcurrentMap<String, CountDownLatch> LATCHES = new ConcurrentHashMap<String, CountDownLatch>();
+
+    private OperationServiceImpl operationService;
+    private int remotePartitionId;
+
+    @Before
+    public void setup() {
+        HazelcastInstance[] cluster = createHazelcastInstanceFactory(2).newInstances();
+        warmUpPartitions(cluster);
+        operationService = getOperationServiceImpl(cluster[0]);
+        remotePartitionId = getPartitionId(cluster[1]);
+    }
+
+    @Test
+    public void testFlush() {
+        String id = randomString();
+        OperationBatch batch = operationService.newOperationBatch(16);
+
+        InternalCompletableFuture<Integer> future = batch.invokeOnPartition(null, new CountingOperation(id), remotePartitionId);
+        batch.flush();
+
+        assertEquals(1, (int) future.join());
+    }
+
+    @Test
+    public void testFlush_whenRetriedBeforeFlush_thenNotSentAgain() {
+        final String id = randomString();
+        CountDownLatch latch = new CountDownLatch(1);
+        LATCHES.put(id, latch);
+        OperationBatch batch = operationService.newOperationBatch(16);
+        CountingOperation op = new CountingOperation(id);
+
+        InternalCompletableFuture<Integer> future = batch.invokeOnPartition(null, op, remotePartitionId);
+        // the retry is sent directly; the operation blocks on the target, so the invocation is still pending at the flush
+        findInvocation(op).notifyError(new RetryableIOException());
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(1, getRunCount(id));
+            }
+        });
+        batch.flush();
+        latch.countDown();
+
+        assertEquals(1, (int) future.join());
+        assertRunOnce(id);
+    }
+
+    @Test
+    public void testFlush_whenCompletedBeforeFlush_thenNotSentAgain() {
+        String id = randomString();
+        OperationBatch batch = operationService.newOperationBatch(16);
+        CountingOperation op = new CountingOperation(id);
+
+        InternalCompletableFuture<Integer> future = batch.invokeOnPartition(null, op, remotePartitionId);
+        findInvocation(op).notifyError(new RetryableIOException());
+        assertEquals(1, (int) future.join());
+        batch.flush();
+
+        assertRunOnce(id);
+    }
+
+    private Invocation findInvocation(Operation op) {
+        for (Invocation invocation : operationService.invocationRegistry) {
+            if (invocation.op == op) {
+                return invocation;
+            }
+        }
+        throw new AssertionError("No invocation found for " + op);
+    }
+
+    private static void assertRunOnce(final String id) {
+        assertTrueAllTheTime(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(1, getRunCount(id));
+            }
+        }, 3);
+    }
+
+    private static int getRunCount(String id) {
+        AtomicInteger runCount = RUN_COUNTS.get(id);
+        return runCount == null ? 0 : runCount.get();
+    }
+
+    public static class CountingOperation extends Operation {
+
+        private String id;
+        private int response;
+
+        public CountingOperation() {
+        }
+
+        CountingOperation(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public void run() throws Exception {
+            RUN_COUNTS.putIfAbsent(id, new AtomicInteger());
+            response = RUN_COUNTS.get(id).incrementAndGet();
+            CountDownLatch latch = LATCHES.get(id);
+            if (latch != null) {
+                latch.await();
+            }
+        }
+
+        @Override
+        public Object getResponse() {
+            return response;
+        }
+
+        @Override
+        protected void writeInternal(ObjectDataOutput out) throws IOException {
+            super.writeInternal(out);
+            out.writeUTF(id);
+        }
+
+        @Override
+        protected void readInternal(ObjectDataInput in) throws IOException {
+            super.readInternal(in);
+            id = in.readUTF();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.spi.properties.GroupProperty.OPERATION_LATENCY_HISTOGRAMS_ENABLED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class OperationServiceImpl_LatencyHistogramsTest extends HazelcastTestSupport {
+
+    private static final String OPERATION_PREFIX = "operation.latency[" + DummyOperation.class.getName() + "].";
+    private static final String INVOCATION_PREFIX = "operation.invocations.latency[" + DummyOperation.class.getName() + "].";
+
+    @Test
+    public void whenEnabled_thenLatenciesRegisteredPerOperationClass() {
+        Config config = new Config().setProperty(OPERATION_LATENCY_HISTOGRAMS_ENABLED.getName(), "true");
+        HazelcastInstance hz = createHazelcastInstance(config);
+        OperationServiceImpl operationService = getOperationServiceImpl(hz);
+        final MetricsRegistry metricsRegistry = getNodeEngineImpl(hz).getMetricsRegistry();
+
+        operationService.run(new DummyOperation(1));
+        assertEquals(1, operationService.invokeOnPartition(null, new DummyOperation(1), 0).join());
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                // the operation is run twice: directly and by the invocation
+                assertEquals(2, metricsRegistry.newLongGauge(OPERATION_PREFIX + "count").read());
+                assertEquals(1, metricsRegistry.newLongGauge(INVOCATION_PREFIX + "count").read());
+            }
+        });
+        for (String prefix : new String[]{OPERATION_PREFIX, INVOCATION_PREFIX}) {
+            assertTrue(metricsRegistry.getNames().contains(prefix + "maxMicros"));
+            assertTrue(metricsRegistry.getNames().contains(prefix + "p50Micros"));
+            assertTrue(metricsRegistry.getNames().contains(prefix + "p99Micros"));
+            assertTrue(metricsRegistry.getNames().contains(prefix + "p999Micros"));
+        }
+    }
+
+    @Test
+    public void whenDisabled_thenNoLatenciesRegistered() {
+        HazelcastInstance hz = createHazelcastInstance();
+        OperationServiceImpl operationService = getOperationServiceImpl(hz);
+        MetricsRegistry metricsRegistry = getNodeEngineImpl(hz).getMetricsRegistry();
+
+        operationService.invokeOnPartition(null, new DummyOperation(1), 0).join();
+
+        assertNull(operationService.operationLatencyHistograms);
+        assertNull(operationService.invocationLatencyHistograms);
+        assertFalse(metricsRegistry.getNames().contains(OPERATION_PREFIX + "count"));
+        assertFalse(metricsRegistry.getNames().contains(INVOCATION_PREFIX + "count"));
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.ReliableTopicConfig;
+import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.Message;
+import com.hazelcast.core.MessageListener;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.ringbuffer.impl.RingbufferService.TOPIC_RB_PREFIX;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ReliableTopicBatchingTest extends HazelcastTestSupport {
+
+    private static final int READ_BATCH_SIZE = 10;
+
+    private ReliableTopicProxy<String> topic;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.addReliableTopicConfig(new ReliableTopicConfig("topic").setReadBatchSize(READ_BATCH_SIZE));
+        config.addRingBufferConfig(new RingbufferConfig(TOPIC_RB_PREFIX + "topic").setCapacity(100000));
+        HazelcastInstance hz = createHazelcastInstance(config);
+        topic = (ReliableTopicProxy<String>) hz.<String>getReliableTopic("topic");
+    }
+
+    @Test
+    public void testConcurrentPublishers_preservePublisherOrder() throws Exception {
+        final int publisherCount = 4;
+        final int messageCount = 1000;
+        final Map<String, List<Integer>> received = new ConcurrentHashMap<String, List<Integer>>();
+        for (int k = 0; k < publisherCount; k++) {
+            received.put("publisher" + k, new CopyOnWriteArrayList<Integer>());
+        }
+        topic.addMessageListener(new MessageListener<String>() {
+            @Override
+            public void onMessage(Message<String> message) {
+                String[] parts = message.getMessageObject().split(":");
+                received.get(parts[0]).add(Integer.parseInt(parts[1]));
+            }
+        });
+
+        List<Future> futures = new ArrayList<Future>();
+        for (int k = 0; k < publisherCount; k++) {
+            final String publisher = "publisher" + k;
+            futures.add(spawn(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < messageCount; i++) {
+                        topic.publish(publisher + ":" + i);
+                    }
+                }
+            }));
+        }
+        for (Future future : futures) {
+            future.get();
+        }
+
+        assertEquals(publisherCount * messageCount, topic.ringbuffer.size());
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (List<Integer> messages : received.values()) {
+                    assertEquals(messageCount, messages.size());
+                }
+            }
+        });
+        for (List<Integer> messages : received.values()) {
+            for (int i = 0; i < messageCount; i++) {
+                assertEquals(i, (int) messages.get(i));
+            }
+        }
+        assertEquals(publisherCount * messageCount, topic.getLocalTopicStats().getPublishOperationCount());
+    }
+
+    @Test
+    public void testPublishAll() throws Exception {
+        final List<String> received = new CopyOnWriteArrayList<String>();
+        topic.addMessageListener(new MessageListener<String>() {
+            @Override
+            public void onMessage(Message<String> message) {
+                received.add(message.getMessageObject());
+            }
+        });
+
+        // more messages than fit in a single batch of the ringbuffer
+        final List<String> messages = new ArrayList<String>();
+        for (int i = 0; i < 2500; i++) {
+            messages.add("item" + i);
+        }
+        topic.publishAll(messages);
+
+        assertEquals(messages.size(), topic.ringbuffer.size());
+        assertEquals(messages.size(), topic.getLocalTopicStats().getPublishOperationCount());
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(messages, received);
+            }
+        });
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testPublishAll_whenNull() {
+        topic.publishAll(null);
+    }
+
+    @Test
+    public void testReadBatchSize_growsWithBacklog_andShrinksWhenCaughtUp() {
+        final CountDownLatch resume = new CountDownLatch(1);
+        final AtomicReference<ReliableMessageListenerRunner> runner = new AtomicReference<ReliableMessageListenerRunner>();
+        final AtomicInteger maxBatchSize = new AtomicInteger();
+        final AtomicInteger lastBatchSize = new AtomicInteger();
+        final AtomicInteger receivedCount = new AtomicInteger();
+        String id = topic.addMessageListener(new MessageListener<String>() {
+            @Override
+            public void onMessage(Message<String> message) {
+                assertOpenEventually(resume);
+                int batchSize = runner.get().getBatchSize();
+                maxBatchSize.set(Math.max(maxBatchSize.get(), batchSize));
+                lastBatchSize.set(batchSize);
+                receivedCount.incrementAndGet();
+            }
+        });
+        runner.set(topic.runnersMap.get(id));
+
+        for (int i = 0; i < 2000; i++) {
+            topic.publish("item" + i);
+        }
+        resume.countDown();
+        assertReceivedEventually(receivedCount, 2000);
+        assertTrue("batch size didn't grow: " + maxBatchSize.get(), maxBatchSize.get() > READ_BATCH_SIZE);
+
+        // every read of a single message halves the batch size
+        for (int i = 1; i <= 10; i++) {
+            topic.publish("single" + i);
+            assertReceivedEventually(receivedCount, 2000 + i);
+        }
+        assertEquals(READ_BATCH_SIZE, lastBatchSize.get());
+    }
+
+    private static void assertReceivedEventually(final AtomicInteger receivedCount, final int expected) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(expected, receivedCount.get());
+            }
+        });
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.topic.TopicOverloadPolicy;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ReliableTopicPublisherTest extends HazelcastTestSupport {
+
+    private static final int CAPACITY = 10;
+    private static final int TTL_SECONDS = 3;
+
+    private InternalSerializationService serializationService;
+    private Ringbuffer<ReliableTopicMessage> ringbuffer;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.addRingBufferConfig(new RingbufferConfig("full*").setCapacity(CAPACITY).setTimeToLiveSeconds(TTL_SECONDS));
+        HazelcastInstance hz = createHazelcastInstance(config);
+        serializationService = getSerializationService(hz);
+        ringbuffer = hz.getRingbuffer("full" + randomString());
+    }
+
+    @Test
+    public void testPublish_whenSenderInterruptedWhileBlocked_thenMessagesOfOtherPublishersStillPublished()
+            throws Exception {
+        for (int k = 0; k < CAPACITY; k++) {
+            ringbuffer.add(newMessage("filler" + k));
+        }
+        // the linger time makes sure the messages of both publishers end up in the same batch
+        final ReliableTopicPublisher publisher = new ReliableTopicPublisher(ringbuffer, TopicOverloadPolicy.BLOCK,
+                "topic", MILLISECONDS.toNanos(500));
+
+        final AtomicReference<Thread> senderThread = new AtomicReference<Thread>();
+        Future<Exception> sender = spawn(new Callable<Exception>() {
+            @Override
+            public Exception call() {
+                senderThread.set(Thread.currentThread());
+                return publishAndGetFailure(publisher, "sender");
+            }
+        });
+        sleepMillis(100);
+        Future<Exception> other = spawn(new Callable<Exception>() {
+            @Override
+            public Exception call() {
+                return publishAndGetFailure(publisher, "other");
+            }
+        });
+
+        // the sender backs off since the ringbuffer is full until the fillers expire
+        sleepMillis(1000);
+        senderThread.get().interrupt();
+
+        Exception senderFailure = sender.get();
+        assertTrue("sender failure: " + senderFailure, senderFailure instanceof InterruptedException);
+        assertEquals(null, other.get());
+        assertEquals("other", serializationService.toObject(ringbuffer.readOne(ringbuffer.tailSequence()).getPayload()));
+    }
+
+    private Exception publishAndGetFailure(ReliableTopicPublisher publisher, String payload) {
+        try {
+            publisher.publish(newMessage(payload));
+            return null;
+        } catch (Exception e) {
+            return e instanceof ExecutionException ? (Exception) e.getCause() : e;
+        }
+    }
+
+    private ReliableTopicMessage newMessage(String payload) {
+        return new ReliableTopicMessage(serializationService.toData(payload), null);
+    }
+}
@@ -30,8 +30,11 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Future;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.fail;
@@ -67,6 +70,54 @@ public abstract class TopicOverloadAbstractTest extends HazelcastTestSupport {
         assertEquals("foo", serializationService.toObject(msg.getPayload()));
     }
 
+    @Test
+    public void whenError_andSpace_publishAll() throws Exception {
+        topic.publishAll(asList("foo", "bar", "baz"));
+
+        assertEquals(2, ringbuffer.tailSequence());
+        assertEquals("foo", serializationService.toObject(ringbuffer.readOne(0).getPayload()));
+        assertEquals("bar", serializationService.toObject(ringbuffer.readOne(1).getPayload()));
+        assertEquals("baz", serializationService.toObject(ringbuffer.readOne(2).getPayload()));
+    }
+
+    @Test
+    public void whenError_andPartialSpace_publishAll() {
+        fillRingbuffer(5);
+        long tail = ringbuffer.tailSequence();
+
+        try {
+            topic.publishAll(newMessages(10));
+            fail();
+        } catch (TopicOverloadException expected) {
+            EmptyStatement.ignore(expected);
+        }
+
+        // the messages which fit are published, only the others fail
+        assertEquals(tail + 5, ringbuffer.tailSequence());
+        assertEquals(0, ringbuffer.remainingCapacity());
+    }
+
+    @Test
+    public void whenDiscardNewest_andPartialSpace_publishAll() {
+        fillRingbuffer(5);
+        long tail = ringbuffer.tailSequence();
+
+        topic.publishAll(newMessages(10));
+
+        assertEquals(tail + 5, ringbuffer.tailSequence());
+        assertEquals(0, ringbuffer.remainingCapacity());
+    }
+
+    @Test
+    public void whenDiscardOldest_andPartialSpace_publishAll() {
+        fillRingbuffer(5);
+        long tail = ringbuffer.tailSequence();
+
+        topic.publishAll(newMessages(10));
+
+        assertEquals(tail + 10, ringbuffer.tailSequence());
+    }
+
     @Test
     public void whenError_andNoSpace() {
         for (int k = 0; k < ringbuffer.capacity(); k++) {
@@ -119,6 +170,20 @@ public abstract class TopicOverloadAbstractTest extends HazelcastTestSupport {
         assertEquals(head, ringbuffer.headSequence());
     }
 
+    private void fillRingbuffer(int free) {
+        for (int k = 0; k < ringbuffer.capacity() - free; k++) {
+            topic.publish("old");
+        }
+    }
+
+    private static List<String> newMessages(int count) {
+        List<String> messages = new ArrayList<String>(count);
+        for (int k = 0; k < count; k++) {
+            messages.add("new" + k);
+        }
+        return messages;
+    }
+
     @Test
     public void whenBlock_whenNoSpace() {
         for (int k = 0; k < ringbuffer.capacity(); k++) {
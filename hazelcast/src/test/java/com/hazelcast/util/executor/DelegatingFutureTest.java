@@ -211,6 +211,11 @@ public class DelegatingFutureTest {
             }
         }
 
+        @Override
+        public Object joinRaw() {
+            return join();
+        }
+
         @Override
         public boolean complete(Object value) {
             return false;